@@ -0,0 +1,65 @@
+package org.ludus.api;
+
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.ExplorationStatistics;
+
+/**
+ * Result of an analysis with an {@link ExplorationBudget}. If the budget was exhausted before the state space
+ * was explored completely, the result is computed on the partial state space and is a sound bound on the
+ * exact result, in the direction given by {@link #getBound()}.
+ *
+ * @param <R> result type
+ * @author Bram van der Sanden
+ */
+public class BoundedResult<R> {
+
+    /**
+     * Relation of the result to the exact result.
+     */
+    public enum Bound {
+        /** The state space was explored completely, so the result is exact. */
+        EXACT,
+        /** The result is at least the exact result. */
+        UPPER,
+        /** The result is at most the exact result. */
+        LOWER
+    }
+
+    private final R result;
+    private final Bound bound;
+    private final ExplorationBudget.StopReason stopReason;
+    private final ExplorationStatistics statistics;
+
+    public BoundedResult(R result, Bound bound, ExplorationBudget.StopReason stopReason, ExplorationStatistics statistics) {
+        this.result = result;
+        this.bound = bound;
+        this.stopReason = stopReason;
+        this.statistics = statistics;
+    }
+
+    public R getResult() {
+        return result;
+    }
+
+    public Bound getBound() {
+        return bound;
+    }
+
+    public boolean isComplete() {
+        return bound == Bound.EXACT;
+    }
+
+    public ExplorationBudget.StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public ExplorationStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedResult [result=" + result + ", bound=" + bound + ", stopReason=" + stopReason
+                + ", statistics=" + statistics + "]";
+    }
+}
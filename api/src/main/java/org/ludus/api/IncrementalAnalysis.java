@@ -0,0 +1,129 @@
+package org.ludus.api;
+
+import org.ludus.api.algorithm.MaximumMakespanAlgorithm;
+import org.ludus.api.algorithm.MaximumThroughputAlgorithm;
+import org.ludus.api.algorithm.MinimumMakespanAlgorithm;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.fsm.FSM;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.IncrementalStateSpace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Analysis session for a max-plus specification whose event matrices change between analyses.
+ * <p>
+ * The session keeps the explored state space between analyses. When the matrices of some events are
+ * replaced with {@link #updateMatrices(Map)}, only the matrix-vector products along those events and
+ * those of newly reached configurations are recomputed. This speeds up design-space exploration, where
+ * many variants of a specification only differ in the timing of a few events.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public class IncrementalAnalysis {
+    private final static Logger logger = LoggerFactory.getLogger(IncrementalAnalysis.class);
+
+    private final FSM<Location, Edge> fsm;
+    private final IncrementalStateSpace<Location, Edge> incremental;
+
+    // State space for the current matrices, or null if it has not been computed yet.
+    private FrozenStateSpace stateSpace;
+
+    /**
+     * Create an analysis session for the given specification.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @throws MaxPlusException if an event has no matrix, or if the matrices differ in size
+     */
+    public IncrementalAnalysis(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        if (matrixMap.isEmpty()) {
+            throw new MaxPlusException("No matrices given.");
+        }
+        for (Edge e : fsm.getEdges()) {
+            if (!matrixMap.containsKey(e.getEvent())) {
+                throw new MaxPlusException("No matrix found for event " + e.getEvent());
+            }
+        }
+        int resourceCount = matrixMap.values().iterator().next().getRows();
+        checkSizes(matrixMap, resourceCount);
+
+        this.fsm = fsm;
+        incremental = new IncrementalStateSpace<>(fsm, resourceCount, matrixMap);
+    }
+
+    /**
+     * Replace the matrices of the given events. The matrices are checked before any of them is replaced.
+     *
+     * @param changed map with activity to its new activity matrix
+     * @throws MaxPlusException if an event is unknown, or if a matrix differs in size from the current ones
+     */
+    public void updateMatrices(Map<String, Matrix> changed) throws MaxPlusException {
+        Map<String, Matrix> matrices = incremental.getMatrices();
+        for (String event : changed.keySet()) {
+            if (!matrices.containsKey(event)) {
+                throw new MaxPlusException("Unknown event " + event);
+            }
+        }
+        checkSizes(changed, matrices.values().iterator().next().getRows());
+
+        incremental.setMatrices(changed);
+        stateSpace = null;
+    }
+
+    private static void checkSizes(Map<String, Matrix> matrixMap, int resourceCount) throws MaxPlusException {
+        for (Matrix m : matrixMap.values()) {
+            if (m.getRows() != resourceCount) {
+                throw new MaxPlusException("Matrices have different row sizes.");
+            }
+            if (m.getColumns() != resourceCount) {
+                throw new MaxPlusException("Matrices have different column sizes.");
+            }
+        }
+    }
+
+    /**
+     * Calculate the maximum throughput value and the corresponding event sequence for the current matrices.
+     *
+     * @return maximum throughput value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public MaximumThroughputResult calculateMaximumThroughput() throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runOnStateSpace(fsm, incremental.getMatrices(), getStateSpace());
+    }
+
+    /**
+     * Calculate the minimum makespan value and the corresponding event sequence for the current matrices.
+     *
+     * @return minimum makespan value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public MinimumMakespanResult calculateMinimumMakespan() throws MaxPlusException {
+        return MinimumMakespanAlgorithm.runOnStateSpace(fsm, incremental.getMatrices(), getStateSpace());
+    }
+
+    /**
+     * Calculate the maximum makespan value and the corresponding event sequence for the current matrices.
+     *
+     * @return maximum makespan value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public MaximumMakespanResult calculateMaximumMakespan() throws MaxPlusException {
+        return MaximumMakespanAlgorithm.runOnStateSpace(fsm, incremental.getMatrices(), getStateSpace());
+    }
+
+    private FrozenStateSpace getStateSpace() {
+        if (stateSpace == null) {
+            stateSpace = incremental.explore();
+            logger.info("Max-Plus state space updated: " + stateSpace.getVertexCount() + " states and "
+                    + stateSpace.getEdgeCount() + " edges, using " + incremental.getProductCount()
+                    + " new matrix-vector products.");
+        }
+        return stateSpace;
+    }
+}
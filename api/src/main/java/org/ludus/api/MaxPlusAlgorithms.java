@@ -4,15 +4,25 @@ import org.ludus.api.algorithm.MaximumMakespanAlgorithm;
 import org.ludus.api.algorithm.MaximumThroughputAlgorithm;
 import org.ludus.api.algorithm.MinimumMakespanAlgorithm;
 import org.ludus.api.algorithm.MinimumThroughputAlgorithm;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
 import org.ludus.backend.fsm.FSM;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.SearchOrder;
 
+import java.nio.file.Path;
 import java.util.Map;
 
 /**
  * Algorithms that are provided by the max-plus toolbox.
+ * <p>
+ * The methods that end in {@code Bounded} explore the state space and analyze it within an
+ * {@link ExplorationBudget}, which limits the time, the number of states and the memory, and can be cancelled
+ * through a token. The on-the-fly, memory-mapped and hash-compacted variants take no budget: they always
+ * explore the complete state space.
+ * </p>
  *
  * @author Bram van der Sanden
  * @since 2017-04-27
@@ -74,4 +84,187 @@ public final class MaxPlusAlgorithms {
     public static MinimumThroughputResult calculateMinimumThroughput(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
         return MinimumThroughputAlgorithm.run(fsm, matrixMap);
     }
-}
\ No newline at end of file
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the minimum makespan
+     * value and the corresponding event sequence in exact fixed-point arithmetic. Matrix entries are rounded
+     * to the given fixed-point mode.
+     *
+     * @param fsm        finite-state machine
+     * @param matrixMap  map with activity to activity matrix
+     * @param fixedPoint fixed-point mode, e.g. {@link FixedPoint#INTEGER} for integer durations
+     * @return minimum makespan value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MinimumMakespanResult calculateMinimumMakespan(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        return MinimumMakespanAlgorithm.run(fsm, matrixMap, fixedPoint);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum makespan
+     * value and the corresponding event sequence in exact fixed-point arithmetic. Matrix entries are rounded
+     * to the given fixed-point mode.
+     *
+     * @param fsm        finite-state machine
+     * @param matrixMap  map with activity to activity matrix
+     * @param fixedPoint fixed-point mode, e.g. {@link FixedPoint#INTEGER} for integer durations
+     * @return maximum makespan value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MaximumMakespanResult calculateMaximumMakespan(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        return MaximumMakespanAlgorithm.run(fsm, matrixMap, fixedPoint);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum throughput
+     * value and the corresponding event sequence in exact fixed-point arithmetic. Matrix entries are rounded
+     * to the given fixed-point mode.
+     *
+     * @param fsm        finite-state machine
+     * @param matrixMap  map with activity to activity matrix
+     * @param fixedPoint fixed-point mode, e.g. {@link FixedPoint#INTEGER} for integer durations
+     * @return maximum throughput value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MaximumThroughputResult calculateMaximumThroughput(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runMaxPlusStateSpace(fsm, matrixMap, fixedPoint);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum throughput
+     * value and the corresponding event sequence. The strongly connected components of the state space are analyzed
+     * during the exploration, so the complete state space is never kept in memory. The exploration is not
+     * bounded by a budget.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @return maximum throughput value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MaximumThroughputResult calculateMaximumThroughputOnTheFly(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runMaxPlusStateSpaceOnTheFly(fsm, matrixMap);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum throughput
+     * value and the corresponding event sequence. The state space is stored in memory-mapped files in the given
+     * directory, for state spaces that do not fit in the heap. The exploration is not bounded by a budget.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @param directory directory for the temporary storage files
+     * @return maximum throughput value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MaximumThroughputResult calculateMaximumThroughputMapped(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, Path directory) throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runMappedStateSpace(fsm, matrixMap, directory);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, estimate the maximum throughput
+     * value and the corresponding event sequence. The state space is explored with hash compaction, which stores
+     * only a fingerprint per configuration and may omit configurations whose fingerprints collide. The exploration
+     * is not bounded by a budget.
+     *
+     * @param fsm             finite-state machine
+     * @param matrixMap       map with activity to activity matrix
+     * @param fingerprintBits number of bits of the configuration fingerprints, between 1 and 64
+     * @return approximate maximum throughput value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MaximumThroughputResult estimateMaximumThroughput(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, int fingerprintBits) throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runCompactedStateSpace(fsm, matrixMap, fingerprintBits);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the minimum throughput
+     * value and the corresponding event sequence in exact fixed-point arithmetic. Matrix entries are rounded
+     * to the given fixed-point mode.
+     *
+     * @param fsm        finite-state machine
+     * @param matrixMap  map with activity to activity matrix
+     * @param fixedPoint fixed-point mode, e.g. {@link FixedPoint#INTEGER} for integer durations
+     * @return minimum throughput value and corresponding event sequence
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static MinimumThroughputResult calculateMinimumThroughput(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        return MinimumThroughputAlgorithm.run(fsm, matrixMap, fixedPoint);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the minimum makespan
+     * value and the corresponding event sequence within the given budget. If the budget is exhausted before the
+     * state space is explored completely, the result is a lower bound on the minimum makespan.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @param budget    budget of the state-space exploration
+     * @return minimum makespan value and corresponding event sequence, with the kind of bound and the exploration statistics
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static BoundedResult<MinimumMakespanResult> calculateMinimumMakespanBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        return MinimumMakespanAlgorithm.runBounded(fsm, matrixMap, budget);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum makespan
+     * value and the corresponding event sequence within the given budget. If the budget is exhausted before the
+     * state space is explored completely, the result is a lower bound on the maximum makespan.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @param budget    budget of the state-space exploration
+     * @return maximum makespan value and corresponding event sequence, with the kind of bound and the exploration statistics
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static BoundedResult<MaximumMakespanResult> calculateMaximumMakespanBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        return MaximumMakespanAlgorithm.runBounded(fsm, matrixMap, budget);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum throughput
+     * value and the corresponding event sequence within the given budget. If the budget is exhausted before the
+     * state space is explored completely, the result is an upper bound on the maximum throughput.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @param budget    budget of the state-space exploration
+     * @return maximum throughput value and corresponding event sequence, with the kind of bound and the exploration statistics
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static BoundedResult<MaximumThroughputResult> calculateMaximumThroughputBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runBounded(fsm, matrixMap, budget);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the maximum throughput
+     * value and the corresponding event sequence within the given budget, expanding the configurations of the
+     * state space in the given search order. If the state space is not explored completely, the result is an upper
+     * bound on the maximum throughput.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @param budget    budget of the state-space exploration
+     * @param order     order in which the configurations are expanded
+     * @return maximum throughput value and corresponding event sequence, with the kind of bound and the exploration statistics
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static BoundedResult<MaximumThroughputResult> calculateMaximumThroughputBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget, SearchOrder order) throws MaxPlusException {
+        return MaximumThroughputAlgorithm.runBounded(fsm, matrixMap, budget, order);
+    }
+
+    /**
+     * Given a max-plus specification with an FSM and a timing matrix for each event, calculate the minimum throughput
+     * value and the corresponding event sequence within the given budget. If the budget is exhausted before the
+     * state space is explored completely, the result is a lower bound on the minimum throughput.
+     *
+     * @param fsm       finite-state machine
+     * @param matrixMap map with activity to activity matrix
+     * @param budget    budget of the state-space exploration
+     * @return minimum throughput value and corresponding event sequence, with the kind of bound and the exploration statistics
+     * @throws MaxPlusException if the matrices or FSM are incorrect
+     */
+    public static BoundedResult<MinimumThroughputResult> calculateMinimumThroughputBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        return MinimumThroughputAlgorithm.runBounded(fsm, matrixMap, budget);
+    }
+}
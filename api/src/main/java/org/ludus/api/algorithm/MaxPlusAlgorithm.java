@@ -1,13 +1,21 @@
 package org.ludus.api.algorithm;
 
+import org.ludus.api.BoundedResult;
 import org.ludus.api.MaxPlusException;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
 import org.ludus.backend.algorithms.CycleCheck;
 import org.ludus.backend.fsm.FSM;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.statespace.BoundedExploration;
+import org.ludus.backend.statespace.ComputeStateSpace;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.MaxPlusStateSpace;
+import org.ludus.backend.statespace.SCCDecomposition;
 
 import java.util.*;
+import java.util.function.BooleanSupplier;
 
 public class MaxPlusAlgorithm {
 
@@ -63,4 +71,86 @@ public class MaxPlusAlgorithm {
         }
     }
 
+    /**
+     * Compute the max-plus state space of the given specification.
+     *
+     * @param fsm           finite-state machine
+     * @param resourceCount size of the starting vector
+     * @param matrixMap     map with activity to activity matrix
+     * @param fixedPoint    fixed-point mode for exact arithmetic, or null to use floating-point arithmetic
+     * @return max-plus state space
+     */
+    protected static MaxPlusStateSpace computeStateSpace(FSM<Location, Edge> fsm, Integer resourceCount,
+                                                         Map<String, Matrix> matrixMap, FixedPoint fixedPoint) {
+        if (fixedPoint == null) {
+            return ComputeStateSpace.computeMaxPlusStateSpace(fsm, resourceCount, matrixMap);
+        }
+        return ComputeStateSpace.computeMaxPlusStateSpace(fsm, resourceCount, matrixMap, fixedPoint);
+    }
+
+    /**
+     * Return the ids of the strongly connected components that contain at least one edge.
+     * Only these components can contain a cycle.
+     *
+     * @param sccs decomposition into strongly connected components
+     * @return list of component ids
+     */
+    protected static List<Integer> getComponentsWithEdges(SCCDecomposition sccs) {
+        List<Integer> components = new ArrayList<>();
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                components.add(c);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Stop condition of the analysis of an explored state space, which checks the budget of the exploration
+     * and remembers why the analysis stopped.
+     */
+    static final class AnalysisStop implements BooleanSupplier {
+        private final ExplorationBudget budget;
+        private final long start;
+        private ExplorationBudget.StopReason stopReason;
+
+        /**
+         * @param budget budget of the exploration and the analysis
+         * @param start  start time of the exploration from {@link System#nanoTime()}
+         */
+        AnalysisStop(ExplorationBudget budget, long start) {
+            this.budget = budget;
+            this.start = start;
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            if (stopReason == null) {
+                stopReason = budget.checkAnalysis(start);
+            }
+            return stopReason != null;
+        }
+
+        /**
+         * Return the result of the analysis of the explored state space. The result is exact only if both the
+         * exploration and the analysis are complete.
+         *
+         * @param result      result of the analysis
+         * @param exploration explored state space
+         * @param bound       kind of bound of the result if the budget has been exhausted
+         * @param <R>         result type
+         * @return bounded result
+         */
+        <R> BoundedResult<R> toResult(R result, BoundedExploration exploration, BoundedResult.Bound bound) {
+            if (!exploration.isComplete()) {
+                return new BoundedResult<>(result, bound, exploration.getStopReason(), exploration.getStatistics());
+            }
+            if (stopReason != null) {
+                return new BoundedResult<>(result, bound, stopReason, exploration.getStatistics());
+            }
+            return new BoundedResult<>(result, BoundedResult.Bound.EXACT, ExplorationBudget.StopReason.COMPLETE,
+                    exploration.getStatistics());
+        }
+    }
+
 }
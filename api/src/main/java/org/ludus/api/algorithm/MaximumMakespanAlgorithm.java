@@ -1,8 +1,10 @@
 package org.ludus.api.algorithm;
 
+import org.ludus.api.BoundedResult;
 import org.ludus.api.MaxPlusException;
 import org.ludus.api.MaximumMakespanResult;
 import org.ludus.api.MinimumMakespanResult;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
 import org.ludus.backend.algorithms.BellmanFord;
 import org.ludus.backend.algorithms.CycleCheck;
@@ -11,20 +13,24 @@ import org.ludus.backend.datastructures.tuple.Tuple;
 import org.ludus.backend.fsm.FSM;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.graph.IndexedWeightTransformView;
+import org.ludus.backend.statespace.BoundedExploration;
 import org.ludus.backend.statespace.ComputeStateSpace;
-import org.ludus.backend.statespace.MaxPlusStateSpace;
-import org.ludus.backend.statespace.Transition;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.IndexedStateSpace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 public class MaximumMakespanAlgorithm extends MaxPlusAlgorithm {
     final static Logger logger = LoggerFactory.getLogger(MaximumMakespanAlgorithm.class);
 
-    public static MaximumMakespanResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+    private static void runChecks(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
         // Check if the FSM is acyclic.
         if (CycleCheck.check(fsm)) {
             throw new MaxPlusException("Cannot compute the minimum makespan. Input CIF file contains a cycle.");
@@ -37,25 +43,84 @@ public class MaximumMakespanAlgorithm extends MaxPlusAlgorithm {
                 throw new MaxPlusException("Cannot compute the minimum makespan. Matrices differ in size.");
             }
         }
+    }
 
-        // Compute the state space.
-        MaxPlusStateSpace stateSpace = ComputeStateSpace.computeMaxPlusStateSpace(
-                fsm, matrixFirst.getRows(), matrixMap);
+    public static MaximumMakespanResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        return run(fsm, matrixMap, null);
+    }
 
-        logger.info("Max-plus state space constructed: " + stateSpace.getVertices().size() + " states and "
-                + stateSpace.getEdges().size() + " edges.");
+    public static MaximumMakespanResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        runChecks(fsm, matrixMap);
 
+        Matrix matrixFirst = matrixMap.values().iterator().next();
+
+        // Compute the state space. Without fixed-point arithmetic, it is computed directly in compressed
+        // sparse row format.
+        FrozenStateSpace stateSpace = fixedPoint == null
+                ? ComputeStateSpace.computeFrozenStateSpace(fsm, matrixFirst.getRows(), matrixMap)
+                : computeStateSpace(fsm, matrixFirst.getRows(), matrixMap, fixedPoint).freeze();
+
+        logger.info("Max-plus state space constructed: " + stateSpace.getVertexCount() + " states and "
+                + stateSpace.getEdgeCount() + " edges.");
+
+        return runBellmanFord(stateSpace);
+    }
 
-        // Perform the maximum makespan computation. Since the graph is acyclic, we can negate the weights.
-        // This will not introduce any negative cycle.
-        stateSpace = ComputeStateSpace.negateWeights(stateSpace);
+    /**
+     * Compute the maximum makespan on a state space that has already been computed for the given
+     * specification, for instance by an {@link org.ludus.backend.statespace.IncrementalStateSpace}.
+     */
+    public static MaximumMakespanResult runOnStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, IndexedStateSpace stateSpace) throws MaxPlusException {
+        runChecks(fsm, matrixMap);
+        return runBellmanFord(stateSpace);
+    }
 
-        Tuple<Double, List<Transition>> result = BellmanFord.runBellmanFord(stateSpace, stateSpace.getInitialConfiguration());
+    /**
+     * Perform the maximum makespan computation. Since the state space is acyclic, we can negate the weights.
+     * This will not introduce any negative cycle. The weights are negated in a view, without copying the
+     * state space.
+     */
+    private static MaximumMakespanResult runBellmanFord(IndexedStateSpace stateSpace) {
+        Tuple<Double, List<Integer>> result = BellmanFord.runIndexedBellmanFord(
+                IndexedWeightTransformView.negate(stateSpace), stateSpace.getInitialVertex());
 
         // Since we have negated the weights, the result is also a negative value.
         List<String> listOfEventNames =
-                result.getRight().stream().map(Transition::getEvent).collect(Collectors.toList());
+                result.getRight().stream().map(stateSpace::getEvent).collect(Collectors.toList());
         return new MaximumMakespanResult(result.getLeft() * (-1.0d), listOfEventNames);
+    }
+
+    /**
+     * Compute the maximum makespan on the max-plus state space that is explored within the given budget.
+     * If the budget is exhausted, only the expanded configurations without outgoing transitions are
+     * targets, since these end complete paths. The result is then the longest complete path found so far,
+     * which is a lower bound on the maximum makespan, or negative infinity if no complete path was found.
+     */
+    public static BoundedResult<MaximumMakespanResult> runBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        runChecks(fsm, matrixMap);
+
+        Matrix matrixFirst = matrixMap.values().iterator().next();
 
+        // Compute the state space.
+        AnalysisStop stop = new AnalysisStop(budget, System.nanoTime());
+        BoundedExploration exploration =
+                ComputeStateSpace.computeBoundedStateSpace(fsm, matrixFirst.getRows(), matrixMap, budget);
+        FrozenStateSpace stateSpace = exploration.getStateSpace();
+
+        logger.info("Max-plus state space constructed: " + stateSpace.getVertexCount() + " states and "
+                + stateSpace.getEdgeCount() + " edges, stopped: " + exploration.getStopReason() + ".");
+
+        // Perform the maximum makespan computation on the negated weights. If the budget is
+        // exhausted during the relaxation rounds, the longest complete path found so far is returned.
+        // Only the expanded configurations without outgoing transitions end complete paths.
+        IntPredicate isFinal = v -> exploration.isExpanded(v) && stateSpace.getOutStart(v) == stateSpace.getOutEnd(v);
+        Tuple<Double, List<Integer>> result =
+                BellmanFord.runIndexedBellmanFord(IndexedWeightTransformView.negate(stateSpace),
+                        stateSpace.getInitialVertex(), isFinal, stop);
+
+        List<String> listOfEventNames =
+                result.getRight().stream().map(stateSpace::getEvent).collect(Collectors.toList());
+        return stop.toResult(new MaximumMakespanResult(result.getLeft() * (-1.0d), listOfEventNames),
+                exploration, BoundedResult.Bound.LOWER);
     }
-}
\ No newline at end of file
+}
@@ -1,71 +1,302 @@
 package org.ludus.api.algorithm;
 
+import org.ludus.api.BoundedResult;
 import org.ludus.api.MaxPlusException;
 import org.ludus.api.MaximumThroughputResult;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
-import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.algorithms.IndexedHoward;
 import org.ludus.backend.automaton.ComputeMPA;
+import org.ludus.backend.automaton.MPAState;
 import org.ludus.backend.automaton.MPATransition;
 import org.ludus.backend.automaton.MaxPlusAutomaton;
 import org.ludus.backend.datastructures.tuple.Tuple;
 import org.ludus.backend.fsm.FSM;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.games.algorithms.DoubleFunctions;
+import org.ludus.backend.graph.IndexedDoubleWeightedGraphAdapter;
+import org.ludus.backend.statespace.BoundedExploration;
+import org.ludus.backend.statespace.CompactedStateSpace;
 import org.ludus.backend.statespace.ComputeStateSpace;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.ExplorationListener;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.IndexedStateSpace;
+import org.ludus.backend.statespace.MappedStateSpace;
 import org.ludus.backend.statespace.MaxPlusStateSpace;
-import org.ludus.backend.statespace.Transition;
+import org.ludus.backend.statespace.OnTheFlyExploration;
+import org.ludus.backend.statespace.SCCDecomposition;
+import org.ludus.backend.statespace.SearchOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 public class MaximumThroughputAlgorithm extends MaxPlusAlgorithm {
     private final static Logger logger = LoggerFactory.getLogger(MaximumThroughputAlgorithm.class);
 
     private static void runChecks(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
-        checkNotCyclic(fsm);
+        checkCyclic(fsm);
         checkNoDeadlocks(fsm);
         checkAllMatricesSameSize(matrixMap.values());
     }
 
     public static MaximumThroughputResult runMaxPlusStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        return runMaxPlusStateSpace(fsm, matrixMap, null);
+    }
+
+    /**
+     * Compute the maximum throughput on the max-plus state space, and report the progress of the exploration
+     * and of the analysis of the components to the listener.
+     */
+    public static MaximumThroughputResult runMaxPlusStateSpaceWithListener(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationListener listener) throws MaxPlusException {
         runChecks(fsm,matrixMap);
 
         // Number of resources.
         Integer resourceCount = matrixMap.values().iterator().next().getRows();
 
         // Compute the max-plus state space.
-        MaxPlusStateSpace mpss = ComputeStateSpace.computeMaxPlusStateSpace(
-                fsm, resourceCount, matrixMap);
+        FrozenStateSpace stateSpace = ComputeStateSpace.computeFrozenStateSpace(fsm, resourceCount, matrixMap, new HashMap<>(), listener);
 
-        logger.info("Max-Plus state space constructed: " + mpss.getVertices().size()
-                + " states and " + mpss.getEdges().size() + " edges.");
+        logger.info("Max-Plus state space constructed: " + stateSpace.getVertexCount()
+                + " states and " + stateSpace.getEdgeCount() + " edges.");
 
-        // Perform the minimum cycle mean computation on the SCCs.
-        List<MaxPlusStateSpace> mpssSCCs = ComputeStateSpace.getSCCs(mpss);
+        return runHowardOnComponents(stateSpace, listener);
+    }
+
+    public static MaximumThroughputResult runMaxPlusStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        runChecks(fsm,matrixMap);
+
+        // Number of resources.
+        Integer resourceCount = matrixMap.values().iterator().next().getRows();
+
+        // Compute the max-plus state space. Without fixed-point arithmetic, it is computed directly in
+        // compressed sparse row format.
+        FrozenStateSpace stateSpace = fixedPoint == null
+                ? ComputeStateSpace.computeFrozenStateSpace(fsm, resourceCount, matrixMap)
+                : computeStateSpace(fsm, resourceCount, matrixMap, fixedPoint).freeze();
+
+        logger.info("Max-Plus state space constructed: " + stateSpace.getVertexCount()
+                + " states and " + stateSpace.getEdgeCount() + " edges.");
+
+        return runHowardOnComponents(stateSpace);
+    }
+
+    /**
+     * Compute the maximum throughput on the max-plus state space that is explored within the given budget.
+     * If the budget is exhausted, the result is computed on the partial state space. Its cycles are cycles
+     * of the complete state space, so the result is an upper bound on the maximum throughput.
+     */
+    public static BoundedResult<MaximumThroughputResult> runBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        return runBounded(fsm, matrixMap, budget, SearchOrder.BREADTH_FIRST);
+    }
+
+    /**
+     * Compute the maximum throughput on the max-plus state space that is explored within the given budget
+     * in the given search order. Best-first order tends to find the critical cycles early, which gives
+     * tight upper bounds when the budget is exhausted.
+     */
+    public static BoundedResult<MaximumThroughputResult> runBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget, SearchOrder order) throws MaxPlusException {
+        runChecks(fsm,matrixMap);
+
+        // Number of resources.
+        Integer resourceCount = matrixMap.values().iterator().next().getRows();
+
+        // Compute the max-plus state space.
+        AnalysisStop stop = new AnalysisStop(budget, System.nanoTime());
+        BoundedExploration exploration =
+                ComputeStateSpace.computeBoundedStateSpace(fsm, resourceCount, matrixMap, new HashMap<>(), budget, order);
+        FrozenStateSpace mpss = exploration.getStateSpace();
+
+        logger.info("Max-Plus state space constructed: " + mpss.getVertexCount() + " states and "
+                + mpss.getEdgeCount() + " edges, stopped: " + exploration.getStopReason() + ".");
+
+        // Skipped components and stopped policy iterations only leave out cycles, so the result remains an
+        // upper bound if the budget is exhausted during the analysis.
+        return stop.toResult(runHowardOnComponents(mpss, ExplorationListener.NONE, stop), exploration,
+                BoundedResult.Bound.UPPER);
+    }
+
+    /**
+     * Compute the maximum throughput on a state space that has already been computed for the given
+     * specification, for instance by an {@link org.ludus.backend.statespace.IncrementalStateSpace}.
+     */
+    public static MaximumThroughputResult runOnStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, IndexedStateSpace stateSpace) throws MaxPlusException {
+        runChecks(fsm,matrixMap);
+        return runHowardOnComponents(stateSpace);
+    }
+
+    /**
+     * Perform the minimum cycle mean computation on the SCCs. The edges inside each component are copied
+     * into primitive arrays with local vertex ids, on which {@link IndexedHoward} runs.
+     */
+    private static MaximumThroughputResult runHowardOnComponents(IndexedStateSpace stateSpace) {
+        return runHowardOnComponents(stateSpace, ExplorationListener.NONE);
+    }
+
+    private static MaximumThroughputResult runHowardOnComponents(IndexedStateSpace stateSpace, ExplorationListener listener) {
+        return runHowardOnComponents(stateSpace, listener, () -> false);
+    }
+
+    /**
+     * Perform the minimum cycle mean computation on the SCCs until the stop condition holds. The condition is
+     * evaluated before each component and each policy iteration. The result is positive infinity if no cycle
+     * has been analyzed.
+     */
+    private static MaximumThroughputResult runHowardOnComponents(IndexedStateSpace stateSpace, ExplorationListener listener,
+                                                                 BooleanSupplier stop) {
+        SCCDecomposition sccs = SCCDecomposition.of(stateSpace);
+        List<Integer> components = getComponentsWithEdges(sccs);
+
+        logger.info("Computed the " + components.size() + " strongly connected components.");
+        listener.componentsComputed(sccs.getComponentCount(), components.size());
 
-        logger.info("Computed the " + mpssSCCs.size() + " strongly connected components.");
+        // Local vertex id of each vertex within its component.
+        int[] localIds = new int[stateSpace.getVertexCount()];
 
-        Tuple<Double, List<Transition>> result = Tuple.of(Double.MAX_VALUE, new LinkedList<Transition>());
+        Tuple<Double, List<Integer>> result = Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<Integer>());
         int i = 1;
-        for (MaxPlusStateSpace mpssSCC : mpssSCCs) {
-            Tuple<Double, List<Transition>> sccResult = Howard.runHoward(mpssSCC);
-            logger.info("Running Howard on component " + i + "/" + mpssSCCs.size());
+        for (int component : components) {
+            if (stop.getAsBoolean()) {
+                logger.info("Analysis stopped before component " + i + "/" + components.size());
+                break;
+            }
+            logger.info("Running Howard on component " + i + "/" + components.size());
+            int start = sccs.getComponentStart(component);
+            int vertexCount = sccs.getComponentEnd(component) - start;
+            int edgeCount = sccs.getEdgeCount(component);
+            for (int v = 0; v < vertexCount; v++) {
+                localIds[sccs.getVertex(start + v)] = v;
+            }
+
+            // Copy the edges inside the component, in the order of the component view.
+            int[] edges = new int[edgeCount];
+            int[] sources = new int[edgeCount];
+            int[] targets = new int[edgeCount];
+            double[] rewards = new double[edgeCount];
+            double[] durations = new double[edgeCount];
+            int m = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                int vertex = sccs.getVertex(start + v);
+                for (int e = stateSpace.getOutStart(vertex); e < stateSpace.getOutEnd(vertex); e++) {
+                    int target = stateSpace.getTarget(e);
+                    if (sccs.getComponentOf(target) == component) {
+                        edges[m] = e;
+                        sources[m] = v;
+                        targets[m] = localIds[target];
+                        rewards[m] = stateSpace.getReward(e);
+                        durations[m] = stateSpace.getDuration(e);
+                        m++;
+                    }
+                }
+            }
+
+            Tuple<Double, List<Integer>> sccResult = IndexedHoward.runHoward(vertexCount, sources, targets,
+                    rewards, durations, DoubleFunctions.MACHINE_PRECISION,
+                    iterations -> listener.componentAnalyzed(component, vertexCount, edgeCount, iterations), stop);
             if (sccResult.getLeft() < result.getLeft()) {
-                result = sccResult;
+                result = Tuple.of(sccResult.getLeft(),
+                        sccResult.getRight().stream().map(e -> edges[e]).collect(Collectors.toList()));
             }
             i++;
         }
 
         // Create the output.
         List<String> listOfEventNames =
-                result.getRight().stream().map(Transition::getEvent).collect(Collectors.toList());
+                result.getRight().stream().map(stateSpace::getEvent).collect(Collectors.toList());
         return new MaximumThroughputResult(result.getLeft(), listOfEventNames);
     }
 
+    /**
+     * Compute the maximum throughput on a max-plus state space that is stored in memory-mapped files in the
+     * given directory. The files are deleted afterwards.
+     */
+    public static MaximumThroughputResult runMappedStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, Path directory) throws MaxPlusException {
+        runChecks(fsm,matrixMap);
+
+        // Number of resources.
+        Integer resourceCount = matrixMap.values().iterator().next().getRows();
+
+        // Compute the max-plus state space.
+        try (MappedStateSpace mpss = ComputeStateSpace.computeMappedStateSpace(fsm, resourceCount, matrixMap, directory)) {
+            logger.info("Max-Plus state space constructed: " + mpss.getVertexCount()
+                    + " states and " + mpss.getEdgeCount() + " edges.");
+
+            return runHowardOnComponents(mpss);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compute an estimate of the maximum throughput on a max-plus state space that is explored with hash
+     * compaction. Configurations are identified by fingerprints of the given number of bits, so part of the
+     * state space may be omitted; the probability of omission is logged.
+     */
+    public static MaximumThroughputResult runCompactedStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, int fingerprintBits) throws MaxPlusException {
+        runChecks(fsm,matrixMap);
+
+        // Number of resources.
+        Integer resourceCount = matrixMap.values().iterator().next().getRows();
+
+        // Compute the approximate max-plus state space.
+        CompactedStateSpace compacted =
+                ComputeStateSpace.computeCompactedStateSpace(fsm, resourceCount, matrixMap, fingerprintBits);
+        FrozenStateSpace mpss = compacted.getStateSpace();
+
+        logger.info("Max-Plus state space approximated: " + mpss.getVertexCount()
+                + " states and " + mpss.getEdgeCount() + " edges, with probability of omission "
+                + compacted.getOmissionProbability() + ".");
+
+        return runHowardOnComponents(mpss);
+    }
+
+    /**
+     * Compute the maximum throughput while exploring the max-plus state space. Each strongly connected
+     * component is analyzed as soon as it is closed, after which its transitions are released. Only the
+     * events of the best cycle found so far are kept as witness.
+     */
+    public static MaximumThroughputResult runMaxPlusStateSpaceOnTheFly(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        runChecks(fsm,matrixMap);
+
+        // Number of resources.
+        Integer resourceCount = matrixMap.values().iterator().next().getRows();
+
+        double[] value = {Double.POSITIVE_INFINITY};
+        List<List<String>> witness = new ArrayList<>();
+        witness.add(new LinkedList<>());
+        int[] componentCount = {0};
+        int stateCount = OnTheFlyExploration.explore(fsm, resourceCount, matrixMap, component -> {
+            componentCount[0]++;
+            logger.info("Running Howard on component " + componentCount[0] + " with "
+                    + component.getVertexCount() + " states");
+            Tuple<Double, List<Integer>> sccResult = IndexedHoward.runIndexedHoward(component, DoubleFunctions.MACHINE_PRECISION);
+            if (sccResult.getLeft() < value[0]) {
+                value[0] = sccResult.getLeft();
+                witness.set(0, sccResult.getRight().stream().map(component::getEvent).collect(Collectors.toList()));
+            }
+        });
+
+        logger.info("Max-Plus state space explored: " + stateCount + " states and "
+                + componentCount[0] + " strongly connected components.");
+
+        return new MaximumThroughputResult(value[0], witness.get(0));
+    }
+
+    /**
+     * Compute the maximum throughput on the max-plus automaton. The automaton is always constructed
+     * completely; unlike {@link #runBounded}, this entry point takes no budget.
+     */
     public static MaximumThroughputResult runMaxPlusAutomaton(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
         runChecks(fsm,matrixMap);
 
@@ -84,13 +315,16 @@ public class MaximumThroughputAlgorithm extends MaxPlusAlgorithm {
 
         logger.info("Computed the " + mpaSCCs.size() + " strongly connected components.");
 
-        Tuple<Double, List<MPATransition>> result = Tuple.of(Double.MAX_VALUE, new LinkedList<MPATransition>());
+        Tuple<Double, List<MPATransition>> result = Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<MPATransition>());
         int i = 1;
         for (MaxPlusAutomaton<Location> mpaSCC : mpaSCCs) {
-            Tuple<Double, List<MPATransition>> sccResult = Howard.runHoward(mpaSCC);
             logger.info("Running Howard on component " + i + "/" + mpaSCCs.size());
+            IndexedDoubleWeightedGraphAdapter<MPAState<Location>, MPATransition> indexed =
+                    IndexedDoubleWeightedGraphAdapter.of(mpaSCC);
+            Tuple<Double, List<Integer>> sccResult =
+                    IndexedHoward.runIndexedHoward(indexed, DoubleFunctions.MACHINE_PRECISION);
             if (sccResult.getLeft() < result.getLeft()) {
-                result = sccResult;
+                result = Tuple.of(sccResult.getLeft(), indexed.getEdges(sccResult.getRight()));
             }
             i++;
         }
@@ -1,7 +1,9 @@
 package org.ludus.api.algorithm;
 
+import org.ludus.api.BoundedResult;
 import org.ludus.api.MaxPlusException;
 import org.ludus.api.MinimumMakespanResult;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
 import org.ludus.backend.algorithms.CycleCheck;
 import org.ludus.backend.algorithms.Dijkstra;
@@ -9,20 +11,23 @@ import org.ludus.backend.datastructures.tuple.Tuple;
 import org.ludus.backend.fsm.FSM;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.statespace.BoundedExploration;
 import org.ludus.backend.statespace.ComputeStateSpace;
-import org.ludus.backend.statespace.MaxPlusStateSpace;
-import org.ludus.backend.statespace.Transition;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.IndexedStateSpace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 public class MinimumMakespanAlgorithm extends MaxPlusAlgorithm {
     final static Logger logger = LoggerFactory.getLogger(MinimumMakespanAlgorithm.class);
 
-    public static MinimumMakespanResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+    private static void runChecks(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
         // Check if the FSM is acyclic.
         if (CycleCheck.check(fsm)) {
             throw new MaxPlusException("Cannot compute the minimum makespan. Input CIF file contains a cycle.");
@@ -35,19 +40,73 @@ public class MinimumMakespanAlgorithm extends MaxPlusAlgorithm {
                 throw new MaxPlusException("Cannot compute the minimum makespan. Matrices differ in size.");
             }
         }
+    }
 
-        // Compute the state space.
-        MaxPlusStateSpace stateSpace = ComputeStateSpace.computeMaxPlusStateSpace(
-                fsm, matrixFirst.getRows(), matrixMap);
+    public static MinimumMakespanResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        return run(fsm, matrixMap, null);
+    }
 
-        logger.info("Max-plus state space constructed: " + stateSpace.getVertices().size() + " states and "
-                + stateSpace.getEdges().size() + " edges.");
+    public static MinimumMakespanResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
+        runChecks(fsm, matrixMap);
+
+        Matrix matrixFirst = matrixMap.values().iterator().next();
+
+        // Compute the state space. Without fixed-point arithmetic, it is computed directly in compressed
+        // sparse row format.
+        FrozenStateSpace stateSpace = fixedPoint == null
+                ? ComputeStateSpace.computeFrozenStateSpace(fsm, matrixFirst.getRows(), matrixMap)
+                : computeStateSpace(fsm, matrixFirst.getRows(), matrixMap, fixedPoint).freeze();
+
+        logger.info("Max-plus state space constructed: " + stateSpace.getVertexCount() + " states and "
+                + stateSpace.getEdgeCount() + " edges.");
 
         // Perform the makespan computation.
-        Tuple<Double, List<Transition>> result = Dijkstra.runDijkstra(stateSpace, stateSpace.getInitialConfiguration());
+        return runDijkstra(stateSpace, () -> false);
+    }
+
+    /**
+     * Compute the minimum makespan on a state space that has already been computed for the given
+     * specification, for instance by an {@link org.ludus.backend.statespace.IncrementalStateSpace}.
+     */
+    public static MinimumMakespanResult runOnStateSpace(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, IndexedStateSpace stateSpace) throws MaxPlusException {
+        runChecks(fsm, matrixMap);
+        return runDijkstra(stateSpace, () -> false);
+    }
+
+    /**
+     * Perform the makespan computation until the stop condition holds. If stopped, the result is the smallest
+     * distance of the configurations that have not been settled, which is a lower bound on the makespan.
+     */
+    private static MinimumMakespanResult runDijkstra(IndexedStateSpace stateSpace, BooleanSupplier stop) {
+        Tuple<Double, List<Integer>> result =
+                Dijkstra.runIndexedDijkstra(stateSpace, stateSpace.getInitialVertex(), v -> stateSpace.getOutStart(v) == stateSpace.getOutEnd(v), stop);
 
         List<String> listOfEventNames =
-                result.getRight().stream().map(Transition::getEvent).collect(Collectors.toList());
+                result.getRight().stream().map(stateSpace::getEvent).collect(Collectors.toList());
         return new MinimumMakespanResult(result.getLeft(), listOfEventNames);
     }
-}
\ No newline at end of file
+
+    /**
+     * Compute the minimum makespan on the max-plus state space that is explored within the given budget.
+     * If the budget is exhausted, the configurations that have not been expanded have no outgoing transitions
+     * in the partial state space, and are thus targets of the shortest path search. Every complete path
+     * passes through such a configuration or is contained in the partial state space, and durations are
+     * nonnegative, so the result is a lower bound on the minimum makespan.
+     */
+    public static BoundedResult<MinimumMakespanResult> runBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+        runChecks(fsm, matrixMap);
+
+        Matrix matrixFirst = matrixMap.values().iterator().next();
+
+        // Compute the state space.
+        AnalysisStop stop = new AnalysisStop(budget, System.nanoTime());
+        BoundedExploration exploration =
+                ComputeStateSpace.computeBoundedStateSpace(fsm, matrixFirst.getRows(), matrixMap, budget);
+
+        logger.info("Max-plus state space constructed: " + exploration.getStateSpace().getVertexCount()
+                + " states and " + exploration.getStateSpace().getEdgeCount() + " edges, stopped: "
+                + exploration.getStopReason() + ".");
+
+        return stop.toResult(runDijkstra(exploration.getStateSpace(), stop), exploration, BoundedResult.Bound.LOWER);
+    }
+}
@@ -1,31 +1,42 @@
 package org.ludus.api.algorithm;
 
+import org.ludus.api.BoundedResult;
 import org.ludus.api.MaxPlusException;
 import org.ludus.api.MinimumThroughputResult;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
-import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.algorithms.IndexedHoward;
 import org.ludus.backend.datastructures.tuple.Tuple;
 import org.ludus.backend.fsm.FSM;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.games.algorithms.DoubleFunctions;
+import org.ludus.backend.graph.WeightTransformView;
+import org.ludus.backend.statespace.BoundedExploration;
 import org.ludus.backend.statespace.ComputeStateSpace;
-import org.ludus.backend.statespace.MaxPlusStateSpace;
-import org.ludus.backend.statespace.Transition;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.SCCDecomposition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 public class MinimumThroughputAlgorithm extends MaxPlusAlgorithm {
     private final static Logger logger = LoggerFactory.getLogger(MinimumThroughputAlgorithm.class);
 
     public static MinimumThroughputResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap) throws MaxPlusException {
+        return run(fsm, matrixMap, null);
+    }
+
+    public static MinimumThroughputResult run(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, FixedPoint fixedPoint) throws MaxPlusException {
 
         // Check pre-conditions.
-        checkNotCyclic(fsm);
+        checkCyclic(fsm);
         checkNoDeadlocks(fsm);
         checkAllMatricesSameSize(matrixMap.values());
         checkEventMapping(fsm,matrixMap);
@@ -33,26 +44,51 @@ public class MinimumThroughputAlgorithm extends MaxPlusAlgorithm {
         // Number of resources.
         Integer resourceCount = matrixMap.values().iterator().next().getRows();
 
-        // Compute the max-plus state space.
-        MaxPlusStateSpace stateSpaceOriginal = ComputeStateSpace.computeMaxPlusStateSpace(
-                fsm, resourceCount, matrixMap);
+        // Compute the max-plus state space. Without fixed-point arithmetic, it is computed directly in
+        // compressed sparse row format.
+        FrozenStateSpace stateSpace = fixedPoint == null
+                ? ComputeStateSpace.computeFrozenStateSpace(fsm, resourceCount, matrixMap)
+                : computeStateSpace(fsm, resourceCount, matrixMap, fixedPoint).freeze();
 
-        // Swap the reward and duration weights.
-        MaxPlusStateSpace stateSpace = ComputeStateSpace.swapWeights(stateSpaceOriginal);
+        logger.info("Max-plus state space constructed: " + stateSpace.getVertexCount() + " states and "
+                + stateSpace.getEdgeCount() + " edges.");
 
-        logger.info("Max-plus state space constructed: " + stateSpace.getVertices().size() + " states and "
-                + stateSpace.getEdges().size() + " edges.");
+        return runHowardOnComponents(stateSpace);
+    }
+
+    /**
+     * Compute the minimum throughput on the state space, with the reward and duration weights swapped.
+     */
+    private static MinimumThroughputResult runHowardOnComponents(FrozenStateSpace frozen) {
+        return runHowardOnComponents(frozen, () -> false);
+    }
 
-        // Perform the minimum cycle mean computation on the strongly connected components.
-        List<MaxPlusStateSpace> mpsSCCs = ComputeStateSpace.getSCCs(stateSpace);
+    /**
+     * Compute the minimum throughput on the state space until the stop condition holds. The condition is
+     * evaluated before each component and each policy iteration. The result is zero if no cycle has been
+     * analyzed.
+     */
+    private static MinimumThroughputResult runHowardOnComponents(FrozenStateSpace frozen, BooleanSupplier stop) {
+        // Perform the minimum cycle mean computation on the strongly connected components. The components
+        // are views of the frozen state space, so they are not copied.
+        SCCDecomposition sccs = SCCDecomposition.of(frozen);
+        List<Integer> components = getComponentsWithEdges(sccs);
 
-        logger.info("Computed the " + mpsSCCs.size() + " strongly connected components.");
+        logger.info("Computed the " + components.size() + " strongly connected components.");
 
         int i = 1;
-        Tuple<Double, List<Transition>> result = Tuple.of(Double.MAX_VALUE, new LinkedList<Transition>());
-        for (MaxPlusStateSpace mpsSCC : mpsSCCs) {
-            Tuple<Double, List<Transition>> sccResult = Howard.runHoward(mpsSCC);
-            logger.info("Running Howard on component " + i + "/" + mpsSCCs.size());
+        Tuple<Double, List<Integer>> result = Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<Integer>());
+        for (int component : components) {
+            if (stop.getAsBoolean()) {
+                logger.info("Analysis stopped before component " + i + "/" + components.size());
+                break;
+            }
+            // Swap the reward and duration weights.
+            Tuple<Double, List<Integer>> sccResult = IndexedHoward.runHoward(
+                    WeightTransformView.swap(sccs.getComponent(component)), DoubleFunctions.MACHINE_PRECISION,
+                    iterations -> {
+                    }, stop);
+            logger.info("Running Howard on component " + i + "/" + components.size());
             if (sccResult.getLeft() < result.getLeft()) {
                 result = sccResult;
             }
@@ -64,10 +100,38 @@ public class MinimumThroughputAlgorithm extends MaxPlusAlgorithm {
         // Create the output.
         if (!result.getLeft().equals(Double.NEGATIVE_INFINITY)) {
             List<String> listOfEventNames =
-                    result.getRight().stream().map(Transition::getEvent).collect(Collectors.toList());
+                    result.getRight().stream().map(frozen::getEvent).collect(Collectors.toList());
             return new MinimumThroughputResult(throughput, listOfEventNames);
         } else {
             return new MinimumThroughputResult(throughput, new LinkedList<>());
         }
     }
+
+    /**
+     * Compute the minimum throughput on the max-plus state space that is explored within the given budget.
+     * If the budget is exhausted, the result is computed on the partial state space. Its cycles are cycles
+     * of the complete state space, so the result is a lower bound on the minimum throughput.
+     */
+    public static BoundedResult<MinimumThroughputResult> runBounded(FSM<Location, Edge> fsm, Map<String, Matrix> matrixMap, ExplorationBudget budget) throws MaxPlusException {
+
+        // Check pre-conditions.
+        checkCyclic(fsm);
+        checkNoDeadlocks(fsm);
+        checkAllMatricesSameSize(matrixMap.values());
+        checkEventMapping(fsm,matrixMap);
+
+        // Number of resources.
+        Integer resourceCount = matrixMap.values().iterator().next().getRows();
+
+        // Compute the max-plus state space.
+        AnalysisStop stop = new AnalysisStop(budget, System.nanoTime());
+        BoundedExploration exploration =
+                ComputeStateSpace.computeBoundedStateSpace(fsm, resourceCount, matrixMap, budget);
+        FrozenStateSpace stateSpace = exploration.getStateSpace();
+
+        logger.info("Max-plus state space constructed: " + stateSpace.getVertexCount() + " states and "
+                + stateSpace.getEdgeCount() + " edges, stopped: " + exploration.getStopReason() + ".");
+
+        return stop.toResult(runHowardOnComponents(stateSpace, stop), exploration, BoundedResult.Bound.LOWER);
+    }
 }
@@ -0,0 +1,199 @@
+package org.ludus.api;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.statespace.ExplorationBudget;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compare the results of the bounded entry points with the exact results, for every state limit from a single
+ * state up to the complete state space.
+ *
+ * @author Bram van der Sanden
+ */
+public class MaxPlusAlgorithmsBoundedTest {
+
+    private static final Double negativeInfinity = Double.NEGATIVE_INFINITY;
+
+    private static final int MAX_STATE_LIMIT = 40;
+
+    @Test
+    public void testMaximumThroughputBounded() throws MaxPlusException {
+        FSMImpl fsm = createCyclicFsm();
+        Map<String, Matrix> matrixMap = createCyclicMatrices();
+        double exact = MaxPlusAlgorithms.calculateMaximumThroughput(fsm, matrixMap).getThroughput();
+
+        int finiteBounds = 0;
+        for (int states = 1; states <= MAX_STATE_LIMIT; states++) {
+            BoundedResult<MaximumThroughputResult> result = MaxPlusAlgorithms.calculateMaximumThroughputBounded(
+                    fsm, matrixMap, ExplorationBudget.unlimited().withStateLimit(states));
+            if (assertBound(BoundedResult.Bound.UPPER, result, exact, result.getResult().getThroughput())) {
+                finiteBounds++;
+            }
+        }
+        assertTrue(finiteBounds > 0);
+    }
+
+    @Test
+    public void testMinimumThroughputBounded() throws MaxPlusException {
+        FSMImpl fsm = createCyclicFsm();
+        Map<String, Matrix> matrixMap = createCyclicMatrices();
+        double exact = MaxPlusAlgorithms.calculateMinimumThroughput(fsm, matrixMap).getThroughput();
+
+        int finiteBounds = 0;
+        for (int states = 1; states <= MAX_STATE_LIMIT; states++) {
+            BoundedResult<MinimumThroughputResult> result = MaxPlusAlgorithms.calculateMinimumThroughputBounded(
+                    fsm, matrixMap, ExplorationBudget.unlimited().withStateLimit(states));
+            if (assertBound(BoundedResult.Bound.LOWER, result, exact, result.getResult().getThroughput())) {
+                finiteBounds++;
+            }
+        }
+        assertTrue(finiteBounds > 0);
+    }
+
+    @Test
+    public void testMinimumMakespanBounded() throws MaxPlusException {
+        Random random = new Random(7);
+        int finiteBounds = 0;
+        for (int run = 0; run < 20; run++) {
+            FSMImpl fsm = createAcyclicFsm(random);
+            Map<String, Matrix> matrixMap = createRandomMatrices(random);
+            double exact = MaxPlusAlgorithms.calculateMinimumMakespan(fsm, matrixMap).getMakespan();
+
+            for (int states = 1; states <= MAX_STATE_LIMIT; states++) {
+                BoundedResult<MinimumMakespanResult> result = MaxPlusAlgorithms.calculateMinimumMakespanBounded(
+                        fsm, matrixMap, ExplorationBudget.unlimited().withStateLimit(states));
+                if (assertBound(BoundedResult.Bound.LOWER, result, exact, result.getResult().getMakespan())) {
+                    finiteBounds++;
+                }
+            }
+        }
+        assertTrue(finiteBounds > 0);
+    }
+
+    @Test
+    public void testMaximumMakespanBounded() throws MaxPlusException {
+        Random random = new Random(8);
+        int finiteBounds = 0;
+        for (int run = 0; run < 20; run++) {
+            FSMImpl fsm = createAcyclicFsm(random);
+            Map<String, Matrix> matrixMap = createRandomMatrices(random);
+            double exact = MaxPlusAlgorithms.calculateMaximumMakespan(fsm, matrixMap).getMakespan();
+
+            for (int states = 1; states <= MAX_STATE_LIMIT; states++) {
+                BoundedResult<MaximumMakespanResult> result = MaxPlusAlgorithms.calculateMaximumMakespanBounded(
+                        fsm, matrixMap, ExplorationBudget.unlimited().withStateLimit(states));
+                if (assertBound(BoundedResult.Bound.LOWER, result, exact, result.getResult().getMakespan())) {
+                    finiteBounds++;
+                }
+            }
+        }
+        assertTrue(finiteBounds > 0);
+    }
+
+    /**
+     * A complete exploration gives the exact result; otherwise the result must be on the given side of it.
+     *
+     * @return true iff the exploration is incomplete and the bound is finite
+     */
+    private static boolean assertBound(BoundedResult.Bound bound, BoundedResult<?> result, double exact, double value) {
+        if (result.isComplete()) {
+            assertEquals(BoundedResult.Bound.EXACT, result.getBound());
+            assertEquals(exact, value, 1e-9);
+            return false;
+        }
+        assertEquals(bound, result.getBound());
+        if (bound == BoundedResult.Bound.UPPER) {
+            assertTrue(value >= exact - 1e-9, value + " is not an upper bound on " + exact);
+        } else {
+            assertTrue(value <= exact + 1e-9, value + " is not a lower bound on " + exact);
+        }
+        return !Double.isInfinite(value) && value != 0.0;
+    }
+
+    /**
+     * Return the FSM of the example in "Worst-case Performance Analysis of Synchronous Dataflow Scenarios
+     * (Geilen and Stuijk, 2010)".
+     */
+    private static FSMImpl createCyclicFsm() {
+        FSMImpl fsm = new FSMImpl();
+        Location l0 = new Location("l0");
+        Location l1 = new Location("l1");
+        fsm.addLocation(l0);
+        fsm.addLocation(l1);
+        fsm.setInitial(l0);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        fsm.addEdge(new Edge(l0, "A", l0));
+        fsm.addEdge(new Edge(l0, "B", l1));
+        fsm.addEdge(new Edge(l1, "B", l0));
+        fsm.addEdge(new Edge(l1, "B", l1));
+        return fsm;
+    }
+
+    /**
+     * Return the matrices of the events of {@link #createCyclicFsm()}.
+     */
+    private static Map<String, Matrix> createCyclicMatrices() {
+        Map<String, Matrix> matrixMap = new HashMap<>();
+        matrixMap.put("A", new DenseMatrix(3, 3,
+                1.0, negativeInfinity, 3.0,
+                1.0, negativeInfinity, 3.0,
+                negativeInfinity, 2.0, negativeInfinity));
+        matrixMap.put("B", new DenseMatrix(3, 3,
+                1.0, negativeInfinity, 2.0,
+                1.0, negativeInfinity, 2.0,
+                negativeInfinity, 3.0, negativeInfinity));
+        return matrixMap;
+    }
+
+    /**
+     * Return a random FSM with a path through all locations and random shortcuts along it.
+     */
+    private static FSMImpl createAcyclicFsm(Random random) {
+        FSMImpl fsm = new FSMImpl();
+        int n = 4 + random.nextInt(6);
+        Location[] locations = new Location[n];
+        for (int i = 0; i < n; i++) {
+            locations[i] = new Location("l" + i);
+            fsm.addLocation(locations[i]);
+        }
+        fsm.setInitial(locations[0]);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        for (int i = 0; i + 1 < n; i++) {
+            fsm.addEdge(new Edge(locations[i], "A", locations[i + 1]));
+            int target = i + 1 + random.nextInt(n - i - 1);
+            fsm.addEdge(new Edge(locations[i], "B", locations[target]));
+        }
+        return fsm;
+    }
+
+    /**
+     * Return random 3x3 matrices for events A and B with a finite diagonal.
+     */
+    private static Map<String, Matrix> createRandomMatrices(Random random) {
+        Map<String, Matrix> matrixMap = new HashMap<>();
+        for (String event : new String[]{"A", "B"}) {
+            Double[] values = new Double[9];
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 3; j++) {
+                    boolean finite = i == j || random.nextInt(3) > 0;
+                    values[3 * i + j] = finite ? (double) random.nextInt(10) : negativeInfinity;
+                }
+            }
+            matrixMap.put(event, new DenseMatrix(3, 3, values));
+        }
+        return matrixMap;
+    }
+}
@@ -0,0 +1,324 @@
+package org.ludus.backend.algebra;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable max-plus matrix in compressed sparse row (CSR) format.
+ * <p>
+ * Only finite entries are stored; every entry that is not stored equals negative infinity. Products
+ * with a vector or another CSR matrix therefore only visit finite entries. A CSR matrix is a snapshot
+ * of the values of another matrix, including the zero diagonal that {@link DenseMatrix} and
+ * {@link SparseMatrix} use for entries that have not been set.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public class CSRMatrix extends Matrix {
+
+    // Matrices with at most this fraction of finite entries are stored in CSR format by compress().
+    private static final double DENSITY_THRESHOLD = 0.5;
+
+    private final int rows;
+    private final int columns;
+
+    // Entries of row i are stored at positions rowOffsets[i] until rowOffsets[i + 1],
+    // ordered by column index.
+    private final int[] rowOffsets;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    private CSRMatrix(int rows, int columns, int[] rowOffsets, int[] columnIndices, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowOffsets = rowOffsets;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Create a CSR copy of the given matrix.
+     *
+     * @param matrix input matrix
+     * @return CSR matrix with the same entries as {@code matrix}
+     */
+    public static CSRMatrix of(Matrix matrix) {
+        if (matrix instanceof CSRMatrix) {
+            return (CSRMatrix) matrix;
+        }
+
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        double[] entries = matrix.toArray();
+
+        int[] rowOffsets = new int[rows + 1];
+        int count = 0;
+        for (double entry : entries) {
+            if (entry != Double.NEGATIVE_INFINITY) {
+                count++;
+            }
+        }
+
+        int[] columnIndices = new int[count];
+        double[] values = new double[count];
+        int position = 0;
+        for (int row = 0; row < rows; row++) {
+            rowOffsets[row] = position;
+            for (int col = 0; col < columns; col++) {
+                double entry = entries[row * columns + col];
+                if (entry != Double.NEGATIVE_INFINITY) {
+                    columnIndices[position] = col;
+                    values[position] = entry;
+                    position++;
+                }
+            }
+        }
+        rowOffsets[rows] = position;
+        return new CSRMatrix(rows, columns, rowOffsets, columnIndices, values);
+    }
+
+    /**
+     * Return a representation of the given matrix that is suited for repeated multiplication.
+     * {@link SparseMatrix} instances and matrices with few finite entries are converted to CSR format,
+     * other matrices are returned as is.
+     *
+     * @param matrix input matrix
+     * @return matrix with the same entries as {@code matrix}
+     */
+    public static Matrix compress(Matrix matrix) {
+        if (matrix instanceof CSRMatrix || matrix instanceof SparseMatrix) {
+            return of(matrix);
+        }
+        CSRMatrix csr = of(matrix);
+        double density = (double) csr.getEntryCount() / Math.max(1, matrix.getRows() * matrix.getColumns());
+        return density <= DENSITY_THRESHOLD ? csr : matrix;
+    }
+
+    /**
+     * Apply {@link #compress(Matrix)} to every matrix of the given mapping.
+     *
+     * @param matrices mapping of keys to matrices
+     * @return mapping of the same keys to matrices with the same entries
+     */
+    public static <K> Map<K, Matrix> compress(Map<K, ? extends Matrix> matrices) {
+        Map<K, Matrix> result = new HashMap<>();
+        for (Map.Entry<K, ? extends Matrix> entry : matrices.entrySet()) {
+            result.put(entry.getKey(), compress(entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public void put(int row, int column, Value value) {
+        throw new UnsupportedOperationException("CSR matrices are immutable.");
+    }
+
+    @Override
+    public Value get(int row, int column) {
+        int position = find(row, column);
+        return position < 0 ? Value.NEGATIVE_INFINITY : new Value(values[position]);
+    }
+
+    @Override
+    public double getDouble(int row, int column) {
+        int position = find(row, column);
+        return position < 0 ? Double.NEGATIVE_INFINITY : values[position];
+    }
+
+    private int find(int row, int column) {
+        int position = Arrays.binarySearch(columnIndices, rowOffsets[row], rowOffsets[row + 1], column);
+        return position < 0 ? -1 : position;
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] result = new double[rows * columns];
+        Arrays.fill(result, Double.NEGATIVE_INFINITY);
+        for (int row = 0; row < rows; row++) {
+            for (int i = rowOffsets[row]; i < rowOffsets[row + 1]; i++) {
+                result[row * columns + columnIndices[i]] = values[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Return the number of stored, i.e. finite, entries.
+     *
+     * @return number of finite entries
+     */
+    public int getEntryCount() {
+        return values.length;
+    }
+
+    /**
+     * Return the position of the first stored entry of the given row.
+     * The entries of row {@code row} are at positions {@code getRowStart(row)} until {@code getRowEnd(row)}.
+     *
+     * @param row row index
+     * @return position of the first entry of the row
+     */
+    public int getRowStart(int row) {
+        return rowOffsets[row];
+    }
+
+    /**
+     * Return the position after the last stored entry of the given row.
+     *
+     * @param row row index
+     * @return position after the last entry of the row
+     */
+    public int getRowEnd(int row) {
+        return rowOffsets[row + 1];
+    }
+
+    /**
+     * Return the column index of the stored entry at the given position.
+     *
+     * @param position entry position
+     * @return column index of the entry
+     */
+    public int getColumnIndex(int position) {
+        return columnIndices[position];
+    }
+
+    /**
+     * Return the value of the stored entry at the given position.
+     *
+     * @param position entry position
+     * @return value of the entry
+     */
+    public double getEntry(int position) {
+        return values[position];
+    }
+
+    @Override
+    public Vector multiply(Vector vector) {
+        // Ensure width of matrix is equal to vector length;
+        assert (getColumns() == vector.size());
+
+        double[] result = new double[rows];
+        multiply(vector.vector, result);
+        return Vector.wrap(result);
+    }
+
+    /**
+     * Compute {@code result = (A ⊗ x) ⊕ x} without allocating, see {@link MaxPlus#multiply}.
+     * Only the finite entries of the matrix are visited.
+     *
+     * @param x      input vector
+     * @param result output vector, must not be the same array as {@code x}
+     */
+    @Override
+    public void multiply(double[] x, double[] result) {
+        assert (x != result);
+        for (int i = 0; i < rows; i++) {
+            double newVal = x[i];
+            for (int position = rowOffsets[i]; position < rowOffsets[i + 1]; position++) {
+                newVal = Math.max(newVal, x[columnIndices[position]] + values[position]);
+            }
+            result[i] = newVal;
+        }
+    }
+
+    @Override
+    public Matrix multiply(Matrix matrix) {
+        // Ensure matrices are compatible.
+        assert (getColumns() == matrix.getRows());
+
+        if (!(matrix instanceof CSRMatrix)) {
+            double[] result = new double[rows * matrix.getColumns()];
+            MaxPlus.multiply(toArray(), matrix.toArray(), rows, columns, matrix.getColumns(), result);
+            return new DenseMatrix(rows, matrix.getColumns(), result);
+        }
+        return multiply((CSRMatrix) matrix);
+    }
+
+    /**
+     * Compute the max-plus product {@code A ⊗ B} of two CSR matrices. The result is again a CSR matrix,
+     * and only pairs of finite entries are combined.
+     *
+     * @param other right-hand matrix
+     * @return product of this matrix and {@code other}
+     */
+    public CSRMatrix multiply(CSRMatrix other) {
+        assert (getColumns() == other.getRows());
+
+        int resultColumns = other.columns;
+        int[] resultOffsets = new int[rows + 1];
+        int[] resultColumnIndices = new int[Math.max(16, values.length)];
+        double[] resultValues = new double[resultColumnIndices.length];
+
+        // Dense accumulator for one row of the result, and the row that last touched each column.
+        double[] accumulator = new double[resultColumns];
+        int[] marker = new int[resultColumns];
+        Arrays.fill(marker, -1);
+        int[] touched = new int[resultColumns];
+
+        int position = 0;
+        for (int row = 0; row < rows; row++) {
+            resultOffsets[row] = position;
+            int touchedCount = 0;
+            for (int i = rowOffsets[row]; i < rowOffsets[row + 1]; i++) {
+                int k = columnIndices[i];
+                double aik = values[i];
+                for (int j = other.rowOffsets[k]; j < other.rowOffsets[k + 1]; j++) {
+                    int col = other.columnIndices[j];
+                    double term = aik + other.values[j];
+                    if (marker[col] != row) {
+                        marker[col] = row;
+                        accumulator[col] = term;
+                        touched[touchedCount++] = col;
+                    } else {
+                        accumulator[col] = Math.max(accumulator[col], term);
+                    }
+                }
+            }
+
+            // Append the finite entries of this row, ordered by column.
+            Arrays.sort(touched, 0, touchedCount);
+            if (position + touchedCount > resultColumnIndices.length) {
+                int capacity = Math.max(position + touchedCount, 2 * resultColumnIndices.length);
+                resultColumnIndices = Arrays.copyOf(resultColumnIndices, capacity);
+                resultValues = Arrays.copyOf(resultValues, capacity);
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                int col = touched[t];
+                if (accumulator[col] != Double.NEGATIVE_INFINITY) {
+                    resultColumnIndices[position] = col;
+                    resultValues[position] = accumulator[col];
+                    position++;
+                }
+            }
+        }
+        resultOffsets[rows] = position;
+
+        return new CSRMatrix(rows, resultColumns, resultOffsets,
+                Arrays.copyOf(resultColumnIndices, position), Arrays.copyOf(resultValues, position));
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sb.append("| ");
+            for (int j = 0; j < columns; j++) {
+                sb.append(get(i, j).toString());
+                sb.append("\t");
+            }
+            sb.append("|\n");
+        }
+        return sb.toString();
+    }
+
+}
@@ -1,51 +1,79 @@
 package org.ludus.backend.algebra;
 
+import java.util.Arrays;
+
 /**
  * Max-plus dense matrix.
+ * <p>
+ * Entries are stored in a flat row-major {@code double[]}. Entries that have not been set default to
+ * zero on the diagonal and to negative infinity elsewhere.
+ * </p>
  *
  * @author Bram van der Sanden
  */
 public class DenseMatrix extends Matrix {
 
-    private int columns;
-    private int rows;
-    private Value[][] matrix;
+    private final int columns;
+    private final int rows;
+    private final double[] matrix;
 
     public DenseMatrix(int rows, int columns) {
         this.columns = columns;
         this.rows = rows;
-        matrix = new Value[rows][columns];
+        matrix = new double[rows * columns];
+
+        // Default values.
+        Arrays.fill(matrix, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < Math.min(rows, columns); i++) {
+            matrix[i * columns + i] = 0.0;
+        }
     }
 
     public DenseMatrix(int rows, int columns, Double... values) {
-        this.columns = columns;
-        this.rows = rows;
-        matrix = new Value[rows][columns];
+        this(rows, columns);
 
         int i = 0;
         for (Double val : values) {
-            put(i / getColumns(), i % getRows(), new Value(val));
+            matrix[index(i / getColumns(), i % getRows())] = val;
             i++;
         }
     }
 
+    /**
+     * Create a matrix backed by the given row-major array, without copying it.
+     */
+    DenseMatrix(int rows, int columns, double[] matrix) {
+        this.columns = columns;
+        this.rows = rows;
+        this.matrix = matrix;
+    }
+
+    private int index(int row, int column) {
+        return row * columns + column;
+    }
+
     @Override
     public void put(int row, int column, Value value) {
-        matrix[row][column] = value;
+        matrix[index(row, column)] = value.getValue();
     }
 
     @Override
     public Value get(int row, int column) {
-        if (matrix[row][column] != null) {
-            return matrix[row][column];
-        } else {
-            // Default value needed.
-            if (row == column) {
-                return new Value(0.0);
-            } else {
-                return Value.NEGATIVE_INFINITY;
-            }
+        double value = matrix[index(row, column)];
+        if (value == Double.NEGATIVE_INFINITY) {
+            return Value.NEGATIVE_INFINITY;
         }
+        return new Value(value);
+    }
+
+    @Override
+    public double getDouble(int row, int column) {
+        return matrix[index(row, column)];
+    }
+
+    @Override
+    public double[] toArray() {
+        return matrix.clone();
     }
 
     @Override
@@ -58,6 +86,38 @@ public class DenseMatrix extends Matrix {
         return rows;
     }
 
+    @Override
+    public Vector multiply(Vector vector) {
+        // Ensure width of matrix is equal to vector length;
+        assert (getColumns() == vector.size());
+
+        double[] result = new double[rows];
+        MaxPlus.multiply(matrix, rows, columns, vector.vector, result);
+        return Vector.wrap(result);
+    }
+
+    /**
+     * Compute {@code result = (A ⊗ x) ⊕ x} without allocating, see {@link MaxPlus#multiply}.
+     *
+     * @param x      input vector
+     * @param result output vector, must not be the same array as {@code x}
+     */
+    @Override
+    public void multiply(double[] x, double[] result) {
+        MaxPlus.multiply(matrix, rows, columns, x, result);
+    }
+
+    @Override
+    public Matrix multiply(Matrix matrix) {
+        // Ensure matrices are compatible.
+        assert (getColumns() == matrix.getRows());
+
+        double[] other = matrix instanceof DenseMatrix ? ((DenseMatrix) matrix).matrix : matrix.toArray();
+        double[] result = new double[rows * matrix.getColumns()];
+        MaxPlus.multiply(this.matrix, other, rows, columns, matrix.getColumns(), result);
+        return new DenseMatrix(rows, matrix.getColumns(), result);
+    }
+
     public String toString() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < rows; i++) {
@@ -0,0 +1,188 @@
+package org.ludus.backend.algebra;
+
+/**
+ * Exact fixed-point max-plus algebra on scaled {@code long} values.
+ * <p>
+ * A value {@code v} is represented by the integer {@code round(v * scale)}, and {@link Long#MIN_VALUE}
+ * represents negative infinity. Since addition, maximum and normalization are exact on integers,
+ * configurations that are equal in exact arithmetic also have equal fixed-point vectors, which is not
+ * guaranteed when normalizing doubles. Use a scale of 1 for integer durations, and e.g. a scale of
+ * 1000 for durations with at most three decimals. Finite values must stay within the range of
+ * {@code long}.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class FixedPoint {
+
+    /**
+     * Fixed-point representation of negative infinity.
+     */
+    public static final long NEGATIVE_INFINITY = Long.MIN_VALUE;
+
+    /**
+     * Fixed-point mode for integer values.
+     */
+    public static final FixedPoint INTEGER = new FixedPoint(1);
+
+    private final long scale;
+
+    /**
+     * Create a fixed-point mode with the given scale factor.
+     *
+     * @param scale number of units per 1.0, must be positive
+     */
+    public FixedPoint(long scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("Scale factor must be positive, but is " + scale + ".");
+        }
+        this.scale = scale;
+    }
+
+    public long getScale() {
+        return scale;
+    }
+
+    /**
+     * Convert a value to its fixed-point representation, rounding to the nearest unit.
+     *
+     * @param value value to convert, must not be positive infinity or NaN
+     * @return scaled integer value
+     */
+    public long toLong(double value) {
+        if (value == Double.NEGATIVE_INFINITY) {
+            return NEGATIVE_INFINITY;
+        }
+        assert (!Double.isNaN(value) && !Double.isInfinite(value));
+        return Math.round(value * scale);
+    }
+
+    /**
+     * Convert a fixed-point value back to a double.
+     *
+     * @param value scaled integer value
+     * @return value divided by the scale factor
+     */
+    public double toDouble(long value) {
+        if (value == NEGATIVE_INFINITY) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return (double) value / scale;
+    }
+
+    /**
+     * Round a value to the nearest value that is representable in this fixed-point mode.
+     *
+     * @param value value to round
+     * @return rounded value
+     */
+    public Value round(Value value) {
+        return new Value(toDouble(toLong(value.getValue())));
+    }
+
+    /**
+     * Return the fixed-point entries of the given matrix as a row-major array.
+     *
+     * @param matrix input matrix
+     * @return array of length {@code matrix.getRows() * matrix.getColumns()}
+     */
+    public long[] toArray(Matrix matrix) {
+        double[] entries = matrix.toArray();
+        long[] result = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            result[i] = toLong(entries[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Convert a vector to its fixed-point representation.
+     *
+     * @param vector input vector
+     * @return fixed-point vector
+     */
+    public LongVector toLongVector(Vector vector) {
+        long[] result = new long[vector.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = toLong(vector.vector[i]);
+        }
+        return new LongVector(result);
+    }
+
+    /**
+     * Convert a fixed-point vector back to a vector of doubles.
+     *
+     * @param vector fixed-point vector
+     * @return vector with the entries divided by the scale factor
+     */
+    public Vector toVector(LongVector vector) {
+        double[] result = new double[vector.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = toDouble(vector.get(i));
+        }
+        return Vector.wrap(result);
+    }
+
+    /**
+     * Compute {@code result = (A ⊗ x) ⊕ x} on fixed-point values, see {@link MaxPlus#multiply}.
+     * Terms with a negative infinity operand are skipped, so they cannot overflow.
+     *
+     * @param matrix  row-major fixed-point matrix entries
+     * @param rows    number of rows of the matrix
+     * @param columns number of columns of the matrix, must equal the length of {@code x}
+     * @param x       input vector
+     * @param result  output vector of length {@code rows}, must not be the same array as {@code x}
+     */
+    public static void multiply(long[] matrix, int rows, int columns, long[] x, long[] result) {
+        assert (x != result);
+        for (int i = 0; i < rows; i++) {
+            long newVal = x[i];
+            int offset = i * columns;
+            for (int j = 0; j < columns; j++) {
+                long aij = matrix[offset + j];
+                if (aij != NEGATIVE_INFINITY && x[j] != NEGATIVE_INFINITY) {
+                    newVal = Math.max(newVal, aij + x[j]);
+                }
+            }
+            result[i] = newVal;
+        }
+    }
+
+    /**
+     * Normalize the given fixed-point vector by subtracting its maximal element from every finite element.
+     * The input and output array may be the same array.
+     *
+     * @param x      input vector
+     * @param result output vector with the same length as {@code x}
+     * @return the norm that has been subtracted
+     */
+    public static long normalize(long[] x, long[] result) {
+        long norm = NEGATIVE_INFINITY;
+        for (long v : x) {
+            norm = Math.max(norm, v);
+        }
+        assert (norm != NEGATIVE_INFINITY);
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i] == NEGATIVE_INFINITY ? NEGATIVE_INFINITY : x[i] - norm;
+        }
+        return norm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FixedPoint)) return false;
+        return scale == ((FixedPoint) o).scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(scale);
+    }
+
+    @Override
+    public String toString() {
+        return "FixedPoint(scale=" + scale + ")";
+    }
+
+}
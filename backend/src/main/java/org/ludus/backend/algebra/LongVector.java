@@ -0,0 +1,127 @@
+package org.ludus.backend.algebra;
+
+import java.util.Arrays;
+
+/**
+ * Immutable max-plus vector of fixed-point values, see {@link FixedPoint}.
+ * <p>
+ * Equality and hashing operate directly on the {@code long} entries, so they are exact and cheap.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class LongVector implements Comparable<LongVector> {
+
+    private final long[] vector;
+
+    /**
+     * Create a vector backed by the given array, without copying it.
+     */
+    LongVector(long[] vector) {
+        this.vector = vector;
+    }
+
+    /**
+     * Create a vector with the given fixed-point entries.
+     *
+     * @param values fixed-point entries, {@link FixedPoint#NEGATIVE_INFINITY} for negative infinity
+     * @return vector with a copy of {@code values}
+     */
+    public static LongVector of(long... values) {
+        return new LongVector(values.clone());
+    }
+
+    public int size() {
+        return vector.length;
+    }
+
+    public long get(int index) {
+        return vector[index];
+    }
+
+    /**
+     * Return a copy of the entries of this vector.
+     *
+     * @return array with the vector entries
+     */
+    public long[] toArray() {
+        return vector.clone();
+    }
+
+    /**
+     * Compute {@code (A ⊗ x) ⊕ x} for this vector {@code x}.
+     *
+     * @param matrix  row-major fixed-point matrix entries, see {@link FixedPoint#toArray(Matrix)}
+     * @param rows    number of rows of the matrix
+     * @param columns number of columns of the matrix, must equal the size of this vector
+     * @return resulting vector
+     */
+    public LongVector multiply(long[] matrix, int rows, int columns) {
+        assert (columns == vector.length);
+        long[] result = new long[rows];
+        FixedPoint.multiply(matrix, rows, columns, vector, result);
+        return new LongVector(result);
+    }
+
+    /**
+     * Return the max-plus norm of this vector, i.e. its maximal element.
+     *
+     * @return maximal element, or {@link FixedPoint#NEGATIVE_INFINITY} if the vector is empty
+     */
+    public long getNorm() {
+        long norm = FixedPoint.NEGATIVE_INFINITY;
+        for (long v : vector) {
+            norm = Math.max(norm, v);
+        }
+        return norm;
+    }
+
+    /**
+     * Return the vector where the norm has been subtracted from every finite entry.
+     * Normalization is exact.
+     *
+     * @return normalized vector
+     */
+    public LongVector normalize() {
+        long[] result = new long[vector.length];
+        FixedPoint.normalize(vector, result);
+        return new LongVector(result);
+    }
+
+    @Override
+    public int compareTo(LongVector other) {
+        assert other.size() == this.size();
+        for (int i = 0; i < vector.length; i++) {
+            int comparison = Long.compare(vector[i], other.vector[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongVector)) return false;
+        return Arrays.equals(vector, ((LongVector) o).vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(vector[i] == FixedPoint.NEGATIVE_INFINITY ? "-Infinity" : Long.toString(vector[i]));
+        }
+        return sb.append("]").toString();
+    }
+
+}
@@ -15,23 +15,59 @@ public abstract class Matrix implements Comparable<Matrix> {
 
     public abstract int getRows();
 
+    /**
+     * Return the primitive value at the given position.
+     *
+     * @param row    row index
+     * @param column column index
+     * @return value at (row, column)
+     */
+    public double getDouble(int row, int column) {
+        return get(row, column).getValue();
+    }
+
+    /**
+     * Return the entries of this matrix as a row-major array.
+     *
+     * @return array of length {@code getRows() * getColumns()}
+     */
+    public double[] toArray() {
+        int columns = getColumns();
+        double[] result = new double[getRows() * columns];
+        for (int row = 0; row < getRows(); row++) {
+            for (int col = 0; col < columns; col++) {
+                result[row * columns + col] = getDouble(row, col);
+            }
+        }
+        return result;
+    }
+
     public Vector multiply(Vector vector) {
         // Ensure width of matrix is equal to vector length;
         assert (getColumns() == vector.size());
 
-        Vector result = new Vector(vector.size());
-        for (int i = 0; i < vector.size(); i++) {
+        double[] result = new double[vector.vector.length];
+        multiply(vector.vector, result);
+        return Vector.wrap(result);
+    }
+
+    /**
+     * Compute {@code result = (A ⊗ x) ⊕ x} without allocating, see {@link MaxPlus#multiply}.
+     *
+     * @param x      input vector
+     * @param result output vector, must not be the same array as {@code x}
+     */
+    public void multiply(double[] x, double[] result) {
+        assert (x != result);
+        for (int i = 0; i < x.length; i++) {
             // Compute new vector value i.
-            Value newVal = vector.get(i);
+            double newVal = x[i];
             for (int j = 0; j < getColumns(); j++) {
-                // Addition term.
-                Value newTerm = vector.get(j).add(get(i, j));
-                // Take maximum.
-                newVal = newVal.max(newTerm);
+                // Take maximum of the addition terms.
+                newVal = Math.max(newVal, x[j] + getDouble(i, j));
             }
-            result.put(i, newVal);
+            result[i] = newVal;
         }
-        return result;
     }
 
     public Matrix multiply(Matrix matrix) {
@@ -74,7 +110,7 @@ public abstract class Matrix implements Comparable<Matrix> {
 
         for (int row = 0; row < getRows(); row++) {
             for (int col = 0; col < getColumns(); col++) {
-                int comparison = get(row, col).compareTo(otherMatrix.get(row, col));
+                int comparison = Double.compare(getDouble(row, col), otherMatrix.getDouble(row, col));
                 if (comparison != 0) {
                     return comparison;
                 }
@@ -0,0 +1,211 @@
+package org.ludus.backend.algebra;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Primitive max-plus kernels on flat {@code double[]} storage.
+ * <p>
+ * Matrices are stored row-major, i.e. entry (row, column) of a matrix with {@code columns} columns is
+ * found at index {@code row * columns + column}. Negative infinity is the max-plus zero element.
+ * Results are written into an array supplied by the caller, so the kernels do not allocate
+ * (apart from the fork-join tasks of large matrix-matrix products).
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class MaxPlus {
+
+    // Tile sizes of the blocked matrix-matrix product. A tile of the right-hand matrix of
+    // INNER_BLOCK x COLUMN_BLOCK doubles (32 KB) fits in the L1/L2 cache of common processors.
+    private static final int INNER_BLOCK = 64;
+    private static final int COLUMN_BLOCK = 64;
+
+    // Rows handled by a single fork-join task.
+    private static final int ROW_BLOCK = 16;
+
+    // Products with fewer scalar operations than this are computed on the calling thread.
+    private static final long PARALLEL_THRESHOLD = 1L << 18;
+
+    // Matrix-vector products with fewer columns than this are faster with the scalar kernel.
+    private static final int SIMD_THRESHOLD = 32;
+
+    /**
+     * Return whether the matrix-vector product uses the SIMD kernel. The kernel is built on the
+     * incubating JDK Vector API and is only available on Java 17 or later, when the
+     * {@code jdk.incubator.vector} module is added to the JVM with {@code --add-modules}.
+     *
+     * @return true if the SIMD kernel is used, false if the scalar kernel is used
+     */
+    public static boolean isSimdAvailable() {
+        return SimdMaxPlus.isAvailable();
+    }
+
+    private MaxPlus() {
+        // Empty for utility classes
+    }
+
+    /**
+     * Compute {@code result = (A ⊗ x) ⊕ x}, the matrix-vector product used during state-space exploration.
+     * Entry {@code i} of the result equals {@code max(x[i], max_j (A[i][j] + x[j]))}.
+     * The SIMD kernel is used if it is available, see {@link #isSimdAvailable()}.
+     *
+     * @param matrix  row-major matrix entries
+     * @param rows    number of rows of the matrix
+     * @param columns number of columns of the matrix, must equal the length of {@code x}
+     * @param x       input vector
+     * @param result  output vector of length {@code rows}, must not be the same array as {@code x}
+     */
+    public static void multiply(double[] matrix, int rows, int columns, double[] x, double[] result) {
+        if (columns >= SIMD_THRESHOLD && SimdMaxPlus.isAvailable()) {
+            SimdMaxPlus.multiply(matrix, rows, columns, x, result);
+        } else {
+            multiplyScalar(matrix, rows, columns, x, result);
+        }
+    }
+
+    /**
+     * Scalar variant of {@link #multiply(double[], int, int, double[], double[])}, which does not use
+     * the SIMD kernel.
+     *
+     * @param matrix  row-major matrix entries
+     * @param rows    number of rows of the matrix
+     * @param columns number of columns of the matrix, must equal the length of {@code x}
+     * @param x       input vector
+     * @param result  output vector of length {@code rows}, must not be the same array as {@code x}
+     */
+    public static void multiplyScalar(double[] matrix, int rows, int columns, double[] x, double[] result) {
+        assert (x != result);
+        for (int i = 0; i < rows; i++) {
+            double newVal = x[i];
+            int offset = i * columns;
+            for (int j = 0; j < columns; j++) {
+                newVal = Math.max(newVal, x[j] + matrix[offset + j]);
+            }
+            result[i] = newVal;
+        }
+    }
+
+    /**
+     * Return the max-plus norm of the given vector, i.e. its maximal element.
+     *
+     * @param x input vector
+     * @return maximal element of {@code x}, or negative infinity if {@code x} is empty
+     */
+    public static double norm(double[] x) {
+        double norm = Double.NEGATIVE_INFINITY;
+        for (double v : x) {
+            norm = Math.max(norm, v);
+        }
+        return norm;
+    }
+
+    /**
+     * Normalize the given vector by subtracting its norm from every element.
+     * The input and output array may be the same array.
+     *
+     * @param x      input vector
+     * @param result output vector with the same length as {@code x}
+     * @return the norm that has been subtracted
+     */
+    public static double normalize(double[] x, double[] result) {
+        double norm = norm(x);
+        assert (norm != Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i] - norm;
+        }
+        return norm;
+    }
+
+    /**
+     * Compute the max-plus matrix product {@code C = A ⊗ B}, i.e.
+     * {@code C[i][j] = max_k (A[i][k] + B[k][j])}. The product is cache-blocked, and large products
+     * are split into row blocks that are computed in parallel on the common fork-join pool.
+     * Entries equal to negative infinity are skipped, so they never contribute to the maximum.
+     * Entries are assumed not to be positive infinity.
+     *
+     * @param a       row-major left-hand matrix of size {@code rows x inner}
+     * @param b       row-major right-hand matrix of size {@code inner x columns}
+     * @param rows    number of rows of {@code a}
+     * @param inner   number of columns of {@code a} and rows of {@code b}
+     * @param columns number of columns of {@code b}
+     * @param c       row-major output matrix of size {@code rows x columns}, must not alias {@code a} or {@code b}
+     */
+    public static void multiply(double[] a, double[] b, int rows, int inner, int columns, double[] c) {
+        assert (c != a && c != b);
+        Arrays.fill(c, 0, rows * columns, Double.NEGATIVE_INFINITY);
+        if ((long) rows * inner * columns < PARALLEL_THRESHOLD || rows <= ROW_BLOCK) {
+            multiplyRows(a, b, inner, columns, c, 0, rows);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowBlockTask(a, b, inner, columns, c, 0, rows));
+        }
+    }
+
+    /**
+     * Compute rows {@code [rowStart, rowEnd)} of the blocked product {@code C = A ⊗ B}.
+     * The rows of {@code c} must have been initialized to negative infinity.
+     */
+    private static void multiplyRows(double[] a, double[] b, int inner, int columns, double[] c,
+                                     int rowStart, int rowEnd) {
+        for (int kBlock = 0; kBlock < inner; kBlock += INNER_BLOCK) {
+            int kEnd = Math.min(kBlock + INNER_BLOCK, inner);
+            for (int jBlock = 0; jBlock < columns; jBlock += COLUMN_BLOCK) {
+                int jEnd = Math.min(jBlock + COLUMN_BLOCK, columns);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    int aOffset = i * inner;
+                    int cOffset = i * columns;
+                    for (int k = kBlock; k < kEnd; k++) {
+                        double aik = a[aOffset + k];
+                        if (aik == Double.NEGATIVE_INFINITY) {
+                            // This term cannot contribute to row i.
+                            continue;
+                        }
+                        int bOffset = k * columns;
+                        for (int j = jBlock; j < jEnd; j++) {
+                            c[cOffset + j] = Math.max(c[cOffset + j], aik + b[bOffset + j]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fork-join task that splits a range of rows of a matrix product until it is at most
+     * {@code ROW_BLOCK} rows.
+     */
+    private static final class RowBlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 2645934113522117407L;
+
+        private final double[] a;
+        private final double[] b;
+        private final int inner;
+        private final int columns;
+        private final double[] c;
+        private final int rowStart;
+        private final int rowEnd;
+
+        RowBlockTask(double[] a, double[] b, int inner, int columns, double[] c, int rowStart, int rowEnd) {
+            this.a = a;
+            this.b = b;
+            this.inner = inner;
+            this.columns = columns;
+            this.c = c;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowEnd - rowStart <= ROW_BLOCK) {
+                multiplyRows(a, b, inner, columns, c, rowStart, rowEnd);
+            } else {
+                int middle = (rowStart + rowEnd) >>> 1;
+                invokeAll(new RowBlockTask(a, b, inner, columns, c, rowStart, middle),
+                        new RowBlockTask(a, b, inner, columns, c, middle, rowEnd));
+            }
+        }
+    }
+
+}
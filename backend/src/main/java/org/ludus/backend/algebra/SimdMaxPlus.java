@@ -0,0 +1,27 @@
+package org.ludus.backend.algebra;
+
+/**
+ * SIMD max-plus kernels.
+ * <p>
+ * This is the fallback for Java versions without the JDK Vector API: it is never available and
+ * delegates to the scalar kernels of {@link MaxPlus}. The Java 17 version of this class in
+ * {@code src/main/java17} is packaged in the multi-release jar and replaces it at run time.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+final class SimdMaxPlus {
+
+    private SimdMaxPlus() {
+        // Empty for utility classes
+    }
+
+    static boolean isAvailable() {
+        return false;
+    }
+
+    static void multiply(double[] matrix, int rows, int columns, double[] x, double[] result) {
+        MaxPlus.multiplyScalar(matrix, rows, columns, x, result);
+    }
+
+}
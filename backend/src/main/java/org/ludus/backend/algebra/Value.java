@@ -9,9 +9,9 @@ public class Value implements Comparable<Value> {
 
     public static Value NEGATIVE_INFINITY = new Value(Double.NEGATIVE_INFINITY);
 
-    private Double value;
+    private final double value;
 
-    public Value(Double value) {
+    public Value(double value) {
         this.value = value;
     }
 
@@ -43,21 +43,17 @@ public class Value implements Comparable<Value> {
 
         Value value1 = (Value) o;
 
-        return value.equals(value1.value);
+        return Double.doubleToLongBits(value) == Double.doubleToLongBits(value1.value);
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return Double.hashCode(value);
     }
 
     @Override
     public String toString() {
-        if ((value % 1) == 0) {
-            return Integer.toString(value.intValue());
-        } else {
-            return Double.toString(value);
-        }
+        return toString(value);
     }
 
     @Override
@@ -65,9 +61,22 @@ public class Value implements Comparable<Value> {
         return Double.compare(this.value, o.value);
     }
 
-    public Double getValue() {
+    public double getValue() {
         return value;
     }
 
+    /**
+     * Format a primitive max-plus value in the same way as {@link #toString()}.
+     *
+     * @param value value to format
+     * @return string representation of the value
+     */
+    static String toString(double value) {
+        if ((value % 1) == 0) {
+            return Integer.toString((int) value);
+        } else {
+            return Double.toString(value);
+        }
+    }
 
 }
@@ -9,42 +9,57 @@ import java.util.Arrays;
  */
 public class Vector implements Comparable<Vector> {
 
-    private Value[] vector;
+    // Entries are stored unboxed; see MaxPlus for the kernels operating on them.
+    final double[] vector;
 
     public Vector(Integer length, Value value) {
-        vector = new Value[length];
-        for (int i = 0; i < length; i++) {
-            put(i, value);
-        }
+        vector = new double[length];
+        Arrays.fill(vector, value.getValue());
     }
 
     public Vector(Vector otherVector) {
-        vector = new Value[otherVector.size()];
-        for (int i = 0; i < vector.length; i++) {
-            put(i, otherVector.get(i));
-        }
+        vector = otherVector.vector.clone();
     }
 
     public Vector(Double... values) {
-        vector = new Value[values.length];
+        vector = new double[values.length];
         for (int i = 0; i < values.length; i++) {
-            put(i, new Value(values[i]));
+            vector[i] = values[i];
         }
     }
 
     public Vector(Value... values) {
-        vector = new Value[values.length];
+        vector = new double[values.length];
         for (int i = 0; i < values.length; i++) {
             put(i, values[i]);
         }
     }
 
+    public Vector(double[] values) {
+        vector = values.clone();
+    }
+
     public Vector(Integer length) {
-        vector = new Value[length];
+        vector = new double[length];
+        Arrays.fill(vector, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Wrap the given array without copying it. The caller must not modify the array afterwards.
+     *
+     * @param values vector entries
+     * @return vector backed by {@code values}
+     */
+    static Vector wrap(double[] values) {
+        return new Vector(values, true);
+    }
+
+    private Vector(double[] values, boolean shared) {
+        vector = values;
     }
 
     public void put(Integer index, Value mpValue) {
-        vector[index] = mpValue;
+        vector[index] = mpValue.getValue();
     }
 
     public Integer size() {
@@ -52,51 +67,53 @@ public class Vector implements Comparable<Vector> {
     }
 
     public Value get(Integer index) {
-        return vector[index];
+        return new Value(vector[index]);
+    }
+
+    /**
+     * Return a copy of the entries of this vector.
+     *
+     * @return array with the vector entries
+     */
+    public double[] toArray() {
+        return vector.clone();
     }
 
     public Value getNorm() {
-        Value norm = Value.NEGATIVE_INFINITY;
-        for (Value v : vector) {
-            norm = norm.max(v);
-        }
-        return norm;
+        return new Value(MaxPlus.norm(vector));
     }
 
     public Vector normalize() {
-        Value maximalElement = getNorm();
-        assert (!maximalElement.equals(Value.NEGATIVE_INFINITY));
-        Vector result = new Vector(size());
-        for (int i = 0; i < size(); i++) {
-            result.put(i, get(i).subtract(maximalElement));
-        }
-        return result;
+        double[] result = new double[vector.length];
+        MaxPlus.normalize(vector, result);
+        return wrap(result);
     }
 
     public Vector plus(Value value) {
-        Vector vec = new Vector(this.size());
-        for (int i = 0; i < size(); i++) {
-            vec.put(i, vector[i].add(value));
+        double[] result = new double[vector.length];
+        double v = value.getValue();
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] + v;
         }
-        return vec;
+        return wrap(result);
     }
 
     public Vector max(Vector mpVector) {
         // Assert both vectors have the same size.
         assert mpVector.size().equals(this.size());
         // Create a new vector.
-        Vector vec = new Vector(this.size());
-        for (int i = 0; i < mpVector.size(); i++) {
-            vec.put(i, mpVector.get(i).max(this.get(i)));
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = Math.max(mpVector.vector[i], vector[i]);
         }
-        return vec;
+        return wrap(result);
     }
 
     @Override
     public int compareTo(Vector mpVector) {
         assert mpVector.size().equals(this.size());
-        for (int i = 0; i < mpVector.size(); i++) {
-            int comparison = vector[i].compareTo(mpVector.get(i));
+        for (int i = 0; i < vector.length; i++) {
+            int comparison = Double.compare(vector[i], mpVector.vector[i]);
             if (comparison != 0) {
                 return comparison;
             }
@@ -122,7 +139,14 @@ public class Vector implements Comparable<Vector> {
 
     @Override
     public String toString() {
-        return Arrays.toString(vector);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(Value.toString(vector[i]));
+        }
+        return sb.append("]").toString();
     }
 
 
@@ -1,9 +1,12 @@
 package org.ludus.backend.algorithms;
 
 import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.IndexedSingleWeightedGraph;
 import org.ludus.backend.graph.SingleWeightedGraph;
 
 import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,21 @@ public final class BellmanFord {
      * @return a tuple with the length of the shortest path and the shortest path
      */
     public static <V, E> Tuple<Double, List<E>> runBellmanFord(SingleWeightedGraph<V, E, Double> graph, V source) {
+        return runBellmanFord(graph, source, predHasNoSuccessors(graph));
+    }
+
+    /**
+     * Bellman-Ford shortest path algorithm to the nearest vertex that satisfies the given predicate.
+     *
+     * @param graph           input graph
+     * @param source          source vertex
+     * @param targetPredicate predicate that holds for the target vertices
+     * @param <V>             vertex type
+     * @param <E>             edge type
+     * @return a tuple with the length of the shortest path and the shortest path, or positive infinity
+     * and an empty path if no target vertex is reachable
+     */
+    public static <V, E> Tuple<Double, List<E>> runBellmanFord(SingleWeightedGraph<V, E, Double> graph, V source, Predicate<V> targetPredicate) {
         // Run the Bellman Ford algorithm to compute the distance and previous value for each vertex.
         Optional<Tuple<Map<V, Double>, Map<V, V>>> result = computeDistPrev(graph, source);
 
@@ -40,11 +58,15 @@ public final class BellmanFord {
         Map<V, Double> dist = result.get().getLeft();
         Map<V, V> prev = result.get().getRight();
 
-        // Find all vertices with no outgoing edges.
-        Set<V> endVertices = graph.getVertices().stream().filter(predHasNoSuccessors(graph)).collect(Collectors.toSet());
+        // Find all target vertices.
+        Set<V> endVertices = graph.getVertices().stream().filter(targetPredicate).collect(Collectors.toSet());
 
         // Find the vertex with the minimal distance.
-        V target = endVertices.stream().min(Comparator.comparingDouble(dist::get)).get();
+        Optional<V> minimal = endVertices.stream().min(Comparator.comparingDouble(dist::get));
+        if (!minimal.isPresent()) {
+            return Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<E>());
+        }
+        V target = minimal.get();
 
         // Construct the shortest path from source to target.
         List<E> path = new LinkedList<>();
@@ -92,6 +114,117 @@ public final class BellmanFord {
     }
 
 
+    /**
+     * Bellman-Ford shortest path algorithm on an indexed graph, to the nearest vertex without outgoing edges.
+     *
+     * @param graph  input graph
+     * @param source source vertex id
+     * @return a tuple with the length of the shortest path and the shortest path as a list of edge ids
+     */
+    public static Tuple<Double, List<Integer>> runIndexedBellmanFord(IndexedSingleWeightedGraph graph, int source) {
+        return runIndexedBellmanFord(graph, source, v -> graph.getOutStart(v) == graph.getOutEnd(v));
+    }
+
+    /**
+     * Bellman-Ford shortest path algorithm on an indexed graph, to the nearest vertex that satisfies the
+     * given predicate. Distances and the last edge of the shortest path to each vertex are kept in arrays,
+     * and the relaxation stops early when a round does not change any distance.
+     *
+     * @param graph           input graph
+     * @param source          source vertex id
+     * @param targetPredicate predicate that holds for the target vertices
+     * @return a tuple with the length of the shortest path and the shortest path as a list of edge ids, or
+     * positive infinity and an empty path if no target vertex is reachable
+     */
+    public static Tuple<Double, List<Integer>> runIndexedBellmanFord(IndexedSingleWeightedGraph graph, int source, IntPredicate targetPredicate) {
+        return runIndexedBellmanFord(graph, source, targetPredicate, () -> false);
+    }
+
+    /**
+     * Bellman-Ford shortest path algorithm on an indexed graph that can be stopped early. The stop condition
+     * is evaluated before each relaxation round after the first. If it holds, the algorithm stops with the
+     * shortest path to a target vertex among the paths found so far, whose length is at least the length of
+     * the shortest path. The check for negative-weight cycles is then skipped, unless the path to the target
+     * runs into such a cycle.
+     *
+     * @param graph           input graph
+     * @param source          source vertex id
+     * @param targetPredicate predicate that holds for the target vertices
+     * @param stop            condition to stop before the shortest path is found
+     * @return a tuple with the length of the shortest path, or an upper bound on it if stopped, and the path
+     * as a list of edge ids, or positive infinity and an empty path if no target vertex has been reached
+     */
+    public static Tuple<Double, List<Integer>> runIndexedBellmanFord(IndexedSingleWeightedGraph graph, int source, IntPredicate targetPredicate, BooleanSupplier stop) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        double[] dist = new double[n];
+        int[] prev = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(prev, -1);
+        dist[source] = 0.0;
+
+        // Main loop: relax edges repeatedly.
+        boolean changed = true;
+        boolean stopped = false;
+        for (int i = 1; i < n && changed; i++) {
+            if (i > 1 && stop.getAsBoolean()) {
+                stopped = true;
+                break;
+            }
+            changed = false;
+            for (int e = 0; e < m; e++) {
+                int u = graph.getSource(e);
+                int v = graph.getTarget(e);
+                if (dist[u] + graph.getWeight(e) < dist[v]) {
+                    dist[v] = dist[u] + graph.getWeight(e);
+                    prev[v] = e;
+                    changed = true;
+                }
+            }
+        }
+
+        // Check for negative-weight cycles.
+        for (int e = 0; e < m && !stopped; e++) {
+            if (dist[graph.getSource(e)] + graph.getWeight(e) < dist[graph.getTarget(e)]) {
+                // Graph contains a negative-weight cycle.
+                return Tuple.of(Double.NEGATIVE_INFINITY, new LinkedList<>());
+            }
+        }
+
+        // Find the target vertex with the minimal distance.
+        int target = -1;
+        for (int v = 0; v < n; v++) {
+            if (targetPredicate.test(v) && (target == -1 || dist[v] < dist[target])) {
+                target = v;
+            }
+        }
+        if (target == -1 || dist[target] == Double.POSITIVE_INFINITY) {
+            return Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<>());
+        }
+
+        // Construct the shortest path from source to target. If stopped, the previous edges may form a
+        // negative-weight cycle, which shows as a path with more than n - 1 edges.
+        LinkedList<Integer> path = new LinkedList<>();
+        for (int v = target; v != source; v = graph.getSource(prev[v])) {
+            if (path.size() == n - 1) {
+                // Graph contains a negative-weight cycle.
+                return Tuple.of(Double.NEGATIVE_INFINITY, new LinkedList<>());
+            }
+            path.addFirst(prev[v]);
+        }
+        if (!stopped) {
+            return Tuple.of(dist[target], path);
+        }
+
+        // The distances of the vertices on the path may have decreased after the target was last relaxed, so
+        // the path can be shorter than the distance of the target.
+        double length = 0.0;
+        for (int e : path) {
+            length += graph.getWeight(e);
+        }
+        return Tuple.of(length, path);
+    }
+
     /**
      * Run the Bellman-Ford shortest path algorithm. Return the distance and previous value for each vertex.
      *
@@ -1,10 +1,8 @@
 package org.ludus.backend.algorithms;
 
 import org.ludus.backend.graph.Graph;
-
-import java.util.HashSet;
-import java.util.Set;
-
+import org.ludus.backend.graph.IndexedGraph;
+import org.ludus.backend.graph.IndexedGraphAdapter;
 
 /**
  * Check whether the given graph is acyclic.
@@ -14,7 +12,8 @@ import java.util.Set;
 public final class CycleCheck {
 
     /**
-     * Check whether the given graph contains a cycle.
+     * Check whether the given graph contains a cycle. The graph has a cycle iff it has a strongly connected
+     * component with more than one vertex, or a vertex with a self-loop.
      *
      * @param graph input graph
      * @param <V>   vertex type
@@ -22,34 +21,24 @@ public final class CycleCheck {
      * @return true iff the graph contains a cycle
      */
     public static <V, E> boolean check(Graph<V, E> graph) {
-        Set<V> unmarked = new HashSet<>(graph.getVertices());
-        Set<V> tempMarked = new HashSet<>();
-        try {
-            while (!unmarked.isEmpty()) {
-                V v = unmarked.iterator().next();
-                visit(graph, unmarked, tempMarked, v);
-            }
-            return false;
-        } catch (CycleFoundException e) {
-            return true;
-        }
+        return checkIndexed(IndexedGraphAdapter.of(graph));
     }
 
-    private static <V, E> void visit(Graph<V, E> graph, Set<V> unmarked, Set<V> tempMarked, V v)
-            throws CycleFoundException {
-        if (tempMarked.contains(v)) {
-            throw new CycleFoundException();
+    /**
+     * Check whether the given indexed graph contains a cycle.
+     *
+     * @param graph input graph
+     * @return true iff the graph contains a cycle
+     */
+    public static boolean checkIndexed(IndexedGraph graph) {
+        if (IndexedTarjan.of(graph).getComponentCount() < graph.getVertexCount()) {
+            return true;
         }
-
-        if (unmarked.contains(v)) {
-            tempMarked.add(v);
-            for (E edge : graph.outgoingEdgesOf(v)) {
-                visit(graph, unmarked, tempMarked, graph.getEdgeTarget(edge));
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            if (graph.getSource(e) == graph.getTarget(e)) {
+                return true;
             }
-            // Mark v permanently.
-            unmarked.remove(v);
-            // Unmark v temporarily.
-            tempMarked.remove(v);
         }
+        return false;
     }
 }
@@ -1,9 +1,12 @@
 package org.ludus.backend.algorithms;
 
 import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.IndexedSingleWeightedGraph;
 import org.ludus.backend.graph.SingleWeightedGraph;
 
 import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 
 /**
@@ -13,6 +16,14 @@ import java.util.function.Predicate;
  */
 public final class Dijkstra {
 
+    private static final int NONE = -1;
+
+    // Initial capacity of the queue of the generic version; it grows with the number of reached vertices.
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Number of settled vertices between two evaluations of the stop condition of the indexed version.
+    private static final int STOP_INTERVAL = 1024;
+
     private static <V, E, T> Predicate<V> predHasNoSuccessors(SingleWeightedGraph<V, E, T> graph) {
         return v -> graph.outgoingEdgesOf(v).isEmpty();
     }
@@ -76,94 +87,172 @@ public final class Dijkstra {
      * @param terminationPredicate exploration stops as soon as the predicate is satisfied
      * @param <V>                  vertex type
      * @param <E>                  edge type
-     * @return shortest path from {@code source} to {@code target} in input graph {@code graph}.
+     * @return shortest path from {@code source} to {@code target} in input graph {@code graph}, or positive
+     * infinity and an empty path if no reachable vertex satisfies the predicate.
      */
     public static <V, E> Tuple<Double, List<E>> runDijkstra(SingleWeightedGraph<V, E, Double> graph, V source, Predicate<V> terminationPredicate) {
-
-        Map<V, Double> dist = new HashMap<>(graph.getVertices().size());
-        Map<V, V> prev = new HashMap<>(graph.getVertices().size());
-
-        // Create a new candidate list and search tree.
-        Comparator<CostVertex<V>> comparator = (CostVertex<V> v1, CostVertex<V> v2) ->
-                (int) Math.signum((v1.cost) - (v2.cost));
-
-        PriorityQueue<CostVertex<V>> Q = new PriorityQueue<>(graph.getEdges().size(), comparator);
-
-        Map<V, CostVertex<V>> VtoCVMap = new HashMap<>();
+        // Vertices get an id when they are reached for the first time, and only reached vertices are
+        // inserted in the queue. The key of a vertex in the queue is its tentative distance.
+        Map<V, Integer> ids = new HashMap<>();
+        List<V> vertices = new ArrayList<>();
+        // Last edge of the shortest path to each reached vertex.
+        List<E> prev = new ArrayList<>();
+        IndexedDaryHeap Q = new IndexedDaryHeap(INITIAL_CAPACITY);
 
         // Initialization.
-        dist.put(source, 0.0);
-        for (V v : graph.getVertices()) {
-            if (!v.equals(source)) {
-                dist.put(v, Double.POSITIVE_INFINITY);
-                prev.put(v, null);
-            }
-            CostVertex cv = new CostVertex<>(v, dist.get(v));
-            Q.add(cv);
-            VtoCVMap.put(v, cv);
-        }
+        ids.put(source, 0);
+        vertices.add(source);
+        prev.add(null);
+        Q.insert(0, 0.0);
 
         // Main loop.
-        V target = null;
+        int target = NONE;
         while (!Q.isEmpty()) {
-            CostVertex<V> u = Q.remove();
-            VtoCVMap.remove(u.vertex);
+            int u = Q.poll();
+            V vertex = vertices.get(u);
 
             // We have found our target.
-            if (terminationPredicate.test(u.vertex)) {
-                target = u.vertex;
+            if (terminationPredicate.test(vertex)) {
+                target = u;
                 break;
             }
 
-            for (E e : graph.outgoingEdgesOf(u.vertex)) {
+            double distance = Q.getKey(u);
+            for (E e : graph.outgoingEdgesOf(vertex)) {
                 V neighbor = graph.getEdgeTarget(e);
-                if (VtoCVMap.containsKey(neighbor)) {
-                    double alt = dist.get(u.vertex) + graph.getWeight(e);
-                    if (alt < dist.get(neighbor)) {
-                        dist.put(neighbor, alt);
-                        prev.put(neighbor, u.vertex);
-
-                        // Decrease with priority. Remove the element from the queue, update priority, and re-insert.
-                        CostVertex cvNeighbor = VtoCVMap.get(neighbor);
-                        Q.remove(cvNeighbor);
-
-                        CostVertex<V> costNeighbor = VtoCVMap.get(neighbor);
-                        costNeighbor.cost = alt;
-                        Q.add(costNeighbor);
-                    }
+                double alt = distance + graph.getWeight(e);
+                Integer id = ids.get(neighbor);
+                if (id == null) {
+                    id = vertices.size();
+                    ids.put(neighbor, id);
+                    vertices.add(neighbor);
+                    prev.add(e);
+                    Q.insert(id, alt);
+                } else if (Q.contains(id) && alt < Q.getKey(id)) {
+                    prev.set(id, e);
+                    Q.decreaseKey(id, alt);
                 }
             }
         }
 
+        // No target is reachable.
+        if (target == NONE) {
+            return Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<>());
+        }
+
         // Construct the shortest path from source to target.
-        List<E> path = new LinkedList<>();
-        V u = target;
-        while (prev.containsKey(u)) {
-            path.add(0, graph.getEdge(prev.get(u), u));
-            u = prev.get(u);
+        LinkedList<E> path = new LinkedList<>();
+        for (int v = target; prev.get(v) != null; v = ids.get(graph.getEdgeSource(prev.get(v)))) {
+            path.addFirst(prev.get(v));
         }
 
-        return Tuple.of(dist.get(target), path);
+        return Tuple.of(Q.getKey(target), path);
+    }
+
+    /**
+     * Dijkstra's shortest path algorithm on an indexed graph.
+     * Note: algorithm assumes that the graph has at least one vertex without outgoing edges.
+     *
+     * @param graph  input graph
+     * @param source source vertex id
+     * @return shortest path from {@code source} to some vertex without outgoing edges, as a list of edge ids.
+     */
+    public static Tuple<Double, List<Integer>> runIndexedDijkstra(IndexedSingleWeightedGraph graph, int source) {
+        return runIndexedDijkstra(graph, source, v -> graph.getOutStart(v) == graph.getOutEnd(v));
+    }
+
+    /**
+     * Dijkstra's shortest path algorithm on an indexed graph.
+     *
+     * @param graph  input graph
+     * @param source source vertex id
+     * @param target target vertex id
+     * @return shortest path from {@code source} to {@code target}, as a list of edge ids.
+     */
+    public static Tuple<Double, List<Integer>> runIndexedDijkstra(IndexedSingleWeightedGraph graph, int source, int target) {
+        return runIndexedDijkstra(graph, source, v -> v == target);
+    }
+
+    /**
+     * Dijkstra's shortest path algorithm on an indexed graph. Distances are the keys of an indexed heap, and
+     * the last edge of the shortest path to each vertex is kept in an array.
+     *
+     * @param graph                input graph
+     * @param source               source vertex id
+     * @param terminationPredicate exploration stops as soon as the predicate is satisfied
+     * @return shortest path from {@code source} to the first vertex that satisfies the predicate, as a list
+     * of edge ids, or positive infinity and an empty path if no reachable vertex satisfies the predicate.
+     */
+    public static Tuple<Double, List<Integer>> runIndexedDijkstra(IndexedSingleWeightedGraph graph, int source, IntPredicate terminationPredicate) {
+        return runIndexedDijkstra(graph, source, terminationPredicate, () -> false);
     }
 
     /**
-     * A cost vertex contains the current cost value of a given vertex.
+     * Dijkstra's shortest path algorithm on an indexed graph that can be stopped early. The stop condition
+     * is evaluated every {@code STOP_INTERVAL} settled vertices. If it holds, the algorithm stops with the
+     * smallest tentative distance in the queue, which is a lower bound on the distance to every vertex that
+     * has not been settled, and thus on the length of the shortest path.
      *
-     * @param <V> vertex type
+     * @param graph                input graph
+     * @param source               source vertex id
+     * @param terminationPredicate exploration stops as soon as the predicate is satisfied
+     * @param stop                 condition to stop before the shortest path is found
+     * @return shortest path from {@code source} to the first vertex that satisfies the predicate, as a list
+     * of edge ids, or a lower bound on its length and an empty path if stopped, or positive infinity and an
+     * empty path if no reachable vertex satisfies the predicate.
      */
-    private static class CostVertex<V> {
-        public final V vertex;
-        public double cost;
-
-        /**
-         * Create a new cost vertex.
-         *
-         * @param v    vertex
-         * @param cost current cost of the vertex
-         */
-        public CostVertex(V v, Double cost) {
-            vertex = v;
-            this.cost = cost;
+    public static Tuple<Double, List<Integer>> runIndexedDijkstra(IndexedSingleWeightedGraph graph, int source, IntPredicate terminationPredicate, BooleanSupplier stop) {
+        int[] prev = new int[graph.getVertexCount()];
+        BitSet reached = new BitSet(graph.getVertexCount());
+        IndexedDaryHeap Q = new IndexedDaryHeap(graph.getVertexCount());
+
+        // Initialization.
+        reached.set(source);
+        Q.insert(source, 0.0);
+
+        // Main loop.
+        int target = NONE;
+        int settled = 0;
+        while (!Q.isEmpty()) {
+            int u = Q.poll();
+
+            // We have found our target.
+            if (terminationPredicate.test(u)) {
+                target = u;
+                break;
+            }
+
+            // The distances of the vertices that have not been settled are at least the distance of u.
+            if (++settled % STOP_INTERVAL == 0 && stop.getAsBoolean()) {
+                return Tuple.of(Q.getKey(u), new LinkedList<>());
+            }
+
+            double distance = Q.getKey(u);
+            for (int e = graph.getOutStart(u); e < graph.getOutEnd(u); e++) {
+                int v = graph.getTarget(e);
+                double alt = distance + graph.getWeight(e);
+                if (!reached.get(v)) {
+                    reached.set(v);
+                    prev[v] = e;
+                    Q.insert(v, alt);
+                } else if (Q.contains(v) && alt < Q.getKey(v)) {
+                    prev[v] = e;
+                    Q.decreaseKey(v, alt);
+                }
+            }
         }
+
+        // No target is reachable.
+        if (target == NONE) {
+            return Tuple.of(Double.POSITIVE_INFINITY, new LinkedList<>());
+        }
+
+        // Construct the shortest path from source to target.
+        LinkedList<Integer> path = new LinkedList<>();
+        for (int v = target; v != source; v = graph.getSource(prev[v])) {
+            path.addFirst(prev[v]);
+        }
+
+        return Tuple.of(Q.getKey(target), path);
     }
 }
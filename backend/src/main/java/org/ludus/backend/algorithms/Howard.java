@@ -4,8 +4,10 @@ import org.ludus.backend.datastructures.tuple.Tuple;
 import org.ludus.backend.games.algorithms.DoubleFunctions;
 import org.ludus.backend.graph.DoubleWeightedGraph;
 import org.ludus.backend.graph.Graph;
+import org.ludus.backend.graph.IndexedDoubleWeightedGraph;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  * Howard's minimum cycle ratio algorithm.
@@ -34,6 +36,20 @@ public final class Howard {
      * @param eps   absolute threshold for comparing cycle ratios
      */
     public static <V, E> Tuple<Double, List<E>> runHoward(DoubleWeightedGraph<V, E, Double> graph, Double eps) {
+        return runHoward(graph, eps, iterations -> {
+        });
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm, and report the number of policy iterations.
+     *
+     * @param <V>        vertex type
+     * @param <E>        edge type
+     * @param graph      input graph
+     * @param eps        absolute threshold for comparing cycle ratios
+     * @param iterations consumer of the number of policy iterations, called once when the algorithm finishes
+     */
+    public static <V, E> Tuple<Double, List<E>> runHoward(DoubleWeightedGraph<V, E, Double> graph, Double eps, IntConsumer iterations) {
         // Upper bound on the cycle ratio.      
         E maxE = graph.getEdges().stream().max(Comparator.comparingDouble(graph::getWeight1)).get();
         Double maxWeight1 = graph.getWeight1(maxE);
@@ -68,8 +84,10 @@ public final class Howard {
         V r_handle = null;
         List<E> r_cycle = null;
 
+        int iterationCount = 0;
         boolean changed = true;
         while (changed) {
+            iterationCount++;
             result = findRatio(graph, r, p);
 
             // Check if there exists a path from v to handle in Gp.
@@ -116,6 +134,8 @@ public final class Howard {
             }
         }
 
+        iterations.accept(iterationCount);
+
         // If there is no cycle, we return a ratio value of -Infinity.
         if (r_handle == null) {
             return Tuple.of(Double.NEGATIVE_INFINITY, null);
@@ -125,6 +145,18 @@ public final class Howard {
         return Tuple.of(r, r_cycle);
     }
 
+    /**
+     * Run Howard's minimum cycle ratio algorithm on an indexed graph. Distances and the policy are kept in
+     * arrays indexed by vertex id, see {@link IndexedHoward}.
+     *
+     * @param graph input graph in which every vertex has an outgoing edge
+     * @param eps   absolute threshold for comparing cycle ratios
+     * @return a tuple with the minimum cycle ratio and the edge ids of a critical cycle
+     */
+    public static Tuple<Double, List<Integer>> runIndexedHoward(IndexedDoubleWeightedGraph graph, double eps) {
+        return IndexedHoward.runIndexedHoward(graph, eps);
+    }
+
     private static <V, E> List<E> getCycle(Graph<V, E> graph, Map<V, V> p, V r_handle) {
         List<E> cycle = new LinkedList<>();
         V v = r_handle;
@@ -0,0 +1,150 @@
+package org.ludus.backend.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Indexed 4-ary min-heap of int items with {@code double} keys.
+ * <p>
+ * The heap stores the position of each item, so the key of an item in the heap can be decreased in
+ * logarithmic time without searching for it. A 4-ary heap is shallower than a binary heap, and the
+ * children of a node are adjacent in memory, which makes it faster for the many decrease-key operations
+ * of Dijkstra's algorithm. The capacity grows when an item beyond it is inserted.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+final class IndexedDaryHeap {
+
+    private static final int ARITY = 4;
+    private static final int NONE = -1;
+
+    // Items in heap order, and the position of each item in this order.
+    private int[] heap;
+    private int[] position;
+    private double[] keys;
+    private int size = 0;
+
+    /**
+     * Create an empty heap for the items {@code 0, ..., capacity - 1}.
+     *
+     * @param capacity initial number of items
+     */
+    IndexedDaryHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, NONE);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int item) {
+        return item < position.length && position[item] != NONE;
+    }
+
+    /**
+     * Return the key of the item. After the item is removed, this is its key at the time of removal.
+     *
+     * @param item item
+     * @return key of the item
+     */
+    double getKey(int item) {
+        return keys[item];
+    }
+
+    void insert(int item, double key) {
+        assert (!contains(item));
+        if (item >= position.length) {
+            int capacity = Math.max(item + 1, 2 * position.length);
+            heap = Arrays.copyOf(heap, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            int oldCapacity = position.length;
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, oldCapacity, capacity, NONE);
+        }
+        keys[item] = key;
+        heap[size] = item;
+        position[item] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Decrease the key of an item in the heap.
+     *
+     * @param item item in the heap
+     * @param key  new key, at most the current key
+     */
+    void decreaseKey(int item, double key) {
+        assert (key <= keys[item]);
+        keys[item] = key;
+        siftUp(position[item]);
+    }
+
+    /**
+     * Remove and return the item with the smallest key.
+     *
+     * @return item with the smallest key
+     */
+    int poll() {
+        int min = heap[0];
+        position[min] = NONE;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key) {
+                break;
+            }
+            heap[i] = parentItem;
+            position[parentItem] = i;
+            i = parent;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (true) {
+            int first = ARITY * i + 1;
+            if (first >= size) {
+                break;
+            }
+            // Find the child with the smallest key.
+            int min = first;
+            int end = Math.min(first + ARITY, size);
+            for (int c = first + 1; c < end; c++) {
+                if (keys[heap[c]] < keys[heap[min]]) {
+                    min = c;
+                }
+            }
+            int minItem = heap[min];
+            if (keys[minItem] >= key) {
+                break;
+            }
+            heap[i] = minItem;
+            position[minItem] = i;
+            i = min;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+}
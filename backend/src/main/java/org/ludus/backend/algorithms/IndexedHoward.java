@@ -0,0 +1,363 @@
+package org.ludus.backend.algorithms;
+
+import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.DoubleWeightedGraph;
+import org.ludus.backend.graph.IndexedDoubleWeightedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * Howard's minimum cycle ratio algorithm on a graph with int ids for its vertices and edges.
+ * <p>
+ * This is the same policy iteration as {@link Howard}, but the distances are kept in a {@code double[]},
+ * and the policy is the chosen outgoing edge of each vertex in an {@code int[]}. A cycle of the policy
+ * graph is therefore walked without looking up edges, and the cycle search reuses its scratch arrays in
+ * every iteration. Vertices and edges are processed in the order of their ids, so on a graph without
+ * parallel edges the result is the same as that of {@link Howard} when the ids follow the iteration
+ * order of its vertex and edge sets.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class IndexedHoward {
+
+    private static final int NONE = -1;
+
+    private IndexedHoward() {
+        // Empty for utility classes
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm. The vertices and edges of the graph are numbered in the
+     * iteration order of its vertex and edge sets.
+     *
+     * @param <V>   vertex type
+     * @param <E>   edge type
+     * @param graph input graph in which every vertex has an outgoing edge
+     * @param eps   absolute threshold for comparing cycle ratios
+     * @return a tuple with the minimum cycle ratio and a critical cycle, or negative infinity and
+     * {@code null} if the graph has no edges
+     */
+    public static <V, E> Tuple<Double, List<E>> runHoward(DoubleWeightedGraph<V, E, Double> graph, Double eps) {
+        return runHoward(graph, eps, iterations -> {
+        });
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm, and report the number of policy iterations. The vertices
+     * and edges of the graph are numbered in the iteration order of its vertex and edge sets.
+     *
+     * @param <V>        vertex type
+     * @param <E>        edge type
+     * @param graph      input graph in which every vertex has an outgoing edge
+     * @param eps        absolute threshold for comparing cycle ratios
+     * @param iterations consumer of the number of policy iterations, called once when the algorithm finishes
+     * @return a tuple with the minimum cycle ratio and a critical cycle, or negative infinity and
+     * {@code null} if the graph has no edges
+     */
+    public static <V, E> Tuple<Double, List<E>> runHoward(DoubleWeightedGraph<V, E, Double> graph, Double eps,
+                                                          IntConsumer iterations) {
+        return runHoward(graph, eps, iterations, () -> false);
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm, and report the number of policy iterations. The algorithm
+     * stops early with the best cycle so far if the stop condition holds before a policy iteration.
+     *
+     * @param <V>        vertex type
+     * @param <E>        edge type
+     * @param graph      input graph in which every vertex has an outgoing edge
+     * @param eps        absolute threshold for comparing cycle ratios
+     * @param iterations consumer of the number of policy iterations, called once when the algorithm finishes
+     * @param stop       condition to stop before the optimum is found
+     * @return a tuple with the minimum cycle ratio, or an upper bound on it if stopped, and a cycle with that
+     * ratio, or negative infinity and {@code null} if the graph has no edges
+     * @see #runHoward(int, int[], int[], double[], double[], double, IntConsumer, BooleanSupplier)
+     */
+    public static <V, E> Tuple<Double, List<E>> runHoward(DoubleWeightedGraph<V, E, Double> graph, Double eps,
+                                                          IntConsumer iterations, BooleanSupplier stop) {
+        Map<V, Integer> ids = new HashMap<>();
+        for (V v : graph.getVertices()) {
+            ids.put(v, ids.size());
+        }
+        List<E> edges = new ArrayList<>(graph.getEdges());
+        int m = edges.size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weight1 = new double[m];
+        double[] weight2 = new double[m];
+        for (int e = 0; e < m; e++) {
+            E edge = edges.get(e);
+            sources[e] = ids.get(graph.getEdgeSource(edge));
+            targets[e] = ids.get(graph.getEdgeTarget(edge));
+            weight1[e] = graph.getWeight1(edge);
+            weight2[e] = graph.getWeight2(edge);
+        }
+
+        Tuple<Double, List<Integer>> result = runHoward(ids.size(), sources, targets, weight1, weight2, eps,
+                iterations, stop);
+        if (result.getRight() == null) {
+            return Tuple.of(result.getLeft(), null);
+        }
+        List<E> cycle = new ArrayList<>(result.getRight().size());
+        for (int e : result.getRight()) {
+            cycle.add(edges.get(e));
+        }
+        return Tuple.of(result.getLeft(), cycle);
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm on an indexed graph.
+     *
+     * @param graph input graph in which every vertex has an outgoing edge
+     * @param eps   absolute threshold for comparing cycle ratios
+     * @return a tuple with the minimum cycle ratio and the edge ids of a critical cycle, or negative
+     * infinity and {@code null} if the graph has no edges
+     */
+    public static Tuple<Double, List<Integer>> runIndexedHoward(IndexedDoubleWeightedGraph graph, double eps) {
+        return runIndexedHoward(graph, eps, iterations -> {
+        });
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm on an indexed graph, and report the number of policy
+     * iterations.
+     *
+     * @param graph      input graph in which every vertex has an outgoing edge
+     * @param eps        absolute threshold for comparing cycle ratios
+     * @param iterations consumer of the number of policy iterations, called once when the algorithm finishes
+     * @return a tuple with the minimum cycle ratio and the edge ids of a critical cycle, or negative
+     * infinity and {@code null} if the graph has no edges
+     */
+    public static Tuple<Double, List<Integer>> runIndexedHoward(IndexedDoubleWeightedGraph graph, double eps,
+                                                                IntConsumer iterations) {
+        int m = graph.getEdgeCount();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weight1 = new double[m];
+        double[] weight2 = new double[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = graph.getSource(e);
+            targets[e] = graph.getTarget(e);
+            weight1[e] = graph.getWeight1(e);
+            weight2[e] = graph.getWeight2(e);
+        }
+        return runHoward(graph.getVertexCount(), sources, targets, weight1, weight2, eps, iterations);
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm on the graph with vertices {@code 0, ..., vertexCount - 1}
+     * and edges {@code 0, ..., sources.length - 1}, and report the number of policy iterations.
+     *
+     * @param vertexCount number of vertices
+     * @param sources     source vertex of each edge
+     * @param targets     target vertex of each edge
+     * @param weight1     first weight of each edge
+     * @param weight2     second weight of each edge
+     * @param eps         absolute threshold for comparing cycle ratios
+     * @param iterations  consumer of the number of policy iterations, called once when the algorithm finishes
+     * @return a tuple with the minimum cycle ratio and the edge ids of a critical cycle, or negative
+     * infinity and {@code null} if the graph has no edges
+     * @throws IllegalArgumentException if a vertex has no outgoing edge
+     */
+    public static Tuple<Double, List<Integer>> runHoward(int vertexCount, int[] sources, int[] targets,
+                                                         double[] weight1, double[] weight2, double eps,
+                                                         IntConsumer iterations) {
+        return runHoward(vertexCount, sources, targets, weight1, weight2, eps, iterations, () -> false);
+    }
+
+    /**
+     * Run Howard's minimum cycle ratio algorithm on the graph with vertices {@code 0, ..., vertexCount - 1}
+     * and edges {@code 0, ..., sources.length - 1}, and report the number of policy iterations. Before each
+     * policy iteration after the first, the stop condition is evaluated. If it holds, the algorithm stops
+     * with the best cycle of the policy graphs so far. Its ratio is at least the minimum cycle ratio.
+     *
+     * @param vertexCount number of vertices
+     * @param sources     source vertex of each edge
+     * @param targets     target vertex of each edge
+     * @param weight1     first weight of each edge
+     * @param weight2     second weight of each edge
+     * @param eps         absolute threshold for comparing cycle ratios
+     * @param iterations  consumer of the number of policy iterations, called once when the algorithm finishes
+     * @param stop        condition to stop before the optimum is found
+     * @return a tuple with the minimum cycle ratio, or an upper bound on it if stopped, and the edge ids of a
+     * cycle with that ratio, or negative infinity and {@code null} if the graph has no edges
+     * @throws IllegalArgumentException if a vertex has no outgoing edge
+     */
+    public static Tuple<Double, List<Integer>> runHoward(int vertexCount, int[] sources, int[] targets,
+                                                         double[] weight1, double[] weight2, double eps,
+                                                         IntConsumer iterations, BooleanSupplier stop) {
+        int m = sources.length;
+        if (m == 0) {
+            iterations.accept(0);
+            return Tuple.of(Double.NEGATIVE_INFINITY, null);
+        }
+
+        // Upper bound on the cycle ratio.
+        double maxWeight1 = Double.NEGATIVE_INFINITY;
+        for (int e = 0; e < m; e++) {
+            maxWeight1 = Math.max(maxWeight1, weight1[e]);
+        }
+        double r = m * maxWeight1 + 1.0;
+
+        // Incoming edges in CSR format, for the reverse search in the policy graph.
+        int[] inStart = new int[vertexCount + 1];
+        for (int e = 0; e < m; e++) {
+            inStart[targets[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            inStart[v + 1] += inStart[v];
+        }
+        int[] inEdges = new int[m];
+        int[] position = Arrays.copyOf(inStart, vertexCount);
+        for (int e = 0; e < m; e++) {
+            inEdges[position[targets[e]]++] = e;
+        }
+
+        // Initialize the distance of each vertex with its smallest outgoing weight1, and the policy with
+        // the corresponding edge.
+        double[] d = new double[vertexCount];
+        int[] policy = new int[vertexCount];
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
+        Arrays.fill(policy, NONE);
+        for (int e = 0; e < m; e++) {
+            if (weight1[e] < d[sources[e]]) {
+                d[sources[e]] = weight1[e];
+                policy[sources[e]] = e;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            if (policy[v] == NONE) {
+                throw new IllegalArgumentException("Vertex " + v + " has no outgoing edge.");
+            }
+        }
+
+        // Scratch arrays of the cycle search and of the reverse search.
+        int[] visited = new int[vertexCount];
+        int[] frontier = new int[vertexCount];
+
+        int handle = NONE;
+        List<Integer> cycle = null;
+
+        int iterationCount = 0;
+        boolean changed = true;
+        while (changed) {
+            // The policy graph of the first iteration has a cycle, so a cycle is known when stopping.
+            if (iterationCount > 0 && stop.getAsBoolean()) {
+                break;
+            }
+            iterationCount++;
+            int newHandle = findCycle(vertexCount, targets, weight1, weight2, r, policy, visited);
+
+            if (newHandle != NONE) {
+                // Update the ratio, handle, and cycle.
+                r = cycleRatio(newHandle, targets, weight1, weight2, policy);
+                handle = newHandle;
+                cycle = new ArrayList<>();
+                int v = handle;
+                do {
+                    cycle.add(policy[v]);
+                    v = targets[policy[v]];
+                } while (v != handle);
+
+                // Perform a reverse BFS to update the vertex distances to the handle in the policy graph.
+                int head = 0;
+                int tail = 0;
+                frontier[tail++] = handle;
+                while (head < tail) {
+                    v = frontier[head++];
+                    for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+                        int e = inEdges[i];
+                        int u = sources[e];
+                        if (u != handle && policy[u] == e) {
+                            frontier[tail++] = u;
+                            d[u] = d[v] + weight1[e] - r * weight2[e];
+                        }
+                    }
+                }
+            }
+
+            // Improve the vertex distances.
+            changed = false;
+            for (int e = 0; e < m; e++) {
+                int u = sources[e];
+                double dist = d[targets[e]] + weight1[e] - r * weight2[e];
+                if (d[u] > dist + eps) {
+                    d[u] = dist;
+                    policy[u] = e;
+                    changed = true;
+                }
+            }
+        }
+
+        iterations.accept(iterationCount);
+
+        // If there is no cycle, we return a ratio value of -Infinity.
+        if (handle == NONE) {
+            return Tuple.of(Double.NEGATIVE_INFINITY, null);
+        }
+        return Tuple.of(r, cycle);
+    }
+
+    /**
+     * Find the cycle with the smallest ratio in the policy graph. From each vertex, the cycle that is
+     * reached is found, marking the vertices with the start vertex.
+     *
+     * @return a vertex on the cycle with the smallest ratio if this ratio is smaller than {@code r},
+     * otherwise {@code NONE}
+     */
+    private static int findCycle(int vertexCount, int[] targets, double[] weight1, double[] weight2, double r,
+                                 int[] policy, int[] visited) {
+        Arrays.fill(visited, NONE);
+        double rPrime = r;
+        int handle = NONE;
+        for (int v = 0; v < vertexCount; v++) {
+            if (visited[v] != NONE) {
+                continue;
+            }
+
+            // Search for a new cycle. Mark vertices with v.
+            int u = v;
+            do {
+                visited[u] = v;
+                u = targets[policy[u]];
+            } while (visited[u] == NONE);
+
+            if (visited[u] != v) {
+                // u is on an old cycle.
+                continue;
+            }
+
+            // Vertex u is on a new cycle.
+            double cycleRatio = cycleRatio(u, targets, weight1, weight2, policy);
+            if (rPrime > cycleRatio) {
+                rPrime = cycleRatio;
+                handle = u;
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * Return the ratio of the cycle of the policy graph through vertex {@code u}.
+     */
+    private static double cycleRatio(int u, int[] targets, double[] weight1, double[] weight2, int[] policy) {
+        double sum = 0.0;
+        double length = 0.0;
+        int x = u;
+        do {
+            int e = policy[x];
+            sum += weight1[e];
+            length += weight2[e];
+            x = targets[e];
+        } while (x != u);
+        return sum / length;
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.ludus.backend.algorithms;
+
+import org.ludus.backend.graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Iterative version of Tarjan's algorithm on a graph with int ids for its vertices.
+ * <p>
+ * The recursion of the depth-first search is replaced by an explicit stack that keeps the next edge of
+ * each open vertex, so deep graphs do not overflow the thread stack, and membership of the Tarjan stack is
+ * kept in a bitset. The vertices and their outgoing edges are visited in the order of their ids, so the
+ * components are found in reverse topological order.
+ * </p>
+ * <p>
+ * The result stores the component id of each vertex, and the vertices ordered by component, such that
+ * the vertices of component {@code c} are at positions {@code getComponentStart(c)} until
+ * {@code getComponentEnd(c)}. Within a component, the vertices are in the order in which they are popped
+ * from the Tarjan stack, so the root of the component comes last.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class IndexedTarjan {
+
+    private static final int UNVISITED = -1;
+
+    private final int[] componentOf;
+    private final int[] vertexOrder;
+    private final int[] componentOffsets;
+
+    private IndexedTarjan(int[] componentOf, int[] vertexOrder, int[] componentOffsets) {
+        this.componentOf = componentOf;
+        this.vertexOrder = vertexOrder;
+        this.componentOffsets = componentOffsets;
+    }
+
+    /**
+     * Compute the strongly connected components of the given graph.
+     *
+     * @param graph input graph
+     * @return strongly connected components of the graph
+     */
+    public static IndexedTarjan of(IndexedGraph graph) {
+        int vertexCount = graph.getVertexCount();
+        int[] index = new int[vertexCount];
+        int[] lowlink = new int[vertexCount];
+        int[] nextEdge = new int[vertexCount];
+        Arrays.fill(index, UNVISITED);
+
+        // Tarjan stack, with a bitset for the membership test.
+        int[] stack = new int[vertexCount];
+        int stackSize = 0;
+        BitSet onStack = new BitSet(vertexCount);
+
+        // Explicit call stack of the depth-first search.
+        int[] callStack = new int[vertexCount];
+        int callStackSize = 0;
+
+        int[] componentOf = new int[vertexCount];
+        int[] vertexOrder = new int[vertexCount];
+        int[] componentOffsets = new int[vertexCount + 1];
+        int componentCount = 0;
+        int position = 0;
+        int counter = 0;
+
+        for (int s = 0; s < vertexCount; s++) {
+            if (index[s] != UNVISITED) {
+                continue;
+            }
+            index[s] = counter;
+            lowlink[s] = counter;
+            counter++;
+            nextEdge[s] = graph.getOutStart(s);
+            stack[stackSize++] = s;
+            onStack.set(s);
+            callStack[callStackSize++] = s;
+
+            while (callStackSize > 0) {
+                int v = callStack[callStackSize - 1];
+                if (nextEdge[v] < graph.getOutEnd(v)) {
+                    int w = graph.getTarget(nextEdge[v]++);
+                    if (index[w] == UNVISITED) {
+                        // Successor w has not yet been visited; descend into it.
+                        index[w] = counter;
+                        lowlink[w] = counter;
+                        counter++;
+                        nextEdge[w] = graph.getOutStart(w);
+                        stack[stackSize++] = w;
+                        onStack.set(w);
+                        callStack[callStackSize++] = w;
+                    } else if (onStack.get(w)) {
+                        // Successor w is on the stack and hence in the current component.
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                } else {
+                    callStackSize--;
+                    if (callStackSize > 0) {
+                        int u = callStack[callStackSize - 1];
+                        lowlink[u] = Math.min(lowlink[u], lowlink[v]);
+                    }
+
+                    // If v is a root node, pop the stack and generate a component.
+                    if (lowlink[v] == index[v]) {
+                        componentOffsets[componentCount] = position;
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack.clear(w);
+                            componentOf[w] = componentCount;
+                            vertexOrder[position++] = w;
+                        } while (w != v);
+                        componentCount++;
+                    }
+                }
+            }
+        }
+        componentOffsets[componentCount] = position;
+        return new IndexedTarjan(componentOf, vertexOrder, Arrays.copyOf(componentOffsets, componentCount + 1));
+    }
+
+    public int getComponentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    /**
+     * Return the component id of the given vertex.
+     *
+     * @param vertex vertex id
+     * @return component id
+     */
+    public int getComponentOf(int vertex) {
+        return componentOf[vertex];
+    }
+
+    public int getComponentStart(int component) {
+        return componentOffsets[component];
+    }
+
+    public int getComponentEnd(int component) {
+        return componentOffsets[component + 1];
+    }
+
+    /**
+     * Return the vertex at the given position of the vertex order.
+     *
+     * @param position position in the vertex order
+     * @return vertex id
+     */
+    public int getVertex(int position) {
+        return vertexOrder[position];
+    }
+
+}
@@ -0,0 +1,192 @@
+package org.ludus.backend.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Pairing heap of the items {@code 0, ..., n-1} with {@code double} keys.
+ * <p>
+ * The heap is stored in arrays indexed by item. Each node has a pointer to its first child, its next
+ * sibling, and its previous sibling, or its parent if it is a first child. Decrease-key runs in constant
+ * time and removal in amortized logarithmic time.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+final class PairingHeap {
+
+    private static final int NONE = -1;
+
+    private final double[] keys;
+    private final int[] child;
+    private final int[] sibling;
+    private final int[] previous;
+    private final boolean[] contained;
+    private int root = NONE;
+
+    // Work list of the two-pass merge.
+    private final int[] pairs;
+
+    /**
+     * Create an empty heap for the given number of items.
+     *
+     * @param capacity number of items
+     */
+    PairingHeap(int capacity) {
+        keys = new double[capacity];
+        child = new int[capacity];
+        sibling = new int[capacity];
+        previous = new int[capacity];
+        contained = new boolean[capacity];
+        pairs = new int[capacity];
+        Arrays.fill(child, NONE);
+        Arrays.fill(sibling, NONE);
+        Arrays.fill(previous, NONE);
+    }
+
+    boolean isEmpty() {
+        return root == NONE;
+    }
+
+    boolean contains(int item) {
+        return contained[item];
+    }
+
+    /**
+     * Return the item with the smallest key.
+     *
+     * @return item with the smallest key
+     */
+    int peek() {
+        return root;
+    }
+
+    double getKey(int item) {
+        return keys[item];
+    }
+
+    void insert(int item, double key) {
+        assert (!contained[item]);
+        keys[item] = key;
+        contained[item] = true;
+        root = root == NONE ? item : link(root, item);
+    }
+
+    /**
+     * Remove and return the item with the smallest key.
+     *
+     * @return item with the smallest key
+     */
+    int poll() {
+        int min = root;
+        root = mergePairs(child[min]);
+        child[min] = NONE;
+        contained[min] = false;
+        return min;
+    }
+
+    /**
+     * Set the key of the item, inserting it if it is not in the heap.
+     *
+     * @param item item
+     * @param key  new key
+     */
+    void update(int item, double key) {
+        if (!contained[item]) {
+            insert(item, key);
+        } else if (key < keys[item]) {
+            keys[item] = key;
+            if (item != root) {
+                cut(item);
+                root = link(root, item);
+            }
+        } else if (key > keys[item]) {
+            remove(item);
+            insert(item, key);
+        }
+    }
+
+    /**
+     * Remove the item from the heap.
+     *
+     * @param item item in the heap
+     */
+    void remove(int item) {
+        if (item == root) {
+            poll();
+            return;
+        }
+        cut(item);
+        int subtree = mergePairs(child[item]);
+        child[item] = NONE;
+        contained[item] = false;
+        if (subtree != NONE) {
+            root = link(root, subtree);
+        }
+    }
+
+    /**
+     * Detach the subtree of the item from its parent and siblings.
+     */
+    private void cut(int item) {
+        int p = previous[item];
+        if (child[p] == item) {
+            child[p] = sibling[item];
+        } else {
+            sibling[p] = sibling[item];
+        }
+        if (sibling[item] != NONE) {
+            previous[sibling[item]] = p;
+        }
+        sibling[item] = NONE;
+        previous[item] = NONE;
+    }
+
+    /**
+     * Link two trees, making the root with the larger key the first child of the other root.
+     */
+    private int link(int a, int b) {
+        if (keys[b] < keys[a]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        sibling[b] = child[a];
+        if (child[a] != NONE) {
+            previous[child[a]] = b;
+        }
+        previous[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    /**
+     * Merge the list of siblings that starts at {@code first} into a single tree: link the trees in pairs
+     * from left to right, and then link the results from right to left.
+     */
+    private int mergePairs(int first) {
+        int count = 0;
+        int a = first;
+        while (a != NONE) {
+            int b = sibling[a];
+            int next = b == NONE ? NONE : sibling[b];
+            sibling[a] = NONE;
+            previous[a] = NONE;
+            if (b != NONE) {
+                sibling[b] = NONE;
+                previous[b] = NONE;
+                a = link(a, b);
+            }
+            pairs[count++] = a;
+            a = next;
+        }
+        if (count == 0) {
+            return NONE;
+        }
+        int result = pairs[count - 1];
+        for (int i = count - 2; i >= 0; i--) {
+            result = link(pairs[i], result);
+        }
+        return result;
+    }
+
+}
@@ -1,11 +1,16 @@
 package org.ludus.backend.algorithms;
 
 import org.ludus.backend.graph.Graph;
+import org.ludus.backend.graph.IndexedGraphAdapter;
 
 import java.util.*;
 
 /**
  * Tarjan's algorithm to find strongly connected components.
+ * <p>
+ * The graph is copied into an {@link IndexedGraphAdapter} and the components are computed by the
+ * iterative {@link IndexedTarjan}, so deep graphs do not overflow the thread stack.
+ * </p>
  *
  * @param <V> vertex type
  * @param <E> edge type
@@ -13,12 +18,6 @@ import java.util.*;
  */
 public class Tarjan<V, E> {
 
-    private Stack<V> stack;
-    private List<Set<V>> components;
-    private Map<V, Integer> indexMap;
-    private Map<V, Integer> lowlinkMap;
-    private Integer index;
-
     /**
      * The algorithm takes a directed graph as input, and produces a partition of the graph's vertices
      * into the graph's strongly connected components. Each vertex of the graph appears in exactly one
@@ -30,60 +29,18 @@ public class Tarjan<V, E> {
      * @return partition of the graph's vertices into the graph's SCCs
      */
     public List<Set<V>> computeSCCs(Graph<V, E> graph) {
-        stack = new Stack<>();
-        // List of strongly connected components.
-        components = new ArrayList<>();
-
-        indexMap = new HashMap<>();
-        lowlinkMap = new HashMap<>();
-        index = 0;
+        IndexedGraphAdapter<V, E> indexed = IndexedGraphAdapter.of(graph);
+        IndexedTarjan sccs = IndexedTarjan.of(indexed);
 
-        for (V v : graph.getVertices()) {
-            if (!indexMap.containsKey(v)) {
-                computeSCC(graph, v);
-            }
-        }
-        return components;
-    }
-
-    /**
-     * Compute the SCC for the given vertex.
-     *
-     * @param graph input graph
-     * @param v input vertex
-     */
-    private void computeSCC(Graph<V, E> graph, V v) {
-        // Set the depth index for v to the smallest unused index.
-        indexMap.put(v, index);
-        lowlinkMap.put(v, index);
-
-        index += 1;
-        stack.push(v);
-
-        // Consider successors of v.
-        for (E e : graph.outgoingEdgesOf(v)) {
-            V w = graph.getEdgeTarget(e);
-            if (!indexMap.containsKey(w)) {
-                // Successor w has not yet been visited; recurse on it.
-                computeSCC(graph, w);
-                lowlinkMap.put(v, Math.min(lowlinkMap.get(v), lowlinkMap.get(w)));
-            } else if (stack.contains(w)) {
-                // Successor w is in stack S and hence in the current SCC.
-                lowlinkMap.put(v, Math.min(lowlinkMap.get(v), indexMap.get(w)));
-            }
-        }
-
-        // If v is a root node, pop the stack and generate an SCC.
-        if (lowlinkMap.get(v).equals(indexMap.get(v))) {
-            // Start a strongly connected component.
+        // List of strongly connected components.
+        List<Set<V>> components = new ArrayList<>(sccs.getComponentCount());
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
             Set<V> scc = new HashSet<>();
-            V w;
-            do {
-                w = stack.pop();
-                scc.add(w);
-            } while (!w.equals(v));
-
+            for (int i = sccs.getComponentStart(c); i < sccs.getComponentEnd(c); i++) {
+                scc.add(indexed.getVertex(sccs.getVertex(i)));
+            }
             components.add(scc);
         }
+        return components;
     }
 }
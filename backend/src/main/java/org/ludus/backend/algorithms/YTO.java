@@ -1,41 +1,275 @@
 package org.ludus.backend.algorithms;
 
 import org.ludus.backend.datastructures.tuple.Tuple;
-import org.ludus.backend.games.algorithms.DoubleFunctions;
 import org.ludus.backend.graph.DoubleWeightedGraph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
- * YTO minimum cycle ratio algorithm.
- *
- * TODO: Implementation
+ * Young-Tarjan-Orlin minimum cycle ratio algorithm.
+ * <p>
+ * The algorithm solves the parametric shortest path problem with edge costs {@code weight1 - r * weight2},
+ * starting from a ratio {@code r} that is lower than every cycle ratio, and increasing {@code r}. A
+ * shortest path tree is kept from an artificial source that has an edge of cost zero to every vertex, so
+ * the distance of each vertex is {@code a(v) - r * b(v)}. For each vertex, a pairing heap holds the
+ * smallest ratio at which an incoming edge becomes shorter than the tree edge. The edge with the smallest
+ * such ratio is pivoted into the tree. If its source lies in the subtree of its target, it closes a cycle,
+ * and this cycle is critical: its ratio is the minimum cycle ratio.
+ * </p>
+ * <p>
+ * The weight2 of each edge must be nonnegative, and every cycle must have a positive weight2. Edges with
+ * a weight2 of zero are allowed; the initial tree is the shortest path tree over these edges.
+ * </p>
  *
  * @author Bram van der Sanden
  */
 public final class YTO {
 
+    private static final int NONE = -1;
+
+    private YTO() {
+        // Empty for utility classes
+    }
+
     /**
      * Run YTO minimum cycle ratio algorithm.
      *
      * @param <V>   vertex type
      * @param <E>   edge type
      * @param graph input graph
+     * @param eps   absolute threshold for comparing cycle ratios, which is not used
+     * @return a tuple with the minimum cycle ratio and a critical cycle, or negative infinity and
+     * {@code null} if the graph has no cycle
+     * @deprecated the ratio is exact up to floating-point rounding, use {@link #runYTO(DoubleWeightedGraph)}
      */
-    public static <V, E> Tuple<Double, List<E>> runYTO(DoubleWeightedGraph<V, E, Double> graph) {
-        return runYTO(graph, DoubleFunctions.MACHINE_PRECISION);
+    @Deprecated
+    public static <V, E> Tuple<Double, List<E>> runYTO(DoubleWeightedGraph<V, E, Double> graph, Double eps) {
+        return runYTO(graph);
     }
 
     /**
-     * Run YTO minimum cycle ratio algorithm.
+     * Run YTO minimum cycle ratio algorithm. The pivots are exact parametric events, so unlike
+     * {@link Howard#runHoward}, the algorithm does not need a threshold for comparing cycle ratios.
      *
      * @param <V>   vertex type
      * @param <E>   edge type
      * @param graph input graph
-     * @param eps   absolute threshold for comparing cycle ratios
+     * @return a tuple with the minimum cycle ratio and a critical cycle, or negative infinity and
+     * {@code null} if the graph has no cycle
+     * @throws IllegalArgumentException if the graph has a cycle with a weight2 of zero
      */
-    public static <V, E> Tuple<Double, List<E>> runYTO(DoubleWeightedGraph<V, E, Double> graph, Double eps) {
-        return Tuple.of(Double.NEGATIVE_INFINITY, new LinkedList<>());
+    public static <V, E> Tuple<Double, List<E>> runYTO(DoubleWeightedGraph<V, E, Double> graph) {
+        // Number the vertices and edges.
+        Map<V, Integer> ids = new HashMap<>();
+        List<V> vertices = new ArrayList<>(graph.getVertices());
+        for (int v = 0; v < vertices.size(); v++) {
+            ids.put(vertices.get(v), v);
+        }
+        int n = vertices.size();
+        List<E> edges = new ArrayList<>();
+        for (V v : vertices) {
+            edges.addAll(graph.outgoingEdgesOf(v));
+        }
+        int m = edges.size();
+
+        // Edges in CSR format, both outgoing and incoming.
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weight1 = new double[m];
+        double[] weight2 = new double[m];
+        int[] outStart = new int[n + 1];
+        int[] inStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            E edge = edges.get(e);
+            sources[e] = ids.get(graph.getEdgeSource(edge));
+            targets[e] = ids.get(graph.getEdgeTarget(edge));
+            weight1[e] = graph.getWeight1(edge);
+            weight2[e] = graph.getWeight2(edge);
+            outStart[sources[e] + 1]++;
+            inStart[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            outStart[v + 1] += outStart[v];
+            inStart[v + 1] += inStart[v];
+        }
+        int[] inEdges = new int[m];
+        int[] position = Arrays.copyOf(inStart, n);
+        for (int e = 0; e < m; e++) {
+            inEdges[position[targets[e]]++] = e;
+        }
+
+        // Shortest path tree at r = -Infinity, where paths are compared on b first and on a second. Every
+        // vertex has b = 0 through the artificial source, so the tree only uses edges with weight2 = 0,
+        // which form an acyclic subgraph. The vertices are visited in topological order of that subgraph.
+        double[] a = new double[n];
+        double[] b = new double[n];
+        int[] parentEdge = new int[n];
+        int[] firstChild = new int[n];
+        int[] nextSibling = new int[n];
+        int[] previousSibling = new int[n];
+        Arrays.fill(parentEdge, NONE);
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+        Arrays.fill(previousSibling, NONE);
+        int[] zeroInDegree = new int[n];
+        for (int e = 0; e < m; e++) {
+            if (weight2[e] == 0.0) {
+                zeroInDegree[targets[e]]++;
+            }
+        }
+        int[] order = new int[n];
+        int ordered = 0;
+        for (int v = 0; v < n; v++) {
+            if (zeroInDegree[v] == 0) {
+                order[ordered++] = v;
+            }
+        }
+        for (int i = 0; i < ordered; i++) {
+            int u = order[i];
+            if (parentEdge[u] != NONE) {
+                int parent = sources[parentEdge[u]];
+                nextSibling[u] = firstChild[parent];
+                if (firstChild[parent] != NONE) {
+                    previousSibling[firstChild[parent]] = u;
+                }
+                firstChild[parent] = u;
+            }
+            for (int e = outStart[u]; e < outStart[u + 1]; e++) {
+                if (weight2[e] == 0.0) {
+                    int v = targets[e];
+                    if (a[u] + weight1[e] < a[v]) {
+                        a[v] = a[u] + weight1[e];
+                        parentEdge[v] = e;
+                    }
+                    if (--zeroInDegree[v] == 0) {
+                        order[ordered++] = v;
+                    }
+                }
+            }
+        }
+        if (ordered < n) {
+            throw new IllegalArgumentException("The graph has a cycle with a weight2 of zero.");
+        }
+
+        // For each vertex, the incoming edge that is pivoted first, at the ratio given by its key.
+        int[] pivotEdge = new int[n];
+        PairingHeap heap = new PairingHeap(n);
+        for (int v = 0; v < n; v++) {
+            updateKey(v, Double.NEGATIVE_INFINITY, sources, weight1, weight2, inStart, inEdges, a, b, pivotEdge, heap);
+        }
+
+        // Vertices of the subtree that is moved in a pivot, marked with the pivot number.
+        int[] mark = new int[n];
+        int[] subtree = new int[n];
+        int pivots = 0;
+
+        double r = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            int v = heap.poll();
+            int e = pivotEdge[v];
+            int u = sources[e];
+            r = Math.max(r, heap.getKey(v));
+
+            // If u lies in the subtree of v, the edge closes a critical cycle.
+            int w = u;
+            while (w != v && parentEdge[w] != NONE) {
+                w = sources[parentEdge[w]];
+            }
+            if (w == v) {
+                LinkedList<E> cycle = new LinkedList<>();
+                cycle.addFirst(edges.get(e));
+                for (w = u; w != v; w = sources[parentEdge[w]]) {
+                    cycle.addFirst(edges.get(parentEdge[w]));
+                }
+                return Tuple.of(r, cycle);
+            }
+
+            // Move the subtree of v below u, and shift the distances in the subtree.
+            double deltaA = a[u] + weight1[e] - a[v];
+            double deltaB = b[u] + weight2[e] - b[v];
+            if (parentEdge[v] != NONE) {
+                int parent = sources[parentEdge[v]];
+                if (previousSibling[v] == NONE) {
+                    firstChild[parent] = nextSibling[v];
+                } else {
+                    nextSibling[previousSibling[v]] = nextSibling[v];
+                }
+                if (nextSibling[v] != NONE) {
+                    previousSibling[nextSibling[v]] = previousSibling[v];
+                }
+            }
+            parentEdge[v] = e;
+            previousSibling[v] = NONE;
+            nextSibling[v] = firstChild[u];
+            if (firstChild[u] != NONE) {
+                previousSibling[firstChild[u]] = v;
+            }
+            firstChild[u] = v;
+
+            pivots++;
+            int size = 0;
+            subtree[size++] = v;
+            mark[v] = pivots;
+            for (int i = 0; i < size; i++) {
+                int x = subtree[i];
+                a[x] += deltaA;
+                b[x] += deltaB;
+                for (int c = firstChild[x]; c != NONE; c = nextSibling[c]) {
+                    mark[c] = pivots;
+                    subtree[size++] = c;
+                }
+            }
+
+            // Only the edges between the subtree and the rest of the graph change their pivot ratio.
+            for (int i = 0; i < size; i++) {
+                int x = subtree[i];
+                updateKey(x, r, sources, weight1, weight2, inStart, inEdges, a, b, pivotEdge, heap);
+                for (int f = outStart[x]; f < outStart[x + 1]; f++) {
+                    int y = targets[f];
+                    if (mark[y] != pivots) {
+                        updateKey(y, r, sources, weight1, weight2, inStart, inEdges, a, b, pivotEdge, heap);
+                    }
+                }
+            }
+        }
+
+        // If there is no cycle, we return a ratio value of -Infinity.
+        return Tuple.of(Double.NEGATIVE_INFINITY, null);
+    }
+
+    /**
+     * Compute the smallest ratio of at least {@code r} at which an incoming edge of {@code v} becomes
+     * shorter than the tree path to {@code v}, and update the key of {@code v} in the heap.
+     */
+    private static void updateKey(int v, double r, int[] sources, double[] weight1, double[] weight2,
+                                  int[] inStart, int[] inEdges, double[] a, double[] b, int[] pivotEdge,
+                                  PairingHeap heap) {
+        double key = Double.POSITIVE_INFINITY;
+        int edge = NONE;
+        for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+            int e = inEdges[i];
+            int u = sources[e];
+            double deltaB = b[u] + weight2[e] - b[v];
+            if (deltaB > 0.0) {
+                double ratio = (a[u] + weight1[e] - a[v]) / deltaB;
+                if (ratio < key) {
+                    key = ratio;
+                    edge = e;
+                }
+            }
+        }
+        if (edge == NONE) {
+            if (heap.contains(v)) {
+                heap.remove(v);
+            }
+        } else {
+            pivotEdge[v] = edge;
+            heap.update(v, Math.max(key, r));
+        }
     }
 }
@@ -1,11 +1,14 @@
 package org.ludus.backend.automaton;
 
+import org.ludus.backend.algebra.CSRMatrix;
+import org.ludus.backend.algebra.FixedPoint;
 import org.ludus.backend.algebra.Matrix;
 import org.ludus.backend.algebra.Value;
 import org.ludus.backend.algorithms.Tarjan;
 import org.ludus.backend.fsm.FSM;
 
 import java.util.*;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Functions to construct max-plus automata.
@@ -39,6 +42,40 @@ public class ComputeMPA {
      * @return max plus automaton
      */
     public static <V, E> MaxPlusAutomaton<V> computeMaxPlusAutomaton(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap) {
+        return computeMaxPlusAutomaton(fsm, vectorSize, matrices, rewardMap, DoubleUnaryOperator.identity());
+    }
+
+    /**
+     * Compute a max plus automaton in fixed-point arithmetic, where the reward of each edge event is set to
+     * {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param fixedPoint fixed-point mode used to represent the matrix entries
+     * @return max plus automaton
+     */
+    public static <V, E> MaxPlusAutomaton<V> computeMaxPlusAutomaton(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, FixedPoint fixedPoint) {
+        return computeMaxPlusAutomaton(fsm, vectorSize, matrices, new HashMap<>(), fixedPoint);
+    }
+
+    /**
+     * Compute a max-plus automaton in fixed-point arithmetic. The transition durations are the matrix
+     * entries rounded to the given fixed-point mode.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param fixedPoint fixed-point mode used to represent the matrix entries
+     * @return max plus automaton
+     */
+    public static <V, E> MaxPlusAutomaton<V> computeMaxPlusAutomaton(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, FixedPoint fixedPoint) {
+        return computeMaxPlusAutomaton(fsm, vectorSize, matrices, rewardMap,
+                entry -> fixedPoint.toDouble(fixedPoint.toLong(entry)));
+    }
+
+    private static <V, E> MaxPlusAutomaton<V> computeMaxPlusAutomaton(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, DoubleUnaryOperator durationOf) {
         MaxPlusAutomaton<V> mpa = new MaxPlusAutomaton<>();
 
         // Add the states.
@@ -48,26 +85,24 @@ public class ComputeMPA {
             }
         }
 
-        // Add the transitions.
+        // Add the transitions. Each matrix is converted to CSR format once, such that only
+        // the finite entries are visited.
+        Map<String, CSRMatrix> eventMatrices = new HashMap<>();
         for (E e : fsm.getEdges()) {
             String event = fsm.getEvent(e);
-            Matrix m = matrices.get(event);
+            CSRMatrix m = eventMatrices.computeIfAbsent(event, ev -> CSRMatrix.of(matrices.get(ev)));
+
+            // Reward value.
+            Value reward = rewardMap.getOrDefault(event, DEFAULT_REWARD);
 
-            // For each matrix entry
+            // For each finite matrix entry
             for (int row = 0; row < m.getRows(); row++) {
-                for (int col = 0; col < m.getColumns(); col++) {
-                    // Reward value.
-                    Value reward = rewardMap.getOrDefault(event, DEFAULT_REWARD);
+                MPAState source = mpa.getState(fsm.getEdgeSource(e), row);
+                for (int position = m.getRowStart(row); position < m.getRowEnd(row); position++) {
                     // Duration value.
-                    Value duration = m.get(row, col);
-
-                    MPAState source = mpa.getState(fsm.getEdgeSource(e), row);
-                    MPAState target = mpa.getState(fsm.getEdgeTarget(e), col);
-
-                    // Add transition if the edge duration is not -Infinity.
-                    if (!duration.equals(Value.NEGATIVE_INFINITY)) {
-                        mpa.addTransition(new MPATransition(source, event, reward, duration, target));
-                    }
+                    Value duration = new Value(durationOf.applyAsDouble(m.getEntry(position)));
+                    MPAState target = mpa.getState(fsm.getEdgeTarget(e), m.getColumnIndex(position));
+                    mpa.addTransition(new MPATransition(source, event, reward, duration, target));
                 }
             }
         }
@@ -0,0 +1,149 @@
+package org.ludus.backend.benchmarking;
+
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.algorithms.YTO;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.games.benchmarking.generator.Sprand;
+import org.ludus.backend.games.benchmarking.generator.Tor;
+import org.ludus.backend.graph.DoubleWeightedGraph;
+import org.ludus.backend.graph.jgrapht.JGraphTEdge;
+import org.ludus.backend.graph.jgrapht.JGraphTVertex;
+import org.ludus.backend.graph.jgrapht.ratio.RGDoubleImplJGraphT;
+import org.ludus.backend.graph.simpleDouble.SDGraph;
+import org.ludus.backend.graph.simpleDouble.SDVertex;
+import org.ludus.backend.statespace.ComputeStateSpace;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.SCCDecomposition;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compare the YTO and Howard minimum cycle ratio algorithms.
+ * <p>
+ * The algorithms are run on random graphs of the {@link Sprand} and {@link Tor} generators, and on the largest
+ * strongly connected component of the max-plus state spaces of random specifications. Both algorithms must
+ * find the same ratio. Each measurement is preceded by warm-up runs, and the median of the measured runs is
+ * reported. Output is written as CSV to standard output.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public class CycleRatioBenchmark {
+
+    private static final int[] SIZES = {100, 400, 1600};
+
+    // Howard may not terminate on real-valued weights with the default machine precision threshold.
+    private static final double HOWARD_EPS = 1e-6;
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 7;
+
+    /**
+     * Entry point for running the benchmark.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        System.out.printf("%s,%s,%s,%s,%s,%s\n", "Graph", "N", "M", "Howard(ms)", "YTO(ms)", "Speedup");
+        for (int size : SIZES) {
+            run("Sprand", toGraph(Sprand.generateRatioGame(size, 5, 10000.0, 10000.0)));
+        }
+        for (int size : SIZES) {
+            int side = (int) Math.sqrt(size);
+            run("Tor", toGraph(Tor.generateRatioGameDouble(side, 10000, 10000)));
+        }
+        Random random = new Random(0);
+        for (int size : new int[]{4, 6, 8}) {
+            FrozenStateSpace stateSpace = randomStateSpace(random, size, 4, 6);
+            SCCDecomposition sccs = SCCDecomposition.of(stateSpace);
+            int largest = 0;
+            for (int c = 1; c < sccs.getComponentCount(); c++) {
+                if (sccs.getEdgeCount(c) > sccs.getEdgeCount(largest)) {
+                    largest = c;
+                }
+            }
+            run("StateSpace", sccs.getComponent(largest));
+        }
+    }
+
+    private static <V, E> void run(String name, DoubleWeightedGraph<V, E, Double> graph) {
+        double howardRatio = Howard.runHoward(graph, HOWARD_EPS).getLeft();
+        double ytoRatio = YTO.runYTO(graph).getLeft();
+        if (Math.abs(howardRatio - ytoRatio) > 1e-6 * Math.max(1.0, Math.abs(howardRatio))) {
+            throw new IllegalStateException("YTO ratio " + ytoRatio + " differs from Howard ratio " + howardRatio);
+        }
+        double howard = median(graph, g -> Howard.runHoward(g, HOWARD_EPS).getLeft());
+        double yto = median(graph, g -> YTO.runYTO(g).getLeft());
+        System.out.printf("%s,%d,%d,%f,%f,%f\n", name, graph.getVertices().size(), graph.getEdges().size(),
+                howard, yto, howard / yto);
+    }
+
+    /**
+     * Copy the ratio game into a graph, ignoring the players.
+     */
+    private static SDGraph toGraph(RGDoubleImplJGraphT game) {
+        SDGraph graph = new SDGraph();
+        Map<JGraphTVertex, SDVertex> vertices = new HashMap<>();
+        for (JGraphTVertex v : game.getVertices()) {
+            SDVertex vertex = new SDVertex();
+            vertices.put(v, vertex);
+            graph.addVertex(vertex);
+        }
+        for (JGraphTEdge e : game.getEdges()) {
+            graph.addEdge(vertices.get(game.getEdgeSource(e)), vertices.get(game.getEdgeTarget(e)),
+                    game.getWeight1(e), game.getWeight2(e));
+        }
+        return graph;
+    }
+
+    /**
+     * Return the state space of a random specification with a single location and one self-loop per event.
+     */
+    private static FrozenStateSpace randomStateSpace(Random random, int size, int eventCount, int maxEntry) {
+        FSMImpl fsm = new FSMImpl();
+        Location location = new Location("l0");
+        fsm.addLocation(location);
+        fsm.setInitial(location);
+        Map<String, Matrix> matrices = new HashMap<>();
+        for (int e = 0; e < eventCount; e++) {
+            String event = "e" + e;
+            fsm.addControllable(event);
+            fsm.addEdge(new Edge(location, event, location));
+            DenseMatrix matrix = new DenseMatrix(size, size);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    matrix.put(i, j, new Value(random.nextInt(maxEntry + 1)));
+                }
+            }
+            matrices.put(event, matrix);
+        }
+        return ComputeStateSpace.computeFrozenStateSpace(fsm, size, matrices);
+    }
+
+    /**
+     * Return the median running time in milliseconds of the algorithm on the graph.
+     */
+    private static <G> double median(G graph, ToDoubleFunction<G> algorithm) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            algorithm.applyAsDouble(graph);
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            algorithm.applyAsDouble(graph);
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+}
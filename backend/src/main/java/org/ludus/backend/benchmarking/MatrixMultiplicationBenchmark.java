@@ -0,0 +1,106 @@
+package org.ludus.backend.benchmarking;
+
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Value;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compare the blocked, fork-join max-plus matrix product of {@link DenseMatrix} against the
+ * element-wise triple loop over {@link Value} objects that {@link Matrix} uses.
+ * <p>
+ * Each measurement is preceded by warm-up runs, and the median of the measured runs is reported.
+ * Output is written as CSV to standard output.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public class MatrixMultiplicationBenchmark {
+
+    private static final int[] SIZES = {8, 16, 32, 64, 128, 256, 512};
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 11;
+
+    /**
+     * Entry point for running the benchmark.
+     *
+     * @param args optional density of finite entries in the random matrices (default 0.3)
+     */
+    public static void main(String[] args) {
+        double density = args.length > 0 ? Double.valueOf(args[0]) : 0.3;
+        Random random = new Random(0);
+
+        System.out.printf("%s,%s,%s,%s,%s\n", "N", "density", "ElementWise(ms)", "Blocked(ms)", "Speedup");
+        for (int size : SIZES) {
+            DenseMatrix a = randomMatrix(random, size, density);
+            DenseMatrix b = randomMatrix(random, size, density);
+
+            // Check that both implementations agree before timing them.
+            if (a.multiply(b).compareTo(elementWiseMultiply(a, b)) != 0) {
+                throw new IllegalStateException("Blocked product differs from element-wise product for N=" + size);
+            }
+
+            double elementWise = median(size, () -> elementWiseMultiply(a, b));
+            double blocked = median(size, () -> a.multiply(b));
+            System.out.printf("%d,%f,%f,%f,%f\n", size, density, elementWise, blocked, elementWise / blocked);
+        }
+    }
+
+    private static DenseMatrix randomMatrix(Random random, int size, double density) {
+        DenseMatrix m = new DenseMatrix(size, size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (random.nextDouble() < density) {
+                    m.put(row, col, new Value(random.nextInt(100)));
+                } else if (row != col) {
+                    m.put(row, col, Value.NEGATIVE_INFINITY);
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Max-plus matrix product computed element by element using {@link Value} arithmetic,
+     * as done by {@link Matrix#multiply(Matrix)}.
+     */
+    private static Matrix elementWiseMultiply(Matrix a, Matrix b) {
+        Matrix result = new DenseMatrix(a.getRows(), b.getColumns());
+        for (int row = 0; row < a.getRows(); row++) {
+            for (int col = 0; col < b.getColumns(); col++) {
+                Value v = Value.NEGATIVE_INFINITY;
+                for (int k = 0; k < a.getColumns(); k++) {
+                    v = v.max(a.get(row, k).add(b.get(k, col)));
+                }
+                result.put(row, col, v);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the median running time in milliseconds of the given product.
+     * Small sizes are repeated within a single measurement to get a measurable duration.
+     */
+    private static double median(int size, Runnable product) {
+        int repetitions = Math.max(1, (1 << 21) / (size * size * size));
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            product.run();
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                product.run();
+            }
+            long end = System.nanoTime();
+            times[i] = (end - start) / 1000000.0 / repetitions;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+}
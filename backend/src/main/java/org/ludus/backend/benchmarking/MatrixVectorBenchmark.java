@@ -0,0 +1,89 @@
+package org.ludus.backend.benchmarking;
+
+import org.ludus.backend.algebra.MaxPlus;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compare the SIMD max-plus matrix-vector product against the scalar kernel of {@link MaxPlus}.
+ * <p>
+ * The SIMD kernel is only used when running from the multi-release jar on Java 17 or later with
+ * {@code --add-modules jdk.incubator.vector}; otherwise both columns measure the scalar kernel.
+ * Each measurement is preceded by warm-up runs, and the median of the measured runs is reported.
+ * Output is written as CSV to standard output.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public class MatrixVectorBenchmark {
+
+    private static final int[] SIZES = {8, 16, 32, 64, 128, 256, 512};
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 11;
+
+    /**
+     * Entry point for running the benchmark.
+     *
+     * @param args optional density of finite entries in the random matrices (default 0.3)
+     */
+    public static void main(String[] args) {
+        double density = args.length > 0 ? Double.valueOf(args[0]) : 0.3;
+        Random random = new Random(0);
+
+        System.out.printf("SIMD available: %b\n", MaxPlus.isSimdAvailable());
+        System.out.printf("%s,%s,%s,%s,%s\n", "N", "density", "Scalar(us)", "SIMD(us)", "Speedup");
+        for (int size : SIZES) {
+            double[] matrix = randomMatrix(random, size, density);
+            double[] x = new double[size];
+            for (int i = 0; i < size; i++) {
+                x[i] = -random.nextInt(100);
+            }
+            double[] expected = new double[size];
+            double[] actual = new double[size];
+
+            // Check that both kernels agree before timing them.
+            MaxPlus.multiplyScalar(matrix, size, size, x, expected);
+            MaxPlus.multiply(matrix, size, size, x, actual);
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("SIMD product differs from scalar product for N=" + size);
+            }
+
+            double scalar = median(size, () -> MaxPlus.multiplyScalar(matrix, size, size, x, expected));
+            double simd = median(size, () -> MaxPlus.multiply(matrix, size, size, x, actual));
+            System.out.printf("%d,%f,%f,%f,%f\n", size, density, scalar, simd, scalar / simd);
+        }
+    }
+
+    private static double[] randomMatrix(Random random, int size, double density) {
+        double[] m = new double[size * size];
+        for (int i = 0; i < m.length; i++) {
+            m[i] = random.nextDouble() < density ? random.nextInt(100) : Double.NEGATIVE_INFINITY;
+        }
+        return m;
+    }
+
+    /**
+     * Return the median running time in microseconds of the given product.
+     * Small sizes are repeated within a single measurement to get a measurable duration.
+     */
+    private static double median(int size, Runnable product) {
+        int repetitions = Math.max(1, (1 << 22) / (size * size));
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            product.run();
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < repetitions; r++) {
+                product.run();
+            }
+            long end = System.nanoTime();
+            times[i] = (end - start) / 1000.0 / repetitions;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+}
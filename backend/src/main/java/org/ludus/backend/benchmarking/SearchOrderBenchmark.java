@@ -0,0 +1,121 @@
+package org.ludus.backend.benchmarking;
+
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.statespace.BoundedExploration;
+import org.ludus.backend.statespace.ComputeStateSpace;
+import org.ludus.backend.statespace.ExplorationBudget;
+import org.ludus.backend.statespace.FrozenStateSpace;
+import org.ludus.backend.statespace.SCCDecomposition;
+import org.ludus.backend.statespace.SearchOrder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compare the time to the first good bound on the minimum cycle ratio for each {@link SearchOrder}.
+ * <p>
+ * A random specification with a single location and one self-loop per event is explored with doubling
+ * configuration limits. For each search order, the first limit for which the minimum cycle ratio of the
+ * partial state space is within the tolerance of the exact value is reported, together with the time of
+ * that exploration and its analysis. Each order is run once as warm-up. Output is written as CSV to
+ * standard output.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public class SearchOrderBenchmark {
+
+    private static final int BEAM_WIDTH = 64;
+
+    /**
+     * Entry point for running the benchmark.
+     *
+     * @param args optional matrix size (default 6), number of events (default 4), maximal matrix entry
+     *             (default 4), and relative tolerance of a good bound (default 0.01)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.valueOf(args[0]) : 6;
+        int eventCount = args.length > 1 ? Integer.valueOf(args[1]) : 4;
+        int maxEntry = args.length > 2 ? Integer.valueOf(args[2]) : 4;
+        double tolerance = args.length > 3 ? Double.valueOf(args[3]) : 0.01;
+
+        Random random = new Random(0);
+        FSMImpl fsm = new FSMImpl();
+        Location location = new Location("l0");
+        fsm.addLocation(location);
+        fsm.setInitial(location);
+        Map<String, Matrix> matrices = new HashMap<>();
+        for (int e = 0; e < eventCount; e++) {
+            String event = "e" + e;
+            fsm.addControllable(event);
+            fsm.addEdge(new Edge(location, event, location));
+            DenseMatrix matrix = new DenseMatrix(size, size);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    matrix.put(i, j, new Value(random.nextInt(maxEntry + 1)));
+                }
+            }
+            matrices.put(event, matrix);
+        }
+
+        Map<String, SearchOrder> orders = new LinkedHashMap<>();
+        orders.put("BFS", SearchOrder.BREADTH_FIRST);
+        orders.put("DFS", SearchOrder.DEPTH_FIRST);
+        orders.put("BestFirst", SearchOrder.BEST_FIRST);
+        orders.put("Beam" + BEAM_WIDTH, SearchOrder.beam(BEAM_WIDTH));
+
+        BoundedExploration complete = explore(fsm, size, matrices, ExplorationBudget.unlimited(), SearchOrder.BREADTH_FIRST);
+        int stateCount = complete.getStateSpace().getVertexCount();
+        double exact = minimumCycleRatio(complete.getStateSpace());
+        System.out.printf("States: %d, exact ratio: %f\n", stateCount, exact);
+        System.out.printf("%s,%s,%s,%s,%s\n", "Order", "Limit", "Expanded", "Time(ms)", "Bound");
+
+        for (Map.Entry<String, SearchOrder> order : orders.entrySet()) {
+            // Warm-up.
+            explore(fsm, size, matrices, ExplorationBudget.unlimited(), order.getValue());
+
+            boolean found = false;
+            for (int limit = 1; limit < 2 * stateCount && !found; limit *= 2) {
+                long start = System.nanoTime();
+                BoundedExploration partial = explore(fsm, size, matrices,
+                        ExplorationBudget.unlimited().withStateLimit(limit), order.getValue());
+                double bound = minimumCycleRatio(partial.getStateSpace());
+                double time = (System.nanoTime() - start) / 1e6;
+                if (bound - exact <= tolerance * Math.abs(exact)) {
+                    System.out.printf("%s,%d,%d,%f,%f\n", order.getKey(), limit, partial.getExpandedCount(), time, bound);
+                    found = true;
+                }
+            }
+            if (!found) {
+                System.out.printf("%s,-,-,-,-\n", order.getKey());
+            }
+        }
+    }
+
+    private static BoundedExploration explore(FSMImpl fsm, int size, Map<String, Matrix> matrices, ExplorationBudget budget, SearchOrder order) {
+        return ComputeStateSpace.computeBoundedStateSpace(fsm, size, matrices, new HashMap<>(), budget, order);
+    }
+
+    /**
+     * Return the minimum cycle ratio over the strongly connected components of the state space.
+     */
+    private static double minimumCycleRatio(FrozenStateSpace stateSpace) {
+        SCCDecomposition sccs = SCCDecomposition.of(stateSpace);
+        double ratio = Double.MAX_VALUE;
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                ratio = Math.min(ratio, Howard.runHoward(sccs.getComponent(c)).getLeft());
+            }
+        }
+        return ratio;
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.ludus.backend.graph;
+
+/**
+ * Indexed graph in which each edge has two weights.
+ *
+ * @author Bram van der Sanden
+ * @see DoubleWeightedGraph
+ * @see IndexedDoubleWeightedGraphAdapter
+ */
+public interface IndexedDoubleWeightedGraph extends IndexedGraph {
+
+    double getWeight1(int edge);
+
+    double getWeight2(int edge);
+
+}
@@ -0,0 +1,53 @@
+package org.ludus.backend.graph;
+
+/**
+ * Indexed copy of a graph with two weights per edge. The structure is numbered as in
+ * {@link IndexedGraphAdapter}, and the weights are kept in arrays indexed by edge id.
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+public final class IndexedDoubleWeightedGraphAdapter<V, E> extends IndexedGraphAdapter<V, E> implements IndexedDoubleWeightedGraph {
+
+    private final double[] weights1;
+    private final double[] weights2;
+
+    private IndexedDoubleWeightedGraphAdapter(IndexedGraphAdapter<V, E> structure, double[] weights1,
+                                              double[] weights2) {
+        super(structure);
+        this.weights1 = weights1;
+        this.weights2 = weights2;
+    }
+
+    /**
+     * Create an indexed copy of the given graph and its weights.
+     *
+     * @param <V>   vertex type
+     * @param <E>   edge type
+     * @param graph input graph
+     * @return indexed copy of the graph
+     */
+    public static <V, E> IndexedDoubleWeightedGraphAdapter<V, E> of(DoubleWeightedGraph<V, E, ? extends Number> graph) {
+        IndexedGraphAdapter<V, E> structure = IndexedGraphAdapter.of(graph);
+        double[] weights1 = new double[structure.getEdgeCount()];
+        double[] weights2 = new double[structure.getEdgeCount()];
+        for (int e = 0; e < weights1.length; e++) {
+            E edge = structure.getEdge(e);
+            weights1[e] = graph.getWeight1(edge).doubleValue();
+            weights2[e] = graph.getWeight2(edge).doubleValue();
+        }
+        return new IndexedDoubleWeightedGraphAdapter<>(structure, weights1, weights2);
+    }
+
+    @Override
+    public double getWeight1(int edge) {
+        return weights1[edge];
+    }
+
+    @Override
+    public double getWeight2(int edge) {
+        return weights2[edge];
+    }
+
+}
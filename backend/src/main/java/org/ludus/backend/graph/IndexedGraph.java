@@ -0,0 +1,29 @@
+package org.ludus.backend.graph;
+
+/**
+ * Graph with dense int ids for its vertices and edges.
+ * <p>
+ * Vertices are the ids {@code 0, ..., getVertexCount() - 1}, and edges are the ids
+ * {@code 0, ..., getEdgeCount() - 1}. The edges are stored in CSR format: the outgoing edges of vertex
+ * {@code v} have the consecutive ids {@code getOutStart(v)} until {@code getOutEnd(v)}. Algorithms on this
+ * interface use arrays indexed by id instead of maps from vertices and edges.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see IndexedGraphAdapter
+ */
+public interface IndexedGraph {
+
+    int getVertexCount();
+
+    int getEdgeCount();
+
+    int getOutStart(int vertex);
+
+    int getOutEnd(int vertex);
+
+    int getSource(int edge);
+
+    int getTarget(int edge);
+
+}
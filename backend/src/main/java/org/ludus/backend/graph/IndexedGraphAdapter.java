@@ -0,0 +1,166 @@
+package org.ludus.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexed copy of the structure of a graph, made in a single pass over its vertices and outgoing edges.
+ * <p>
+ * Vertex {@code i} is the {@code i}-th vertex in the iteration order of the vertex set of the graph, and
+ * the outgoing edges of each vertex are numbered in the iteration order of its outgoing edges. The adapter
+ * keeps the original vertices and edges, so results of the indexed algorithms can be mapped back. The
+ * weights of a weighted graph are copied by {@link IndexedSingleWeightedGraphAdapter} and
+ * {@link IndexedDoubleWeightedGraphAdapter}.
+ * </p>
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+public class IndexedGraphAdapter<V, E> implements IndexedGraph {
+
+    private final List<V> vertices;
+    private final Map<V, Integer> ids;
+    private final List<E> edges;
+
+    // Edges in CSR format.
+    private final int[] outStart;
+    private final int[] sources;
+    private final int[] targets;
+
+    private IndexedGraphAdapter(List<V> vertices, Map<V, Integer> ids, List<E> edges, int[] outStart, int[] sources,
+                                int[] targets) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.edges = edges;
+        this.outStart = outStart;
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    /**
+     * Create an adapter that shares the structure of the given adapter.
+     *
+     * @param structure indexed copy of the structure of a graph
+     */
+    IndexedGraphAdapter(IndexedGraphAdapter<V, E> structure) {
+        this(structure.vertices, structure.ids, structure.edges, structure.outStart, structure.sources,
+                structure.targets);
+    }
+
+    /**
+     * Create an indexed copy of the structure of the given graph.
+     *
+     * @param <V>   vertex type
+     * @param <E>   edge type
+     * @param graph input graph
+     * @return indexed copy of the graph
+     */
+    public static <V, E> IndexedGraphAdapter<V, E> of(Graph<V, E> graph) {
+        List<V> vertices = new ArrayList<>(graph.getVertices());
+        Map<V, Integer> ids = new HashMap<>();
+        for (V v : vertices) {
+            ids.put(v, ids.size());
+        }
+
+        int capacity = Math.max(16, vertices.size());
+        List<E> edges = new ArrayList<>(capacity);
+        int[] outStart = new int[vertices.size() + 1];
+        int[] sources = new int[capacity];
+        int[] targets = new int[capacity];
+        int m = 0;
+        for (int v = 0; v < vertices.size(); v++) {
+            for (E e : graph.outgoingEdgesOf(vertices.get(v))) {
+                if (m == sources.length) {
+                    capacity = 2 * capacity;
+                    sources = Arrays.copyOf(sources, capacity);
+                    targets = Arrays.copyOf(targets, capacity);
+                }
+                edges.add(e);
+                sources[m] = v;
+                targets[m] = ids.get(graph.getEdgeTarget(e));
+                m++;
+            }
+            outStart[v + 1] = m;
+        }
+        return new IndexedGraphAdapter<>(vertices, ids, edges, outStart, sources, targets);
+    }
+
+    /**
+     * Return the vertex with the given id.
+     *
+     * @param vertex vertex id
+     * @return vertex of the original graph
+     */
+    public V getVertex(int vertex) {
+        return vertices.get(vertex);
+    }
+
+    /**
+     * Return the id of the given vertex.
+     *
+     * @param vertex vertex of the original graph
+     * @return vertex id
+     */
+    public int getVertexId(V vertex) {
+        return ids.get(vertex);
+    }
+
+    /**
+     * Return the edge with the given id.
+     *
+     * @param edge edge id
+     * @return edge of the original graph
+     */
+    public E getEdge(int edge) {
+        return edges.get(edge);
+    }
+
+    /**
+     * Return the edges with the given ids.
+     *
+     * @param edgeIds edge ids
+     * @return edges of the original graph, in the same order
+     */
+    public List<E> getEdges(List<Integer> edgeIds) {
+        List<E> result = new ArrayList<>(edgeIds.size());
+        for (int e : edgeIds) {
+            result.add(edges.get(e));
+        }
+        return result;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    @Override
+    public int getOutStart(int vertex) {
+        return outStart[vertex];
+    }
+
+    @Override
+    public int getOutEnd(int vertex) {
+        return outStart[vertex + 1];
+    }
+
+    @Override
+    public int getSource(int edge) {
+        return sources[edge];
+    }
+
+    @Override
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+}
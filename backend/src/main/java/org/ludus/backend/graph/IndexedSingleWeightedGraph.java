@@ -0,0 +1,14 @@
+package org.ludus.backend.graph;
+
+/**
+ * Indexed graph in which each edge has one weight.
+ *
+ * @author Bram van der Sanden
+ * @see SingleWeightedGraph
+ * @see IndexedSingleWeightedGraphAdapter
+ */
+public interface IndexedSingleWeightedGraph extends IndexedGraph {
+
+    double getWeight(int edge);
+
+}
@@ -0,0 +1,42 @@
+package org.ludus.backend.graph;
+
+/**
+ * Indexed copy of a graph with a single weight per edge. The structure is numbered as in
+ * {@link IndexedGraphAdapter}, and the weights are kept in an array indexed by edge id.
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+public final class IndexedSingleWeightedGraphAdapter<V, E> extends IndexedGraphAdapter<V, E> implements IndexedSingleWeightedGraph {
+
+    private final double[] weights;
+
+    private IndexedSingleWeightedGraphAdapter(IndexedGraphAdapter<V, E> structure, double[] weights) {
+        super(structure);
+        this.weights = weights;
+    }
+
+    /**
+     * Create an indexed copy of the given graph and its weights.
+     *
+     * @param <V>   vertex type
+     * @param <E>   edge type
+     * @param graph input graph
+     * @return indexed copy of the graph
+     */
+    public static <V, E> IndexedSingleWeightedGraphAdapter<V, E> of(SingleWeightedGraph<V, E, ? extends Number> graph) {
+        IndexedGraphAdapter<V, E> structure = IndexedGraphAdapter.of(graph);
+        double[] weights = new double[structure.getEdgeCount()];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = graph.getWeight(structure.getEdge(e)).doubleValue();
+        }
+        return new IndexedSingleWeightedGraphAdapter<>(structure, weights);
+    }
+
+    @Override
+    public double getWeight(int edge) {
+        return weights[edge];
+    }
+
+}
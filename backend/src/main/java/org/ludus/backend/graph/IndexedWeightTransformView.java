@@ -0,0 +1,91 @@
+package org.ludus.backend.graph;
+
+/**
+ * View of an indexed double weighted graph in which the weights are swapped and/or negated when they are
+ * read.
+ * <p>
+ * The vertices, edges and adjacency of the view are those of the underlying graph, so creating a view
+ * does not copy anything. As in {@link WeightTransformView}, the single weight of an edge is its second
+ * weight.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class IndexedWeightTransformView implements IndexedSingleWeightedGraph, IndexedDoubleWeightedGraph {
+
+    private final IndexedDoubleWeightedGraph graph;
+    private final boolean swap;
+    private final double sign;
+
+    private IndexedWeightTransformView(IndexedDoubleWeightedGraph graph, boolean swap, boolean negate) {
+        this.graph = graph;
+        this.swap = swap;
+        this.sign = negate ? -1.0 : 1.0;
+    }
+
+    /**
+     * Return a view of the given graph where both weights are negated.
+     *
+     * @param graph input graph
+     * @return view with weights {@code -w1} and {@code -w2}
+     */
+    public static IndexedWeightTransformView negate(IndexedDoubleWeightedGraph graph) {
+        return new IndexedWeightTransformView(graph, false, true);
+    }
+
+    /**
+     * Return a view of the given graph where the weights are swapped.
+     *
+     * @param graph input graph
+     * @return view with weights {@code w2} and {@code w1}
+     */
+    public static IndexedWeightTransformView swap(IndexedDoubleWeightedGraph graph) {
+        return new IndexedWeightTransformView(graph, true, false);
+    }
+
+    @Override
+    public double getWeight1(int edge) {
+        return sign * (swap ? graph.getWeight2(edge) : graph.getWeight1(edge));
+    }
+
+    @Override
+    public double getWeight2(int edge) {
+        return sign * (swap ? graph.getWeight1(edge) : graph.getWeight2(edge));
+    }
+
+    @Override
+    public double getWeight(int edge) {
+        return getWeight2(edge);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return graph.getVertexCount();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return graph.getEdgeCount();
+    }
+
+    @Override
+    public int getOutStart(int vertex) {
+        return graph.getOutStart(vertex);
+    }
+
+    @Override
+    public int getOutEnd(int vertex) {
+        return graph.getOutEnd(vertex);
+    }
+
+    @Override
+    public int getSource(int edge) {
+        return graph.getSource(edge);
+    }
+
+    @Override
+    public int getTarget(int edge) {
+        return graph.getTarget(edge);
+    }
+
+}
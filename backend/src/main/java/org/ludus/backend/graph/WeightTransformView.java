@@ -0,0 +1,102 @@
+package org.ludus.backend.graph;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * View of a double weighted graph in which the weights are swapped and/or negated when they are read.
+ * <p>
+ * The vertices, edges and adjacency of the view are those of the underlying graph, so creating a view
+ * does not copy anything. As in {@link org.ludus.backend.statespace.MaxPlusStateSpace}, the single weight
+ * of an edge is its second weight.
+ * </p>
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+public final class WeightTransformView<V, E> implements SingleWeightedGraph<V, E, Double>, DoubleWeightedGraph<V, E, Double> {
+
+    private static final long serialVersionUID = -2870457160347254862L;
+
+    private final DoubleWeightedGraph<V, E, Double> graph;
+    private final boolean swap;
+    private final double sign;
+
+    private WeightTransformView(DoubleWeightedGraph<V, E, Double> graph, boolean swap, boolean negate) {
+        this.graph = graph;
+        this.swap = swap;
+        this.sign = negate ? -1.0 : 1.0;
+    }
+
+    /**
+     * Return a view of the given graph where both weights are negated.
+     *
+     * @param graph input graph
+     * @return view with weights {@code -w1} and {@code -w2}
+     */
+    public static <V, E> WeightTransformView<V, E> negate(DoubleWeightedGraph<V, E, Double> graph) {
+        return new WeightTransformView<>(graph, false, true);
+    }
+
+    /**
+     * Return a view of the given graph where the weights are swapped.
+     *
+     * @param graph input graph
+     * @return view with weights {@code w2} and {@code w1}
+     */
+    public static <V, E> WeightTransformView<V, E> swap(DoubleWeightedGraph<V, E, Double> graph) {
+        return new WeightTransformView<>(graph, true, false);
+    }
+
+    @Override
+    public Double getWeight1(E edge) {
+        return sign * (swap ? graph.getWeight2(edge) : graph.getWeight1(edge));
+    }
+
+    @Override
+    public Double getWeight2(E edge) {
+        return sign * (swap ? graph.getWeight1(edge) : graph.getWeight2(edge));
+    }
+
+    @Override
+    public Double getWeight(E edge) {
+        return getWeight2(edge);
+    }
+
+    @Override
+    public Set<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public Set<E> getEdges() {
+        return graph.getEdges();
+    }
+
+    @Override
+    public Collection<E> incomingEdgesOf(V v) {
+        return graph.incomingEdgesOf(v);
+    }
+
+    @Override
+    public Collection<E> outgoingEdgesOf(V v) {
+        return graph.outgoingEdgesOf(v);
+    }
+
+    @Override
+    public V getEdgeSource(E e) {
+        return graph.getEdgeSource(e);
+    }
+
+    @Override
+    public V getEdgeTarget(E e) {
+        return graph.getEdgeTarget(e);
+    }
+
+    @Override
+    public E getEdge(V source, V target) {
+        return graph.getEdge(source, target);
+    }
+
+}
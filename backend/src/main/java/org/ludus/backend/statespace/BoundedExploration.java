@@ -0,0 +1,62 @@
+package org.ludus.backend.statespace;
+
+import java.util.BitSet;
+
+/**
+ * Result of an exploration with an {@link ExplorationBudget}.
+ * <p>
+ * If the budget was exhausted, or configurations were dropped from a memory-bounded frontier, the state
+ * space is partial. The expanded configurations have all their outgoing transitions, while the remaining
+ * configurations have been found but have no outgoing transitions in the state space. Every path and cycle
+ * of a partial state space is also a path and cycle of the complete state space, which makes the analysis
+ * results on a partial state space sound bounds.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see ComputeStateSpace#computeBoundedStateSpace(org.ludus.backend.fsm.FSM, Integer, java.util.Map, java.util.Map, ExplorationBudget)
+ */
+public final class BoundedExploration {
+
+    private final FrozenStateSpace stateSpace;
+    private final BitSet expanded;
+    private final ExplorationBudget.StopReason stopReason;
+    private final ExplorationStatistics statistics;
+
+    BoundedExploration(FrozenStateSpace stateSpace, BitSet expanded, ExplorationBudget.StopReason stopReason, ExplorationStatistics statistics) {
+        this.stateSpace = stateSpace;
+        this.expanded = expanded;
+        this.stopReason = stopReason;
+        this.statistics = statistics;
+    }
+
+    public FrozenStateSpace getStateSpace() {
+        return stateSpace;
+    }
+
+    public boolean isComplete() {
+        return stopReason == ExplorationBudget.StopReason.COMPLETE;
+    }
+
+    public ExplorationBudget.StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public ExplorationStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int getExpandedCount() {
+        return statistics.getExpandedCount();
+    }
+
+    /**
+     * Return whether the outgoing transitions of the given configuration have been computed.
+     *
+     * @param vertex vertex id
+     * @return true if and only if the configuration has been expanded
+     */
+    public boolean isExpanded(int vertex) {
+        return expanded.get(vertex);
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Token to cancel a running exploration from another thread.
+ *
+ * @author Bram van der Sanden
+ * @see ExplorationBudget
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * Request the cancellation of the explorations that use this token. The explorations stop at their
+     * next budget check and return their partial result.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Result of an approximate exploration with hash compaction.
+ * <p>
+ * During the exploration, each configuration is only identified by a fingerprint of
+ * {@code getFingerprintBits()} bits. Two distinct configurations with the same fingerprint are merged, so
+ * the second one and the part of the state space that is only reachable through it may be omitted. The
+ * state space has the same vertices and transitions as an exact exploration unless such a collision
+ * occurred, which happens with probability {@link #getOmissionProbability()}. The configurations
+ * themselves are not retained.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see ComputeStateSpace#computeCompactedStateSpace(org.ludus.backend.fsm.FSM, Integer, java.util.Map, java.util.Map, int)
+ */
+public final class CompactedStateSpace {
+
+    private final FrozenStateSpace stateSpace;
+    private final int fingerprintBits;
+
+    CompactedStateSpace(FrozenStateSpace stateSpace, int fingerprintBits) {
+        this.stateSpace = stateSpace;
+        this.fingerprintBits = fingerprintBits;
+    }
+
+    /**
+     * Return the explored state space. Its configurations are {@code null}.
+     *
+     * @return explored state space
+     */
+    public FrozenStateSpace getStateSpace() {
+        return stateSpace;
+    }
+
+    public int getFingerprintBits() {
+        return fingerprintBits;
+    }
+
+    /**
+     * Return the probability that at least one configuration was omitted because its fingerprint collided
+     * with the fingerprint of another configuration. For {@code N} configurations and {@code m = 2^b - 1}
+     * non-zero fingerprints of {@code b} bits, this is approximately {@code 1 - exp(-N(N - 1) / 2m)}. Since
+     * colliding configurations are not explored, {@code N} is estimated from the number {@code n} of distinct
+     * fingerprints that were found, as {@code -m ln(1 - n / m)}. If every fingerprint was found, the
+     * probability is one.
+     *
+     * @return probability of omission
+     */
+    public double getOmissionProbability() {
+        double n = stateSpace.getVertexCount();
+        double fingerprints = Math.pow(2.0, fingerprintBits) - 1;
+        if (n >= fingerprints) {
+            return 1.0;
+        }
+        double estimate = -fingerprints * Math.log1p(-n / fingerprints);
+        return -Math.expm1(-estimate * (estimate - 1) / (2.0 * fingerprints));
+    }
+
+}
@@ -1,11 +1,17 @@
 package org.ludus.backend.statespace;
 
+import org.ludus.backend.algebra.CSRMatrix;
+import org.ludus.backend.algebra.FixedPoint;
+import org.ludus.backend.algebra.LongVector;
 import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.MaxPlus;
 import org.ludus.backend.algebra.Value;
 import org.ludus.backend.algebra.Vector;
 import org.ludus.backend.algorithms.Tarjan;
+import org.ludus.backend.datastructures.tuple.Tuple;
 import org.ludus.backend.fsm.FSM;
 
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -17,6 +23,14 @@ public final class ComputeStateSpace {
 
     private static final Value DEFAULT_REWARD = new Value(1.0);
 
+    /**
+     * Number of expanded configurations between two progress notifications of an {@link ExplorationListener}.
+     */
+    public static final int PROGRESS_INTERVAL = 1024;
+
+    // Maximal number of configurations that are multiplied with an event matrix at once in batched exploration.
+    private static final int BATCH_SIZE = 256;
+
     /**
      * Compute the normalized max-plus state space, where the reward of each edge event is given by
      * {@code DEFAULT_REWARD}.
@@ -40,53 +54,748 @@ public final class ComputeStateSpace {
      * @return max plus state space
      */
     public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap) {
+        return computeMaxPlusStateSpace(fsm, vectorSize, matrices, rewardMap, (VectorCanonicalizer) null);
+    }
+
+    /**
+     * Compute the normalized max-plus state space, where the reward of each edge event is given by
+     * {@code DEFAULT_REWARD}, and canonicalize each normalized vector before it is compared.
+     *
+     * @param fsm           finite-state machine
+     * @param vectorSize    size of the starting vector
+     * @param matrices      mapping of edge label to a corresponding matrix
+     * @param canonicalizer canonicalizer of the normalized vectors
+     * @return max plus state space
+     * @see #computeMaxPlusStateSpace(FSM, Integer, Map, Map, VectorCanonicalizer)
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, VectorCanonicalizer canonicalizer) {
+        return computeMaxPlusStateSpace(fsm, vectorSize, matrices, new HashMap<>(), canonicalizer);
+    }
+
+    /**
+     * Compute the normalized max-plus state space, and canonicalize each normalized vector before it is
+     * compared. Configurations whose vectors only differ by rounding errors are merged, and the number of
+     * merged configurations is added to the canonicalizer.
+     *
+     * @param fsm           finite-state machine
+     * @param vectorSize    size of the starting vector
+     * @param matrices      mapping of edge label to a corresponding matrix
+     * @param rewardMap     mapping of edge label to a reward
+     * @param canonicalizer canonicalizer of the normalized vectors, or null to compare the exact vectors
+     * @return max plus state space
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, VectorCanonicalizer canonicalizer) {
+        return computeMaxPlusStateSpace(fsm, vectorSize, matrices, rewardMap, canonicalizer, ExplorationListener.NONE);
+    }
+
+    /**
+     * Compute the normalized max-plus state space, where the reward of each edge event is given by
+     * {@code DEFAULT_REWARD}, and report the progress to a listener.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param listener   listener that is notified of the progress
+     * @return max plus state space
+     * @see #computeMaxPlusStateSpace(FSM, Integer, Map, Map, VectorCanonicalizer, ExplorationListener)
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, ExplorationListener listener) {
+        return computeMaxPlusStateSpace(fsm, vectorSize, matrices, new HashMap<>(), null, listener);
+    }
+
+    /**
+     * Compute the normalized max-plus state space. Each normalized vector is canonicalized before it is
+     * compared if a canonicalizer is given, and the progress is reported to the listener every
+     * {@link #PROGRESS_INTERVAL} expanded configurations.
+     * <p>
+     * The state space is explored as in
+     * {@link #computeFrozenStateSpace(FSM, Integer, Map, Map, VectorCanonicalizer, ExplorationListener)}, and
+     * then converted to configuration and transition objects. Algorithms that work on ids should use the
+     * frozen state space directly, which needs far less memory.
+     * </p>
+     *
+     * @param fsm           finite-state machine
+     * @param vectorSize    size of the starting vector
+     * @param matrices      mapping of edge label to a corresponding matrix
+     * @param rewardMap     mapping of edge label to a reward
+     * @param canonicalizer canonicalizer of the normalized vectors, or null to compare the exact vectors
+     * @param listener      listener that is notified of the progress
+     * @return max plus state space
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, VectorCanonicalizer canonicalizer, ExplorationListener listener) {
+        return computeFrozenStateSpace(fsm, vectorSize, matrices, rewardMap, canonicalizer, listener).thaw();
+    }
+
+    /**
+     * Compute the normalized max-plus state space in compressed sparse row format, where the reward of each
+     * edge event is given by {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @return frozen state space
+     * @see #computeFrozenStateSpace(FSM, Integer, Map, Map, VectorCanonicalizer, ExplorationListener)
+     */
+    public static <V, E> FrozenStateSpace computeFrozenStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices) {
+        return computeFrozenStateSpace(fsm, vectorSize, matrices, new HashMap<>(), null, ExplorationListener.NONE);
+    }
+
+    /**
+     * Compute the normalized max-plus state space, and write checkpoints of the exploration. An exploration
+     * that is stopped because the process is killed can be continued from the last checkpoint with
+     * {@link #resumeBoundedStateSpace(FSM, Integer, Map, Map, ExplorationBudget, ExplorationCheckpoint)}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param checkpoint checkpoint file and interval
+     * @return max plus state space
+     * @throws java.io.UncheckedIOException if the checkpoint cannot be written
+     * @see #computeFrozenStateSpace(FSM, Integer, Map, Map, ExplorationCheckpoint)
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationCheckpoint checkpoint) {
+        return computeFrozenStateSpace(fsm, vectorSize, matrices, rewardMap, checkpoint).thaw();
+    }
+
+    /**
+     * Compute the normalized max-plus state space in compressed sparse row format, and write checkpoints of
+     * the exploration. The configurations are expanded in breadth-first order, which is the only order that
+     * supports checkpoints. An exploration that is stopped because the process is killed can be continued
+     * from the last checkpoint with
+     * {@link #resumeBoundedStateSpace(FSM, Integer, Map, Map, ExplorationBudget, ExplorationCheckpoint)}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param checkpoint checkpoint file and interval
+     * @return frozen state space
+     * @throws java.io.UncheckedIOException if the checkpoint cannot be written
+     */
+    public static <V, E> FrozenStateSpace computeFrozenStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationCheckpoint checkpoint) {
+        return FrontierExploration.start(fsm, vectorSize, matrices, rewardMap, SearchOrder.BREADTH_FIRST)
+                .run(ExplorationBudget.unlimited(), checkpoint).getStateSpace();
+    }
+
+    /**
+     * Compute the normalized max-plus state space in compressed sparse row format, and report the progress
+     * to a listener.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param listener   listener that is notified of the progress
+     * @return frozen state space
+     * @see #computeFrozenStateSpace(FSM, Integer, Map, Map, VectorCanonicalizer, ExplorationListener)
+     */
+    public static <V, E> FrozenStateSpace computeFrozenStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationListener listener) {
+        return computeFrozenStateSpace(fsm, vectorSize, matrices, rewardMap, null, listener);
+    }
+
+    /**
+     * Compute the normalized max-plus state space in compressed sparse row format. The configurations are
+     * interned in a {@link ConfigurationStore} and expanded in order of their ids, which is breadth-first
+     * order from the initial configuration with id 0. The vectors stay in the store and the transitions are
+     * kept in primitive arrays, so no object is created per configuration or transition.
+     * <p>
+     * Each normalized vector is canonicalized before it is compared if a canonicalizer is given, and the
+     * number of merged configurations is added to it. The progress is reported to the listener every
+     * {@link #PROGRESS_INTERVAL} expanded configurations.
+     * </p>
+     *
+     * @param fsm           finite-state machine
+     * @param vectorSize    size of the starting vector
+     * @param matrices      mapping of edge label to a corresponding matrix
+     * @param rewardMap     mapping of edge label to a reward
+     * @param canonicalizer canonicalizer of the normalized vectors, or null to compare the exact vectors
+     * @param listener      listener that is notified of the progress
+     * @return frozen state space
+     */
+    public static <V, E> FrozenStateSpace computeFrozenStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, VectorCanonicalizer canonicalizer, ExplorationListener listener) {
+        return FrontierExploration.start(fsm, vectorSize, matrices, rewardMap, SearchOrder.BREADTH_FIRST, canonicalizer, listener)
+                .run(ExplorationBudget.unlimited(), null).getStateSpace();
+    }
+
+    /**
+     * Compute the normalized max-plus state space using all available processors, where the reward of each
+     * edge event is given by {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @return max plus state space
+     * @see #computeMaxPlusStateSpaceParallel(FSM, Integer, Map, Map, int)
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpaceParallel(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices) {
+        return computeMaxPlusStateSpaceParallel(fsm, vectorSize, matrices, new HashMap<>(),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compute the normalized max-plus state space with multiple threads. Configurations are expanded by
+     * fork-join tasks with work stealing, and the visited set is a concurrent hash map. The resulting state
+     * space equals the one of {@link #computeMaxPlusStateSpace(FSM, Integer, Map, Map)}. The FSM and the
+     * matrices must not be modified during the exploration.
+     *
+     * @param fsm         finite-state machine
+     * @param vectorSize  size of the starting vector
+     * @param matrices    mapping of edge label to a corresponding matrix
+     * @param rewardMap   mapping of edge label to a reward
+     * @param parallelism number of worker threads
+     * @return max plus state space
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpaceParallel(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, int parallelism) {
         // Start with the zero vector and the initial FSMImpl state.
         Vector vInitial = new Vector(vectorSize, new Value(0.0));
         Configuration<V> cInitial = new Configuration<>(fsm.getInitial(), vInitial);
 
+        // Sparse matrices are multiplied in CSR format, which skips the -infinity entries.
+        Map<String, Matrix> eventMatrices = CSRMatrix.compress(matrices);
+
+        return new ParallelExploration<>(fsm, eventMatrices, rewardMap, DEFAULT_REWARD).explore(cInitial, parallelism);
+    }
+
+    /**
+     * Compute the normalized max-plus state space in fixed-point arithmetic, where the reward of each
+     * edge event is given by {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param fixedPoint fixed-point mode used to represent the matrix entries
+     * @return max plus state space
+     * @see #computeMaxPlusStateSpace(FSM, Integer, Map, Map, FixedPoint)
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, FixedPoint fixedPoint) {
+        return computeMaxPlusStateSpace(fsm, vectorSize, matrices, new HashMap<>(), fixedPoint);
+    }
+
+    /**
+     * Compute the normalized max-plus state space in fixed-point arithmetic. Matrix entries are rounded
+     * to the given fixed-point mode, and vectors are multiplied and normalized exactly on scaled
+     * {@code long} values. Configurations are identified by their fixed-point vector, so rounding errors
+     * cannot split a configuration into several ones. The vectors and durations of the resulting state
+     * space are the fixed-point values converted back to doubles.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param fixedPoint fixed-point mode used to represent the matrix entries
+     * @return max plus state space
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, FixedPoint fixedPoint) {
+        // Start with the zero vector and the initial FSMImpl state.
+        LongVector xInitial = fixedPoint.toLongVector(new Vector(vectorSize, new Value(0.0)));
+        Configuration<V> cInitial = new Configuration<>(fsm.getInitial(), fixedPoint.toVector(xInitial));
+
         MaxPlusStateSpace S = new MaxPlusStateSpace();
         S.addConfiguration(cInitial);
         S.setInitialConfiguration(cInitial);
 
-        Stack<Configuration<V>> stack = new Stack<>();
+        // Fixed-point entries of each event matrix.
+        Map<String, long[]> eventMatrices = new HashMap<>();
+        for (Map.Entry<String, Matrix> entry : matrices.entrySet()) {
+            eventMatrices.put(entry.getKey(), fixedPoint.toArray(entry.getValue()));
+        }
 
-        // All edges that have been added to the stack at some point.
-        Set<Configuration> visited = new HashSet<>();
+        // Configurations per location, indexed by their fixed-point vector.
+        Map<V, Map<LongVector, Configuration<V>>> configurations = new HashMap<>();
+        configurations.computeIfAbsent(cInitial.getLocation(), l -> new HashMap<>()).put(xInitial, cInitial);
 
-        stack.add(cInitial);
-        visited.add(cInitial);
+        Stack<Tuple<Configuration<V>, LongVector>> stack = new Stack<>();
+        stack.push(Tuple.of(cInitial, xInitial));
 
         while (!stack.isEmpty()) {
-            Configuration<V> c = stack.pop();
+            Tuple<Configuration<V>, LongVector> top = stack.pop();
+            Configuration<V> c = top.getLeft();
             for (E e : fsm.outgoingEdgesOf(c.getLocation())) {
                 // Compute new normalized vector.
                 String event = fsm.getEvent(e);
-                Matrix eventMatrix = matrices.get(event);
-                Vector newVector = eventMatrix.multiply(c.getVector());
-                Vector newVectorNormalized = newVector.normalize();
+                LongVector newVector = top.getRight().multiply(eventMatrices.get(event), vectorSize, vectorSize);
+                LongVector newVectorNormalized = newVector.normalize();
 
-                // Add new configuration.
-                Configuration<V> cTarget = new Configuration<>(fsm.getEdgeTarget(e), newVectorNormalized);
-                S.addConfiguration(cTarget);
+                // Add new configuration if we have not yet processed this one.
+                V target = fsm.getEdgeTarget(e);
+                Map<LongVector, Configuration<V>> targetConfigurations =
+                        configurations.computeIfAbsent(target, l -> new HashMap<>());
+                Configuration<V> cTarget = targetConfigurations.get(newVectorNormalized);
+                if (cTarget == null) {
+                    cTarget = new Configuration<>(target, fixedPoint.toVector(newVectorNormalized));
+                    targetConfigurations.put(newVectorNormalized, cTarget);
+                    S.addConfiguration(cTarget);
+                    stack.push(Tuple.of(cTarget, newVectorNormalized));
+                }
 
                 // Add transition to new configuration.
-                Value duration = newVector.getNorm();
+                Value duration = new Value(fixedPoint.toDouble(newVector.getNorm()));
                 Value reward = rewardMap.getOrDefault(event, DEFAULT_REWARD);
+                S.addTransition(new Transition(c, event, reward, duration, cTarget));
+            }
+        }
+
+        return S;
+    }
+
+    /**
+     * Compute the normalized max-plus state space, where the reward of each edge event is given by
+     * {@code DEFAULT_REWARD}, using batched exploration.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @return max plus state space
+     * @see #computeMaxPlusStateSpaceBatched(FSM, Integer, Map, Map)
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpaceBatched(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices) {
+        return computeMaxPlusStateSpaceBatched(fsm, vectorSize, matrices, new HashMap<>());
+    }
+
+    /**
+     * Compute the normalized max-plus state space using batched exploration. The state space is explored
+     * breadth-first. The configurations of each level that share a location are stacked as the columns
+     * of a matrix, which is multiplied with the matrix of each outgoing event using a single blocked
+     * matrix-matrix product. The resulting state space equals the one of
+     * {@link #computeMaxPlusStateSpace(FSM, Integer, Map, Map)}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @return max plus state space
+     */
+    public static <V, E> MaxPlusStateSpace computeMaxPlusStateSpaceBatched(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap) {
+        // Start with the zero vector and the initial FSMImpl state.
+        Vector vInitial = new Vector(vectorSize, new Value(0.0));
+        Configuration<V> cInitial = new Configuration<>(fsm.getInitial(), vInitial);
+
+        MaxPlusStateSpace S = new MaxPlusStateSpace();
+        S.addConfiguration(cInitial);
+        S.setInitialConfiguration(cInitial);
+
+        // Row-major entries of each event matrix, as used by the blocked matrix product.
+        Map<String, double[]> eventMatrices = new HashMap<>();
+        for (Map.Entry<String, Matrix> entry : matrices.entrySet()) {
+            eventMatrices.put(entry.getKey(), entry.getValue().toArray());
+        }
+
+        // Configurations of the current level, grouped by location.
+        Map<V, List<Configuration<V>>> frontier = new LinkedHashMap<>();
+        frontier.put(cInitial.getLocation(), new ArrayList<>(Collections.singletonList(cInitial)));
+
+        // All configurations that have been added to the frontier at some point.
+        Set<Configuration> visited = new HashSet<>();
+        visited.add(cInitial);
+
+        int n = vectorSize;
+        double[] column = new double[n];
+        while (!frontier.isEmpty()) {
+            Map<V, List<Configuration<V>>> nextFrontier = new LinkedHashMap<>();
+            for (Map.Entry<V, List<Configuration<V>>> group : frontier.entrySet()) {
+                List<Configuration<V>> configurations = group.getValue();
+                for (int start = 0; start < configurations.size(); start += BATCH_SIZE) {
+                    List<Configuration<V>> batch =
+                            configurations.subList(start, Math.min(start + BATCH_SIZE, configurations.size()));
+                    int k = batch.size();
+
+                    // Stack the vectors of the batch as the columns of an n x k matrix.
+                    double[] x = new double[n * k];
+                    for (int j = 0; j < k; j++) {
+                        double[] v = batch.get(j).getVector().toArray();
+                        for (int i = 0; i < n; i++) {
+                            x[i * k + j] = v[i];
+                        }
+                    }
 
-                Transition t = new Transition(c, fsm.getEvent(e), reward, duration, cTarget);
-                S.addTransition(t);
+                    double[] product = new double[n * k];
+                    for (E e : fsm.outgoingEdgesOf(group.getKey())) {
+                        String event = fsm.getEvent(e);
+                        V target = fsm.getEdgeTarget(e);
+                        Value reward = rewardMap.getOrDefault(event, DEFAULT_REWARD);
+                        MaxPlus.multiply(eventMatrices.get(event), x, n, n, k, product);
 
-                if (!visited.contains(cTarget)) {
-                    // Add configuration to stack if we have not yet processed this one.
-                    visited.add(cTarget);
-                    stack.push(cTarget);
+                        for (int j = 0; j < k; j++) {
+                            // Column j of (A ⊗ X) ⊕ X is the new vector of configuration j.
+                            for (int i = 0; i < n; i++) {
+                                column[i] = Math.max(product[i * k + j], x[i * k + j]);
+                            }
+                            double norm = MaxPlus.normalize(column, column);
+
+                            // Add new configuration.
+                            Configuration<V> cTarget = new Configuration<>(target, new Vector(column));
+                            S.addConfiguration(cTarget);
+
+                            // Add transition to new configuration.
+                            Transition t = new Transition(batch.get(j), event, reward, new Value(norm), cTarget);
+                            S.addTransition(t);
+
+                            if (visited.add(cTarget)) {
+                                // Add configuration to the next level if we have not yet processed this one.
+                                nextFrontier.computeIfAbsent(target, l -> new ArrayList<>()).add(cTarget);
+                            }
+                        }
+                    }
                 }
             }
+            frontier = nextFrontier;
         }
 
         return S;
     }
 
+    /**
+     * Compute the normalized max-plus state space in memory-mapped storage, where the reward of each edge
+     * event is given by {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param directory  directory in which the storage files are created
+     * @return max plus state space, which must be closed to delete its storage files
+     * @see #computeMappedStateSpace(FSM, Integer, Map, Map, Path)
+     */
+    public static <V, E> MappedStateSpace computeMappedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Path directory) {
+        return computeMappedStateSpace(fsm, vectorSize, matrices, new HashMap<>(), directory);
+    }
+
+    /**
+     * Compute the normalized max-plus state space in memory-mapped storage, for state spaces that do not fit
+     * in the heap. The configurations and transitions equal those of
+     * {@link #computeMaxPlusStateSpace(FSM, Integer, Map, Map)}, with the initial configuration at id zero.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param directory  directory in which the storage files are created
+     * @return max plus state space, which must be closed to delete its storage files
+     */
+    public static <V, E> MappedStateSpace computeMappedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, Path directory) {
+        return computeMappedStateSpace(fsm, vectorSize, matrices, rewardMap, directory, ExplorationListener.NONE);
+    }
+
+    /**
+     * Compute the normalized max-plus state space in memory-mapped storage, and report the progress to the
+     * listener every {@link #PROGRESS_INTERVAL} expanded configurations.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param directory  directory in which the storage files are created
+     * @param listener   listener that is notified of the progress
+     * @return max plus state space, which must be closed to delete its storage files
+     * @see #computeMappedStateSpace(FSM, Integer, Map, Map, Path)
+     */
+    public static <V, E> MappedStateSpace computeMappedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, Path directory, ExplorationListener listener) {
+        return computeMappedStateSpace(fsm, vectorSize, matrices, rewardMap, directory, MappedStateSpace.DEFAULT_SEGMENT_SHIFT, listener);
+    }
+
+    static <V, E> MappedStateSpace computeMappedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, Path directory, int segmentShift) {
+        return computeMappedStateSpace(fsm, vectorSize, matrices, rewardMap, directory, segmentShift, ExplorationListener.NONE);
+    }
+
+    static <V, E> MappedStateSpace computeMappedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, Path directory, int segmentShift, ExplorationListener listener) {
+        boolean instrumented = listener != ExplorationListener.NONE;
+        long start = instrumented ? System.nanoTime() : 0L;
+        MappedStateSpace S = new MappedStateSpace(vectorSize, directory, segmentShift);
+
+        // Start with the zero vector and the initial FSMImpl state.
+        S.intern(S.internLocation(fsm.getInitial()), new double[vectorSize]);
+
+        // Sparse matrices are multiplied in CSR format, which skips the -infinity entries.
+        Map<String, Matrix> eventMatrices = CSRMatrix.compress(matrices);
+
+        // Configuration ids are assigned in order of discovery, so the configurations with ids from
+        // the processed count onwards form the work list.
+        double[] x = new double[vectorSize];
+        double[] newVector = new double[vectorSize];
+        for (int id = 0; id < S.getVertexCount(); id++) {
+            if (instrumented && id % PROGRESS_INTERVAL == 0 && id > 0) {
+                listener.explorationProgress(statistics(id, S.getVertexCount(), S.getLoadFactor(), S.getEdgeCount(), start));
+            }
+            @SuppressWarnings("unchecked")
+            V location = (V) S.getLocation(id);
+            S.getVector(id, x);
+            S.startOutgoing(id);
+            for (E e : fsm.outgoingEdgesOf(location)) {
+                // Compute new normalized vector.
+                String event = fsm.getEvent(e);
+                eventMatrices.get(event).multiply(x, newVector);
+                double norm = MaxPlus.normalize(newVector, newVector);
+
+                // Add new configuration if we have not yet processed this one, and the transition to it.
+                int targetId = S.intern(S.internLocation(fsm.getEdgeTarget(e)), newVector);
+                double reward = rewardMap.getOrDefault(event, DEFAULT_REWARD).getValue();
+                S.addTransition(id, targetId, S.internEvent(event), reward, norm);
+            }
+        }
+
+        if (instrumented) {
+            listener.explorationFinished(statistics(S.getVertexCount(), S.getVertexCount(), S.getLoadFactor(), S.getEdgeCount(), start));
+        }
+        return S;
+    }
+
+    /**
+     * Compute the normalized max-plus state space within a budget, where the reward of each edge event is
+     * given by {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param budget     budget of the exploration
+     * @return state space, which is partial if the budget was exhausted
+     * @see #computeBoundedStateSpace(FSM, Integer, Map, Map, ExplorationBudget)
+     */
+    public static <V, E> BoundedExploration computeBoundedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, ExplorationBudget budget) {
+        return computeBoundedStateSpace(fsm, vectorSize, matrices, new HashMap<>(), budget);
+    }
+
+    /**
+     * Compute the normalized max-plus state space within a budget. The configurations are expanded in
+     * breadth-first order. When the budget is exhausted, the exploration stops and returns the partial state
+     * space, in which the configurations that have been found but not expanded have no outgoing transitions.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param budget     budget of the exploration
+     * @return state space, which is partial if the budget was exhausted
+     */
+    public static <V, E> BoundedExploration computeBoundedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationBudget budget) {
+        return FrontierExploration.start(fsm, vectorSize, matrices, rewardMap, SearchOrder.BREADTH_FIRST).run(budget, null);
+    }
+
+    /**
+     * Compute the normalized max-plus state space within a budget, expanding the configurations in the given
+     * search order. With a memory-bounded order such as {@link SearchOrder#beam(int)}, configurations may be
+     * dropped from the frontier, in which case the state space is partial even if the budget is not exhausted.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param budget     budget of the exploration
+     * @param order      order in which the configurations are expanded
+     * @return state space, which is partial if the budget was exhausted or configurations were dropped
+     */
+    public static <V, E> BoundedExploration computeBoundedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationBudget budget, SearchOrder order) {
+        return computeBoundedStateSpace(fsm, vectorSize, matrices, rewardMap, budget, order, ExplorationListener.NONE);
+    }
+
+    /**
+     * Compute the normalized max-plus state space within a budget, expanding the configurations in the given
+     * search order, and report the progress to the listener every {@link #PROGRESS_INTERVAL} expanded
+     * configurations. The listener is also notified when the exploration stops, whether it is complete or not.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param budget     budget of the exploration
+     * @param order      order in which the configurations are expanded
+     * @param listener   listener that is notified of the progress
+     * @return state space, which is partial if the budget was exhausted or configurations were dropped
+     * @see #computeBoundedStateSpace(FSM, Integer, Map, Map, ExplorationBudget, SearchOrder)
+     */
+    public static <V, E> BoundedExploration computeBoundedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationBudget budget, SearchOrder order, ExplorationListener listener) {
+        return FrontierExploration.start(fsm, vectorSize, matrices, rewardMap, order, null, listener).run(budget, null);
+    }
+
+    /**
+     * Compute the normalized max-plus state space within a budget, and write checkpoints of the exploration.
+     * An exploration that is stopped, because its budget is exhausted or because the process is killed, can
+     * be continued from the last checkpoint with
+     * {@link #resumeBoundedStateSpace(FSM, Integer, Map, Map, ExplorationBudget, ExplorationCheckpoint)}.
+     * The configurations are expanded in breadth-first order, which is the only order that supports
+     * checkpoints.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param budget     budget of the exploration
+     * @param checkpoint checkpoint file and interval
+     * @return state space, which is partial if the budget was exhausted
+     * @throws java.io.UncheckedIOException if the checkpoint cannot be written
+     */
+    public static <V, E> BoundedExploration computeBoundedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationBudget budget, ExplorationCheckpoint checkpoint) {
+        return FrontierExploration.start(fsm, vectorSize, matrices, rewardMap, SearchOrder.BREADTH_FIRST).run(budget, checkpoint);
+    }
+
+    /**
+     * Continue the exploration of the normalized max-plus state space from the last checkpoint. The
+     * specification must be the one of the exploration that wrote the checkpoint. The configurations keep
+     * their ids, so the resulting state space is the same as the one of an exploration without interruption.
+     * New checkpoints are written to the same file.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param budget     budget of the continued exploration
+     * @param checkpoint checkpoint file and interval
+     * @return state space, which is partial if the budget was exhausted
+     * @throws java.io.UncheckedIOException if the checkpoint cannot be read or written, or does not match the
+     *                                      specification
+     */
+    public static <V, E> BoundedExploration resumeBoundedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ExplorationBudget budget, ExplorationCheckpoint checkpoint) {
+        return FrontierExploration.read(fsm, vectorSize, matrices, rewardMap, checkpoint.getFile()).run(budget, checkpoint);
+    }
+
+    /**
+     * Compute an approximation of the normalized max-plus state space with hash compaction, where the reward
+     * of each edge event is given by {@code DEFAULT_REWARD}.
+     *
+     * @param fsm             finite-state machine
+     * @param vectorSize      size of the starting vector
+     * @param matrices        mapping of edge label to a corresponding matrix
+     * @param fingerprintBits number of bits of the configuration fingerprints, between 1 and 64
+     * @return approximate state space and its probability of omission
+     * @see #computeCompactedStateSpace(FSM, Integer, Map, Map, int)
+     */
+    public static <V, E> CompactedStateSpace computeCompactedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, int fingerprintBits) {
+        return computeCompactedStateSpace(fsm, vectorSize, matrices, new HashMap<>(), fingerprintBits);
+    }
+
+    /**
+     * Compute an approximation of the normalized max-plus state space with hash compaction. The visited set
+     * only stores a fingerprint per configuration, and the vector of a configuration is released once its
+     * outgoing transitions have been computed. Configurations with colliding fingerprints are merged, so
+     * part of the state space may be omitted with the probability reported by the result.
+     *
+     * @param fsm             finite-state machine
+     * @param vectorSize      size of the starting vector
+     * @param matrices        mapping of edge label to a corresponding matrix
+     * @param rewardMap       mapping of edge label to a reward
+     * @param fingerprintBits number of bits of the configuration fingerprints, between 1 and 64
+     * @return approximate state space and its probability of omission
+     */
+    public static <V, E> CompactedStateSpace computeCompactedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, int fingerprintBits) {
+        return computeCompactedStateSpace(fsm, vectorSize, matrices, rewardMap, fingerprintBits, ExplorationListener.NONE);
+    }
+
+    /**
+     * Compute an approximation of the normalized max-plus state space with hash compaction, and report the
+     * progress to the listener every {@link #PROGRESS_INTERVAL} expanded configurations.
+     *
+     * @param fsm             finite-state machine
+     * @param vectorSize      size of the starting vector
+     * @param matrices        mapping of edge label to a corresponding matrix
+     * @param rewardMap       mapping of edge label to a reward
+     * @param fingerprintBits number of bits of the configuration fingerprints, between 1 and 64
+     * @param listener        listener that is notified of the progress
+     * @return approximate state space and its probability of omission
+     * @see #computeCompactedStateSpace(FSM, Integer, Map, Map, int)
+     */
+    public static <V, E> CompactedStateSpace computeCompactedStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, int fingerprintBits, ExplorationListener listener) {
+        boolean instrumented = listener != ExplorationListener.NONE;
+        long start = instrumented ? System.nanoTime() : 0L;
+        FingerprintTable visited = new FingerprintTable(fingerprintBits);
+        Map<V, Integer> locationIds = new HashMap<>();
+        List<V> locations = new ArrayList<>();
+        Map<String, Integer> eventIds = new HashMap<>();
+        List<String> events = new ArrayList<>();
+
+        // Sparse matrices are multiplied in CSR format, which skips the -infinity entries.
+        Map<String, Matrix> eventMatrices = CSRMatrix.compress(matrices);
+
+        // Start with the zero vector and the initial FSMImpl state. Configuration ids are assigned in
+        // order of discovery, so the work list is a queue of the unprocessed configurations.
+        Deque<Integer> pendingLocations = new ArrayDeque<>();
+        Deque<double[]> pendingVectors = new ArrayDeque<>();
+        locationIds.put(fsm.getInitial(), 0);
+        locations.add(fsm.getInitial());
+        visited.intern(0, new double[vectorSize]);
+        pendingLocations.add(0);
+        pendingVectors.add(new double[vectorSize]);
+
+        int[] outOffsets = new int[16];
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        double[] rewards = new double[16];
+        double[] durations = new double[16];
+        int[] edgeEvents = new int[16];
+        int edgeCount = 0;
+
+        double[] newVector = new double[vectorSize];
+        for (int id = 0; !pendingVectors.isEmpty(); id++) {
+            if (instrumented && id % PROGRESS_INTERVAL == 0 && id > 0) {
+                listener.explorationProgress(statistics(id, visited.size(), visited.getLoadFactor(), edgeCount, start));
+            }
+            V location = locations.get(pendingLocations.poll());
+            double[] x = pendingVectors.poll();
+            if (id + 1 >= outOffsets.length) {
+                outOffsets = Arrays.copyOf(outOffsets, 2 * outOffsets.length);
+            }
+            outOffsets[id] = edgeCount;
+            for (E e : fsm.outgoingEdgesOf(location)) {
+                // Compute new normalized vector.
+                String event = fsm.getEvent(e);
+                eventMatrices.get(event).multiply(x, newVector);
+                double norm = MaxPlus.normalize(newVector, newVector);
+
+                // Add new configuration if no configuration with the same fingerprint has been found.
+                V target = fsm.getEdgeTarget(e);
+                int targetLocation = locationIds.computeIfAbsent(target, l -> {
+                    locations.add(l);
+                    return locations.size() - 1;
+                });
+                int size = visited.size();
+                int targetId = visited.intern(targetLocation, newVector);
+                if (targetId == size) {
+                    pendingLocations.add(targetLocation);
+                    pendingVectors.add(newVector.clone());
+                }
+
+                // Add transition to the configuration.
+                if (edgeCount == sources.length) {
+                    int capacity = 2 * sources.length;
+                    sources = Arrays.copyOf(sources, capacity);
+                    targets = Arrays.copyOf(targets, capacity);
+                    rewards = Arrays.copyOf(rewards, capacity);
+                    durations = Arrays.copyOf(durations, capacity);
+                    edgeEvents = Arrays.copyOf(edgeEvents, capacity);
+                }
+                sources[edgeCount] = id;
+                targets[edgeCount] = targetId;
+                rewards[edgeCount] = rewardMap.getOrDefault(event, DEFAULT_REWARD).getValue();
+                durations[edgeCount] = norm;
+                edgeEvents[edgeCount] = eventIds.computeIfAbsent(event, ev -> {
+                    events.add(ev);
+                    return events.size() - 1;
+                });
+                edgeCount++;
+            }
+        }
+
+        int vertexCount = visited.size();
+        outOffsets[vertexCount] = edgeCount;
+        if (instrumented) {
+            listener.explorationFinished(statistics(vertexCount, vertexCount, visited.getLoadFactor(), edgeCount, start));
+        }
+        FrozenStateSpace stateSpace = new FrozenStateSpace(new Configuration[vertexCount], 0,
+                Arrays.copyOf(outOffsets, vertexCount + 1), Arrays.copyOf(sources, edgeCount),
+                Arrays.copyOf(targets, edgeCount), Arrays.copyOf(rewards, edgeCount),
+                Arrays.copyOf(durations, edgeCount), Arrays.copyOf(edgeEvents, edgeCount),
+                events.toArray(new String[0]));
+        return new CompactedStateSpace(stateSpace, fingerprintBits);
+    }
+
+    static ExplorationStatistics statistics(int expandedCount, ConfigurationStore store, long transitionCount, long start) {
+        return statistics(expandedCount, store.size(), store.getLoadFactor(), transitionCount, start);
+    }
+
+    static ExplorationStatistics statistics(int expandedCount, int configurationCount, double loadFactor, long transitionCount, long start) {
+        Runtime runtime = Runtime.getRuntime();
+        return new ExplorationStatistics(expandedCount, configurationCount, transitionCount, System.nanoTime() - start,
+                loadFactor, runtime.totalMemory() - runtime.freeMemory());
+    }
+
     /**
      * Compute a new state space where both weights are negated.
      *
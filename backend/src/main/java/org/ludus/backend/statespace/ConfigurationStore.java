@@ -0,0 +1,244 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.Vector;
+
+import java.util.Arrays;
+
+/**
+ * Interning store for configurations of a max-plus state space.
+ * <p>
+ * Each distinct pair of a location id and a normalized vector is stored once and identified by a dense
+ * int id, starting from zero in insertion order. The vectors are kept back-to-back in an arena of
+ * {@code double[]} chunks of {@code CHUNK_SIZE} vectors each, so the offset of a vector within its chunk
+ * fits in an int for any number of configurations. Lookup uses an open-addressing hash table with linear
+ * probing over the raw bits of the vector entries. Vectors are therefore equal in the store if and only
+ * if they are equal according to {@link Vector#equals(Object)}.
+ * </p>
+ * <p>
+ * The hash table has twice as many slots as there are configurations, so the store holds at most
+ * {@link #MAX_CAPACITY} configurations; interning more fails with an {@link IllegalStateException}.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class ConfigurationStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Number of vectors per chunk of the arena. The first chunk grows until it holds this many vectors.
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    // Largest array length that is supported by all JVMs.
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximal number of configurations, such that the hash table still fits in an array.
+     */
+    public static final int MAX_CAPACITY = 1 << 29;
+
+    // Sentinel for empty slots of the hash table.
+    private static final int EMPTY = -1;
+
+    private final int vectorSize;
+
+    // Location id, hash and vector entries per configuration id.
+    private int[] locations;
+    private int[] hashes;
+    private double[][] chunks;
+    private int size;
+
+    // Open-addressing hash table of configuration ids, with a load factor of at most one half.
+    private int[] table;
+    private int mask;
+
+    /**
+     * Create an empty store for vectors of the given size.
+     *
+     * @param vectorSize size of the stored vectors
+     * @throws IllegalArgumentException if a chunk of vectors of the given size does not fit in an array
+     */
+    public ConfigurationStore(int vectorSize) {
+        if ((long) CHUNK_SIZE * vectorSize > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Vector size " + vectorSize + " is too large for a configuration store.");
+        }
+        this.vectorSize = vectorSize;
+        locations = new int[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        chunks = new double[1][];
+        chunks[0] = new double[INITIAL_CAPACITY * vectorSize];
+        table = new int[2 * INITIAL_CAPACITY];
+        Arrays.fill(table, EMPTY);
+        mask = table.length - 1;
+    }
+
+    /**
+     * Return the id of the given configuration, adding it to the store if it is not present yet.
+     * A configuration is new if and only if the returned id equals the size of the store before the call.
+     *
+     * @param location location id
+     * @param vector   normalized vector, of length {@code getVectorSize()}
+     * @return id of the configuration
+     * @throws IllegalStateException if the configuration is new and the store holds {@link #MAX_CAPACITY}
+     *                               configurations
+     */
+    public int intern(int location, double[] vector) {
+        assert (vector.length == vectorSize);
+        int hash = hash(location, vector);
+        int slot = hash & mask;
+        while (table[slot] != EMPTY) {
+            int id = table[slot];
+            if (hashes[id] == hash && matches(id, location, vector)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Add new configuration.
+        if (size == locations.length) {
+            grow();
+            slot = hash & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        int id = size++;
+        locations[id] = location;
+        hashes[id] = hash;
+        System.arraycopy(vector, 0, chunk(id), offset(id), vectorSize);
+        table[slot] = id;
+        return id;
+    }
+
+    /**
+     * Return the id of the given configuration.
+     *
+     * @param location location id
+     * @param vector   normalized vector, of length {@code getVectorSize()}
+     * @return id of the configuration, or -1 if it is not in the store
+     */
+    public int find(int location, double[] vector) {
+        assert (vector.length == vectorSize);
+        int hash = hash(location, vector);
+        int slot = hash & mask;
+        while (table[slot] != EMPTY) {
+            int id = table[slot];
+            if (hashes[id] == hash && matches(id, location, vector)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the fraction of occupied slots of the hash table.
+     *
+     * @return load factor, at most one half
+     */
+    public double getLoadFactor() {
+        return (double) size / table.length;
+    }
+
+    public int getVectorSize() {
+        return vectorSize;
+    }
+
+    public int getLocation(int id) {
+        return locations[id];
+    }
+
+    /**
+     * Copy the vector of the given configuration into an array.
+     *
+     * @param id     configuration id
+     * @param result array of length {@code getVectorSize()}
+     */
+    public void getVector(int id, double[] result) {
+        System.arraycopy(chunk(id), offset(id), result, 0, vectorSize);
+    }
+
+    /**
+     * Return the vector of the given configuration.
+     *
+     * @param id configuration id
+     * @return vector of the configuration
+     */
+    public Vector getVector(int id) {
+        int offset = offset(id);
+        return new Vector(Arrays.copyOfRange(chunk(id), offset, offset + vectorSize));
+    }
+
+    private boolean matches(int id, int location, double[] vector) {
+        if (locations[id] != location) {
+            return false;
+        }
+        double[] chunk = chunk(id);
+        int offset = offset(id);
+        for (int i = 0; i < vectorSize; i++) {
+            if (Double.doubleToLongBits(chunk[offset + i]) != Double.doubleToLongBits(vector[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int hash(int location, double[] vector) {
+        long h = location;
+        for (double v : vector) {
+            h = 31 * h + Double.doubleToLongBits(v);
+        }
+        // Fibonacci hashing spreads all bits into the high bits, which are used as the hash.
+        return (int) ((h * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    private double[] chunk(int id) {
+        return chunks[id >>> CHUNK_SHIFT];
+    }
+
+    /**
+     * Return the offset of the vector of the given configuration in its chunk. The offset is less than
+     * {@code CHUNK_SIZE * vectorSize}, which fits in an int.
+     */
+    private int offset(int id) {
+        return (id & (CHUNK_SIZE - 1)) * vectorSize;
+    }
+
+    private void grow() {
+        if (locations.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Configuration store is full: it holds at most " + MAX_CAPACITY
+                    + " configurations.");
+        }
+        int capacity = 2 * locations.length;
+        locations = Arrays.copyOf(locations, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+
+        // The first chunk grows until it is full; after that, full chunks are added.
+        if (capacity <= CHUNK_SIZE) {
+            chunks[0] = Arrays.copyOf(chunks[0], capacity * vectorSize);
+        } else {
+            int chunkCount = capacity >>> CHUNK_SHIFT;
+            int oldCount = chunks.length;
+            chunks = Arrays.copyOf(chunks, chunkCount);
+            for (int c = oldCount; c < chunkCount; c++) {
+                chunks[c] = new double[CHUNK_SIZE * vectorSize];
+            }
+        }
+
+        table = new int[2 * capacity];
+        Arrays.fill(table, EMPTY);
+        mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package org.ludus.backend.statespace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget of a state-space exploration, after which the exploration stops with a partial state space.
+ * <p>
+ * A budget limits the wall-clock time, the number of configurations, and the used heap memory of an
+ * exploration, and may have a {@link CancellationToken}. The limits are unlimited by default. Budgets are
+ * immutable: each {@code with} method returns a new budget.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see BoundedExploration
+ */
+public final class ExplorationBudget {
+
+    private static final ExplorationBudget UNLIMITED =
+            new ExplorationBudget(Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+    /**
+     * Number of expanded configurations between two checks of the time and memory limits.
+     */
+    static final int CHECK_INTERVAL = 256;
+
+    /**
+     * Reason why an exploration stopped.
+     */
+    public enum StopReason {
+        /**
+         * All reachable configurations have been expanded.
+         */
+        COMPLETE,
+        /**
+         * The time limit has been exceeded.
+         */
+        TIME,
+        /**
+         * The configuration limit has been exceeded.
+         */
+        STATES,
+        /**
+         * The memory limit has been exceeded.
+         */
+        MEMORY,
+        /**
+         * The exploration has been cancelled.
+         */
+        CANCELLED,
+        /**
+         * Configurations have been dropped from a memory-bounded frontier without being expanded.
+         */
+        PRUNED
+    }
+
+    private final long timeLimitNanos;
+    private final int stateLimit;
+    private final long memoryLimit;
+    private final CancellationToken token;
+
+    private ExplorationBudget(long timeLimitNanos, int stateLimit, long memoryLimit, CancellationToken token) {
+        this.timeLimitNanos = timeLimitNanos;
+        this.stateLimit = stateLimit;
+        this.memoryLimit = memoryLimit;
+        this.token = token;
+    }
+
+    /**
+     * Return the budget without limits.
+     *
+     * @return unlimited budget
+     */
+    public static ExplorationBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Limit the wall-clock time of the exploration.
+     *
+     * @param duration maximal duration
+     * @param unit     unit of the duration
+     * @return budget with the given limit
+     */
+    public ExplorationBudget withTimeLimit(long duration, TimeUnit unit) {
+        return new ExplorationBudget(unit.toNanos(duration), stateLimit, memoryLimit, token);
+    }
+
+    /**
+     * Limit the number of configurations. The exploration stops when more configurations have been found.
+     *
+     * @param states maximal number of configurations
+     * @return budget with the given limit
+     */
+    public ExplorationBudget withStateLimit(int states) {
+        return new ExplorationBudget(timeLimitNanos, states, memoryLimit, token);
+    }
+
+    /**
+     * Limit the used heap memory, as reported by {@link Runtime}.
+     *
+     * @param bytes maximal used heap memory in bytes
+     * @return budget with the given limit
+     */
+    public ExplorationBudget withMemoryLimit(long bytes) {
+        return new ExplorationBudget(timeLimitNanos, stateLimit, bytes, token);
+    }
+
+    public ExplorationBudget withCancellationToken(CancellationToken token) {
+        return new ExplorationBudget(timeLimitNanos, stateLimit, memoryLimit, token);
+    }
+
+    /**
+     * Check the budget of an exploration. The configuration limit and the cancellation token are checked on
+     * every call, the time and memory limits every {@link #CHECK_INTERVAL} expanded configurations.
+     *
+     * @param expandedCount      number of expanded configurations
+     * @param configurationCount number of configurations found
+     * @param start              start time of the exploration from {@link System#nanoTime()}
+     * @return reason to stop the exploration, or null if the budget has not been exhausted
+     */
+    StopReason check(int expandedCount, int configurationCount, long start) {
+        if (configurationCount > stateLimit) {
+            return StopReason.STATES;
+        }
+        if (token != null && token.isCancelled()) {
+            return StopReason.CANCELLED;
+        }
+        if (expandedCount % CHECK_INTERVAL == 0) {
+            if (timeLimitNanos != Long.MAX_VALUE && System.nanoTime() - start > timeLimitNanos) {
+                return StopReason.TIME;
+            }
+            if (memoryLimit != Long.MAX_VALUE) {
+                Runtime runtime = Runtime.getRuntime();
+                if (runtime.totalMemory() - runtime.freeMemory() > memoryLimit) {
+                    return StopReason.MEMORY;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check the budget of the analysis of an explored state space. The time limit covers both the
+     * exploration and the analysis, so it is measured from the start of the exploration. The cancellation
+     * token and the time and memory limits are checked on every call, so the analysis should only call
+     * this method after a substantial amount of work, such as a policy iteration. The configuration limit
+     * only applies to the exploration.
+     *
+     * @param start start time of the exploration from {@link System#nanoTime()}
+     * @return reason to stop the analysis, or null if the budget has not been exhausted
+     */
+    public StopReason checkAnalysis(long start) {
+        if (token != null && token.isCancelled()) {
+            return StopReason.CANCELLED;
+        }
+        if (timeLimitNanos != Long.MAX_VALUE && System.nanoTime() - start > timeLimitNanos) {
+            return StopReason.TIME;
+        }
+        if (memoryLimit != Long.MAX_VALUE) {
+            Runtime runtime = Runtime.getRuntime();
+            if (runtime.totalMemory() - runtime.freeMemory() > memoryLimit) {
+                return StopReason.MEMORY;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.ludus.backend.statespace;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Checkpoint file of a state-space exploration.
+ * <p>
+ * During the exploration, a compact binary checkpoint is appended to the file each time the given number of
+ * configurations has been expanded, and when the budget of the exploration is exhausted. Each checkpoint
+ * contains the configurations, expanded configurations and transitions that were found since the previous
+ * one, so writing it takes time proportional to the progress in between. The checkpoints together identify
+ * the frontier. A checkpoint that is incomplete because the process was killed while writing it is
+ * discarded when the exploration is resumed, which then continues from the last complete checkpoint.
+ * </p>
+ * <p>
+ * Checkpoints require breadth-first order, in which the configurations are expanded in order of their ids:
+ * the frontier is then given by the number of expanded configurations, and nothing that was written changes.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see ComputeStateSpace#resumeBoundedStateSpace(org.ludus.backend.fsm.FSM, Integer, java.util.Map, java.util.Map, ExplorationBudget, ExplorationCheckpoint)
+ */
+public final class ExplorationCheckpoint {
+
+    private final Path file;
+    private final int interval;
+
+    private ExplorationCheckpoint(Path file, int interval) {
+        this.file = file;
+        this.interval = interval;
+    }
+
+    /**
+     * Create a checkpoint that is written each time the given number of configurations has been expanded.
+     *
+     * @param file     checkpoint file
+     * @param interval number of expanded configurations between two checkpoints
+     * @return checkpoint
+     */
+    public static ExplorationCheckpoint every(int interval, Path file) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        return new ExplorationCheckpoint(file, interval);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Return whether a checkpoint has been written to the file.
+     *
+     * @return true if and only if the checkpoint file exists
+     */
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Listener for the progress of a state-space exploration and the analysis of its components.
+ * <p>
+ * All methods have an empty default implementation, so implementations only override the notifications
+ * they need. The exploration only collects statistics when a listener other than {@link #NONE} is given,
+ * so the overhead is negligible when no listener is used. The methods are called on the exploring thread.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see ExplorationStatistics
+ */
+public interface ExplorationListener {
+
+    /**
+     * Listener that ignores all notifications.
+     */
+    ExplorationListener NONE = new ExplorationListener() {
+    };
+
+    /**
+     * Called periodically during the exploration, every {@code ComputeStateSpace.PROGRESS_INTERVAL}
+     * expanded configurations.
+     *
+     * @param statistics statistics of the exploration so far
+     */
+    default void explorationProgress(ExplorationStatistics statistics) {
+    }
+
+    /**
+     * Called when the exploration has finished.
+     *
+     * @param statistics statistics of the complete exploration
+     */
+    default void explorationFinished(ExplorationStatistics statistics) {
+    }
+
+    /**
+     * Called when the strongly connected components of the state space have been computed.
+     *
+     * @param componentCount number of components
+     * @param cyclicCount    number of components with at least one edge
+     */
+    default void componentsComputed(int componentCount, int cyclicCount) {
+    }
+
+    /**
+     * Called when the cycle ratio of a component has been computed.
+     *
+     * @param component   component index
+     * @param vertexCount number of vertices of the component
+     * @param edgeCount   number of edges of the component
+     * @param iterations  number of policy iterations of Howard's algorithm
+     */
+    default void componentAnalyzed(int component, int vertexCount, int edgeCount, int iterations) {
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Snapshot of the statistics of a state-space exploration.
+ *
+ * @author Bram van der Sanden
+ * @see ExplorationListener
+ */
+public final class ExplorationStatistics {
+
+    private final int expandedCount;
+    private final int configurationCount;
+    private final long transitionCount;
+    private final long elapsedNanos;
+    private final double loadFactor;
+    private final long heapUsed;
+
+    /**
+     * Create a snapshot.
+     *
+     * @param expandedCount      number of configurations whose outgoing transitions have been computed
+     * @param configurationCount number of configurations found
+     * @param transitionCount    number of transitions found
+     * @param elapsedNanos       time since the start of the exploration in nanoseconds
+     * @param loadFactor         load factor of the visited set
+     * @param heapUsed           used heap memory in bytes
+     */
+    public ExplorationStatistics(int expandedCount, int configurationCount, long transitionCount, long elapsedNanos,
+                                 double loadFactor, long heapUsed) {
+        this.expandedCount = expandedCount;
+        this.configurationCount = configurationCount;
+        this.transitionCount = transitionCount;
+        this.elapsedNanos = elapsedNanos;
+        this.loadFactor = loadFactor;
+        this.heapUsed = heapUsed;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public int getConfigurationCount() {
+        return configurationCount;
+    }
+
+    public long getTransitionCount() {
+        return transitionCount;
+    }
+
+    /**
+     * Return the number of configurations that have been found but not yet expanded.
+     *
+     * @return size of the frontier
+     */
+    public int getFrontierSize() {
+        return configurationCount - expandedCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Return the number of expanded configurations per second of exploration.
+     *
+     * @return exploration rate
+     */
+    public double getStatesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : expandedCount * 1e9 / elapsedNanos;
+    }
+
+    public double getLoadFactor() {
+        return loadFactor;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+
+    /**
+     * Return the used heap memory divided by the number of configurations found. This is an upper bound on
+     * the memory per configuration, since the heap also contains other objects and garbage.
+     *
+     * @return approximate heap memory per configuration in bytes
+     */
+    public double getHeapPerState() {
+        return configurationCount == 0 ? 0.0 : (double) heapUsed / configurationCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d states (%d in frontier), %d transitions, %.0f states/s, load factor %.2f, %.0f bytes/state",
+                configurationCount, getFrontierSize(), transitionCount, getStatesPerSecond(), loadFactor,
+                getHeapPerState());
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Visited set for hash compaction, which only stores a fingerprint of each configuration.
+ * <p>
+ * Each configuration is reduced to a fingerprint of a configurable number of bits, which is stored in an
+ * open-addressing hash table with linear probing together with a dense int id. Configurations with equal
+ * fingerprints receive the same id, so the table uses a fixed amount of memory per configuration
+ * independent of the vector size, at the cost of possibly merging distinct configurations.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see CompactedStateSpace
+ */
+final class FingerprintTable {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    // Sentinel for empty slots of the hash table; fingerprints are never zero.
+    private static final long EMPTY = 0L;
+
+    private final long fingerprintMask;
+
+    // Open-addressing hash table of fingerprints and their ids, with a load factor of at most one half.
+    private long[] fingerprints;
+    private int[] ids;
+    private int mask;
+    private int size;
+
+    /**
+     * Create an empty table.
+     *
+     * @param fingerprintBits number of bits of the fingerprints, between 1 and 64
+     */
+    FingerprintTable(int fingerprintBits) {
+        if (fingerprintBits < 1 || fingerprintBits > 64) {
+            throw new IllegalArgumentException("Number of fingerprint bits must be between 1 and 64.");
+        }
+        fingerprintMask = fingerprintBits == 64 ? -1L : (1L << fingerprintBits) - 1;
+        fingerprints = new long[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    /**
+     * Return the id of the configuration with the same fingerprint as the given configuration, adding the
+     * fingerprint if it is not present yet. The configuration is new if and only if the returned id equals
+     * the size of the table before the call.
+     *
+     * @param location location id
+     * @param vector   normalized vector
+     * @return id of the configuration
+     */
+    int intern(int location, double[] vector) {
+        long fingerprint = fingerprint(location, vector) & fingerprintMask;
+        if (fingerprint == EMPTY) {
+            fingerprint = 1L;
+        }
+        int slot = slot(fingerprint);
+        while (fingerprints[slot] != EMPTY) {
+            if (fingerprints[slot] == fingerprint) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = size++;
+        fingerprints[slot] = fingerprint;
+        ids[slot] = id;
+        if (2 * size > mask) {
+            grow();
+        }
+        return id;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double getLoadFactor() {
+        return (double) size / fingerprints.length;
+    }
+
+    private int slot(long fingerprint) {
+        // The fingerprint bits may be few, so they are spread again over the slot bits.
+        return (int) ((fingerprint * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static long fingerprint(int location, double[] vector) {
+        long h = mix(location);
+        for (double v : vector) {
+            h = mix(h ^ Double.doubleToLongBits(v));
+        }
+        return h;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, which makes every bit of the result depend on every input bit.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void grow() {
+        long[] oldFingerprints = fingerprints;
+        int[] oldIds = ids;
+        fingerprints = new long[2 * oldFingerprints.length];
+        ids = new int[fingerprints.length];
+        mask = fingerprints.length - 1;
+        for (int i = 0; i < oldFingerprints.length; i++) {
+            if (oldFingerprints[i] != EMPTY) {
+                int slot = slot(oldFingerprints[i]);
+                while (fingerprints[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                fingerprints[slot] = oldFingerprints[i];
+                ids[slot] = oldIds[i];
+            }
+        }
+    }
+
+}
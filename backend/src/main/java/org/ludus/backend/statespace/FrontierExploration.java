@@ -0,0 +1,475 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.CSRMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.MaxPlus;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.fsm.FSM;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Exploration of a normalized max-plus state space in a given {@link SearchOrder} that can be stopped early.
+ * <p>
+ * The transitions are stored in order of expansion, together with the range of transitions of each
+ * expanded configuration. In breadth-first order, configurations are expanded in order of their ids, so
+ * the configurations with an id from the expanded count onwards form the frontier and the transitions are
+ * already in CSR format. Since configurations and transitions are only added at the end, each checkpoint
+ * appends the part of the exploration state that is new since the previous one, and the checkpoints
+ * together can be read back, after which the exploration continues with the same ids and produces the same
+ * state space. Other search orders expand the configurations out of id order and cannot be checkpointed.
+ * </p>
+ * <p>
+ * The resulting {@link FrozenStateSpace} keeps the vectors in the {@link ConfigurationStore} of the
+ * exploration, so no object is created per configuration or transition.
+ * </p>
+ *
+ * @param <V> location type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+final class FrontierExploration<V, E> {
+
+    private static final Value DEFAULT_REWARD = new Value(1.0);
+
+    // Identification of the checkpoint format.
+    private static final int MAGIC = 0x4c43504b;
+    private static final int VERSION = 2;
+
+    private final FSM<V, E> fsm;
+    private final int vectorSize;
+    private final Map<String, Matrix> eventMatrices;
+    private final Map<String, Value> rewardMap;
+    private final VectorCanonicalizer canonicalizer;
+    private final ExplorationListener listener;
+
+    // Fingerprints of the vectors before canonicalization, to count the merged configurations.
+    private final FingerprintTable original;
+
+    private final ConfigurationStore store;
+    private final Map<V, Integer> locationIds = new HashMap<>();
+    private final List<V> locations = new ArrayList<>();
+    private final Map<String, Integer> eventIds = new HashMap<>();
+    private final List<String> events = new ArrayList<>();
+
+    private final SearchOrder order;
+    private final SearchOrder.Frontier frontier;
+
+    // Transitions in order of expansion, and the range of transitions per configuration. The start of
+    // the range is -1 for configurations that have not been expanded.
+    private int[] outStart = new int[16];
+    private int[] outEnd = new int[16];
+    private int[] targets = new int[16];
+    private double[] rewards = new double[16];
+    private double[] durations = new double[16];
+    private int[] edgeEvents = new int[16];
+    private int edgeCount = 0;
+    private int expandedCount = 0;
+
+    // Parts of the exploration state that have been written to the checkpoint file.
+    private boolean writtenHeader = false;
+    private int writtenLocations = 0;
+    private int writtenEvents = 0;
+    private int writtenConfigurations = 0;
+    private int writtenExpanded = 0;
+    private int writtenEdges = 0;
+
+    private FrontierExploration(FSM<V, E> fsm, int vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, SearchOrder order, VectorCanonicalizer canonicalizer, ExplorationListener listener) {
+        this.fsm = fsm;
+        this.vectorSize = vectorSize;
+        // Sparse matrices are multiplied in CSR format, which skips the -infinity entries.
+        this.eventMatrices = CSRMatrix.compress(matrices);
+        this.rewardMap = rewardMap;
+        this.canonicalizer = canonicalizer;
+        this.listener = listener;
+        this.original = canonicalizer == null ? null : new FingerprintTable(64);
+        this.store = new ConfigurationStore(vectorSize);
+        this.order = order;
+        this.frontier = order.createFrontier();
+    }
+
+    /**
+     * Create an exploration that starts with the zero vector in the initial location.
+     */
+    static <V, E> FrontierExploration<V, E> start(FSM<V, E> fsm, int vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, SearchOrder order) {
+        return start(fsm, vectorSize, matrices, rewardMap, order, null, ExplorationListener.NONE);
+    }
+
+    /**
+     * Create an exploration that starts with the zero vector in the initial location, canonicalizes each
+     * normalized vector if a canonicalizer is given, and reports its progress to the listener.
+     */
+    static <V, E> FrontierExploration<V, E> start(FSM<V, E> fsm, int vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, SearchOrder order, VectorCanonicalizer canonicalizer, ExplorationListener listener) {
+        FrontierExploration<V, E> exploration = new FrontierExploration<>(fsm, vectorSize, matrices, rewardMap, order, canonicalizer, listener);
+        int location = exploration.internLocation(fsm.getInitial());
+        if (exploration.original != null) {
+            exploration.original.intern(location, new double[vectorSize]);
+        }
+        exploration.discover(exploration.store.intern(location, new double[vectorSize]), 0.0);
+        return exploration;
+    }
+
+    /**
+     * Expand configurations until the frontier is empty or the budget is exhausted. If a checkpoint is
+     * given, it is written periodically and when the budget is exhausted; this requires breadth-first order,
+     * and locations with distinct names, since the checkpoint identifies the locations by name.
+     *
+     * @param budget     budget of the exploration
+     * @param checkpoint checkpoint, or {@code null} if no checkpoints are written
+     * @return result of the exploration
+     */
+    BoundedExploration run(ExplorationBudget budget, ExplorationCheckpoint checkpoint) {
+        if (checkpoint != null && order != SearchOrder.BREADTH_FIRST) {
+            throw new IllegalArgumentException("Checkpoints require breadth-first order.");
+        }
+        if (checkpoint != null) {
+            locationsByName(fsm);
+        }
+        boolean instrumented = listener != ExplorationListener.NONE;
+        long start = System.nanoTime();
+        int expandedAtStart = expandedCount;
+        ExplorationBudget.StopReason stopReason = ExplorationBudget.StopReason.COMPLETE;
+        double[] x = new double[vectorSize];
+        double[] newVector = new double[vectorSize];
+        while (!frontier.isEmpty()) {
+            ExplorationBudget.StopReason reason = budget.check(expandedCount - expandedAtStart, store.size(), start);
+            if (reason != null) {
+                stopReason = reason;
+                break;
+            }
+            if (instrumented && expandedCount % ComputeStateSpace.PROGRESS_INTERVAL == 0 && expandedCount > 0) {
+                listener.explorationProgress(ComputeStateSpace.statistics(expandedCount, store, edgeCount, start));
+            }
+            expand(frontier.remove(), x, newVector);
+            expandedCount++;
+            if (checkpoint != null && expandedCount % checkpoint.getInterval() == 0) {
+                write(checkpoint.getFile());
+            }
+        }
+        if (stopReason == ExplorationBudget.StopReason.COMPLETE && frontier.getDroppedCount() > 0) {
+            stopReason = ExplorationBudget.StopReason.PRUNED;
+        }
+        if (checkpoint != null && stopReason != ExplorationBudget.StopReason.COMPLETE) {
+            write(checkpoint.getFile());
+        }
+        if (canonicalizer != null) {
+            canonicalizer.addMerged(original.size() - store.size());
+        }
+        BitSet expanded = new BitSet(store.size());
+        for (int v = 0; v < store.size(); v++) {
+            if (outStart[v] >= 0) {
+                expanded.set(v);
+            }
+        }
+        ExplorationStatistics statistics = ComputeStateSpace.statistics(expandedCount, store, edgeCount, start);
+        if (instrumented) {
+            listener.explorationFinished(statistics);
+        }
+        return new BoundedExploration(freeze(), expanded, stopReason, statistics);
+    }
+
+    private void expand(int id, double[] x, double[] newVector) {
+        outStart[id] = edgeCount;
+        store.getVector(id, x);
+        for (E e : fsm.outgoingEdgesOf(locations.get(store.getLocation(id)))) {
+            // Compute new normalized vector.
+            String event = fsm.getEvent(e);
+            eventMatrices.get(event).multiply(x, newVector);
+            double norm = MaxPlus.normalize(newVector, newVector);
+
+            // Add new configuration if we have not yet processed this one, and the transition to it.
+            int targetLocation = internLocation(fsm.getEdgeTarget(e));
+            if (canonicalizer != null) {
+                original.intern(targetLocation, newVector);
+                canonicalizer.canonicalize(newVector);
+            }
+            int size = store.size();
+            int targetId = store.intern(targetLocation, newVector);
+            if (targetId == size) {
+                discover(targetId, norm);
+            }
+            addTransition(targetId, internEvent(event), rewardMap.getOrDefault(event, DEFAULT_REWARD).getValue(), norm);
+        }
+        outEnd[id] = edgeCount;
+    }
+
+    /**
+     * Add a newly found configuration to the frontier.
+     */
+    private void discover(int id, double priority) {
+        if (id == outStart.length) {
+            outStart = Arrays.copyOf(outStart, 2 * outStart.length);
+            outEnd = Arrays.copyOf(outEnd, 2 * outEnd.length);
+        }
+        outStart[id] = -1;
+        outEnd[id] = -1;
+        frontier.add(id, priority);
+    }
+
+    private int internLocation(V location) {
+        return locationIds.computeIfAbsent(location, l -> {
+            locations.add(l);
+            return locations.size() - 1;
+        });
+    }
+
+    private int internEvent(String event) {
+        return eventIds.computeIfAbsent(event, ev -> {
+            events.add(ev);
+            return events.size() - 1;
+        });
+    }
+
+    private void addTransition(int target, int event, double reward, double duration) {
+        if (edgeCount == targets.length) {
+            int capacity = 2 * targets.length;
+            targets = Arrays.copyOf(targets, capacity);
+            rewards = Arrays.copyOf(rewards, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            edgeEvents = Arrays.copyOf(edgeEvents, capacity);
+        }
+        targets[edgeCount] = target;
+        rewards[edgeCount] = reward;
+        durations[edgeCount] = duration;
+        edgeEvents[edgeCount] = event;
+        edgeCount++;
+    }
+
+    /**
+     * Return the state space explored so far, with the transitions sorted by source. The configurations that
+     * have not been expanded have no outgoing transitions.
+     */
+    private FrozenStateSpace freeze() {
+        int vertexCount = store.size();
+        int[] offsets = new int[vertexCount + 1];
+        int[] sources = new int[edgeCount];
+        int[] sortedTargets = new int[edgeCount];
+        double[] sortedRewards = new double[edgeCount];
+        double[] sortedDurations = new double[edgeCount];
+        int[] sortedEvents = new int[edgeCount];
+        int edge = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v] = edge;
+            if (outStart[v] >= 0) {
+                int count = outEnd[v] - outStart[v];
+                Arrays.fill(sources, edge, edge + count, v);
+                System.arraycopy(targets, outStart[v], sortedTargets, edge, count);
+                System.arraycopy(rewards, outStart[v], sortedRewards, edge, count);
+                System.arraycopy(durations, outStart[v], sortedDurations, edge, count);
+                System.arraycopy(edgeEvents, outStart[v], sortedEvents, edge, count);
+                edge += count;
+            }
+        }
+        offsets[vertexCount] = edge;
+        return new FrozenStateSpace(vertexCount, store, locations.toArray(), 0, offsets, sources, sortedTargets,
+                sortedRewards, sortedDurations, sortedEvents, events.toArray(new String[0]));
+    }
+
+    /**
+     * Append the part of the exploration state that is new since the previous checkpoint to the given file.
+     * The first checkpoint of a new exploration replaces the file with a header. Each checkpoint is a record
+     * that is prefixed by its length, so a record that is incomplete because the process was killed while
+     * writing it is recognized and discarded when the file is read. In breadth-first order, the expanded
+     * configurations are the ones with an id below the expanded count, and configurations, expanded
+     * configurations and transitions are only ever added at the end, so the records together describe the
+     * whole exploration state.
+     */
+    private void write(Path file) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            // Locations and events are identified by their names.
+            record.writeInt(locations.size() - writtenLocations);
+            for (int i = writtenLocations; i < locations.size(); i++) {
+                record.writeUTF(String.valueOf(locations.get(i)));
+            }
+            record.writeInt(events.size() - writtenEvents);
+            for (int i = writtenEvents; i < events.size(); i++) {
+                record.writeUTF(events.get(i));
+            }
+
+            // Interned configurations in order of their ids.
+            double[] x = new double[vectorSize];
+            record.writeInt(store.size() - writtenConfigurations);
+            for (int id = writtenConfigurations; id < store.size(); id++) {
+                record.writeInt(store.getLocation(id));
+                store.getVector(id, x);
+                for (double value : x) {
+                    record.writeDouble(value);
+                }
+            }
+
+            // End of the transitions of the expanded configurations, and the transitions themselves.
+            record.writeInt(expandedCount - writtenExpanded);
+            for (int id = writtenExpanded; id < expandedCount; id++) {
+                record.writeInt(outEnd[id]);
+            }
+            record.writeInt(edgeCount - writtenEdges);
+            for (int e = writtenEdges; e < edgeCount; e++) {
+                record.writeInt(targets[e]);
+                record.writeInt(edgeEvents[e]);
+                record.writeDouble(rewards[e]);
+                record.writeDouble(durations[e]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        OpenOption[] options = writtenHeader
+                ? new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.APPEND}
+                : new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE};
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, options)))) {
+            if (!writtenHeader) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(vectorSize);
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writtenHeader = true;
+        writtenLocations = locations.size();
+        writtenEvents = events.size();
+        writtenConfigurations = store.size();
+        writtenExpanded = expandedCount;
+        writtenEdges = edgeCount;
+    }
+
+    /**
+     * Read the exploration state from the given checkpoint file. The specification must be the one of the
+     * exploration that wrote the checkpoint. An incomplete last record is discarded and cut off the file, so
+     * the next checkpoint is appended after the last complete one.
+     */
+    static <V, E> FrontierExploration<V, E> read(FSM<V, E> fsm, int vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, Path file) {
+        FrontierExploration<V, E> exploration = new FrontierExploration<>(fsm, vectorSize, matrices, rewardMap, SearchOrder.BREADTH_FIRST, null, ExplorationListener.NONE);
+        long length;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("File " + file + " is not a state-space checkpoint.");
+            }
+            if (in.readInt() != vectorSize) {
+                throw new IOException("Checkpoint " + file + " has a different vector size.");
+            }
+            length = 3 * Integer.BYTES;
+
+            // Resolve the location names in the finite-state machine.
+            Map<String, V> locationsByName = locationsByName(fsm);
+
+            long fileSize = Files.size(file);
+            while (length + Integer.BYTES <= fileSize) {
+                int recordLength = in.readInt();
+                if (length + Integer.BYTES + recordLength > fileSize) {
+                    break;
+                }
+                byte[] record = new byte[recordLength];
+                in.readFully(record);
+                exploration.readRecord(new DataInputStream(new ByteArrayInputStream(record)), locationsByName, file);
+                length += Integer.BYTES + recordLength;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Cut off an incomplete record, so new records directly follow the last complete one.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // The configurations with an id below the expanded count have been expanded, so they are removed
+        // from the frontier in order of their ids.
+        for (int id = 0; id < exploration.expandedCount; id++) {
+            exploration.frontier.remove();
+        }
+        exploration.writtenHeader = true;
+        exploration.writtenLocations = exploration.locations.size();
+        exploration.writtenEvents = exploration.events.size();
+        exploration.writtenConfigurations = exploration.store.size();
+        exploration.writtenExpanded = exploration.expandedCount;
+        exploration.writtenEdges = exploration.edgeCount;
+        return exploration;
+    }
+
+    /**
+     * Map the name of each location of the finite-state machine to the location.
+     *
+     * @throws IllegalArgumentException if two locations have the same name, so that a checkpoint cannot
+     *                                  tell them apart
+     */
+    private static <V, E> Map<String, V> locationsByName(FSM<V, E> fsm) {
+        Map<String, V> locationsByName = new HashMap<>();
+        for (V location : fsm.getVertices()) {
+            if (locationsByName.put(String.valueOf(location), location) != null) {
+                throw new IllegalArgumentException("Checkpoints require distinct location names, but name "
+                        + location + " is used by several locations.");
+            }
+        }
+        return locationsByName;
+    }
+
+    /**
+     * Add the part of the exploration state in the given checkpoint record.
+     */
+    private void readRecord(DataInputStream in, Map<String, V> locationsByName, Path file) throws IOException {
+        int locationCount = in.readInt();
+        for (int i = 0; i < locationCount; i++) {
+            String name = in.readUTF();
+            V location = locationsByName.get(name);
+            if (location == null) {
+                throw new IOException("Checkpoint " + file + " refers to unknown location " + name + ".");
+            }
+            internLocation(location);
+        }
+        int eventCount = in.readInt();
+        for (int i = 0; i < eventCount; i++) {
+            internEvent(in.readUTF());
+        }
+
+        // Intern the configurations in the same order, so they get the same ids.
+        double[] x = new double[vectorSize];
+        int configurationCount = in.readInt();
+        for (int i = 0; i < configurationCount; i++) {
+            int id = store.size();
+            int location = in.readInt();
+            for (int j = 0; j < vectorSize; j++) {
+                x[j] = in.readDouble();
+            }
+            if (store.intern(location, x) != id) {
+                throw new IOException("Checkpoint " + file + " contains duplicate configurations.");
+            }
+            discover(id, 0.0);
+        }
+
+        // The transitions of each expanded configuration directly follow the ones of its predecessor.
+        int expanded = in.readInt();
+        for (int i = 0; i < expanded; i++) {
+            outStart[expandedCount] = expandedCount == 0 ? 0 : outEnd[expandedCount - 1];
+            outEnd[expandedCount] = in.readInt();
+            expandedCount++;
+        }
+        int edges = in.readInt();
+        for (int e = 0; e < edges; e++) {
+            int target = in.readInt();
+            int event = in.readInt();
+            double reward = in.readDouble();
+            double duration = in.readDouble();
+            addTransition(target, event, reward, duration);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.ludus.backend.statespace;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeSet;
+
+/**
+ * Frontiers of the predefined {@link SearchOrder}s.
+ *
+ * @author Bram van der Sanden
+ */
+final class Frontiers {
+
+    private Frontiers() {
+        // Empty for utility classes
+    }
+
+    /**
+     * First-in first-out frontier in a circular array.
+     */
+    static final class Queue implements SearchOrder.Frontier {
+        private int[] ids = new int[16];
+        private int head = 0;
+        private int size = 0;
+
+        @Override
+        public void add(int id, double priority) {
+            if (size == ids.length) {
+                int[] grown = new int[2 * ids.length];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = ids[(head + i) & (ids.length - 1)];
+                }
+                ids = grown;
+                head = 0;
+            }
+            ids[(head + size) & (ids.length - 1)] = id;
+            size++;
+        }
+
+        @Override
+        public int remove() {
+            int id = ids[head];
+            head = (head + 1) & (ids.length - 1);
+            size--;
+            return id;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Last-in first-out frontier.
+     */
+    static final class Stack implements SearchOrder.Frontier {
+        private int[] ids = new int[16];
+        private int size = 0;
+
+        @Override
+        public void add(int id, double priority) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * ids.length);
+            }
+            ids[size++] = id;
+        }
+
+        @Override
+        public int remove() {
+            return ids[--size];
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Best-first frontier with a maximal size. The entries are ordered by decreasing priority and then by
+     * increasing id, so both the best and the worst entry can be removed in logarithmic time.
+     */
+    static final class Beam implements SearchOrder.Frontier {
+        private static final Comparator<Entry> ORDER =
+                Comparator.comparingDouble((Entry entry) -> -entry.priority).thenComparingInt(entry -> entry.id);
+
+        private final int width;
+        private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+        private int droppedCount = 0;
+
+        Beam(int width) {
+            this.width = width;
+        }
+
+        @Override
+        public void add(int id, double priority) {
+            Entry entry = new Entry(id, priority);
+            if (entries.size() == width) {
+                // Keep the best entries: drop either the new entry or the current worst entry.
+                droppedCount++;
+                if (ORDER.compare(entry, entries.last()) > 0) {
+                    return;
+                }
+                entries.pollLast();
+            }
+            entries.add(entry);
+        }
+
+        @Override
+        public int remove() {
+            return entries.pollFirst().id;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public int getDroppedCount() {
+            return droppedCount;
+        }
+    }
+
+    private static final class Entry {
+        private final int id;
+        private final double priority;
+
+        private Entry(int id, double priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+}
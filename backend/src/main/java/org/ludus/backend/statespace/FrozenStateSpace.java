@@ -0,0 +1,284 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.graph.DoubleWeightedGraph;
+import org.ludus.backend.graph.SingleWeightedGraph;
+
+import java.util.*;
+
+/**
+ * Immutable max-plus state space in compressed sparse row (CSR) format.
+ * <p>
+ * Vertices are the configuration ids {@code 0, ..., getVertexCount() - 1}, and edges are the transition
+ * ids {@code 0, ..., getEdgeCount() - 1}. The outgoing transitions of vertex {@code v} have the
+ * consecutive ids {@code getOutStart(v)} until {@code getOutEnd(v)}. Sources, targets, rewards,
+ * durations and interned event ids are stored in primitive arrays indexed by transition id. The
+ * incoming index is only built when incoming edges are requested.
+ * </p>
+ * <p>
+ * The graph implements {@link SingleWeightedGraph} and {@link DoubleWeightedGraph} with the same weights
+ * as {@link MaxPlusStateSpace}, so it can be passed directly to the algorithms that accept those. The
+ * vertex and edge collections are views over the id ranges and are not materialized.
+ * </p>
+ * <p>
+ * A state space that is computed with {@link ComputeStateSpace#computeFrozenStateSpace} keeps the vectors
+ * of its configurations in the {@link ConfigurationStore} of the exploration, and only creates a
+ * {@link Configuration} object when one is requested. {@link #thaw()} converts it to a
+ * {@link MaxPlusStateSpace} for the algorithms that need configuration and transition objects.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see MaxPlusStateSpace#freeze()
+ */
+public final class FrozenStateSpace implements IndexedStateSpace {
+
+    private static final long serialVersionUID = 5092712871564393614L;
+
+    private final int vertexCount;
+    private final Configuration[] configurations;
+    private final ConfigurationStore store;
+    private final Object[] locations;
+    private final int initial;
+
+    private final int[] outOffsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final double[] rewards;
+    private final double[] durations;
+    private final int[] eventIds;
+    private final String[] events;
+
+    // Incoming index, built lazily: the incoming transitions of vertex v are
+    // inEdges[inOffsets[v]] until inEdges[inOffsets[v + 1]].
+    private int[] inOffsets;
+    private int[] inEdges;
+
+    FrozenStateSpace(Configuration[] configurations, int initial, int[] outOffsets, int[] sources, int[] targets,
+                     double[] rewards, double[] durations, int[] eventIds, String[] events) {
+        this(configurations.length, configurations, null, null, initial, outOffsets, sources, targets, rewards,
+                durations, eventIds, events);
+    }
+
+    /**
+     * Create a state space whose configurations are the first {@code vertexCount} configurations of the
+     * given store, where the location ids of the store index the given locations.
+     */
+    FrozenStateSpace(int vertexCount, ConfigurationStore store, Object[] locations, int initial, int[] outOffsets,
+                     int[] sources, int[] targets, double[] rewards, double[] durations, int[] eventIds,
+                     String[] events) {
+        this(vertexCount, null, store, locations, initial, outOffsets, sources, targets, rewards, durations,
+                eventIds, events);
+    }
+
+    private FrozenStateSpace(int vertexCount, Configuration[] configurations, ConfigurationStore store,
+                             Object[] locations, int initial, int[] outOffsets, int[] sources, int[] targets,
+                             double[] rewards, double[] durations, int[] eventIds, String[] events) {
+        this.vertexCount = vertexCount;
+        this.configurations = configurations;
+        this.store = store;
+        this.locations = locations;
+        this.initial = initial;
+        this.outOffsets = outOffsets;
+        this.sources = sources;
+        this.targets = targets;
+        this.rewards = rewards;
+        this.durations = durations;
+        this.eventIds = eventIds;
+        this.events = events;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return sources.length;
+    }
+
+    /**
+     * Return the id of the initial configuration.
+     *
+     * @return initial vertex id, or -1 if the state space has no initial configuration
+     */
+    public int getInitialVertex() {
+        return initial;
+    }
+
+    /**
+     * Return the configuration of the given vertex.
+     *
+     * @param vertex vertex id
+     * @return configuration, or null if the configurations were not retained
+     */
+    public Configuration getConfiguration(int vertex) {
+        if (store != null) {
+            return new Configuration<>(locations[store.getLocation(vertex)], store.getVector(vertex));
+        }
+        return configurations[vertex];
+    }
+
+    public int getOutStart(int vertex) {
+        return outOffsets[vertex];
+    }
+
+    public int getOutEnd(int vertex) {
+        return outOffsets[vertex + 1];
+    }
+
+    public int getSource(int edge) {
+        return sources[edge];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double getReward(int edge) {
+        return rewards[edge];
+    }
+
+    public double getDuration(int edge) {
+        return durations[edge];
+    }
+
+    public int getEventId(int edge) {
+        return eventIds[edge];
+    }
+
+    public String getEvent(int edge) {
+        return events[eventIds[edge]];
+    }
+
+    /**
+     * Return the interned event names, indexed by event id.
+     *
+     * @return list of event names
+     */
+    public List<String> getEventNames() {
+        return Collections.unmodifiableList(Arrays.asList(events));
+    }
+
+    @Override
+    public Double getWeight1(Integer edge) {
+        return rewards[edge];
+    }
+
+    @Override
+    public Double getWeight2(Integer edge) {
+        return durations[edge];
+    }
+
+    @Override
+    public Double getWeight(Integer edge) {
+        return durations[edge];
+    }
+
+    @Override
+    public Set<Integer> getVertices() {
+        return new IdRange(0, vertexCount);
+    }
+
+    @Override
+    public Set<Integer> getEdges() {
+        return new IdRange(0, sources.length);
+    }
+
+    @Override
+    public Collection<Integer> incomingEdgesOf(Integer vertex) {
+        buildIncomingIndex();
+        int start = inOffsets[vertex];
+        int end = inOffsets[vertex + 1];
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return inEdges[start + index];
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Integer> outgoingEdgesOf(Integer vertex) {
+        return new IdRange(outOffsets[vertex], outOffsets[vertex + 1]);
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer edge) {
+        return sources[edge];
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public Integer getEdge(Integer source, Integer target) {
+        for (int edge = outOffsets[source]; edge < outOffsets[source + 1]; edge++) {
+            if (targets[edge] == target) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return a {@link MaxPlusStateSpace} with the same configurations and transitions. The reward of all
+     * transitions with the same event is a single shared {@link Value}.
+     *
+     * @return max-plus state space
+     * @throws IllegalStateException if the configurations were not retained
+     */
+    public MaxPlusStateSpace thaw() {
+        MaxPlusStateSpace stateSpace = new MaxPlusStateSpace();
+        Configuration[] vertices = new Configuration[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertices[v] = getConfiguration(v);
+            if (vertices[v] == null) {
+                throw new IllegalStateException("The configurations of this state space were not retained.");
+            }
+            stateSpace.addConfiguration(vertices[v]);
+        }
+        if (initial >= 0) {
+            stateSpace.setInitialConfiguration(vertices[initial]);
+        }
+        Value[] eventRewards = new Value[events.length];
+        for (int edge = 0; edge < sources.length; edge++) {
+            int event = eventIds[edge];
+            if (eventRewards[event] == null) {
+                eventRewards[event] = new Value(rewards[edge]);
+            }
+            stateSpace.addTransition(new Transition(vertices[sources[edge]], events[event], eventRewards[event],
+                    new Value(durations[edge]), vertices[targets[edge]]));
+        }
+        return stateSpace;
+    }
+
+    /**
+     * Build the incoming index with a counting sort of the transitions on their target.
+     */
+    private synchronized void buildIncomingIndex() {
+        if (inOffsets != null) {
+            return;
+        }
+        int[] offsets = new int[vertexCount + 1];
+        for (int target : targets) {
+            offsets[target + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] edges = new int[targets.length];
+        int[] position = Arrays.copyOf(offsets, vertexCount);
+        for (int edge = 0; edge < targets.length; edge++) {
+            edges[position[targets[edge]]++] = edge;
+        }
+        inEdges = edges;
+        inOffsets = offsets;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.ludus.backend.statespace;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set view of the ids {@code start} until {@code end}.
+ *
+ * @author Bram van der Sanden
+ */
+final class IdRange extends AbstractSet<Integer> {
+    private final int start;
+    private final int end;
+
+    IdRange(int start, int end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Integer)) {
+            return false;
+        }
+        int id = (Integer) o;
+        return id >= start && id < end;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Integer next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+}
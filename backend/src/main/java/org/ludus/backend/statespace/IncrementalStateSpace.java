@@ -0,0 +1,367 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.CSRMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.MaxPlus;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algebra.Vector;
+import org.ludus.backend.fsm.FSM;
+
+import java.util.*;
+
+/**
+ * Max-plus state space that is recomputed incrementally when event matrices change.
+ * <p>
+ * The successors of each explored configuration are cached per outgoing FSM edge. The successor of a
+ * configuration along an edge only depends on the vector of the configuration and the matrix of the event
+ * of the edge, so when the matrices of some events change, only the cached successors along edges with
+ * those events are invalidated. {@link #explore()} then traverses the state space from the initial
+ * configuration and only computes the matrix-vector products that are not cached, which are those along
+ * the changed events and those of configurations that are reached for the first time.
+ * </p>
+ * <p>
+ * Configurations that were reachable for earlier matrices are kept in the cache, since later matrices may
+ * make them reachable again. When the cache holds more than {@link #setCacheLimit(int) the cache limit}
+ * configurations after an exploration, the configurations that are not reachable for the current matrices
+ * are evicted.
+ * </p>
+ *
+ * @param <V> location type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+public final class IncrementalStateSpace<V, E> {
+
+    private static final Value DEFAULT_REWARD = new Value(1.0);
+
+    // Target of a successor that is not cached.
+    private static final int UNKNOWN = -1;
+
+    /**
+     * Default maximal number of cached configurations.
+     */
+    public static final int DEFAULT_CACHE_LIMIT = 1 << 20;
+
+    private final FSM<V, E> fsm;
+    private final int vectorSize;
+    private final Map<String, Matrix> matrices;
+    private final Map<String, Matrix> eventMatrices;
+    private final Map<String, Value> rewardMap;
+
+    // Locations by id, with their outgoing edges in a fixed order and the event ids of these edges.
+    private final Map<V, Integer> locationIds = new HashMap<>();
+    private final List<V> locations = new ArrayList<>();
+    private final List<List<E>> outgoing = new ArrayList<>();
+    private final List<int[]> outgoingEvents = new ArrayList<>();
+    private final Map<String, Integer> eventIds = new HashMap<>();
+    private final List<String> events = new ArrayList<>();
+
+    // Explored configurations, and their cached successors per outgoing edge of their location. The
+    // successors of a configuration are null if it has not been expanded yet.
+    private ConfigurationStore store;
+    private int[][] successorTargets = new int[16][];
+    private double[][] successorDurations = new double[16][];
+
+    private int cacheLimit = DEFAULT_CACHE_LIMIT;
+    private int productCount = 0;
+
+    /**
+     * Create an incremental state space, where the reward of each edge event is given by
+     * {@code DEFAULT_REWARD}.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     */
+    public IncrementalStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices) {
+        this(fsm, vectorSize, matrices, new HashMap<>());
+    }
+
+    /**
+     * Create an incremental state space.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     */
+    public IncrementalStateSpace(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap) {
+        for (Map.Entry<String, Matrix> entry : matrices.entrySet()) {
+            checkSize(entry.getKey(), entry.getValue(), vectorSize);
+        }
+        this.fsm = fsm;
+        this.vectorSize = vectorSize;
+        this.matrices = new HashMap<>(matrices);
+        // Sparse matrices are multiplied in CSR format, which skips the -infinity entries.
+        this.eventMatrices = CSRMatrix.compress(matrices);
+        this.rewardMap = rewardMap;
+        store = new ConfigurationStore(vectorSize);
+
+        // Start with the zero vector and the initial FSMImpl state.
+        store.intern(locationId(fsm.getInitial()), new double[vectorSize]);
+    }
+
+    public FSM<V, E> getFsm() {
+        return fsm;
+    }
+
+    /**
+     * Return the current matrices.
+     *
+     * @return unmodifiable mapping of edge label to a corresponding matrix
+     */
+    public Map<String, Matrix> getMatrices() {
+        return Collections.unmodifiableMap(matrices);
+    }
+
+    /**
+     * Replace the matrices of the given events, and invalidate the cached successors along edges with these
+     * events.
+     *
+     * @param changed mapping of edge label to its new matrix
+     * @throws IllegalArgumentException if an edge label has no matrix yet, or if a matrix does not have the
+     *                                  size of the vectors; no matrix is replaced in that case
+     */
+    public void setMatrices(Map<String, Matrix> changed) {
+        for (Map.Entry<String, Matrix> entry : changed.entrySet()) {
+            if (!matrices.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException("No matrix found for event " + entry.getKey());
+            }
+            checkSize(entry.getKey(), entry.getValue(), vectorSize);
+        }
+
+        Set<Integer> changedEvents = new HashSet<>();
+        for (Map.Entry<String, Matrix> entry : changed.entrySet()) {
+            matrices.put(entry.getKey(), entry.getValue());
+            eventMatrices.put(entry.getKey(), CSRMatrix.compress(entry.getValue()));
+            Integer event = eventIds.get(entry.getKey());
+            if (event != null) {
+                changedEvents.add(event);
+            }
+        }
+        if (changedEvents.isEmpty()) {
+            return;
+        }
+
+        for (int id = 0; id < store.size(); id++) {
+            int[] targets = successorTargets[id];
+            if (targets != null) {
+                int[] edgeEvents = outgoingEvents.get(store.getLocation(id));
+                for (int i = 0; i < targets.length; i++) {
+                    if (changedEvents.contains(edgeEvents[i])) {
+                        targets[i] = UNKNOWN;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the maximal number of cached configurations. If the cache holds more configurations after an
+     * exploration, the configurations that are not reachable for the current matrices are evicted. The
+     * reachable configurations are always kept, so the cache may still exceed the limit.
+     *
+     * @param cacheLimit maximal number of cached configurations
+     */
+    public void setCacheLimit(int cacheLimit) {
+        if (cacheLimit < 1) {
+            throw new IllegalArgumentException("Cache limit must be positive.");
+        }
+        this.cacheLimit = cacheLimit;
+    }
+
+    /**
+     * Return the number of matrix-vector products computed by the last call of {@link #explore()}.
+     *
+     * @return number of computed products
+     */
+    public int getProductCount() {
+        return productCount;
+    }
+
+    /**
+     * Return the number of configurations in the cache, including those that are no longer reachable.
+     *
+     * @return number of cached configurations
+     */
+    public int getCachedCount() {
+        return store.size();
+    }
+
+    /**
+     * Compute the normalized max-plus state space for the current matrices. The initial configuration has
+     * id zero, and the configuration ids are assigned in breadth-first order.
+     *
+     * @return state space for the current matrices
+     */
+    public FrozenStateSpace explore() {
+        productCount = 0;
+
+        // Vertex id per configuration id, and configuration id per vertex id.
+        int[] vertexOf = new int[store.size()];
+        Arrays.fill(vertexOf, -1);
+        int[] configurationOf = new int[16];
+        vertexOf[0] = 0;
+        int vertexCount = 1;
+
+        int[] outOffsets = new int[17];
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        double[] rewards = new double[16];
+        double[] durations = new double[16];
+        int[] edgeEvents = new int[16];
+        int edgeCount = 0;
+
+        double[] x = new double[vectorSize];
+        double[] newVector = new double[vectorSize];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int id = configurationOf[vertex];
+            int location = store.getLocation(id);
+            expand(id, location, x, newVector);
+
+            if (vertex + 1 >= outOffsets.length) {
+                outOffsets = Arrays.copyOf(outOffsets, 2 * outOffsets.length);
+            }
+            outOffsets[vertex] = edgeCount;
+            int[] edgeEventIds = outgoingEvents.get(location);
+            for (int i = 0; i < edgeEventIds.length; i++) {
+                int target = successorTargets[id][i];
+                if (target >= vertexOf.length) {
+                    int size = vertexOf.length;
+                    vertexOf = Arrays.copyOf(vertexOf, Math.max(2 * size, store.size()));
+                    Arrays.fill(vertexOf, size, vertexOf.length, -1);
+                }
+                if (vertexOf[target] < 0) {
+                    if (vertexCount == configurationOf.length) {
+                        configurationOf = Arrays.copyOf(configurationOf, 2 * configurationOf.length);
+                    }
+                    vertexOf[target] = vertexCount;
+                    configurationOf[vertexCount++] = target;
+                }
+
+                if (edgeCount == sources.length) {
+                    int capacity = 2 * sources.length;
+                    sources = Arrays.copyOf(sources, capacity);
+                    targets = Arrays.copyOf(targets, capacity);
+                    rewards = Arrays.copyOf(rewards, capacity);
+                    durations = Arrays.copyOf(durations, capacity);
+                    edgeEvents = Arrays.copyOf(edgeEvents, capacity);
+                }
+                sources[edgeCount] = vertex;
+                targets[edgeCount] = vertexOf[target];
+                rewards[edgeCount] = rewardMap.getOrDefault(events.get(edgeEventIds[i]), DEFAULT_REWARD).getValue();
+                durations[edgeCount] = successorDurations[id][i];
+                edgeEvents[edgeCount] = edgeEventIds[i];
+                edgeCount++;
+            }
+        }
+        outOffsets[vertexCount] = edgeCount;
+
+        Configuration[] configurations = new Configuration[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int id = configurationOf[vertex];
+            configurations[vertex] = new Configuration<>(locations.get(store.getLocation(id)), store.getVector(id));
+        }
+        if (store.size() > cacheLimit) {
+            evict(vertexOf, configurationOf, vertexCount, x);
+        }
+        return new FrozenStateSpace(configurations, 0, Arrays.copyOf(outOffsets, vertexCount + 1),
+                Arrays.copyOf(sources, edgeCount), Arrays.copyOf(targets, edgeCount),
+                Arrays.copyOf(rewards, edgeCount), Arrays.copyOf(durations, edgeCount),
+                Arrays.copyOf(edgeEvents, edgeCount), events.toArray(new String[0]));
+    }
+
+    /**
+     * Keep only the reachable configurations in the cache, with their vertex ids as configuration ids. All
+     * successors of the reachable configurations are reachable, so their cached successors stay valid.
+     */
+    private void evict(int[] vertexOf, int[] configurationOf, int vertexCount, double[] x) {
+        ConfigurationStore reachable = new ConfigurationStore(vectorSize);
+        int[][] targets = new int[Math.max(16, vertexCount)][];
+        double[][] durations = new double[targets.length][];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int id = configurationOf[vertex];
+            store.getVector(id, x);
+            reachable.intern(store.getLocation(id), x);
+
+            int[] successors = successorTargets[id];
+            for (int i = 0; i < successors.length; i++) {
+                successors[i] = vertexOf[successors[i]];
+            }
+            targets[vertex] = successors;
+            durations[vertex] = successorDurations[id];
+        }
+        store = reachable;
+        successorTargets = targets;
+        successorDurations = durations;
+    }
+
+    private static void checkSize(String event, Matrix matrix, int vectorSize) {
+        if (matrix.getRows() != vectorSize || matrix.getColumns() != vectorSize) {
+            throw new IllegalArgumentException("Matrix of event " + event + " is " + matrix.getRows() + "x"
+                    + matrix.getColumns() + ", but the vectors have size " + vectorSize + ".");
+        }
+    }
+
+    /**
+     * Compute the successors of the given configuration that are not cached.
+     */
+    private void expand(int id, int location, double[] x, double[] newVector) {
+        List<E> edges = outgoing.get(location);
+        int[] targets = successorTargets[id];
+        double[] durations = successorDurations[id];
+        if (targets == null) {
+            targets = new int[edges.size()];
+            Arrays.fill(targets, UNKNOWN);
+            durations = new double[edges.size()];
+            successorTargets[id] = targets;
+            successorDurations[id] = durations;
+        }
+
+        boolean loaded = false;
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] != UNKNOWN) {
+                continue;
+            }
+            if (!loaded) {
+                store.getVector(id, x);
+                loaded = true;
+            }
+
+            // Compute new normalized vector.
+            E e = edges.get(i);
+            eventMatrices.get(fsm.getEvent(e)).multiply(x, newVector);
+            double norm = MaxPlus.normalize(newVector, newVector);
+            productCount++;
+
+            int targetId = store.intern(locationId(fsm.getEdgeTarget(e)), newVector);
+            if (targetId == successorTargets.length) {
+                successorTargets = Arrays.copyOf(successorTargets, 2 * targetId);
+                successorDurations = Arrays.copyOf(successorDurations, 2 * targetId);
+            }
+            targets[i] = targetId;
+            durations[i] = norm;
+        }
+    }
+
+    private int locationId(V location) {
+        Integer id = locationIds.get(location);
+        if (id == null) {
+            id = locations.size();
+            locationIds.put(location, id);
+            locations.add(location);
+            List<E> edges = new ArrayList<>(fsm.outgoingEdgesOf(location));
+            int[] edgeEvents = new int[edges.size()];
+            for (int i = 0; i < edges.size(); i++) {
+                edgeEvents[i] = eventIds.computeIfAbsent(fsm.getEvent(edges.get(i)), ev -> {
+                    events.add(ev);
+                    return events.size() - 1;
+                });
+            }
+            outgoing.add(edges);
+            outgoingEvents.add(edgeEvents);
+        }
+        return id;
+    }
+
+}
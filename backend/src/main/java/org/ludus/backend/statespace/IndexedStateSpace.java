@@ -0,0 +1,73 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.graph.DoubleWeightedGraph;
+import org.ludus.backend.graph.IndexedDoubleWeightedGraph;
+import org.ludus.backend.graph.IndexedSingleWeightedGraph;
+import org.ludus.backend.graph.SingleWeightedGraph;
+
+import java.util.List;
+
+/**
+ * Max-plus state space with dense int ids for its configurations and transitions.
+ * <p>
+ * Vertices are the configuration ids {@code 0, ..., getVertexCount() - 1}, and edges are the transition
+ * ids {@code 0, ..., getEdgeCount() - 1}. The outgoing transitions of vertex {@code v} have the
+ * consecutive ids {@code getOutStart(v)} until {@code getOutEnd(v)}, as in an
+ * {@link org.ludus.backend.graph.IndexedGraph}. The weights are the same as those of
+ * {@link MaxPlusStateSpace}: the reward and duration of a transition, where the single weight is the
+ * duration.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see FrozenStateSpace
+ * @see MappedStateSpace
+ */
+public interface IndexedStateSpace extends SingleWeightedGraph<Integer, Integer, Double>, DoubleWeightedGraph<Integer, Integer, Double>,
+        IndexedSingleWeightedGraph, IndexedDoubleWeightedGraph {
+
+    /**
+     * Return the id of the initial configuration.
+     *
+     * @return initial vertex id, or -1 if the state space has no initial configuration
+     */
+    int getInitialVertex();
+
+    /**
+     * Return the configuration of the given vertex.
+     *
+     * @param vertex vertex id
+     * @return configuration, or null if the state space does not retain its configurations
+     */
+    Configuration getConfiguration(int vertex);
+
+    double getReward(int edge);
+
+    double getDuration(int edge);
+
+    @Override
+    default double getWeight(int edge) {
+        return getDuration(edge);
+    }
+
+    @Override
+    default double getWeight1(int edge) {
+        return getReward(edge);
+    }
+
+    @Override
+    default double getWeight2(int edge) {
+        return getDuration(edge);
+    }
+
+    int getEventId(int edge);
+
+    String getEvent(int edge);
+
+    /**
+     * Return the interned event names, indexed by event id.
+     *
+     * @return list of event names
+     */
+    List<String> getEventNames();
+
+}
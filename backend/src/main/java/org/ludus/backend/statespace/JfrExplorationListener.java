@@ -0,0 +1,44 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Exploration listener that emits JDK Flight Recorder events.
+ * <p>
+ * This is the fallback for Java versions without the {@code jdk.jfr} API: it is never available and
+ * ignores all notifications. The Java 17 version of this class in {@code src/main/java17} is packaged in
+ * the multi-release jar and replaces it at run time.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class JfrExplorationListener implements ExplorationListener {
+
+    /**
+     * Return whether the listener emits Flight Recorder events on this JVM.
+     *
+     * @return true if and only if events are emitted
+     */
+    public static boolean isAvailable() {
+        return false;
+    }
+
+    @Override
+    public void explorationProgress(ExplorationStatistics statistics) {
+        // No events without the jdk.jfr module.
+    }
+
+    @Override
+    public void explorationFinished(ExplorationStatistics statistics) {
+        // No events without the jdk.jfr module.
+    }
+
+    @Override
+    public void componentsComputed(int componentCount, int cyclicCount) {
+        // No events without the jdk.jfr module.
+    }
+
+    @Override
+    public void componentAnalyzed(int component, int vertexCount, int edgeCount, int iterations) {
+        // No events without the jdk.jfr module.
+    }
+
+}
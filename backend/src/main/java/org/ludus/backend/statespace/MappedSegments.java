@@ -0,0 +1,109 @@
+package org.ludus.backend.statespace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Byte-addressable storage in memory-mapped files.
+ * <p>
+ * The storage is split into segments of {@code 2^segmentShift} bytes, each backed by its own file that is
+ * mapped when it is first accessed. Unwritten bytes read as zero. Values must be aligned to their size, so
+ * that a value never crosses a segment boundary. Paging is left to the operating system, which keeps the
+ * recently used pages in memory and writes the others back to disk.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+final class MappedSegments implements Closeable {
+
+    private final Path directory;
+    private final String name;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Create an empty storage.
+     *
+     * @param directory    directory for the segment files
+     * @param name         prefix of the segment file names
+     * @param segmentShift base two logarithm of the segment size
+     */
+    MappedSegments(Path directory, String name, int segmentShift) {
+        assert (segmentShift >= 3 && segmentShift <= 30);
+        this.directory = directory;
+        this.name = name;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+    }
+
+    int getInt(long offset) {
+        return segment(offset).getInt((int) (offset & segmentMask));
+    }
+
+    void putInt(long offset, int value) {
+        segment(offset).putInt((int) (offset & segmentMask), value);
+    }
+
+    long getLong(long offset) {
+        return segment(offset).getLong((int) (offset & segmentMask));
+    }
+
+    void putLong(long offset, long value) {
+        segment(offset).putLong((int) (offset & segmentMask), value);
+    }
+
+    double getDouble(long offset) {
+        return segment(offset).getDouble((int) (offset & segmentMask));
+    }
+
+    void putDouble(long offset, double value) {
+        segment(offset).putDouble((int) (offset & segmentMask), value);
+    }
+
+    private ByteBuffer segment(long offset) {
+        int index = (int) (offset >>> segmentShift);
+        while (segments.size() <= index) {
+            segments.add(map(segments.size()));
+        }
+        return segments.get(index);
+    }
+
+    private ByteBuffer map(int index) {
+        Path file = directory.resolve(name + "-" + index + ".seg");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, 1L << segmentShift).order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Release the segments and delete their files.
+     *
+     * @throws IOException if a segment file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        int count = segments.size();
+        segments.clear();
+        for (int index = 0; index < count; index++) {
+            Files.deleteIfExists(directory.resolve(name + "-" + index + ".seg"));
+        }
+    }
+
+}
@@ -0,0 +1,419 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.Vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Max-plus state space stored in memory-mapped files, for state spaces that do not fit in the heap.
+ * <p>
+ * Configuration vectors, configuration records and transitions are kept in append-only memory-mapped
+ * segments, and the visited set is an open-addressing hash table in mapped memory as well. Only the
+ * locations and event names are kept on the heap. The files are created in a fresh subdirectory of the
+ * given directory and are deleted by {@link #close()}.
+ * </p>
+ * <p>
+ * The state space is built in order of configuration ids: the outgoing transitions of a configuration are
+ * added after those of all configurations with a smaller id. The vertices and edges then have the same
+ * CSR layout as in {@link FrozenStateSpace}, so algorithms such as Howard, Dijkstra and
+ * {@link SCCDecomposition} can run directly over the mapped representation.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see ComputeStateSpace#computeMappedStateSpace(org.ludus.backend.fsm.FSM, Integer, Map, Map, Path)
+ */
+public final class MappedStateSpace implements IndexedStateSpace, Closeable {
+
+    private static final long serialVersionUID = -2389102317762045921L;
+
+    // Default segment size of 64 MiB.
+    static final int DEFAULT_SEGMENT_SHIFT = 26;
+
+    private static final int INITIAL_INDEX_CAPACITY = 16;
+
+    // Configuration record: location id, hash and start of the outgoing transitions.
+    private static final int STATE_BYTES = 16;
+
+    // Transition record: source, target, event id, padding, reward and duration.
+    private static final int EDGE_BYTES = 32;
+
+    private final Path directory;
+    private final int segmentShift;
+    private final int vectorSize;
+
+    private final MappedSegments vectors;
+    private final MappedSegments states;
+    private final MappedSegments edges;
+    private int size = 0;
+    private int edgeCount = 0;
+
+    // Visited set: slot i holds the configuration id plus one, or zero if the slot is empty.
+    private MappedSegments index;
+    private long indexMask;
+    private int indexGeneration = 0;
+
+    private final List<Object> locations = new ArrayList<>();
+    private final Map<Object, Integer> locationIds = new HashMap<>();
+    private final List<String> events = new ArrayList<>();
+    private final Map<String, Integer> eventIds = new HashMap<>();
+
+    // Incoming index, built lazily: the incoming transitions of vertex v are
+    // inEdges[inOffsets[v]] until inEdges[inOffsets[v + 1]].
+    private MappedSegments inOffsets;
+    private MappedSegments inEdges;
+
+    /**
+     * Create an empty state space.
+     *
+     * @param vectorSize   size of the configuration vectors
+     * @param directory    directory in which the storage directory is created
+     * @param segmentShift base two logarithm of the segment size
+     */
+    MappedStateSpace(int vectorSize, Path directory, int segmentShift) {
+        assert (segmentShift >= 5);
+        try {
+            this.directory = Files.createTempDirectory(directory, "statespace");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.segmentShift = segmentShift;
+        this.vectorSize = vectorSize;
+        vectors = new MappedSegments(this.directory, "vectors", segmentShift);
+        states = new MappedSegments(this.directory, "states", segmentShift);
+        edges = new MappedSegments(this.directory, "edges", segmentShift);
+        index = new MappedSegments(this.directory, "index-0", segmentShift);
+        indexMask = INITIAL_INDEX_CAPACITY - 1;
+    }
+
+    /**
+     * Return the load factor of the visited set.
+     */
+    double getLoadFactor() {
+        return (double) size / (indexMask + 1);
+    }
+
+    /**
+     * Return the id of the given configuration, adding it if it is not present yet.
+     * A configuration is new if and only if the returned id equals the vertex count before the call.
+     */
+    int intern(int location, double[] vector) {
+        assert (vector.length == vectorSize);
+        int hash = ConfigurationStore.hash(location, vector);
+        long slot = hash & indexMask;
+        int entry;
+        while ((entry = index.getInt(4 * slot)) != 0) {
+            int id = entry - 1;
+            if (states.getInt(stateOffset(id) + 4) == hash && matches(id, location, vector)) {
+                return id;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+
+        // Add new configuration.
+        int id = size++;
+        long offset = stateOffset(id);
+        states.putInt(offset, location);
+        states.putInt(offset + 4, hash);
+        long vectorOffset = vectorOffset(id);
+        for (int i = 0; i < vectorSize; i++) {
+            vectors.putDouble(vectorOffset + 8L * i, vector[i]);
+        }
+        index.putInt(4 * slot, id + 1);
+        if (2L * size > indexMask) {
+            growIndex();
+        }
+        return id;
+    }
+
+    int internLocation(Object location) {
+        return locationIds.computeIfAbsent(location, l -> {
+            locations.add(l);
+            return locations.size() - 1;
+        });
+    }
+
+    int internEvent(String event) {
+        return eventIds.computeIfAbsent(event, e -> {
+            events.add(e);
+            return events.size() - 1;
+        });
+    }
+
+    Object getLocation(int vertex) {
+        return locations.get(states.getInt(stateOffset(vertex)));
+    }
+
+    /**
+     * Mark the start of the outgoing transitions of the given configuration. Must be called in order of
+     * configuration ids, before its transitions are added.
+     */
+    void startOutgoing(int vertex) {
+        states.putInt(stateOffset(vertex) + 8, edgeCount);
+    }
+
+    void addTransition(int source, int target, int event, double reward, double duration) {
+        long offset = edgeOffset(edgeCount++);
+        edges.putInt(offset, source);
+        edges.putInt(offset + 4, target);
+        edges.putInt(offset + 8, event);
+        edges.putDouble(offset + 16, reward);
+        edges.putDouble(offset + 24, duration);
+    }
+
+    /**
+     * Copy the vector of the given configuration into an array.
+     *
+     * @param vertex configuration id
+     * @param result array of length {@code getVectorSize()}
+     */
+    public void getVector(int vertex, double[] result) {
+        long offset = vectorOffset(vertex);
+        for (int i = 0; i < vectorSize; i++) {
+            result[i] = vectors.getDouble(offset + 8L * i);
+        }
+    }
+
+    public int getVectorSize() {
+        return vectorSize;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return size;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getInitialVertex() {
+        return size > 0 ? 0 : -1;
+    }
+
+    @Override
+    public Configuration getConfiguration(int vertex) {
+        double[] vector = new double[vectorSize];
+        getVector(vertex, vector);
+        return new Configuration<>(getLocation(vertex), new Vector(vector));
+    }
+
+    @Override
+    public int getOutStart(int vertex) {
+        return states.getInt(stateOffset(vertex) + 8);
+    }
+
+    @Override
+    public int getOutEnd(int vertex) {
+        return vertex + 1 < size ? getOutStart(vertex + 1) : edgeCount;
+    }
+
+    @Override
+    public int getSource(int edge) {
+        return edges.getInt(edgeOffset(edge));
+    }
+
+    @Override
+    public int getTarget(int edge) {
+        return edges.getInt(edgeOffset(edge) + 4);
+    }
+
+    @Override
+    public double getReward(int edge) {
+        return edges.getDouble(edgeOffset(edge) + 16);
+    }
+
+    @Override
+    public double getDuration(int edge) {
+        return edges.getDouble(edgeOffset(edge) + 24);
+    }
+
+    @Override
+    public int getEventId(int edge) {
+        return edges.getInt(edgeOffset(edge) + 8);
+    }
+
+    @Override
+    public String getEvent(int edge) {
+        return events.get(getEventId(edge));
+    }
+
+    @Override
+    public List<String> getEventNames() {
+        return Collections.unmodifiableList(events);
+    }
+
+    @Override
+    public Double getWeight1(Integer edge) {
+        return getReward(edge);
+    }
+
+    @Override
+    public Double getWeight2(Integer edge) {
+        return getDuration(edge);
+    }
+
+    @Override
+    public Double getWeight(Integer edge) {
+        return getDuration(edge);
+    }
+
+    @Override
+    public Set<Integer> getVertices() {
+        return new IdRange(0, size);
+    }
+
+    @Override
+    public Set<Integer> getEdges() {
+        return new IdRange(0, edgeCount);
+    }
+
+    @Override
+    public Collection<Integer> incomingEdgesOf(Integer vertex) {
+        buildIncomingIndex();
+        int start = inOffsets.getInt(4L * vertex);
+        int end = inOffsets.getInt(4L * (vertex + 1));
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int position) {
+                return inEdges.getInt(4L * (start + position));
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Integer> outgoingEdgesOf(Integer vertex) {
+        return new IdRange(getOutStart(vertex), getOutEnd(vertex));
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer edge) {
+        return getSource(edge);
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer edge) {
+        return getTarget(edge);
+    }
+
+    @Override
+    public Integer getEdge(Integer source, Integer target) {
+        for (int edge = getOutStart(source); edge < getOutEnd(source); edge++) {
+            if (getTarget(edge) == target) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Delete the storage files of the state space. The state space cannot be used afterwards.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        vectors.close();
+        states.close();
+        edges.close();
+        index.close();
+        if (inOffsets != null) {
+            inOffsets.close();
+            inEdges.close();
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private long stateOffset(int vertex) {
+        return (long) STATE_BYTES * vertex;
+    }
+
+    private long edgeOffset(int edge) {
+        return (long) EDGE_BYTES * edge;
+    }
+
+    private long vectorOffset(int vertex) {
+        return 8L * vectorSize * vertex;
+    }
+
+    private boolean matches(int id, int location, double[] vector) {
+        if (states.getInt(stateOffset(id)) != location) {
+            return false;
+        }
+        long offset = vectorOffset(id);
+        for (int i = 0; i < vectorSize; i++) {
+            if (Double.doubleToLongBits(vectors.getDouble(offset + 8L * i)) != Double.doubleToLongBits(vector[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Double the capacity of the visited set, rehashing into a new file with the stored hashes.
+     */
+    private void growIndex() {
+        MappedSegments grown = new MappedSegments(directory, "index-" + (++indexGeneration), segmentShift);
+        long mask = 2 * indexMask + 1;
+        for (int id = 0; id < size; id++) {
+            long slot = states.getInt(stateOffset(id) + 4) & mask;
+            while (grown.getInt(4 * slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown.putInt(4 * slot, id + 1);
+        }
+        try {
+            index.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index = grown;
+        indexMask = mask;
+    }
+
+    /**
+     * Build the incoming index with a counting sort of the transitions on their target.
+     */
+    private synchronized void buildIncomingIndex() {
+        if (inOffsets != null) {
+            return;
+        }
+        MappedSegments offsets = new MappedSegments(directory, "in-offsets", segmentShift);
+        MappedSegments sorted = new MappedSegments(directory, "in-edges", segmentShift);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            long position = 4L * (getTarget(edge) + 1);
+            offsets.putInt(position, offsets.getInt(position) + 1);
+        }
+        for (int v = 0; v < size; v++) {
+            offsets.putInt(4L * (v + 1), offsets.getInt(4L * (v + 1)) + offsets.getInt(4L * v));
+        }
+
+        // Place the edges, using the offset of each target as cursor. Afterwards the offset of
+        // vertex v holds the start of vertex v + 1, so the offsets are shifted back.
+        for (int edge = 0; edge < edgeCount; edge++) {
+            long position = 4L * getTarget(edge);
+            int cursor = offsets.getInt(position);
+            sorted.putInt(4L * cursor, edge);
+            offsets.putInt(position, cursor + 1);
+        }
+        for (int v = size - 1; v > 0; v--) {
+            offsets.putInt(4L * v, offsets.getInt(4L * (v - 1)));
+        }
+        offsets.putInt(0, 0);
+
+        inEdges = sorted;
+        inOffsets = offsets;
+    }
+
+}
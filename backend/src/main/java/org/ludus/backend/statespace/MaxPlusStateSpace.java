@@ -114,4 +114,53 @@ public class MaxPlusStateSpace implements SingleWeightedGraph<Configuration, Tra
         }
         return null;
     }
+
+    /**
+     * Return an immutable compressed sparse row copy of this state space. Configurations are numbered
+     * such that the initial configuration, if any, has id 0. The outgoing transitions of each configuration
+     * are stored consecutively, and event names are interned.
+     *
+     * @return frozen state space
+     */
+    public FrozenStateSpace freeze() {
+        // Number the configurations, starting with the initial one.
+        Configuration[] vertices = new Configuration[configurations.size()];
+        Map<Configuration, Integer> ids = new HashMap<>();
+        if (initial != null) {
+            ids.put(initial, 0);
+            vertices[0] = initial;
+        }
+        for (Configuration c : configurations) {
+            if (!ids.containsKey(c)) {
+                vertices[ids.size()] = c;
+                ids.put(c, ids.size());
+            }
+        }
+
+        int edgeCount = transitions.size();
+        int[] outOffsets = new int[vertices.length + 1];
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        double[] rewards = new double[edgeCount];
+        double[] durations = new double[edgeCount];
+        int[] eventIds = new int[edgeCount];
+        Map<String, Integer> eventMap = new LinkedHashMap<>();
+
+        int edge = 0;
+        for (int v = 0; v < vertices.length; v++) {
+            outOffsets[v] = edge;
+            for (Transition t : outgoingEdgesOf(vertices[v])) {
+                sources[edge] = v;
+                targets[edge] = ids.get(t.getTarget());
+                rewards[edge] = t.getReward().getValue();
+                durations[edge] = t.getDuration().getValue();
+                eventIds[edge] = eventMap.computeIfAbsent(t.getEvent(), ev -> eventMap.size());
+                edge++;
+            }
+        }
+        outOffsets[vertices.length] = edge;
+
+        return new FrozenStateSpace(vertices, initial == null ? -1 : 0, outOffsets, sources, targets,
+                rewards, durations, eventIds, eventMap.keySet().toArray(new String[0]));
+    }
 }
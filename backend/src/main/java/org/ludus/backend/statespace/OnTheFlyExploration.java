@@ -0,0 +1,326 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.CSRMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.MaxPlus;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.fsm.FSM;
+
+import java.util.*;
+
+/**
+ * Exploration of a max-plus state space with on-the-fly detection of strongly connected components.
+ * <p>
+ * The state space is explored depth-first with an iterative version of Tarjan's algorithm. As soon as a
+ * strongly connected component is closed, it is passed to a {@link ComponentListener} as a
+ * {@link FrozenStateSpace} that contains only the component and its internal edges. Afterwards, the
+ * transitions of its configurations are released. Only the compact {@link ConfigurationStore} that
+ * identifies the visited configurations is kept for the whole exploration, so the peak number of
+ * transitions in memory is bounded by those of the open components on the depth-first search stack.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class OnTheFlyExploration {
+
+    private static final Value DEFAULT_REWARD = new Value(1.0);
+
+    // Index of configurations that have been discovered but not yet visited.
+    private static final int UNVISITED = -1;
+
+    private OnTheFlyExploration() {
+        // Empty for utility classes
+    }
+
+    /**
+     * Listener that is notified of each closed strongly connected component.
+     */
+    @FunctionalInterface
+    public interface ComponentListener {
+
+        /**
+         * Called when a strongly connected component with at least one edge has been closed.
+         * The component must not be used after this method returns if its memory should be released.
+         *
+         * @param component component with its internal transitions
+         */
+        void componentClosed(FrozenStateSpace component);
+    }
+
+    /**
+     * Explore the normalized max-plus state space, where the reward of each edge event is given by
+     * {@code DEFAULT_REWARD}, and report each strongly connected component with at least one edge.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param listener   listener that is notified of the components
+     * @return number of explored configurations
+     */
+    public static <V, E> int explore(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, ComponentListener listener) {
+        return explore(fsm, vectorSize, matrices, new HashMap<>(), listener);
+    }
+
+    /**
+     * Explore the normalized max-plus state space and report each strongly connected component with at
+     * least one edge. The components are reported in reverse topological order.
+     *
+     * @param fsm        finite-state machine
+     * @param vectorSize size of the starting vector
+     * @param matrices   mapping of edge label to a corresponding matrix
+     * @param rewardMap  mapping of edge label to a reward
+     * @param listener   listener that is notified of the components
+     * @return number of explored configurations
+     */
+    public static <V, E> int explore(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ComponentListener listener) {
+        return explore(fsm, vectorSize, matrices, rewardMap, listener, ExplorationListener.NONE);
+    }
+
+    /**
+     * Explore the normalized max-plus state space and report each strongly connected component with at
+     * least one edge. The progress is reported to the exploration listener every
+     * {@code ComputeStateSpace.PROGRESS_INTERVAL} visited configurations, and the number of components is
+     * reported when the exploration has finished.
+     *
+     * @param fsm                 finite-state machine
+     * @param vectorSize          size of the starting vector
+     * @param matrices            mapping of edge label to a corresponding matrix
+     * @param rewardMap           mapping of edge label to a reward
+     * @param listener            listener that is notified of the components
+     * @param explorationListener listener that is notified of the progress
+     * @return number of explored configurations
+     */
+    public static <V, E> int explore(FSM<V, E> fsm, Integer vectorSize, Map<String, Matrix> matrices, Map<String, Value> rewardMap, ComponentListener listener, ExplorationListener explorationListener) {
+        return new Search<>(fsm, vectorSize, CSRMatrix.compress(matrices), rewardMap, listener, explorationListener).run();
+    }
+
+    /**
+     * Outgoing transitions of a configuration on the Tarjan stack.
+     */
+    private static final class OpenState {
+        private final int[] targets;
+        private final int[] events;
+        private final double[] rewards;
+        private final double[] durations;
+
+        // Next transition to visit in the depth-first search.
+        private int next;
+
+        private OpenState(int size) {
+            targets = new int[size];
+            events = new int[size];
+            rewards = new double[size];
+            durations = new double[size];
+        }
+    }
+
+    private static final class Search<V, E> {
+        private final FSM<V, E> fsm;
+        private final int vectorSize;
+        private final Map<String, Matrix> eventMatrices;
+        private final Map<String, Value> rewardMap;
+        private final ComponentListener listener;
+        private final ExplorationListener explorationListener;
+        private final boolean instrumented;
+        private final long start;
+
+        private final ConfigurationStore store;
+        private final Map<V, Integer> locationIds = new HashMap<>();
+        private final List<V> locations = new ArrayList<>();
+        private final Map<String, Integer> eventIds = new HashMap<>();
+        private final List<String> events = new ArrayList<>();
+
+        // Tarjan state per configuration id.
+        private int[] index = new int[16];
+        private int[] lowlink = new int[16];
+        private boolean[] onStack = new boolean[16];
+        private int[] localId = new int[16];
+        private final Map<Integer, OpenState> open = new HashMap<>();
+        private int counter = 0;
+
+        // Statistics for the exploration listener.
+        private long transitionCount = 0;
+        private int componentCount = 0;
+        private int cyclicCount = 0;
+
+        private final double[] x;
+        private final double[] newVector;
+
+        Search(FSM<V, E> fsm, int vectorSize, Map<String, Matrix> eventMatrices, Map<String, Value> rewardMap,
+               ComponentListener listener, ExplorationListener explorationListener) {
+            this.fsm = fsm;
+            this.vectorSize = vectorSize;
+            this.eventMatrices = eventMatrices;
+            this.rewardMap = rewardMap;
+            this.listener = listener;
+            this.explorationListener = explorationListener;
+            instrumented = explorationListener != ExplorationListener.NONE;
+            start = instrumented ? System.nanoTime() : 0L;
+            store = new ConfigurationStore(vectorSize);
+            x = new double[vectorSize];
+            newVector = new double[vectorSize];
+        }
+
+        int run() {
+            // Start with the zero vector and the initial FSMImpl state.
+            double[] vInitial = new double[vectorSize];
+            int initial = discover(fsm.getInitial(), vInitial);
+
+            Deque<Integer> tarjanStack = new ArrayDeque<>();
+            Deque<Integer> callStack = new ArrayDeque<>();
+            visit(initial, tarjanStack, callStack);
+
+            while (!callStack.isEmpty()) {
+                int v = callStack.peek();
+                OpenState state = open.get(v);
+                if (state.next < state.targets.length) {
+                    int w = state.targets[state.next++];
+                    if (index[w] == UNVISITED) {
+                        visit(w, tarjanStack, callStack);
+                    } else if (onStack[w]) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                } else {
+                    callStack.pop();
+                    if (!callStack.isEmpty()) {
+                        int u = callStack.peek();
+                        lowlink[u] = Math.min(lowlink[u], lowlink[v]);
+                    }
+                    if (lowlink[v] == index[v]) {
+                        closeComponent(v, tarjanStack);
+                    }
+                }
+            }
+            if (instrumented) {
+                explorationListener.explorationFinished(ComputeStateSpace.statistics(counter, store, transitionCount, start));
+                explorationListener.componentsComputed(componentCount, cyclicCount);
+            }
+            return store.size();
+        }
+
+        /**
+         * Return the id of the given configuration, adding it to the store if it is new.
+         */
+        private int discover(V location, double[] vector) {
+            int locationId = locationIds.computeIfAbsent(location, l -> {
+                locations.add(l);
+                return locations.size() - 1;
+            });
+            int size = store.size();
+            int id = store.intern(locationId, vector);
+            if (id == size) {
+                if (id == index.length) {
+                    int capacity = 2 * index.length;
+                    index = Arrays.copyOf(index, capacity);
+                    lowlink = Arrays.copyOf(lowlink, capacity);
+                    onStack = Arrays.copyOf(onStack, capacity);
+                    localId = Arrays.copyOf(localId, capacity);
+                }
+                index[id] = UNVISITED;
+                localId[id] = -1;
+            }
+            return id;
+        }
+
+        /**
+         * Visit a configuration: compute its outgoing transitions and push it on both stacks.
+         */
+        private void visit(int id, Deque<Integer> tarjanStack, Deque<Integer> callStack) {
+            if (instrumented && counter % ComputeStateSpace.PROGRESS_INTERVAL == 0 && counter > 0) {
+                explorationListener.explorationProgress(ComputeStateSpace.statistics(counter, store, transitionCount, start));
+            }
+            index[id] = counter;
+            lowlink[id] = counter;
+            counter++;
+            tarjanStack.push(id);
+            onStack[id] = true;
+            callStack.push(id);
+
+            V location = locations.get(store.getLocation(id));
+            Collection<E> edges = fsm.outgoingEdgesOf(location);
+            OpenState state = new OpenState(edges.size());
+            int i = 0;
+            for (E e : edges) {
+                // Compute new normalized vector.
+                String event = fsm.getEvent(e);
+                store.getVector(id, x);
+                eventMatrices.get(event).multiply(x, newVector);
+                double norm = MaxPlus.normalize(newVector, newVector);
+
+                state.targets[i] = discover(fsm.getEdgeTarget(e), newVector);
+                state.events[i] = eventIds.computeIfAbsent(event, ev -> {
+                    events.add(ev);
+                    return events.size() - 1;
+                });
+                state.rewards[i] = rewardMap.getOrDefault(event, DEFAULT_REWARD).getValue();
+                state.durations[i] = norm;
+                i++;
+            }
+            open.put(id, state);
+            transitionCount += state.targets.length;
+        }
+
+        /**
+         * Pop the component with root {@code root} from the Tarjan stack, report it and release its transitions.
+         */
+        private void closeComponent(int root, Deque<Integer> tarjanStack) {
+            List<Integer> members = new ArrayList<>();
+            int w;
+            do {
+                w = tarjanStack.pop();
+                onStack[w] = false;
+                localId[w] = members.size();
+                members.add(w);
+            } while (w != root);
+
+            // Collect the internal transitions in CSR format.
+            int edgeCount = 0;
+            for (int v : members) {
+                for (int target : open.get(v).targets) {
+                    if (localId[target] >= 0) {
+                        edgeCount++;
+                    }
+                }
+            }
+
+            componentCount++;
+            if (edgeCount > 0) {
+                cyclicCount++;
+                Configuration[] configurations = new Configuration[members.size()];
+                int[] outOffsets = new int[members.size() + 1];
+                int[] sources = new int[edgeCount];
+                int[] targets = new int[edgeCount];
+                double[] rewards = new double[edgeCount];
+                double[] durations = new double[edgeCount];
+                int[] edgeEvents = new int[edgeCount];
+                int edge = 0;
+                for (int local = 0; local < members.size(); local++) {
+                    int v = members.get(local);
+                    configurations[local] = new Configuration<>(locations.get(store.getLocation(v)), store.getVector(v));
+                    outOffsets[local] = edge;
+                    OpenState state = open.get(v);
+                    for (int i = 0; i < state.targets.length; i++) {
+                        if (localId[state.targets[i]] >= 0) {
+                            sources[edge] = local;
+                            targets[edge] = localId[state.targets[i]];
+                            rewards[edge] = state.rewards[i];
+                            durations[edge] = state.durations[i];
+                            edgeEvents[edge] = state.events[i];
+                            edge++;
+                        }
+                    }
+                }
+                outOffsets[members.size()] = edge;
+                listener.componentClosed(new FrozenStateSpace(configurations, -1, outOffsets, sources, targets,
+                        rewards, durations, edgeEvents, events.toArray(new String[0])));
+            }
+
+            // Release the transitions of the component.
+            for (int v : members) {
+                localId[v] = -1;
+                open.remove(v);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algebra.Vector;
+import org.ludus.backend.fsm.FSM;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Multi-threaded exploration of a max-plus state space.
+ * <p>
+ * Each configuration is expanded by a fork-join task. New configurations are forked as new tasks onto the
+ * deque of the worker that found them, and idle workers steal tasks from the other deques. The visited set
+ * is a {@link ConcurrentHashMap} that maps each configuration to its canonical instance. Tasks are
+ * {@link CountedCompleter}s that never join, so the stack depth does not grow with the depth of the
+ * state space. The state space is assembled on the calling thread once all tasks are complete.
+ * </p>
+ *
+ * @param <V> location type
+ * @param <E> edge type
+ * @author Bram van der Sanden
+ */
+final class ParallelExploration<V, E> {
+
+    private final FSM<V, E> fsm;
+    private final Map<String, Matrix> eventMatrices;
+    private final Map<String, Value> rewardMap;
+    private final Value defaultReward;
+
+    // Visited set, mapping each configuration to its canonical instance.
+    private final ConcurrentHashMap<Configuration<V>, Configuration<V>> visited = new ConcurrentHashMap<>();
+    private final Queue<Transition> transitions = new ConcurrentLinkedQueue<>();
+
+    ParallelExploration(FSM<V, E> fsm, Map<String, Matrix> eventMatrices, Map<String, Value> rewardMap, Value defaultReward) {
+        this.fsm = fsm;
+        this.eventMatrices = eventMatrices;
+        this.rewardMap = rewardMap;
+        this.defaultReward = defaultReward;
+    }
+
+    /**
+     * Explore the state space from the given initial configuration.
+     *
+     * @param cInitial    initial configuration
+     * @param parallelism number of worker threads
+     * @return max plus state space
+     */
+    MaxPlusStateSpace explore(Configuration<V> cInitial, int parallelism) {
+        visited.put(cInitial, cInitial);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ExpandTask(null, cInitial));
+        } finally {
+            pool.shutdown();
+        }
+
+        MaxPlusStateSpace S = new MaxPlusStateSpace();
+        for (Configuration<V> c : visited.keySet()) {
+            S.addConfiguration(c);
+        }
+        S.setInitialConfiguration(cInitial);
+        for (Transition t : transitions) {
+            S.addTransition(t);
+        }
+        return S;
+    }
+
+    /**
+     * Task that computes the successors of a single configuration.
+     */
+    private final class ExpandTask extends CountedCompleter<Void> {
+        private static final long serialVersionUID = -3046931384613185217L;
+
+        private final Configuration<V> configuration;
+
+        ExpandTask(CountedCompleter<?> parent, Configuration<V> configuration) {
+            super(parent);
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void compute() {
+            Configuration<V> c = configuration;
+            for (E e : fsm.outgoingEdgesOf(c.getLocation())) {
+                // Compute new normalized vector.
+                String event = fsm.getEvent(e);
+                Vector newVector = eventMatrices.get(event).multiply(c.getVector());
+                Configuration<V> cNew = new Configuration<>(fsm.getEdgeTarget(e), newVector.normalize());
+
+                // Add the configuration to the visited set, and expand it if it is new.
+                Configuration<V> cTarget = visited.putIfAbsent(cNew, cNew);
+                if (cTarget == null) {
+                    cTarget = cNew;
+                    addToPendingCount(1);
+                    new ExpandTask(this, cNew).fork();
+                }
+
+                // Add transition to new configuration.
+                Value duration = newVector.getNorm();
+                Value reward = rewardMap.getOrDefault(event, defaultReward);
+                transitions.add(new Transition(c, event, reward, duration, cTarget));
+            }
+            tryComplete();
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algorithms.IndexedTarjan;
+import org.ludus.backend.graph.DoubleWeightedGraph;
+import org.ludus.backend.graph.SingleWeightedGraph;
+
+import java.util.*;
+
+/**
+ * Decomposition of an indexed state space into strongly connected components.
+ * <p>
+ * Each vertex is assigned a component id. The vertices are permuted such that the vertices of component
+ * {@code c} are stored consecutively at positions {@code getComponentStart(c)} until
+ * {@code getComponentEnd(c)} of the vertex order. {@link #getComponent(int)} returns a view of a single
+ * component that only keeps the edges inside it, without copying the state space.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class SCCDecomposition {
+
+    private final IndexedStateSpace graph;
+
+    // Component id per vertex, and the vertices ordered by component.
+    private final IndexedTarjan sccs;
+
+    // Number of edges inside each component.
+    private final int[] edgeCounts;
+
+    private SCCDecomposition(IndexedStateSpace graph, IndexedTarjan sccs, int[] edgeCounts) {
+        this.graph = graph;
+        this.sccs = sccs;
+        this.edgeCounts = edgeCounts;
+    }
+
+    /**
+     * Compute the strongly connected components of the given state space.
+     *
+     * @param graph indexed state space
+     * @return decomposition of the state space
+     */
+    public static SCCDecomposition of(IndexedStateSpace graph) {
+        IndexedTarjan sccs = IndexedTarjan.of(graph);
+
+        int[] edgeCounts = new int[sccs.getComponentCount()];
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            int c = sccs.getComponentOf(graph.getSource(e));
+            if (sccs.getComponentOf(graph.getTarget(e)) == c) {
+                edgeCounts[c]++;
+            }
+        }
+        return new SCCDecomposition(graph, sccs, edgeCounts);
+    }
+
+    public int getComponentCount() {
+        return edgeCounts.length;
+    }
+
+    /**
+     * Return the component id of the given vertex.
+     *
+     * @param vertex vertex id
+     * @return component id
+     */
+    public int getComponentOf(int vertex) {
+        return sccs.getComponentOf(vertex);
+    }
+
+    public int getComponentStart(int component) {
+        return sccs.getComponentStart(component);
+    }
+
+    public int getComponentEnd(int component) {
+        return sccs.getComponentEnd(component);
+    }
+
+    /**
+     * Return the vertex at the given position of the vertex order.
+     *
+     * @param position position in the vertex order
+     * @return vertex id
+     */
+    public int getVertex(int position) {
+        return sccs.getVertex(position);
+    }
+
+    /**
+     * Return the number of edges between vertices of the given component.
+     *
+     * @param component component id
+     * @return number of edges inside the component
+     */
+    public int getEdgeCount(int component) {
+        return edgeCounts[component];
+    }
+
+    /**
+     * Return a view of the given component, containing its vertices and the edges between them.
+     *
+     * @param component component id
+     * @return view of the component
+     */
+    public Component getComponent(int component) {
+        return new Component(component);
+    }
+
+    /**
+     * View of a single strongly connected component of the state space.
+     */
+    public final class Component implements SingleWeightedGraph<Integer, Integer, Double>, DoubleWeightedGraph<Integer, Integer, Double> {
+
+        private static final long serialVersionUID = -6423410713315768425L;
+
+        private final int component;
+
+        private Component(int component) {
+            this.component = component;
+        }
+
+        private boolean isInternal(int edge) {
+            return sccs.getComponentOf(graph.getSource(edge)) == component
+                    && sccs.getComponentOf(graph.getTarget(edge)) == component;
+        }
+
+        @Override
+        public Double getWeight1(Integer edge) {
+            return graph.getReward(edge);
+        }
+
+        @Override
+        public Double getWeight2(Integer edge) {
+            return graph.getDuration(edge);
+        }
+
+        @Override
+        public Double getWeight(Integer edge) {
+            return graph.getDuration(edge);
+        }
+
+        @Override
+        public Set<Integer> getVertices() {
+            int start = sccs.getComponentStart(component);
+            int end = sccs.getComponentEnd(component);
+            return new AbstractSet<Integer>() {
+                @Override
+                public boolean contains(Object o) {
+                    return o instanceof Integer && sccs.getComponentOf((Integer) o) == component;
+                }
+
+                @Override
+                public Iterator<Integer> iterator() {
+                    return new Iterator<Integer>() {
+                        private int next = start;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < end;
+                        }
+
+                        @Override
+                        public Integer next() {
+                            if (next >= end) {
+                                throw new NoSuchElementException();
+                            }
+                            return sccs.getVertex(next++);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return end - start;
+                }
+            };
+        }
+
+        @Override
+        public Set<Integer> getEdges() {
+            return new AbstractSet<Integer>() {
+                @Override
+                public boolean contains(Object o) {
+                    return o instanceof Integer && isInternal((Integer) o);
+                }
+
+                @Override
+                public Iterator<Integer> iterator() {
+                    return getVertices().stream().flatMap(v -> outgoingEdgesOf(v).stream()).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return edgeCounts[component];
+                }
+            };
+        }
+
+        @Override
+        public Collection<Integer> incomingEdgesOf(Integer vertex) {
+            return filter(graph.incomingEdgesOf(vertex));
+        }
+
+        @Override
+        public Collection<Integer> outgoingEdgesOf(Integer vertex) {
+            return filter(graph.outgoingEdgesOf(vertex));
+        }
+
+        private Collection<Integer> filter(Collection<Integer> edges) {
+            List<Integer> result = new ArrayList<>();
+            for (Integer e : edges) {
+                if (isInternal(e)) {
+                    result.add(e);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Integer getEdgeSource(Integer edge) {
+            return graph.getSource(edge);
+        }
+
+        @Override
+        public Integer getEdgeTarget(Integer edge) {
+            return graph.getTarget(edge);
+        }
+
+        @Override
+        public Integer getEdge(Integer source, Integer target) {
+            if (sccs.getComponentOf(target) != component) {
+                return null;
+            }
+            return graph.getEdge(source, target);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Order in which the configurations of a bounded exploration are expanded.
+ * <p>
+ * A search order creates the {@link Frontier} of an exploration, which holds the configurations that have
+ * been found but not yet expanded. Each configuration is added with a priority, which is the norm of the
+ * transition by which it was found. Breadth-first order finds short witnesses, depth-first order reaches
+ * deep configurations with a small frontier, and best-first order follows the heaviest transitions first,
+ * which finds critical cycles early and thus gives good bounds when the exploration is stopped early.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ * @see ComputeStateSpace#computeBoundedStateSpace(org.ludus.backend.fsm.FSM, Integer, java.util.Map, java.util.Map, ExplorationBudget, SearchOrder)
+ */
+@FunctionalInterface
+public interface SearchOrder {
+
+    /**
+     * Expand the configurations in order of discovery.
+     */
+    SearchOrder BREADTH_FIRST = Frontiers.Queue::new;
+
+    /**
+     * Expand the most recently found configuration first.
+     */
+    SearchOrder DEPTH_FIRST = Frontiers.Stack::new;
+
+    /**
+     * Expand the configuration with the highest priority first, that is, the configuration that was found
+     * by the transition with the largest norm. Ties are broken in order of discovery.
+     */
+    SearchOrder BEST_FIRST = () -> new Frontiers.Beam(Integer.MAX_VALUE);
+
+    /**
+     * Return a best-first order whose frontier holds at most the given number of configurations. If the
+     * frontier is full, the configuration with the lowest priority is dropped and is never expanded, so
+     * the exploration is incomplete.
+     *
+     * @param width maximal size of the frontier
+     * @return memory-bounded beam order
+     */
+    static SearchOrder beam(int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Beam width must be positive.");
+        }
+        return () -> new Frontiers.Beam(width);
+    }
+
+    /**
+     * Create an empty frontier.
+     *
+     * @return frontier
+     */
+    Frontier createFrontier();
+
+    /**
+     * Configurations that have been found but not yet expanded.
+     */
+    interface Frontier {
+
+        /**
+         * Add a newly found configuration.
+         *
+         * @param id       configuration id
+         * @param priority norm of the transition by which the configuration was found
+         */
+        void add(int id, double priority);
+
+        /**
+         * Remove the next configuration to expand.
+         *
+         * @return configuration id
+         */
+        int remove();
+
+        boolean isEmpty();
+
+        int size();
+
+        /**
+         * Return the number of configurations that have been dropped from the frontier without being expanded.
+         *
+         * @return number of dropped configurations
+         */
+        default int getDroppedCount() {
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.ludus.backend.statespace;
+
+/**
+ * Canonicalization of normalized vectors before they are compared during exploration.
+ * <p>
+ * Repeated normalization accumulates floating-point rounding errors, so configurations that are
+ * semantically equal may have vectors that differ in the last bits, or in the sign of a zero entry. Such
+ * configurations are not equal according to {@link org.ludus.backend.algebra.Vector#equals(Object)}, and the
+ * exploration may not terminate. The canonicalizer rounds each finite entry to the nearest multiple of a
+ * resolution and replaces {@code -0.0} by {@code 0.0}, so that these configurations are merged.
+ * </p>
+ * <p>
+ * The canonicalizer counts the number of configurations that were merged in the explorations it has been
+ * used in. A configuration is counted if its vector before canonicalization differs from the vectors of
+ * all other configurations, while its canonical vector is equal to that of a configuration found earlier.
+ * The count is based on 64-bit fingerprints of the original vectors, so it may be slightly too low in
+ * the unlikely case of a fingerprint collision. This class is not thread-safe.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class VectorCanonicalizer {
+
+    private final double resolution;
+    private long mergedCount = 0;
+
+    /**
+     * Create a canonicalizer.
+     *
+     * @param resolution positive resolution to which the vector entries are rounded
+     */
+    public VectorCanonicalizer(double resolution) {
+        if (!(resolution > 0.0) || Double.isInfinite(resolution)) {
+            throw new IllegalArgumentException("Resolution must be positive and finite.");
+        }
+        this.resolution = resolution;
+    }
+
+    public double getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Return the number of merged configurations.
+     *
+     * @return number of configurations that were merged with an earlier configuration
+     */
+    public long getMergedCount() {
+        return mergedCount;
+    }
+
+    void addMerged(long count) {
+        mergedCount += count;
+    }
+
+    /**
+     * Round the finite entries of a vector to the resolution, in place. Infinite entries are kept.
+     *
+     * @param vector vector to canonicalize
+     */
+    public void canonicalize(double[] vector) {
+        for (int i = 0; i < vector.length; i++) {
+            double v = vector[i];
+            if (!Double.isInfinite(v)) {
+                // Adding zero turns -0.0 into 0.0.
+                vector[i] = Math.rint(v / resolution) * resolution + 0.0;
+            }
+        }
+    }
+
+}
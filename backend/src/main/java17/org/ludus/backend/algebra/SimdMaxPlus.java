@@ -0,0 +1,67 @@
+package org.ludus.backend.algebra;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD max-plus kernels built on the incubating JDK Vector API.
+ * <p>
+ * The kernels are only available when the {@code jdk.incubator.vector} module has been added to the
+ * JVM, e.g. with {@code --add-modules jdk.incubator.vector}. Otherwise, the scalar kernels of
+ * {@link MaxPlus} are used. The Vector API classes are only referenced from {@link Kernel}, such that
+ * this class can be loaded when the module is absent.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+final class SimdMaxPlus {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private SimdMaxPlus() {
+        // Empty for utility classes
+    }
+
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    static void multiply(double[] matrix, int rows, int columns, double[] x, double[] result) {
+        if (AVAILABLE) {
+            Kernel.multiply(matrix, rows, columns, x, result);
+        } else {
+            MaxPlus.multiplyScalar(matrix, rows, columns, x, result);
+        }
+    }
+
+    private static final class Kernel {
+
+        private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+        /**
+         * Compute {@code result = (A ⊗ x) ⊕ x} over double lanes. Each row is reduced with a lane-wise
+         * maximum of {@code A[i][j] + x[j]}, and the remaining columns are handled by a scalar loop.
+         */
+        static void multiply(double[] matrix, int rows, int columns, double[] x, double[] result) {
+            assert (x != result);
+            int bound = SPECIES.loopBound(columns);
+            for (int i = 0; i < rows; i++) {
+                int offset = i * columns;
+                DoubleVector max = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+                int j = 0;
+                for (; j < bound; j += SPECIES.length()) {
+                    DoubleVector a = DoubleVector.fromArray(SPECIES, matrix, offset + j);
+                    DoubleVector b = DoubleVector.fromArray(SPECIES, x, j);
+                    max = max.max(a.add(b));
+                }
+                double newVal = Math.max(x[i], max.reduceLanes(VectorOperators.MAX));
+                for (; j < columns; j++) {
+                    newVal = Math.max(newVal, x[j] + matrix[offset + j]);
+                }
+                result[i] = newVal;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package org.ludus.backend.statespace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Exploration listener that emits JDK Flight Recorder events.
+ * <p>
+ * The progress of an exploration is recorded as {@code org.ludus.ExplorationProgress} events, the end of
+ * an exploration as an {@code org.ludus.ExplorationFinished} event, the decomposition of the state space
+ * as an {@code org.ludus.ComponentsComputed} event, and the analysis of each strongly connected component as
+ * an {@code org.ludus.ComponentAnalyzed} event. The events are only committed when
+ * they are enabled in the recording. The Flight Recorder classes are only referenced from {@link Events},
+ * such that this class can be loaded when the {@code jdk.jfr} module is absent.
+ * </p>
+ *
+ * @author Bram van der Sanden
+ */
+public final class JfrExplorationListener implements ExplorationListener {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /**
+     * Return whether the listener emits Flight Recorder events on this JVM.
+     *
+     * @return true if and only if events are emitted
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    @Override
+    public void explorationProgress(ExplorationStatistics statistics) {
+        if (AVAILABLE) {
+            Events.progress(new Events.ExplorationProgress(), statistics);
+        }
+    }
+
+    @Override
+    public void explorationFinished(ExplorationStatistics statistics) {
+        if (AVAILABLE) {
+            Events.progress(new Events.ExplorationFinished(), statistics);
+        }
+    }
+
+    @Override
+    public void componentsComputed(int componentCount, int cyclicCount) {
+        if (AVAILABLE) {
+            Events.componentsComputed(componentCount, cyclicCount);
+        }
+    }
+
+    @Override
+    public void componentAnalyzed(int component, int vertexCount, int edgeCount, int iterations) {
+        if (AVAILABLE) {
+            Events.componentAnalyzed(component, vertexCount, edgeCount, iterations);
+        }
+    }
+
+    private static final class Events {
+
+        static void progress(ExplorationProgress event, ExplorationStatistics statistics) {
+            if (event.shouldCommit()) {
+                event.configurations = statistics.getConfigurationCount();
+                event.frontier = statistics.getFrontierSize();
+                event.transitions = statistics.getTransitionCount();
+                event.elapsed = statistics.getElapsedNanos();
+                event.statesPerSecond = statistics.getStatesPerSecond();
+                event.loadFactor = statistics.getLoadFactor();
+                event.heapPerState = (long) statistics.getHeapPerState();
+                event.commit();
+            }
+        }
+
+        static void componentsComputed(int componentCount, int cyclicCount) {
+            ComponentsComputed event = new ComponentsComputed();
+            if (event.shouldCommit()) {
+                event.components = componentCount;
+                event.cyclicComponents = cyclicCount;
+                event.commit();
+            }
+        }
+
+        static void componentAnalyzed(int component, int vertexCount, int edgeCount, int iterations) {
+            ComponentAnalyzed event = new ComponentAnalyzed();
+            if (event.shouldCommit()) {
+                event.component = component;
+                event.vertices = vertexCount;
+                event.edges = edgeCount;
+                event.iterations = iterations;
+                event.commit();
+            }
+        }
+
+        @Name("org.ludus.ExplorationProgress")
+        @Label("Exploration Progress")
+        @Category({"Ludus", "State Space"})
+        static class ExplorationProgress extends Event {
+            @Label("Configurations")
+            int configurations;
+
+            @Label("Frontier")
+            @Description("Configurations that have been found but not yet expanded")
+            int frontier;
+
+            @Label("Transitions")
+            long transitions;
+
+            @Label("Elapsed")
+            @Timespan(Timespan.NANOSECONDS)
+            long elapsed;
+
+            @Label("States per Second")
+            double statesPerSecond;
+
+            @Label("Load Factor")
+            @Description("Load factor of the visited set")
+            double loadFactor;
+
+            @Label("Heap per State")
+            @DataAmount
+            long heapPerState;
+        }
+
+        @Name("org.ludus.ExplorationFinished")
+        @Label("Exploration Finished")
+        @Category({"Ludus", "State Space"})
+        static final class ExplorationFinished extends ExplorationProgress {
+        }
+
+        @Name("org.ludus.ComponentsComputed")
+        @Label("Components Computed")
+        @Category({"Ludus", "State Space"})
+        static final class ComponentsComputed extends Event {
+            @Label("Components")
+            int components;
+
+            @Label("Cyclic Components")
+            @Description("Components with at least one edge")
+            int cyclicComponents;
+        }
+
+        @Name("org.ludus.ComponentAnalyzed")
+        @Label("Component Analyzed")
+        @Category({"Ludus", "State Space"})
+        static final class ComponentAnalyzed extends Event {
+            @Label("Component")
+            int component;
+
+            @Label("Vertices")
+            int vertices;
+
+            @Label("Edges")
+            int edges;
+
+            @Label("Howard Iterations")
+            int iterations;
+        }
+    }
+
+}
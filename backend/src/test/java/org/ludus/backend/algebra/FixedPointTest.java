@@ -0,0 +1,60 @@
+package org.ludus.backend.algebra;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class FixedPointTest {
+
+    private static final long NEGATIVE_INFINITY = FixedPoint.NEGATIVE_INFINITY;
+
+    @Test
+    public void testConversion() {
+        FixedPoint fixedPoint = new FixedPoint(1000);
+        assertEquals(1500L, fixedPoint.toLong(1.5));
+        assertEquals(300L, fixedPoint.toLong(0.1 + 0.2));
+        assertEquals(NEGATIVE_INFINITY, fixedPoint.toLong(Double.NEGATIVE_INFINITY));
+        assertEquals(1.5, fixedPoint.toDouble(1500L));
+        assertEquals(Double.NEGATIVE_INFINITY, fixedPoint.toDouble(NEGATIVE_INFINITY));
+        assertEquals(new Value(0.3), fixedPoint.round(new Value(0.1 + 0.2)));
+        assertThrows(IllegalArgumentException.class, () -> new FixedPoint(0));
+    }
+
+    @Test
+    public void testMultiply() {
+        Matrix m = new DenseMatrix(2, 2,
+                2.0, Double.NEGATIVE_INFINITY,
+                1.0, 0.0);
+        long[] matrix = FixedPoint.INTEGER.toArray(m);
+
+        LongVector v = LongVector.of(4, 5);
+        assertEquals(LongVector.of(6, 5), v.multiply(matrix, 2, 2));
+
+        // Negative infinity entries do not overflow.
+        LongVector w = LongVector.of(NEGATIVE_INFINITY, 3);
+        assertEquals(LongVector.of(NEGATIVE_INFINITY, 3), w.multiply(matrix, 2, 2));
+    }
+
+    @Test
+    public void testNormalize() {
+        LongVector v = LongVector.of(6, NEGATIVE_INFINITY, 4);
+        assertEquals(6L, v.getNorm());
+        assertArrayEquals(new long[]{0, NEGATIVE_INFINITY, -2}, v.normalize().toArray());
+        assertEquals(LongVector.of(0, NEGATIVE_INFINITY, -2).hashCode(), v.normalize().hashCode());
+    }
+
+    @Test
+    public void testVectorConversion() {
+        FixedPoint fixedPoint = new FixedPoint(10);
+        Vector v = new Vector(0.5, Double.NEGATIVE_INFINITY, -1.2);
+        LongVector lv = fixedPoint.toLongVector(v);
+        assertEquals(LongVector.of(5, NEGATIVE_INFINITY, -12), lv);
+        assertEquals(v, fixedPoint.toVector(lv));
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.ludus.backend.algebra;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compare the primitive max-plus kernels against the generic {@link Matrix} implementation.
+ *
+ * @author Bram van der Sanden
+ */
+public class MaxPlusTest {
+
+    private static final double NEGATIVE_INFINITY = Double.NEGATIVE_INFINITY;
+
+    private static Matrix[] randomMatrices(Random random, int size) {
+        DenseMatrix dense = new DenseMatrix(size, size);
+        SparseMatrix sparse = new SparseMatrix(size, size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (random.nextInt(3) == 0) {
+                    Value value = random.nextBoolean() ? Value.NEGATIVE_INFINITY : new Value(random.nextInt(10));
+                    dense.put(row, col, value);
+                    sparse.put(row, col, value);
+                }
+            }
+        }
+        return new Matrix[]{dense, sparse};
+    }
+
+    @Test
+    public void testMultiplyMatchesGenericMatrix() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            int size = 1 + random.nextInt(8);
+            Matrix[] matrices = randomMatrices(random, size);
+
+            Double[] entries = new Double[size];
+            for (int i = 0; i < size; i++) {
+                entries[i] = random.nextInt(4) == 0 ? NEGATIVE_INFINITY : -random.nextInt(5);
+            }
+            entries[random.nextInt(size)] = 0.0;
+            Vector v = new Vector(entries);
+
+            Vector expected = matrices[1].multiply(v);
+            Vector actual = matrices[0].multiply(v);
+            assertEquals(expected, actual);
+            assertEquals(expected.getNorm(), actual.getNorm());
+            assertEquals(expected.normalize(), actual.normalize());
+            assertEquals(expected.hashCode(), actual.hashCode());
+        }
+    }
+
+    @Test
+    public void testMultiplyInPlace() {
+        DenseMatrix m = new DenseMatrix(2, 2,
+                2.0, NEGATIVE_INFINITY,
+                1.0, 0.0);
+
+        double[] x = {4.0, 5.0};
+        double[] result = new double[2];
+        m.multiply(x, result);
+        assertArrayEquals(new double[]{6.0, 5.0}, result);
+
+        double norm = MaxPlus.normalize(result, result);
+        assertEquals(6.0, norm);
+        assertArrayEquals(new double[]{0.0, -1.0}, result);
+    }
+
+    @Test
+    public void testDefaultEntries() {
+        DenseMatrix m = new DenseMatrix(2, 2);
+        assertEquals(new Value(0.0), m.get(0, 0));
+        assertEquals(Value.NEGATIVE_INFINITY, m.get(0, 1));
+        assertArrayEquals(new double[]{0.0, NEGATIVE_INFINITY, NEGATIVE_INFINITY, 0.0}, m.toArray());
+    }
+
+    @Test
+    public void testMatrixProductMatchesGenericMatrix() {
+        Random random = new Random(7);
+        // Sizes below and above the threshold for the parallel product, and not a multiple of the tile size.
+        for (int size : new int[]{1, 3, 17, 96}) {
+            Matrix[] left = randomMatrices(random, size);
+            Matrix[] right = randomMatrices(random, size);
+
+            Matrix expected = left[1].multiply(right[1]);
+            Matrix actual = left[0].multiply(right[0]);
+            assertEquals(0, expected.compareTo(actual));
+
+            // Mixed dense and sparse operands.
+            assertEquals(0, expected.compareTo(left[0].multiply(right[1])));
+        }
+    }
+
+    @Test
+    public void testMatrixProductNegativeInfinity() {
+        double[] a = {NEGATIVE_INFINITY, NEGATIVE_INFINITY, 1.0, NEGATIVE_INFINITY};
+        double[] b = {0.0, 2.0, NEGATIVE_INFINITY, NEGATIVE_INFINITY};
+        double[] c = new double[4];
+        MaxPlus.multiply(a, b, 2, 2, 2, c);
+        assertArrayEquals(new double[]{NEGATIVE_INFINITY, NEGATIVE_INFINITY, 1.0, 3.0}, c);
+    }
+
+    @Test
+    public void testCSRMatchesGenericMatrix() {
+        Random random = new Random(11);
+        for (int size : new int[]{1, 3, 17, 40}) {
+            Matrix[] left = randomMatrices(random, size);
+            Matrix[] right = randomMatrices(random, size);
+            CSRMatrix csrLeft = CSRMatrix.of(left[1]);
+            CSRMatrix csrRight = CSRMatrix.of(right[1]);
+            assertEquals(0, left[1].compareTo(csrLeft));
+            assertArrayEquals(left[0].toArray(), csrLeft.toArray());
+
+            // Matrix-vector product.
+            Double[] entries = new Double[size];
+            for (int i = 0; i < size; i++) {
+                entries[i] = random.nextInt(4) == 0 ? NEGATIVE_INFINITY : -random.nextInt(5);
+            }
+            Vector v = new Vector(entries);
+            assertEquals(left[1].multiply(v), csrLeft.multiply(v));
+
+            // Sparse-sparse and sparse-dense matrix products.
+            Matrix expected = left[1].multiply(right[1]);
+            CSRMatrix product = csrLeft.multiply(csrRight);
+            assertEquals(0, expected.compareTo(product));
+            assertEquals(0, expected.compareTo(csrLeft.multiply(right[0])));
+        }
+    }
+
+    @Test
+    public void testCSRSkipsNegativeInfinity() {
+        Matrix m = new DenseMatrix(3, 3,
+                NEGATIVE_INFINITY, 2.0, NEGATIVE_INFINITY,
+                NEGATIVE_INFINITY, NEGATIVE_INFINITY, NEGATIVE_INFINITY,
+                1.0, NEGATIVE_INFINITY, 0.0);
+        CSRMatrix csr = CSRMatrix.of(m);
+        assertEquals(3, csr.getEntryCount());
+        assertEquals(0, csr.getRowEnd(1) - csr.getRowStart(1));
+        assertEquals(Value.NEGATIVE_INFINITY, csr.get(1, 1));
+        assertEquals(new Value(2.0), csr.get(0, 1));
+
+        double[] result = new double[3];
+        csr.multiply(new double[]{0.0, 1.0, NEGATIVE_INFINITY}, result);
+        assertArrayEquals(new double[]{3.0, 1.0, 1.0}, result);
+
+        // Mostly empty matrices are compressed, full matrices are kept.
+        assertTrue(CSRMatrix.compress(m) instanceof CSRMatrix);
+        assertTrue(CSRMatrix.compress(new DenseMatrix(1, 1)) instanceof DenseMatrix);
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.ludus.backend.algebra;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compare the SIMD kernel with the scalar kernel. The test only runs in the {@code simd} profile, whose
+ * test execution puts the Java 17 classes before the base classes on the class path and adds the
+ * {@code jdk.incubator.vector} module.
+ *
+ * @author Bram van der Sanden
+ */
+public class SimdMaxPlusTest {
+
+    private final Double negativeInfinity = Double.NEGATIVE_INFINITY;
+
+    @Test
+    public void testAvailable() {
+        assertTrue(SimdMaxPlus.isAvailable());
+        assertTrue(MaxPlus.isSimdAvailable());
+    }
+
+    /**
+     * Sizes below, at and just above multiples of every lane count, such that the scalar tail loop handles
+     * between zero and seven columns.
+     */
+    @Test
+    public void testRandomMatrices() {
+        Random random = new Random(11);
+        for (int size = 1; size <= 67; size++) {
+            for (int run = 0; run < 5; run++) {
+                double[] matrix = new double[size * size];
+                for (int k = 0; k < matrix.length; k++) {
+                    matrix[k] = random.nextInt(4) == 0 ? negativeInfinity : random.nextInt(100) - 50.0;
+                }
+                double[] x = new double[size];
+                for (int j = 0; j < size; j++) {
+                    x[j] = random.nextInt(5) == 0 ? negativeInfinity : -random.nextInt(20) + random.nextDouble();
+                }
+                assertSameProduct(matrix, size, x);
+            }
+        }
+    }
+
+    /**
+     * Rows and vectors that are entirely negative infinity, and a finite entry only in the last column,
+     * which is handled by the scalar tail loop for most lane counts.
+     */
+    @Test
+    public void testNegativeInfinity() {
+        for (int size : new int[]{1, 3, 7, 9, 17, 33}) {
+            double[] matrix = new double[size * size];
+            Arrays.fill(matrix, negativeInfinity);
+            double[] x = new double[size];
+            Arrays.fill(x, negativeInfinity);
+            assertSameProduct(matrix, size, x);
+
+            Arrays.fill(x, 0.0);
+            assertSameProduct(matrix, size, x);
+
+            matrix[size * size - 1] = 4.0;
+            x[size - 1] = 1.0;
+            assertSameProduct(matrix, size, x);
+        }
+    }
+
+    private static void assertSameProduct(double[] matrix, int size, double[] x) {
+        double[] expected = new double[size];
+        MaxPlus.multiplyScalar(matrix, size, size, x, expected);
+        double[] actual = new double[size];
+        SimdMaxPlus.multiply(matrix, size, size, x, actual);
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -2,14 +2,18 @@ package org.ludus.backend.algorithms;
 
 import org.junit.jupiter.api.Test;
 import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.IndexedSingleWeightedGraphAdapter;
 import org.ludus.backend.graph.simpleSingle.SSEdge;
 import org.ludus.backend.graph.simpleSingle.SSGraph;
 import org.ludus.backend.graph.simpleSingle.SSVertex;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Bram van der Sanden
@@ -80,4 +84,88 @@ public class BellmanFordTest {
         Tuple<Double, List<SSEdge>> result = BellmanFord.runBellmanFord(graph, v0, v2);
         assertEquals(Double.valueOf(3.0), result.getLeft());
     }
+
+    /**
+     * A stopped search returns the shortest path to a target found so far, which is at least as long as the
+     * shortest path.
+     */
+    @Test
+    public void testIndexedStop() {
+        Random random = new Random(3);
+        for (int run = 0; run < 50; run++) {
+            SSGraph graph = new SSGraph();
+            int n = 2 + random.nextInt(40);
+            SSVertex[] vertices = new SSVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SSVertex();
+                graph.addVertex(vertices[i]);
+            }
+            for (int i = 0; i + 1 < n; i++) {
+                graph.addEdge(vertices[i], vertices[i + 1], (double) random.nextInt(10));
+                int target = i + 2 + random.nextInt(n);
+                if (target < n) {
+                    graph.addEdge(vertices[i], vertices[target], (double) random.nextInt(10 * n));
+                }
+            }
+
+            IndexedSingleWeightedGraphAdapter<SSVertex, SSEdge> indexed = IndexedSingleWeightedGraphAdapter.of(graph);
+            int source = indexed.getVertexId(vertices[0]);
+            IntPredicate isTarget = v -> indexed.getOutStart(v) == indexed.getOutEnd(v);
+            Tuple<Double, List<Integer>> exact = BellmanFord.runIndexedBellmanFord(indexed, source, isTarget);
+            Tuple<Double, List<Integer>> stopped =
+                    BellmanFord.runIndexedBellmanFord(indexed, source, isTarget, () -> true);
+            assertTrue(stopped.getLeft() >= exact.getLeft());
+
+            // A path that has been found ends in the target.
+            if (!stopped.getLeft().equals(Double.POSITIVE_INFINITY)) {
+                double length = 0.0;
+                int v = source;
+                for (int e : stopped.getRight()) {
+                    assertEquals(v, indexed.getSource(e));
+                    length += indexed.getWeight(e);
+                    v = indexed.getTarget(e);
+                }
+                assertTrue(isTarget.test(v));
+                assertEquals(stopped.getLeft(), length, 1e-9);
+            }
+        }
+    }
+
+    /**
+     * A stopped search whose previous edges form a negative-weight cycle reports the cycle.
+     */
+    @Test
+    public void testIndexedStopNegativeCycle() {
+        SSGraph graph = new SSGraph();
+        SSVertex s = new SSVertex();
+        SSVertex a = new SSVertex();
+        SSVertex b = new SSVertex();
+        SSVertex t = new SSVertex();
+
+        graph.addVertex(s);
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(t);
+        // Isolated vertices, such that the search is stopped after several rounds.
+        for (int i = 0; i < 16; i++) {
+            graph.addVertex(new SSVertex());
+        }
+
+        graph.addEdge(s, a, 0.0);
+        graph.addEdge(a, b, -1.0);
+        graph.addEdge(b, a, -1.0);
+        graph.addEdge(a, t, 0.0);
+
+        IndexedSingleWeightedGraphAdapter<SSVertex, SSEdge> indexed = IndexedSingleWeightedGraphAdapter.of(graph);
+        int source = indexed.getVertexId(s);
+        IntPredicate isTarget = v -> v == indexed.getVertexId(t);
+        assertEquals(Double.valueOf(Double.NEGATIVE_INFINITY),
+                BellmanFord.runIndexedBellmanFord(indexed, source, isTarget).getLeft());
+        int[] rounds = {0};
+        Tuple<Double, List<Integer>> stopped =
+                BellmanFord.runIndexedBellmanFord(indexed, source, isTarget, () -> ++rounds[0] == 10);
+        assertEquals(10, rounds[0]);
+        assertEquals(Double.valueOf(Double.NEGATIVE_INFINITY), stopped.getLeft());
+        assertTrue(stopped.getRight().isEmpty());
+    }
 }
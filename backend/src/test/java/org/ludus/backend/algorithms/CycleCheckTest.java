@@ -49,4 +49,40 @@ public class CycleCheckTest {
         assertFalse(CycleCheck.check(graph));
     }
 
+    /**
+     * A self-loop is a cycle.
+     */
+    @Test
+    public void testSelfLoop() {
+        SSGraph graph = new SSGraph();
+        SSVertex v0 = new SSVertex();
+        SSVertex v1 = new SSVertex();
+
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+
+        graph.addEdge(v0, v1, 2.0);
+        graph.addEdge(v1, v1, 3.0);
+
+        assertTrue(CycleCheck.check(graph));
+    }
+
+    /**
+     * A long path does not overflow the stack.
+     */
+    @Test
+    public void testLongPath() {
+        SSGraph graph = new SSGraph();
+        SSVertex previous = new SSVertex();
+        graph.addVertex(previous);
+        for (int i = 0; i < 100000; i++) {
+            SSVertex v = new SSVertex();
+            graph.addVertex(v);
+            graph.addEdge(previous, v, 1.0);
+            previous = v;
+        }
+
+        assertFalse(CycleCheck.check(graph));
+    }
+
 }
@@ -2,14 +2,17 @@ package org.ludus.backend.algorithms;
 
 import org.junit.jupiter.api.Test;
 import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.IndexedSingleWeightedGraphAdapter;
 import org.ludus.backend.graph.simpleSingle.SSEdge;
 import org.ludus.backend.graph.simpleSingle.SSGraph;
 import org.ludus.backend.graph.simpleSingle.SSVertex;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Bram van der Sanden
@@ -80,4 +83,94 @@ public class DijkstraTest {
         Tuple<Double, List<SSEdge>> result = Dijkstra.runDijkstra(graph, v0, v2);
         assertEquals(Double.valueOf(3.0), result.getLeft());
     }
+
+    /**
+     * No target is reachable.
+     */
+    @Test
+    public void testUnreachable() {
+        SSGraph graph = new SSGraph();
+        SSVertex v0 = new SSVertex();
+        SSVertex v1 = new SSVertex();
+
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+
+        graph.addEdge(v1, v0, 1.0);
+
+        Tuple<Double, List<SSEdge>> result = Dijkstra.runDijkstra(graph, v0, v1);
+        assertEquals(Double.valueOf(Double.POSITIVE_INFINITY), result.getLeft());
+        assertTrue(result.getRight().isEmpty());
+    }
+
+    /**
+     * Compare the distances with those of Bellman-Ford on random graphs.
+     */
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(4);
+        for (int run = 0; run < 200; run++) {
+            SSGraph graph = new SSGraph();
+            int n = 2 + random.nextInt(40);
+            SSVertex[] vertices = new SSVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SSVertex();
+                graph.addVertex(vertices[i]);
+            }
+            // Every vertex is reachable from the source.
+            for (int i = 0; i + 1 < n; i++) {
+                graph.addEdge(vertices[i], vertices[i + 1], (double) random.nextInt(100));
+            }
+            for (int i = 0; i < 3 * n; i++) {
+                SSVertex source = vertices[random.nextInt(n)];
+                SSVertex target = vertices[random.nextInt(n)];
+                if (graph.getEdge(source, target) == null) {
+                    graph.addEdge(source, target, (double) random.nextInt(10));
+                }
+            }
+            SSVertex target = vertices[1 + random.nextInt(n - 1)];
+
+            Tuple<Double, List<SSEdge>> result = Dijkstra.runDijkstra(graph, vertices[0], target);
+            Tuple<Double, List<SSEdge>> expected = BellmanFord.runBellmanFord(graph, vertices[0], target);
+            assertEquals(expected.getLeft(), result.getLeft());
+
+            // The path leads from the source to the target and has the returned length.
+            SSVertex v = vertices[0];
+            double length = 0.0;
+            for (SSEdge e : result.getRight()) {
+                assertEquals(v, graph.getEdgeSource(e));
+                length += graph.getWeight(e);
+                v = graph.getEdgeTarget(e);
+            }
+            assertEquals(target, v);
+            assertEquals(result.getLeft(), length, 1e-9);
+        }
+    }
+
+    /**
+     * A stopped search returns the distance of the last settled vertex, which is a lower bound on the
+     * distance to the target.
+     */
+    @Test
+    public void testIndexedStop() {
+        SSGraph graph = new SSGraph();
+        int n = 3000;
+        SSVertex[] vertices = new SSVertex[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = new SSVertex();
+            graph.addVertex(vertices[i]);
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(vertices[i], vertices[i + 1], 1.0);
+        }
+
+        IndexedSingleWeightedGraphAdapter<SSVertex, SSEdge> indexed = IndexedSingleWeightedGraphAdapter.of(graph);
+        int source = indexed.getVertexId(vertices[0]);
+        assertEquals(Double.valueOf(n - 1), Dijkstra.runIndexedDijkstra(indexed, source).getLeft());
+
+        Tuple<Double, List<Integer>> stopped = Dijkstra.runIndexedDijkstra(indexed, source,
+                v -> indexed.getOutStart(v) == indexed.getOutEnd(v), () -> true);
+        assertEquals(Double.valueOf(1023.0), stopped.getLeft());
+        assertTrue(stopped.getRight().isEmpty());
+    }
 }
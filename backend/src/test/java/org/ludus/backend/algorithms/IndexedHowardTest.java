@@ -0,0 +1,140 @@
+package org.ludus.backend.algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.simpleDouble.SDEdge;
+import org.ludus.backend.graph.simpleDouble.SDGraph;
+import org.ludus.backend.graph.simpleDouble.SDVertex;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class IndexedHowardTest {
+
+    private final Double eps = 0.0005;
+
+    /**
+     * Graph with two cycles and a path towards them.
+     */
+    @Test
+    public void testDoubleCycle() {
+        SDGraph graph = new SDGraph();
+        SDVertex p0 = new SDVertex();
+        SDVertex v0 = new SDVertex();
+        SDVertex v1 = new SDVertex();
+        SDVertex v2 = new SDVertex();
+        SDVertex v3 = new SDVertex();
+
+        graph.addVertex(p0);
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+
+        graph.addEdge(p0, v0, 0.5, 8.0);
+
+        // Cycle 1.
+        graph.addEdge(v0, v1, 1.0, 1.0);
+        graph.addEdge(v1, v2, 10.0, 1.0);
+        graph.addEdge(v2, v0, 1.0, 1.0);
+
+        // Cycle 2.
+        graph.addEdge(v0, v3, 1.0, 1.0);
+        graph.addEdge(v3, v0, 2.0, 1.0);
+
+        Tuple<Double, List<SDEdge>> result = IndexedHoward.runHoward(graph, eps);
+        assertEquals(Howard.runHoward(graph, eps).getLeft(), result.getLeft());
+        assertEquals(Howard.runHoward(graph, eps).getRight(), result.getRight());
+    }
+
+    /**
+     * A vertex without outgoing edge is rejected.
+     */
+    @Test
+    public void testDeadEnd() {
+        assertThrows(IllegalArgumentException.class, () -> IndexedHoward.runHoward(3, new int[]{0, 1}, new int[]{1, 0},
+                new double[]{1.0, 1.0}, new double[]{1.0, 1.0}, eps, iterations -> {
+                }));
+    }
+
+    /**
+     * Compare the ratio, the cycle, and the number of iterations with those of Howard on random graphs
+     * without parallel edges.
+     */
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(2);
+        for (int run = 0; run < 200; run++) {
+            SDGraph graph = new SDGraph();
+            int n = 2 + random.nextInt(30);
+            SDVertex[] vertices = new SDVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SDVertex();
+                graph.addVertex(vertices[i]);
+            }
+            for (int i = 0; i < n; i++) {
+                graph.addEdge(vertices[i], vertices[(i + 1) % n], (double) random.nextInt(20), 1.0 + random.nextInt(5));
+                int target = random.nextInt(n);
+                if (target != (i + 1) % n) {
+                    graph.addEdge(vertices[i], vertices[target], (double) random.nextInt(20), 1.0 + random.nextInt(5));
+                }
+            }
+
+            int[] howardIterations = new int[1];
+            Tuple<Double, List<SDEdge>> expected = Howard.runHoward(graph, eps, i -> howardIterations[0] = i);
+            int[] iterations = new int[1];
+            Tuple<Double, List<SDEdge>> result = IndexedHoward.runHoward(graph, eps, i -> iterations[0] = i);
+            assertEquals(expected.getLeft(), result.getLeft());
+            assertEquals(expected.getRight(), result.getRight());
+            assertEquals(howardIterations[0], iterations[0]);
+        }
+    }
+
+    /**
+     * A stopped run returns a cycle of the first policy graph, whose ratio is at least the minimum cycle ratio.
+     */
+    @Test
+    public void testStop() {
+        Random random = new Random(5);
+        for (int run = 0; run < 100; run++) {
+            int n = 2 + random.nextInt(30);
+            int[] sources = new int[2 * n];
+            int[] targets = new int[2 * n];
+            double[] weight1 = new double[2 * n];
+            double[] weight2 = new double[2 * n];
+            for (int i = 0; i < 2 * n; i++) {
+                sources[i] = i % n;
+                targets[i] = i < n ? (i + 1) % n : random.nextInt(n);
+                weight1[i] = random.nextInt(20);
+                weight2[i] = 1.0 + random.nextInt(5);
+            }
+
+            Tuple<Double, List<Integer>> exact = IndexedHoward.runHoward(n, sources, targets, weight1, weight2, eps,
+                    iterations -> {
+                    });
+            int[] iterations = new int[1];
+            Tuple<Double, List<Integer>> stopped = IndexedHoward.runHoward(n, sources, targets, weight1, weight2,
+                    eps, i -> iterations[0] = i, () -> true);
+            assertEquals(1, iterations[0]);
+            assertTrue(stopped.getLeft() >= exact.getLeft() - eps);
+
+            // The result is a cycle with the reported ratio.
+            List<Integer> cycle = stopped.getRight();
+            double sum = 0.0;
+            double length = 0.0;
+            for (int i = 0; i < cycle.size(); i++) {
+                assertEquals(targets[cycle.get(i)], sources[cycle.get((i + 1) % cycle.size())]);
+                sum += weight1[cycle.get(i)];
+                length += weight2[cycle.get(i)];
+            }
+            assertEquals(stopped.getLeft(), sum / length, 1e-9);
+        }
+    }
+}
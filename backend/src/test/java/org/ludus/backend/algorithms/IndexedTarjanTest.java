@@ -0,0 +1,132 @@
+package org.ludus.backend.algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.graph.IndexedGraph;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class IndexedTarjanTest {
+
+    /**
+     * A single cycle through many vertices does not overflow the stack.
+     */
+    @Test
+    public void testLongCycle() {
+        int n = 1000000;
+        int[] outStart = new int[n + 1];
+        int[] targets = new int[n];
+        for (int v = 0; v < n; v++) {
+            outStart[v + 1] = v + 1;
+            targets[v] = (v + 1) % n;
+        }
+
+        IndexedTarjan sccs = IndexedTarjan.of(graph(n, outStart, targets));
+        assertEquals(1, sccs.getComponentCount());
+        assertEquals(n, sccs.getComponentEnd(0));
+        // The root of the component is popped last.
+        assertEquals(0, sccs.getVertex(n - 1));
+    }
+
+    /**
+     * Compare the components with mutual reachability on random graphs, and check that the components are
+     * found in reverse topological order.
+     */
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(3);
+        for (int run = 0; run < 200; run++) {
+            int n = 1 + random.nextInt(25);
+            int[] outStart = new int[n + 1];
+            int[] targets = new int[2 * n];
+            int m = 0;
+            for (int v = 0; v < n; v++) {
+                int degree = random.nextInt(3);
+                for (int i = 0; i < degree; i++) {
+                    targets[m++] = random.nextInt(n);
+                }
+                outStart[v + 1] = m;
+            }
+
+            // Transitive closure.
+            boolean[][] reachable = new boolean[n][n];
+            for (int v = 0; v < n; v++) {
+                reachable[v][v] = true;
+                for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+                    reachable[v][targets[i]] = true;
+                }
+            }
+            for (int k = 0; k < n; k++) {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        reachable[i][j] |= reachable[i][k] && reachable[k][j];
+                    }
+                }
+            }
+
+            IndexedTarjan sccs = IndexedTarjan.of(graph(n, outStart, targets));
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    boolean same = sccs.getComponentOf(u) == sccs.getComponentOf(v);
+                    assertEquals(reachable[u][v] && reachable[v][u], same);
+                }
+                for (int i = outStart[u]; i < outStart[u + 1]; i++) {
+                    assertTrue(sccs.getComponentOf(targets[i]) <= sccs.getComponentOf(u));
+                }
+            }
+            for (int c = 0; c < sccs.getComponentCount(); c++) {
+                for (int p = sccs.getComponentStart(c); p < sccs.getComponentEnd(c); p++) {
+                    assertEquals(c, sccs.getComponentOf(sccs.getVertex(p)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexed graph over the given outgoing edge offsets and edge targets.
+     */
+    private static IndexedGraph graph(int vertexCount, int[] outStart, int[] targets) {
+        int[] sources = new int[outStart[vertexCount]];
+        for (int v = 0; v < vertexCount; v++) {
+            for (int i = outStart[v]; i < outStart[v + 1]; i++) {
+                sources[i] = v;
+            }
+        }
+        return new IndexedGraph() {
+            @Override
+            public int getVertexCount() {
+                return vertexCount;
+            }
+
+            @Override
+            public int getEdgeCount() {
+                return sources.length;
+            }
+
+            @Override
+            public int getOutStart(int vertex) {
+                return outStart[vertex];
+            }
+
+            @Override
+            public int getOutEnd(int vertex) {
+                return outStart[vertex + 1];
+            }
+
+            @Override
+            public int getSource(int edge) {
+                return sources[edge];
+            }
+
+            @Override
+            public int getTarget(int edge) {
+                return targets[edge];
+            }
+        };
+    }
+}
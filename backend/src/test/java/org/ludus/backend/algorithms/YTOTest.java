@@ -0,0 +1,207 @@
+package org.ludus.backend.algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.graph.simpleDouble.SDEdge;
+import org.ludus.backend.graph.simpleDouble.SDGraph;
+import org.ludus.backend.graph.simpleDouble.SDVertex;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class YTOTest {
+
+    private final Double eps = 0.0005;
+
+    /**
+     * Graph with only a cycle.
+     */
+    @Test
+    public void testSimpleCycle() {
+        SDGraph graph = new SDGraph();
+        SDVertex v0 = new SDVertex();
+        SDVertex v1 = new SDVertex();
+        SDVertex v2 = new SDVertex();
+
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+
+        SDEdge e1 = graph.addEdge(v0, v1, 1.0, 1.0);
+        SDEdge e2 = graph.addEdge(v1, v2, 10.0, 1.0);
+        SDEdge e3 = graph.addEdge(v2, v0, 1.0, 1.0);
+
+        List<SDEdge> cycle = YTO.runYTO(graph).getRight();
+        assertEquals(4.0, (double) YTO.runYTO(graph).getLeft(), eps);
+        assertEquals(3, cycle.size());
+        assertTrue(cycle.contains(e1));
+        assertTrue(cycle.contains(e2));
+        assertTrue(cycle.contains(e3));
+    }
+
+    /**
+     * Graph with two cycles and a path towards them.
+     */
+    @Test
+    public void testDoubleCycle() {
+        SDGraph graph = new SDGraph();
+        SDVertex p0 = new SDVertex();
+        SDVertex v0 = new SDVertex();
+        SDVertex v1 = new SDVertex();
+        SDVertex v2 = new SDVertex();
+        SDVertex v3 = new SDVertex();
+
+        graph.addVertex(p0);
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addVertex(v3);
+
+        graph.addEdge(p0, v0, 0.5, 8.0);
+
+        // Cycle 1.
+        graph.addEdge(v0, v1, 1.0, 1.0);
+        graph.addEdge(v1, v2, 10.0, 1.0);
+        graph.addEdge(v2, v0, 1.0, 1.0);
+
+        // Cycle 2.
+        SDEdge e1 = graph.addEdge(v0, v3, 1.0, 1.0);
+        SDEdge e2 = graph.addEdge(v3, v0, 2.0, 1.0);
+
+        List<SDEdge> cycle = YTO.runYTO(graph).getRight();
+        assertEquals(1.5, (double) YTO.runYTO(graph).getLeft(), eps);
+        assertEquals(2, cycle.size());
+        assertTrue(cycle.contains(e1));
+        assertTrue(cycle.contains(e2));
+    }
+
+    /**
+     * Graph without cycles.
+     */
+    @Test
+    public void testAcyclic() {
+        SDGraph graph = new SDGraph();
+        SDVertex v0 = new SDVertex();
+        SDVertex v1 = new SDVertex();
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+        graph.addEdge(v0, v1, 1.0, 1.0);
+
+        assertEquals(Double.NEGATIVE_INFINITY, (double) YTO.runYTO(graph).getLeft());
+        assertNull(YTO.runYTO(graph).getRight());
+    }
+
+    /**
+     * Compare the ratio with Howard's algorithm on random graphs in which every vertex has a successor.
+     */
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(1);
+        for (int run = 0; run < 200; run++) {
+            SDGraph graph = new SDGraph();
+            int n = 2 + random.nextInt(20);
+            SDVertex[] vertices = new SDVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SDVertex();
+                graph.addVertex(vertices[i]);
+            }
+            for (int i = 0; i < n; i++) {
+                graph.addEdge(vertices[i], vertices[(i + 1) % n], (double) random.nextInt(20), 1.0 + random.nextInt(5));
+                int target = random.nextInt(n);
+                if (target != (i + 1) % n) {
+                    graph.addEdge(vertices[i], vertices[target], (double) random.nextInt(20), 1.0 + random.nextInt(5));
+                }
+            }
+
+            double ratio = YTO.runYTO(graph).getLeft();
+            assertEquals(Howard.runHoward(graph).getLeft(), ratio, 1e-9);
+
+            // The returned cycle is closed and has the returned ratio.
+            List<SDEdge> cycle = YTO.runYTO(graph).getRight();
+            double weight1 = 0.0;
+            double weight2 = 0.0;
+            for (int i = 0; i < cycle.size(); i++) {
+                SDEdge edge = cycle.get(i);
+                assertEquals(graph.getEdgeTarget(edge), graph.getEdgeSource(cycle.get((i + 1) % cycle.size())));
+                weight1 += graph.getWeight1(edge);
+                weight2 += graph.getWeight2(edge);
+            }
+            assertEquals(ratio, weight1 / weight2, 1e-9);
+        }
+    }
+
+    /**
+     * An edge with a weight2 of zero must be part of the initial shortest path tree.
+     */
+    @Test
+    public void testZeroWeight2() {
+        SDGraph graph = new SDGraph();
+        SDVertex x = new SDVertex();
+        SDVertex y = new SDVertex();
+
+        graph.addVertex(x);
+        graph.addVertex(y);
+
+        graph.addEdge(x, y, -10.0, 0.0);
+        graph.addEdge(y, x, 0.0, 1.0);
+
+        assertEquals(-10.0, (double) YTO.runYTO(graph).getLeft(), eps);
+        assertEquals(Howard.runHoward(graph).getLeft(), YTO.runYTO(graph).getLeft(), eps);
+        assertEquals(2, YTO.runYTO(graph).getRight().size());
+    }
+
+    /**
+     * Compare the ratio with Howard's algorithm on random graphs in which the edges with a weight2 of
+     * zero form an acyclic subgraph.
+     */
+    @Test
+    public void testRandomZeroWeight2() {
+        Random random = new Random(2);
+        for (int run = 0; run < 200; run++) {
+            SDGraph graph = new SDGraph();
+            int n = 2 + random.nextInt(20);
+            SDVertex[] vertices = new SDVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SDVertex();
+                graph.addVertex(vertices[i]);
+            }
+            for (int i = 0; i < n; i++) {
+                int next = (i + 1) % n;
+                double weight2 = next > i && random.nextBoolean() ? 0.0 : 1.0 + random.nextInt(5);
+                graph.addEdge(vertices[i], vertices[next], (double) random.nextInt(40) - 20.0, weight2);
+                int target = random.nextInt(n);
+                if (target != next) {
+                    weight2 = target > i && random.nextBoolean() ? 0.0 : 1.0 + random.nextInt(5);
+                    graph.addEdge(vertices[i], vertices[target], (double) random.nextInt(40) - 20.0, weight2);
+                }
+            }
+
+            assertEquals(Howard.runHoward(graph).getLeft(), YTO.runYTO(graph).getLeft(), 1e-9);
+        }
+    }
+
+    /**
+     * A cycle with a weight2 of zero has no ratio.
+     */
+    @Test
+    public void testZeroWeight2Cycle() {
+        SDGraph graph = new SDGraph();
+        SDVertex x = new SDVertex();
+        SDVertex y = new SDVertex();
+
+        graph.addVertex(x);
+        graph.addVertex(y);
+
+        graph.addEdge(x, y, 1.0, 0.0);
+        graph.addEdge(y, x, 1.0, 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> YTO.runYTO(graph));
+    }
+}
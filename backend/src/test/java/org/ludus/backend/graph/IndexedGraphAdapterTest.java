@@ -0,0 +1,163 @@
+package org.ludus.backend.graph;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algorithms.BellmanFord;
+import org.ludus.backend.algorithms.CycleCheck;
+import org.ludus.backend.algorithms.Dijkstra;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.graph.simpleDouble.SDEdge;
+import org.ludus.backend.graph.simpleDouble.SDGraph;
+import org.ludus.backend.graph.simpleDouble.SDVertex;
+import org.ludus.backend.graph.simpleSingle.SSEdge;
+import org.ludus.backend.graph.simpleSingle.SSGraph;
+import org.ludus.backend.graph.simpleSingle.SSVertex;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class IndexedGraphAdapterTest {
+
+    /**
+     * The adapter numbers the outgoing edges of each vertex consecutively and keeps the original vertices,
+     * edges and weights.
+     */
+    @Test
+    public void testStructure() {
+        SSGraph graph = new SSGraph();
+        SSVertex v0 = new SSVertex();
+        SSVertex v1 = new SSVertex();
+        SSVertex v2 = new SSVertex();
+        graph.addVertex(v0);
+        graph.addVertex(v1);
+        graph.addVertex(v2);
+        graph.addEdge(v0, v1, 2.0);
+        graph.addEdge(v1, v2, 3.0);
+        graph.addEdge(v0, v2, 4.0);
+
+        IndexedSingleWeightedGraphAdapter<SSVertex, SSEdge> indexed = IndexedSingleWeightedGraphAdapter.of(graph);
+        assertEquals(3, indexed.getVertexCount());
+        assertEquals(3, indexed.getEdgeCount());
+        assertEquals(0, indexed.getOutStart(0));
+        assertEquals(indexed.getEdgeCount(), indexed.getOutEnd(indexed.getVertexCount() - 1));
+        for (int v = 0; v < indexed.getVertexCount(); v++) {
+            SSVertex vertex = indexed.getVertex(v);
+            assertEquals(v, indexed.getVertexId(vertex));
+            assertEquals(graph.outgoingEdgesOf(vertex).size(), indexed.getOutEnd(v) - indexed.getOutStart(v));
+            for (int e = indexed.getOutStart(v); e < indexed.getOutEnd(v); e++) {
+                SSEdge edge = indexed.getEdge(e);
+                assertEquals(v, indexed.getSource(e));
+                assertEquals(vertex, graph.getEdgeSource(edge));
+                assertEquals(graph.getEdgeTarget(edge), indexed.getVertex(indexed.getTarget(e)));
+                assertEquals(graph.getWeight(edge), Double.valueOf(indexed.getWeight(e)));
+            }
+        }
+    }
+
+    /**
+     * Compare the indexed shortest paths and cycle check with the generic algorithms on random graphs
+     * without parallel edges.
+     */
+    @Test
+    public void testShortestPaths() {
+        Random random = new Random(5);
+        for (int run = 0; run < 200; run++) {
+            SSGraph graph = new SSGraph();
+            int n = 2 + random.nextInt(25);
+            SSVertex[] vertices = new SSVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SSVertex();
+                graph.addVertex(vertices[i]);
+            }
+            // The chain keeps every vertex reachable from the first one.
+            for (int i = 0; i + 1 < n; i++) {
+                graph.addEdge(vertices[i], vertices[i + 1], (double) random.nextInt(10));
+            }
+            for (int i = 0; i < n; i++) {
+                int s = random.nextInt(n);
+                int t = random.nextInt(n);
+                if (graph.getEdge(vertices[s], vertices[t]) == null) {
+                    graph.addEdge(vertices[s], vertices[t], (double) random.nextInt(10));
+                }
+            }
+
+            IndexedSingleWeightedGraphAdapter<SSVertex, SSEdge> indexed = IndexedSingleWeightedGraphAdapter.of(graph);
+            assertEquals(CycleCheck.check(graph), CycleCheck.checkIndexed(indexed));
+
+            int source = indexed.getVertexId(vertices[0]);
+            for (int i = 0; i < n; i++) {
+                int target = indexed.getVertexId(vertices[i]);
+                Tuple<Double, List<SSEdge>> expected = Dijkstra.runDijkstra(graph, vertices[0], vertices[i]);
+
+                Tuple<Double, List<Integer>> dijkstra = Dijkstra.runIndexedDijkstra(indexed, source, target);
+                assertEquals(expected.getLeft(), dijkstra.getLeft(), 1e-9);
+                assertPath(graph, vertices[0], vertices[i], dijkstra.getLeft(), indexed.getEdges(dijkstra.getRight()));
+
+                Tuple<Double, List<Integer>> bellmanFord =
+                        BellmanFord.runIndexedBellmanFord(indexed, source, v -> v == target);
+                assertEquals(expected.getLeft(), bellmanFord.getLeft(), 1e-9);
+                assertPath(graph, vertices[0], vertices[i], bellmanFord.getLeft(),
+                        indexed.getEdges(bellmanFord.getRight()));
+            }
+        }
+    }
+
+    /**
+     * Compare the indexed minimum cycle ratio with the generic Howard on random strongly connected graphs.
+     */
+    @Test
+    public void testCycleRatio() {
+        double eps = 1e-9;
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            SDGraph graph = new SDGraph();
+            int n = 2 + random.nextInt(25);
+            SDVertex[] vertices = new SDVertex[n];
+            for (int i = 0; i < n; i++) {
+                vertices[i] = new SDVertex();
+                graph.addVertex(vertices[i]);
+            }
+            for (int i = 0; i < n; i++) {
+                graph.addEdge(vertices[i], vertices[(i + 1) % n], (double) random.nextInt(20), 1.0 + random.nextInt(5));
+                int target = random.nextInt(n);
+                if (target != (i + 1) % n) {
+                    graph.addEdge(vertices[i], vertices[target], (double) random.nextInt(20), 1.0 + random.nextInt(5));
+                }
+            }
+
+            IndexedDoubleWeightedGraphAdapter<SDVertex, SDEdge> indexed = IndexedDoubleWeightedGraphAdapter.of(graph);
+            Tuple<Double, List<SDEdge>> expected = Howard.runHoward(graph, eps);
+            Tuple<Double, List<Integer>> result = Howard.runIndexedHoward(indexed, eps);
+            assertEquals(expected.getLeft(), result.getLeft(), 1e-9);
+
+            // The result is a cycle with the reported ratio.
+            List<SDEdge> cycle = indexed.getEdges(result.getRight());
+            double sum = 0.0;
+            double length = 0.0;
+            for (int i = 0; i < cycle.size(); i++) {
+                SDEdge edge = cycle.get(i);
+                assertEquals(graph.getEdgeTarget(edge), graph.getEdgeSource(cycle.get((i + 1) % cycle.size())));
+                sum += graph.getWeight1(edge);
+                length += graph.getWeight2(edge);
+            }
+            assertEquals(result.getLeft(), sum / length, 1e-9);
+        }
+    }
+
+    private static void assertPath(SSGraph graph, SSVertex source, SSVertex target, double length, List<SSEdge> path) {
+        SSVertex v = source;
+        double sum = 0.0;
+        for (SSEdge edge : path) {
+            assertEquals(v, graph.getEdgeSource(edge));
+            sum += graph.getWeight(edge);
+            v = graph.getEdgeTarget(edge);
+        }
+        assertEquals(target, v);
+        assertEquals(length, sum, 1e-9);
+    }
+}
@@ -0,0 +1,175 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.algorithms.IndexedHoward;
+import org.ludus.backend.datastructures.tuple.Tuple;
+import org.ludus.backend.games.algorithms.DoubleFunctions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class BoundedExplorationTest {
+
+    // The distances of Howard's algorithm grow with the cycle length, so the cycles of thousands of
+    // configurations of the large state space are compared with a coarser threshold than machine precision.
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testBoundedExploration() {
+        FrozenStateSpace frozen = computeStateSpace().freeze();
+        double exact = Howard.runHoward(frozen).getLeft();
+
+        // Without limits, the exploration is complete.
+        BoundedExploration complete = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                ExplorationBudget.unlimited());
+        assertTrue(complete.isComplete());
+        assertEquals(frozen.getVertexCount(), complete.getStateSpace().getVertexCount());
+        assertEquals(frozen.getEdgeCount(), complete.getStateSpace().getEdgeCount());
+        assertEquals(exact, (double) Howard.runHoward(complete.getStateSpace()).getLeft());
+
+        // With a state limit, the partial state space gives an upper bound on the minimum cycle ratio.
+        BoundedExploration partial = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                ExplorationBudget.unlimited().withStateLimit(2));
+        assertFalse(partial.isComplete());
+        assertEquals(ExplorationBudget.StopReason.STATES, partial.getStopReason());
+        FrozenStateSpace space = partial.getStateSpace();
+        assertTrue(partial.getExpandedCount() < space.getVertexCount());
+        assertTrue(space.getEdgeCount() < frozen.getEdgeCount());
+        for (int v = partial.getExpandedCount(); v < space.getVertexCount(); v++) {
+            assertFalse(partial.isExpanded(v));
+            assertEquals(0, space.outgoingEdgesOf(v).size());
+        }
+        SCCDecomposition sccs = SCCDecomposition.of(space);
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                assertTrue(Howard.runHoward(sccs.getComponent(c)).getLeft() >= exact);
+            }
+        }
+
+        // A cancelled exploration stops before the initial configuration is expanded.
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        BoundedExploration cancelled = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                ExplorationBudget.unlimited().withCancellationToken(token));
+        assertEquals(ExplorationBudget.StopReason.CANCELLED, cancelled.getStopReason());
+        assertEquals(1, cancelled.getStateSpace().getVertexCount());
+        assertEquals(0, cancelled.getStateSpace().getEdgeCount());
+    }
+
+    /**
+     * The partial state spaces of a generated specification with thousands of configurations are subgraphs of
+     * the complete state space, and their cycles give upper bounds on the minimum cycle ratio. The rings of
+     * the specification are explored side by side, so their cycles are only closed near the end.
+     */
+    @Test
+    public void testBoundedExplorationLargeStateSpace() {
+        FrozenStateSpace frozen = ComputeStateSpace.computeFrozenStateSpace(createRingsFsm(4, 500), 3,
+                createMatrices());
+        assertEquals(12000, frozen.getVertexCount());
+        double exact = IndexedHoward.runIndexedHoward(frozen, EPS).getLeft();
+        Map<Configuration, Integer> vertices = new HashMap<>();
+        for (int v = 0; v < frozen.getVertexCount(); v++) {
+            vertices.put(frozen.getConfiguration(v), v);
+        }
+
+        int bounds = 0;
+        for (int states : new int[]{1000, 6000, 11900}) {
+            BoundedExploration partial = ComputeStateSpace.computeBoundedStateSpace(createRingsFsm(4, 500), 3,
+                    createMatrices(), ExplorationBudget.unlimited().withStateLimit(states));
+            assertFalse(partial.isComplete());
+            assertEquals(ExplorationBudget.StopReason.STATES, partial.getStopReason());
+            FrozenStateSpace space = partial.getStateSpace();
+            assertTrue(space.getVertexCount() < frozen.getVertexCount());
+
+            // Every transition of the partial state space is a transition of the complete state space.
+            for (int e = 0; e < space.getEdgeCount(); e++) {
+                int source = vertices.get(space.getConfiguration(space.getSource(e)));
+                int target = vertices.get(space.getConfiguration(space.getTarget(e)));
+                boolean found = false;
+                for (int f = frozen.getOutStart(source); f < frozen.getOutEnd(source); f++) {
+                    found |= frozen.getTarget(f) == target && frozen.getEvent(f).equals(space.getEvent(e));
+                }
+                assertTrue(found);
+            }
+
+            SCCDecomposition sccs = SCCDecomposition.of(space);
+            for (int c = 0; c < sccs.getComponentCount(); c++) {
+                if (sccs.getEdgeCount(c) > 0) {
+                    double bound = IndexedHoward.runHoward(sccs.getComponent(c), EPS).getLeft();
+                    assertTrue(bound >= exact - EPS);
+                    bounds++;
+                }
+            }
+        }
+        assertTrue(bounds > 0);
+    }
+
+    /**
+     * The analysis of an explored state space checks the cancellation token and the time limit, but not the
+     * configuration limit.
+     */
+    @Test
+    public void testAnalysisBudget() {
+        long start = System.nanoTime();
+        assertNull(ExplorationBudget.unlimited().withStateLimit(0).checkAnalysis(start));
+
+        CancellationToken token = new CancellationToken();
+        ExplorationBudget budget = ExplorationBudget.unlimited().withCancellationToken(token);
+        assertNull(budget.checkAnalysis(start));
+        token.cancel();
+        assertEquals(ExplorationBudget.StopReason.CANCELLED, budget.checkAnalysis(start));
+
+        ExplorationBudget expired = ExplorationBudget.unlimited().withTimeLimit(1, TimeUnit.NANOSECONDS);
+        assertEquals(ExplorationBudget.StopReason.TIME, expired.checkAnalysis(start - 1000));
+    }
+
+    /**
+     * When the budget is exhausted during the analysis of a complete state space, the analysis stops with a
+     * cycle of the state space, whose ratio is an upper bound on the minimum cycle ratio.
+     */
+    @Test
+    public void testBudgetExhaustedDuringAnalysis() {
+        CancellationToken token = new CancellationToken();
+        ExplorationBudget budget = ExplorationBudget.unlimited().withCancellationToken(token);
+        long start = System.nanoTime();
+        BoundedExploration exploration = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                budget);
+        assertTrue(exploration.isComplete());
+        FrozenStateSpace space = exploration.getStateSpace();
+        double exact = Howard.runHoward(space).getLeft();
+
+        // Cancel after the exploration, before the analysis.
+        token.cancel();
+        int[] iterations = new int[1];
+        Tuple<Double, List<Integer>> bound = IndexedHoward.runHoward(space, DoubleFunctions.MACHINE_PRECISION,
+                i -> iterations[0] = i, () -> budget.checkAnalysis(start) != null);
+        assertEquals(1, iterations[0]);
+        assertTrue(bound.getLeft() >= exact - DoubleFunctions.MACHINE_PRECISION);
+
+        double reward = 0.0;
+        double duration = 0.0;
+        for (int i = 0; i < bound.getRight().size(); i++) {
+            int e = bound.getRight().get(i);
+            assertEquals(space.getTarget(e), space.getSource(bound.getRight().get((i + 1) % bound.getRight().size())));
+            reward += space.getReward(e);
+            duration += space.getDuration(e);
+        }
+        assertEquals(bound.getLeft(), reward / duration, 1e-9);
+    }
+
+}
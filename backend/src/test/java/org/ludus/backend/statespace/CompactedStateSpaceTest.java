@@ -0,0 +1,66 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algorithms.Howard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class CompactedStateSpaceTest {
+
+    @Test
+    public void testCompactedStateSpace() {
+        FrozenStateSpace frozen = computeStateSpace().freeze();
+
+        // Without collisions, the approximation equals the exact state space.
+        CompactedStateSpace compacted = ComputeStateSpace.computeCompactedStateSpace(createFsm(), 3, createMatrices(), 64);
+        FrozenStateSpace approximation = compacted.getStateSpace();
+        assertEquals(frozen.getVertexCount(), approximation.getVertexCount());
+        assertEquals(frozen.getEdgeCount(), approximation.getEdgeCount());
+        assertEquals(Howard.runHoward(frozen).getLeft(), Howard.runHoward(approximation).getLeft());
+        assertTrue(compacted.getOmissionProbability() < 1e-15);
+
+        // A single fingerprint bit has a single non-zero fingerprint, so all configurations are merged.
+        CompactedStateSpace collisions = ComputeStateSpace.computeCompactedStateSpace(createFsm(), 3, createMatrices(), 1);
+        assertEquals(1, collisions.getStateSpace().getVertexCount());
+        assertEquals(1.0, collisions.getOmissionProbability());
+    }
+
+    /**
+     * The probability of omission grows with the size of the state space, and shrinks with the number of
+     * fingerprint bits.
+     */
+    @Test
+    public void testOmissionProbability() {
+        FrozenStateSpace frozen = ComputeStateSpace.computeFrozenStateSpace(createRingsFsm(1, 500), 3,
+                createMatrices());
+        assertEquals(3000, frozen.getVertexCount());
+
+        CompactedStateSpace exact = ComputeStateSpace.computeCompactedStateSpace(createRingsFsm(1, 500), 3,
+                createMatrices(), 64);
+        assertEquals(frozen.getVertexCount(), exact.getStateSpace().getVertexCount());
+        assertEquals(frozen.getEdgeCount(), exact.getStateSpace().getEdgeCount());
+        assertTrue(exact.getOmissionProbability() < 1e-12);
+
+        // About 3000^2 / 2^17 collisions are expected with 16 bits.
+        for (int bits : new int[]{1, 16}) {
+            CompactedStateSpace collisions = ComputeStateSpace.computeCompactedStateSpace(createRingsFsm(1, 500), 3,
+                    createMatrices(), bits);
+            assertTrue(collisions.getStateSpace().getVertexCount() < frozen.getVertexCount());
+            assertTrue(collisions.getOmissionProbability() > 0.99);
+        }
+
+        // With 40 bits, a collision among 3000 configurations is unlikely.
+        CompactedStateSpace likely = ComputeStateSpace.computeCompactedStateSpace(createRingsFsm(1, 500), 3,
+                createMatrices(), 40);
+        assertTrue(likely.getOmissionProbability() < 1e-5);
+    }
+
+}
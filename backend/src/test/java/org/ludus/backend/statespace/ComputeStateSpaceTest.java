@@ -0,0 +1,85 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.FixedPoint;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algebra.Vector;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createAlternatingFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createAlternatingMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class ComputeStateSpaceTest {
+
+    private final Double negativeInfinity = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Batched exploration must yield the same state space as the default exploration.
+     */
+    @Test
+    public void testBatchedExploration() {
+        MaxPlusStateSpace expected = computeStateSpace();
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpaceBatched(createFsm(), 3, createMatrices());
+        assertEquals(expected.getConfigurations(), space.getConfigurations());
+        assertEquals(expected.getEdges(), space.getEdges());
+        assertEquals(expected.getInitialConfiguration(), space.getInitialConfiguration());
+    }
+
+    /**
+     * Fixed-point exploration must yield the same state space as the default exploration for integer durations.
+     */
+    @Test
+    public void testFixedPointExploration() {
+        MaxPlusStateSpace expected = ComputeStateSpace.computeMaxPlusStateSpace(createAlternatingFsm(), 2,
+                createAlternatingMatrices());
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpace(createAlternatingFsm(), 2,
+                createAlternatingMatrices(), FixedPoint.INTEGER);
+        assertEquals(expected.getConfigurations(), space.getConfigurations());
+        assertEquals(expected.getEdges(), space.getEdges());
+        assertEquals(expected.getInitialConfiguration(), space.getInitialConfiguration());
+    }
+
+    /**
+     * Decimal durations are represented exactly in fixed-point exploration.
+     */
+    @Test
+    public void testFixedPointDecimals() {
+        // FSMImpl.
+        FSMImpl fsm = new FSMImpl();
+        Location l0 = new Location("l0");
+        fsm.addLocation(l0);
+        fsm.setInitial(l0);
+        fsm.addControllable("A");
+        fsm.addEdge(new Edge(l0, "A", l0));
+
+        // Matrix A.
+        Matrix MA = new DenseMatrix(2, 2,
+                0.1, 0.3,
+                0.2, negativeInfinity);
+
+        Map<String, Matrix> matrixMap = new HashMap<>();
+        matrixMap.put("A", MA);
+
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpace(fsm, 2, matrixMap, new FixedPoint(10));
+        assertTrue(space.getConfigurations().contains(new Configuration<>(l0, new Vector(0.0, 0.0))));
+        assertTrue(space.getConfigurations().contains(new Configuration<>(l0, new Vector(0.0, -0.1))));
+        space.getEdges().forEach(t -> assertTrue(t.getDuration().equals(new Value(0.3))
+                || t.getDuration().equals(new Value(0.2))));
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.Vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class ConfigurationStoreTest {
+
+    @Test
+    public void testIntern() {
+        ConfigurationStore store = new ConfigurationStore(2);
+        assertEquals(0, store.intern(0, new double[]{0.0, -1.0}));
+        assertEquals(1, store.intern(1, new double[]{0.0, -1.0}));
+        assertEquals(2, store.intern(0, new double[]{0.0, Double.NEGATIVE_INFINITY}));
+        assertEquals(0, store.intern(0, new double[]{0.0, -1.0}));
+        assertEquals(3, store.size());
+
+        assertEquals(1, store.find(1, new double[]{0.0, -1.0}));
+        assertEquals(-1, store.find(1, new double[]{0.0, -2.0}));
+        assertEquals(1, store.getLocation(1));
+        assertEquals(new Vector(0.0, Double.NEGATIVE_INFINITY), store.getVector(2));
+    }
+
+    @Test
+    public void testGrow() {
+        ConfigurationStore store = new ConfigurationStore(3);
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, store.intern(i % 7, new double[]{0.0, -i, -0.5 * i}));
+        }
+        assertEquals(count, store.size());
+
+        double[] vector = new double[3];
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, store.intern(i % 7, new double[]{0.0, -i, -0.5 * i}));
+            store.getVector(i, vector);
+            assertArrayEquals(new double[]{0.0, -i, -0.5 * i}, vector);
+        }
+        assertEquals(count, store.size());
+    }
+
+    /**
+     * A chunk of vectors that does not fit in an array is rejected up front, instead of overflowing the
+     * offsets later on.
+     */
+    @Test
+    public void testVectorSizeTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> new ConfigurationStore(1 << 20));
+    }
+
+}
@@ -0,0 +1,219 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class ExplorationCheckpointTest {
+
+    @Test
+    public void testCheckpoint() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.every(1, directory.resolve("exploration.bin"));
+        FrozenStateSpace expected = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                ExplorationBudget.unlimited()).getStateSpace();
+
+        // Stop the exploration early; the checkpoint is written when the budget is exhausted.
+        BoundedExploration partial = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), ExplorationBudget.unlimited().withStateLimit(2), checkpoint);
+        assertFalse(partial.isComplete());
+        assertTrue(checkpoint.exists());
+
+        // The resumed exploration yields the same state space.
+        BoundedExploration resumed = ComputeStateSpace.resumeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), ExplorationBudget.unlimited(), checkpoint);
+        assertTrue(resumed.isComplete());
+        FrozenStateSpace space = resumed.getStateSpace();
+        assertEquals(expected.getVertexCount(), space.getVertexCount());
+        assertEquals(expected.getEdgeCount(), space.getEdgeCount());
+        for (int v = 0; v < expected.getVertexCount(); v++) {
+            assertEquals(expected.getConfiguration(v), space.getConfiguration(v));
+            assertEquals(expected.getOutStart(v), space.getOutStart(v));
+        }
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertEquals(expected.getTarget(e), space.getTarget(e));
+            assertEquals(expected.getEvent(e), space.getEvent(e));
+            assertEquals(expected.getDuration(e), space.getDuration(e));
+        }
+
+        Files.delete(checkpoint.getFile());
+        Files.delete(directory);
+    }
+
+    /**
+     * A checkpoint that was cut off while it was appended is discarded, and the exploration is resumed from
+     * the previous one.
+     */
+    @Test
+    public void testIncompleteCheckpoint() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.every(1, directory.resolve("exploration.bin"));
+        FrozenStateSpace expected = ComputeStateSpace.computeFrozenStateSpace(createFsm(), 3, createMatrices());
+
+        ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(), new HashMap<>(),
+                ExplorationBudget.unlimited().withStateLimit(2), checkpoint);
+        long size = Files.size(checkpoint.getFile());
+        Files.write(checkpoint.getFile(), new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        BoundedExploration resumed = ComputeStateSpace.resumeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), ExplorationBudget.unlimited(), checkpoint);
+        assertTrue(resumed.isComplete());
+        assertEquals(expected.getVertexCount(), resumed.getStateSpace().getVertexCount());
+        assertEquals(expected.getEdgeCount(), resumed.getStateSpace().getEdgeCount());
+        // The new checkpoints were appended after the last complete one.
+        assertTrue(Files.size(checkpoint.getFile()) > size);
+
+        Files.delete(checkpoint.getFile());
+        Files.delete(directory);
+    }
+
+    /**
+     * The complete exploration writes checkpoints that describe the whole state space.
+     */
+    @Test
+    public void testCheckpointComplete() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.every(1, directory.resolve("exploration.bin"));
+        FrozenStateSpace space = ComputeStateSpace.computeFrozenStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), checkpoint);
+
+        BoundedExploration resumed = ComputeStateSpace.resumeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), ExplorationBudget.unlimited(), checkpoint);
+        assertTrue(resumed.isComplete());
+        assertEquals(space.getVertexCount(), resumed.getStateSpace().getVertexCount());
+        assertEquals(space.getEdgeCount(), resumed.getStateSpace().getEdgeCount());
+
+        Files.delete(checkpoint.getFile());
+        Files.delete(directory);
+    }
+
+    /**
+     * With an interval longer than the exploration, a complete exploration writes no checkpoint, and an
+     * exploration that exhausts its budget writes one when it stops.
+     */
+    @Test
+    public void testIntervalLongerThanRun() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.every(1000, directory.resolve("exploration.bin"));
+        FrozenStateSpace expected = ComputeStateSpace.computeFrozenStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), checkpoint);
+        assertTrue(expected.getVertexCount() < checkpoint.getInterval());
+        assertFalse(checkpoint.exists());
+
+        BoundedExploration partial = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), ExplorationBudget.unlimited().withStateLimit(2), checkpoint);
+        assertFalse(partial.isComplete());
+        assertTrue(checkpoint.exists());
+
+        BoundedExploration resumed = ComputeStateSpace.resumeBoundedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), ExplorationBudget.unlimited(), checkpoint);
+        assertTrue(resumed.isComplete());
+        assertEquals(expected.getVertexCount(), resumed.getStateSpace().getVertexCount());
+        assertEquals(expected.getEdgeCount(), resumed.getStateSpace().getEdgeCount());
+
+        Files.delete(checkpoint.getFile());
+        Files.delete(directory);
+    }
+
+    /**
+     * An exploration of a generated specification with thousands of configurations that is stopped and
+     * resumed several times yields the same state space as an uninterrupted exploration.
+     */
+    @Test
+    public void testCheckpointLargeStateSpace() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.every(100, directory.resolve("exploration.bin"));
+        FrozenStateSpace expected = ComputeStateSpace.computeFrozenStateSpace(createRingsFsm(4, 500), 3,
+                createMatrices());
+        assertEquals(12000, expected.getVertexCount());
+
+        BoundedExploration partial = ComputeStateSpace.computeBoundedStateSpace(createRingsFsm(4, 500), 3,
+                createMatrices(), new HashMap<>(), ExplorationBudget.unlimited().withStateLimit(1000), checkpoint);
+        assertFalse(partial.isComplete());
+        for (int states : new int[]{4000, 8000}) {
+            partial = ComputeStateSpace.resumeBoundedStateSpace(createRingsFsm(4, 500), 3, createMatrices(),
+                    new HashMap<>(), ExplorationBudget.unlimited().withStateLimit(states), checkpoint);
+            assertFalse(partial.isComplete());
+        }
+
+        BoundedExploration resumed = ComputeStateSpace.resumeBoundedStateSpace(createRingsFsm(4, 500), 3,
+                createMatrices(), new HashMap<>(), ExplorationBudget.unlimited(), checkpoint);
+        assertTrue(resumed.isComplete());
+        FrozenStateSpace space = resumed.getStateSpace();
+        assertEquals(expected.getVertexCount(), space.getVertexCount());
+        assertEquals(expected.getEdgeCount(), space.getEdgeCount());
+        for (int v = 0; v < expected.getVertexCount(); v++) {
+            assertEquals(expected.getConfiguration(v), space.getConfiguration(v));
+            assertEquals(expected.getOutStart(v), space.getOutStart(v));
+        }
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertEquals(expected.getTarget(e), space.getTarget(e));
+            assertEquals(expected.getEvent(e), space.getEvent(e));
+        }
+
+        Files.delete(checkpoint.getFile());
+        Files.delete(directory);
+    }
+
+    /**
+     * Checkpoints identify locations by name, so locations with the same name are rejected.
+     */
+    @Test
+    public void testDuplicateLocationNames() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoint");
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.every(1, directory.resolve("exploration.bin"));
+
+        FSMImpl fsm = new FSMImpl();
+        Location l0 = new NamedLocation("l0", "l");
+        Location l1 = new NamedLocation("l1", "l");
+        fsm.addLocation(l0);
+        fsm.addLocation(l1);
+        fsm.setInitial(l0);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        fsm.addEdge(new Edge(l0, "A", l1));
+        fsm.addEdge(new Edge(l1, "B", l0));
+
+        assertThrows(IllegalArgumentException.class, () -> ComputeStateSpace.computeBoundedStateSpace(fsm, 3,
+                createMatrices(), new HashMap<>(), ExplorationBudget.unlimited().withStateLimit(2), checkpoint));
+        assertFalse(checkpoint.exists());
+
+        Files.delete(directory);
+    }
+
+    /**
+     * Location with a name that differs from its identity.
+     */
+    private static final class NamedLocation extends Location {
+        private final String displayName;
+
+        NamedLocation(String name, String displayName) {
+            super(name);
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.games.algorithms.DoubleFunctions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createAlternatingFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createAlternatingMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class ExplorationListenerTest {
+
+    /**
+     * The exploration listener is notified of the final statistics and the Howard iterations.
+     */
+    @Test
+    public void testExplorationListener() {
+        List<ExplorationStatistics> finished = new ArrayList<>();
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpace(createAlternatingFsm(), 2,
+                createAlternatingMatrices(), new ExplorationListener() {
+                    @Override
+                    public void explorationFinished(ExplorationStatistics statistics) {
+                        finished.add(statistics);
+                    }
+                });
+
+        assertEquals(1, finished.size());
+        ExplorationStatistics statistics = finished.get(0);
+        assertEquals(space.getConfigurations().size(), statistics.getConfigurationCount());
+        assertEquals(space.getConfigurations().size(), statistics.getExpandedCount());
+        assertEquals(space.getEdges().size(), statistics.getTransitionCount());
+        assertEquals(0, statistics.getFrontierSize());
+        assertTrue(statistics.getLoadFactor() > 0.0 && statistics.getLoadFactor() <= 0.5);
+
+        int[] iterations = {0};
+        Howard.runHoward(space, DoubleFunctions.MACHINE_PRECISION, i -> iterations[0] = i);
+        assertTrue(iterations[0] > 0);
+    }
+
+    /**
+     * Every exploration reports its final statistics to the listener, and the on-the-fly exploration also
+     * reports its components.
+     */
+    @Test
+    public void testExplorationListeners() throws IOException {
+        FrozenStateSpace expected = ComputeStateSpace.computeFrozenStateSpace(createFsm(), 3, createMatrices());
+        List<ExplorationStatistics> finished = new ArrayList<>();
+        int[] components = new int[2];
+        ExplorationListener listener = new ExplorationListener() {
+            @Override
+            public void explorationFinished(ExplorationStatistics statistics) {
+                finished.add(statistics);
+            }
+
+            @Override
+            public void componentsComputed(int componentCount, int cyclicCount) {
+                components[0] = componentCount;
+                components[1] = cyclicCount;
+            }
+        };
+
+        ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3, createMatrices(), new HashMap<>(),
+                ExplorationBudget.unlimited(), SearchOrder.DEPTH_FIRST, listener);
+        ComputeStateSpace.computeCompactedStateSpace(createFsm(), 3, createMatrices(), new HashMap<>(), 64, listener);
+        Path directory = Files.createTempDirectory("mapped");
+        try (MappedStateSpace mapped = ComputeStateSpace.computeMappedStateSpace(createFsm(), 3, createMatrices(),
+                new HashMap<>(), directory, listener)) {
+            assertEquals(expected.getVertexCount(), mapped.getVertexCount());
+        }
+        Files.delete(directory);
+        OnTheFlyExploration.explore(createFsm(), 3, createMatrices(), new HashMap<>(), component -> {
+        }, listener);
+
+        assertEquals(4, finished.size());
+        for (ExplorationStatistics statistics : finished) {
+            assertEquals(expected.getVertexCount(), statistics.getConfigurationCount());
+            assertEquals(expected.getVertexCount(), statistics.getExpandedCount());
+            assertEquals(expected.getEdgeCount(), statistics.getTransitionCount());
+        }
+        SCCDecomposition sccs = SCCDecomposition.of(expected);
+        int cyclic = 0;
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                cyclic++;
+            }
+        }
+        assertEquals(sccs.getComponentCount(), components[0]);
+        assertEquals(cyclic, components[1]);
+    }
+
+}
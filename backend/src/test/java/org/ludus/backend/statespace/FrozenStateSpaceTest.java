@@ -0,0 +1,96 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algorithms.BellmanFord;
+import org.ludus.backend.algorithms.Dijkstra;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.algorithms.Tarjan;
+import org.ludus.backend.datastructures.tuple.Tuple;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class FrozenStateSpaceTest {
+
+    @Test
+    public void testFreeze() {
+        MaxPlusStateSpace space = computeStateSpace();
+        FrozenStateSpace frozen = space.freeze();
+
+        assertEquals(space.getVertices().size(), frozen.getVertexCount());
+        assertEquals(space.getEdges().size(), frozen.getEdgeCount());
+        assertEquals(0, frozen.getInitialVertex());
+        assertEquals(space.getInitialConfiguration(), frozen.getConfiguration(0));
+        assertEquals(2, frozen.getEventNames().size());
+
+        for (int v = 0; v < frozen.getVertexCount(); v++) {
+            Configuration c = frozen.getConfiguration(v);
+            assertEquals(space.outgoingEdgesOf(c).size(), frozen.outgoingEdgesOf(v).size());
+            assertEquals(space.incomingEdgesOf(c).size(), frozen.incomingEdgesOf(v).size());
+            for (int e = frozen.getOutStart(v); e < frozen.getOutEnd(v); e++) {
+                Transition t = new Transition(c, frozen.getEvent(e),
+                        new Value(frozen.getReward(e)),
+                        new Value(frozen.getDuration(e)),
+                        frozen.getConfiguration(frozen.getTarget(e)));
+                assertTrue(space.getEdges().contains(t));
+            }
+            for (Integer e : frozen.incomingEdgesOf(v)) {
+                assertEquals(v, frozen.getTarget(e));
+            }
+        }
+    }
+
+    /**
+     * The state space that is computed directly in CSR format has the same configurations and transitions,
+     * which are created on demand from the configuration store.
+     */
+    @Test
+    public void testComputeFrozenStateSpace() {
+        MaxPlusStateSpace space = computeStateSpace();
+        FrozenStateSpace frozen = ComputeStateSpace.computeFrozenStateSpace(createFsm(), 3, createMatrices());
+
+        assertEquals(space.getVertices().size(), frozen.getVertexCount());
+        assertEquals(space.getEdges().size(), frozen.getEdgeCount());
+        assertEquals(space.getInitialConfiguration(), frozen.getConfiguration(frozen.getInitialVertex()));
+
+        MaxPlusStateSpace thawed = frozen.thaw();
+        assertEquals(space.getConfigurations(), thawed.getConfigurations());
+        assertEquals(space.getEdges(), thawed.getEdges());
+        assertEquals(space.getInitialConfiguration(), thawed.getInitialConfiguration());
+    }
+
+    @Test
+    public void testAlgorithms() {
+        MaxPlusStateSpace space = computeStateSpace();
+        FrozenStateSpace frozen = space.freeze();
+
+        // Minimum cycle ratio.
+        assertEquals(Howard.runHoward(space).getLeft(), Howard.runHoward(frozen).getLeft());
+
+        // Strongly connected components.
+        List<Set<Configuration>> sccs = new Tarjan<Configuration, Transition>().computeSCCs(space);
+        List<Set<Integer>> frozenSccs = new Tarjan<Integer, Integer>().computeSCCs(frozen);
+        assertEquals(sccs.size(), frozenSccs.size());
+
+        // Shortest paths from the initial configuration to the configuration with id 1.
+        Configuration target = frozen.getConfiguration(1);
+        Tuple<Double, List<Transition>> dijkstra = Dijkstra.runDijkstra(space, space.getInitialConfiguration(), target);
+        Tuple<Double, List<Integer>> frozenDijkstra = Dijkstra.runDijkstra(frozen, 0, 1);
+        assertEquals(dijkstra.getLeft(), frozenDijkstra.getLeft());
+        assertEquals(dijkstra.getRight().size(), frozenDijkstra.getRight().size());
+
+        Tuple<Double, List<Transition>> bellmanFord = BellmanFord.runBellmanFord(space, space.getInitialConfiguration(), target);
+        assertEquals(bellmanFord.getLeft(), BellmanFord.runBellmanFord(frozen, 0, 1).getLeft());
+    }
+
+}
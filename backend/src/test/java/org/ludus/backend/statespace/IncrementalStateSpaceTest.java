@@ -0,0 +1,144 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.Location;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createChangedMatrixA;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class IncrementalStateSpaceTest {
+
+    @Test
+    public void testIncrementalStateSpace() {
+        IncrementalStateSpace<Location, Edge> incremental = new IncrementalStateSpace<>(createFsm(), 3, createMatrices());
+        FrozenStateSpace frozen = computeStateSpace().freeze();
+        FrozenStateSpace explored = incremental.explore();
+        assertEquals(frozen.getVertexCount(), explored.getVertexCount());
+        assertEquals(frozen.getEdgeCount(), explored.getEdgeCount());
+        assertEquals(frozen.getEdgeCount(), incremental.getProductCount());
+
+        // Without changes, all products are cached.
+        assertEquals(frozen.getEdgeCount(), incremental.explore().getEdgeCount());
+        assertEquals(0, incremental.getProductCount());
+
+        // Change the matrix of event A.
+        Map<String, Matrix> matrixMap = createMatrices();
+        Matrix MA = createChangedMatrixA();
+        matrixMap.put("A", MA);
+        Map<String, Matrix> changed = new HashMap<>();
+        changed.put("A", MA);
+        incremental.setMatrices(changed);
+
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpace(createFsm(), 3, matrixMap);
+        FrozenStateSpace expected = space.freeze();
+        explored = incremental.explore();
+        assertEquals(expected.getVertexCount(), explored.getVertexCount());
+        assertEquals(expected.getEdgeCount(), explored.getEdgeCount());
+        assertTrue(incremental.getProductCount() < expected.getEdgeCount());
+        assertEquals(space.getInitialConfiguration(), explored.getConfiguration(0));
+        for (int e = 0; e < explored.getEdgeCount(); e++) {
+            Transition t = new Transition(explored.getConfiguration(explored.getSource(e)), explored.getEvent(e),
+                    new Value(explored.getReward(e)),
+                    new Value(explored.getDuration(e)),
+                    explored.getConfiguration(explored.getTarget(e)));
+            assertTrue(space.getEdges().contains(t));
+        }
+        assertEquals(Howard.runHoward(expected).getLeft(), Howard.runHoward(explored).getLeft());
+    }
+
+    /**
+     * Re-exploring a generated specification with thousands of configurations after a change gives the
+     * state space computed from scratch, while the products of unchanged events are taken from the cache.
+     */
+    @Test
+    public void testIncrementalLargeStateSpace() {
+        IncrementalStateSpace<Location, Edge> incremental =
+                new IncrementalStateSpace<>(createRingsFsm(4, 500), 3, createMatrices());
+        FrozenStateSpace explored = incremental.explore();
+        assertEquals(12000, explored.getVertexCount());
+        assertEquals(explored.getEdgeCount(), incremental.getProductCount());
+
+        Map<String, Matrix> matrixMap = createMatrices();
+        matrixMap.put("A", createChangedMatrixA());
+        Map<String, Matrix> changed = new HashMap<>();
+        changed.put("A", matrixMap.get("A"));
+        incremental.setMatrices(changed);
+
+        FrozenStateSpace expected = ComputeStateSpace.computeFrozenStateSpace(createRingsFsm(4, 500), 3, matrixMap);
+        explored = incremental.explore();
+        assertEquals(expected.getVertexCount(), explored.getVertexCount());
+        assertEquals(expected.getEdgeCount(), explored.getEdgeCount());
+        assertTrue(incremental.getProductCount() < expected.getEdgeCount());
+        assertEquals(Howard.runHoward(expected).getLeft(), Howard.runHoward(explored).getLeft());
+    }
+
+    /**
+     * Matrices of unknown events or of the wrong size are rejected without replacing any matrix.
+     */
+    @Test
+    public void testIncrementalInvalidMatrices() {
+        Map<String, Matrix> matrices = createMatrices();
+        IncrementalStateSpace<Location, Edge> incremental = new IncrementalStateSpace<>(createFsm(), 3, matrices);
+        int edgeCount = incremental.explore().getEdgeCount();
+
+        Map<String, Matrix> unknown = new HashMap<>();
+        unknown.put("A", new DenseMatrix(3, 3, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+        unknown.put("D", new DenseMatrix(3, 3, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> incremental.setMatrices(unknown));
+
+        Map<String, Matrix> wrongSize = new HashMap<>();
+        wrongSize.put("A", new DenseMatrix(2, 2, 0.0, 0.0, 0.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> incremental.setMatrices(wrongSize));
+
+        assertSame(matrices.get("A"), incremental.getMatrices().get("A"));
+        assertEquals(edgeCount, incremental.explore().getEdgeCount());
+        assertEquals(0, incremental.getProductCount());
+    }
+
+    /**
+     * Configurations that are no longer reachable are evicted when the cache exceeds its limit.
+     */
+    @Test
+    public void testIncrementalEviction() {
+        IncrementalStateSpace<Location, Edge> incremental = new IncrementalStateSpace<>(createFsm(), 3, createMatrices());
+        incremental.setCacheLimit(1);
+        FrozenStateSpace original = incremental.explore();
+        double ratio = Howard.runHoward(original).getLeft();
+
+        Map<String, Matrix> changed = new HashMap<>();
+        changed.put("A", createChangedMatrixA());
+        incremental.setMatrices(changed);
+        FrozenStateSpace explored = incremental.explore();
+        assertEquals(explored.getVertexCount(), incremental.getCachedCount());
+
+        // The cached successors of the remaining configurations are still valid.
+        assertEquals(explored.getEdgeCount(), incremental.explore().getEdgeCount());
+        assertEquals(0, incremental.getProductCount());
+
+        changed.put("A", createMatrices().get("A"));
+        incremental.setMatrices(changed);
+        FrozenStateSpace restored = incremental.explore();
+        assertEquals(original.getVertexCount(), restored.getVertexCount());
+        assertEquals(original.getEdgeCount(), restored.getEdgeCount());
+        assertEquals(Double.valueOf(ratio), Howard.runHoward(restored).getLeft());
+    }
+
+}
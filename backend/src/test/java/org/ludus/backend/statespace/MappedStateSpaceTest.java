@@ -0,0 +1,78 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algorithms.Dijkstra;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.datastructures.tuple.Tuple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class MappedStateSpaceTest {
+
+    @Test
+    public void testMappedStateSpace() throws IOException {
+        MaxPlusStateSpace space = computeStateSpace();
+        FrozenStateSpace frozen = space.freeze();
+
+        Path directory = Files.createTempDirectory("mapped");
+        // Small segments, such that the storage spans several segment files.
+        try (MappedStateSpace mapped = ComputeStateSpace.computeMappedStateSpace(createFsm(), 3,
+                createMatrices(), new HashMap<>(), directory, 6)) {
+            assertEquals(frozen.getVertexCount(), mapped.getVertexCount());
+            assertEquals(frozen.getEdgeCount(), mapped.getEdgeCount());
+            assertEquals(space.getInitialConfiguration(), mapped.getConfiguration(mapped.getInitialVertex()));
+
+            for (int v = 0; v < mapped.getVertexCount(); v++) {
+                Configuration c = mapped.getConfiguration(v);
+                assertEquals(space.outgoingEdgesOf(c).size(), mapped.outgoingEdgesOf(v).size());
+                assertEquals(space.incomingEdgesOf(c).size(), mapped.incomingEdgesOf(v).size());
+                for (int e = mapped.getOutStart(v); e < mapped.getOutEnd(v); e++) {
+                    Transition t = new Transition(c, mapped.getEvent(e),
+                            new Value(mapped.getReward(e)),
+                            new Value(mapped.getDuration(e)),
+                            mapped.getConfiguration(mapped.getTarget(e)));
+                    assertTrue(space.getEdges().contains(t));
+                }
+            }
+
+            // Algorithms run directly over the mapped representation.
+            assertEquals(Howard.runHoward(frozen).getLeft(), Howard.runHoward(mapped).getLeft());
+            int target = mapped.getVertexCount() - 1;
+            Tuple<Double, List<Transition>> dijkstra = Dijkstra.runDijkstra(space,
+                    space.getInitialConfiguration(), mapped.getConfiguration(target));
+            assertEquals(dijkstra.getLeft(), Dijkstra.runDijkstra(mapped, 0, target).getLeft());
+
+            SCCDecomposition sccs = SCCDecomposition.of(mapped);
+            assertEquals(SCCDecomposition.of(frozen).getComponentCount(), sccs.getComponentCount());
+            double actual = Double.MAX_VALUE;
+            for (int c = 0; c < sccs.getComponentCount(); c++) {
+                if (sccs.getEdgeCount(c) > 0) {
+                    actual = Math.min(actual, Howard.runHoward(sccs.getComponent(c)).getLeft());
+                }
+            }
+            assertEquals((double) Howard.runHoward(frozen).getLeft(), actual);
+        }
+
+        // Closing the state space deletes its storage.
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        Files.delete(directory);
+    }
+
+}
@@ -4,9 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.ludus.backend.algebra.DenseMatrix;
 import org.ludus.backend.algebra.Matrix;
 import org.ludus.backend.algebra.Vector;
+import org.ludus.backend.algorithms.Howard;
 import org.ludus.backend.fsm.impl.Edge;
 import org.ludus.backend.fsm.impl.FSMImpl;
 import org.ludus.backend.fsm.impl.Location;
+import org.ludus.backend.graph.IndexedWeightTransformView;
+import org.ludus.backend.graph.WeightTransformView;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,6 +19,8 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createAlternatingFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createAlternatingMatrices;
 
 /**
  * @author Bram van der Sanden
@@ -186,4 +191,58 @@ public class MaxPlusStateSpaceTest {
         states.forEach((c) -> assertTrue(space.getConfigurations().contains(c)));
     }
 
+    /**
+     * Weight transform views must have the same weights as the copies made by negateWeights and swapWeights.
+     */
+    @Test
+    public void testWeightTransformViews() {
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpace(createAlternatingFsm(), 2,
+                createAlternatingMatrices());
+        MaxPlusStateSpace negatedCopy = ComputeStateSpace.negateWeights(space);
+        MaxPlusStateSpace swappedCopy = ComputeStateSpace.swapWeights(space);
+        WeightTransformView<Configuration, Transition> negated = WeightTransformView.negate(space);
+        WeightTransformView<Configuration, Transition> swapped = WeightTransformView.swap(space);
+
+        for (Configuration c : space.getVertices()) {
+            for (Transition t : space.outgoingEdgesOf(c)) {
+                Transition n = negatedCopy.getEdge(c, t.getTarget());
+                assertEquals(negatedCopy.getWeight1(n), negated.getWeight1(t));
+                assertEquals(negatedCopy.getWeight2(n), negated.getWeight2(t));
+                assertEquals(negatedCopy.getWeight(n), negated.getWeight(t));
+
+                Transition s = swappedCopy.getEdge(c, t.getTarget());
+                assertEquals(swappedCopy.getWeight1(s), swapped.getWeight1(t));
+                assertEquals(swappedCopy.getWeight2(s), swapped.getWeight2(t));
+                assertEquals(swappedCopy.getWeight(s), swapped.getWeight(t));
+            }
+        }
+        assertEquals(Howard.runHoward(swappedCopy).getLeft(), Howard.runHoward(swapped).getLeft());
+    }
+
+    /**
+     * Indexed weight transform views must have the same weights as the generic views of the same state space.
+     */
+    @Test
+    public void testIndexedWeightTransformViews() {
+        FrozenStateSpace space = ComputeStateSpace.computeFrozenStateSpace(createAlternatingFsm(), 2,
+                createAlternatingMatrices());
+        WeightTransformView<Integer, Integer> negated = WeightTransformView.negate(space);
+        WeightTransformView<Integer, Integer> swapped = WeightTransformView.swap(space);
+        IndexedWeightTransformView indexedNegated = IndexedWeightTransformView.negate(space);
+        IndexedWeightTransformView indexedSwapped = IndexedWeightTransformView.swap(space);
+
+        assertEquals(space.getVertexCount(), indexedNegated.getVertexCount());
+        assertEquals(space.getEdgeCount(), indexedNegated.getEdgeCount());
+        for (int e = 0; e < space.getEdgeCount(); e++) {
+            assertEquals(space.getSource(e), indexedNegated.getSource(e));
+            assertEquals(space.getTarget(e), indexedNegated.getTarget(e));
+            assertEquals(negated.getWeight1(e).doubleValue(), indexedNegated.getWeight1(e));
+            assertEquals(negated.getWeight2(e).doubleValue(), indexedNegated.getWeight2(e));
+            assertEquals(negated.getWeight(e).doubleValue(), indexedNegated.getWeight(e));
+            assertEquals(swapped.getWeight1(e).doubleValue(), indexedSwapped.getWeight1(e));
+            assertEquals(swapped.getWeight2(e).doubleValue(), indexedSwapped.getWeight2(e));
+            assertEquals(swapped.getWeight(e).doubleValue(), indexedSwapped.getWeight(e));
+        }
+    }
+
 }
@@ -0,0 +1,82 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.Value;
+import org.ludus.backend.algorithms.Howard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class OnTheFlyExplorationTest {
+
+    @Test
+    public void testOnTheFlyExploration() {
+        MaxPlusStateSpace space = computeStateSpace();
+        List<MaxPlusStateSpace> copies = ComputeStateSpace.getSCCs(space);
+        double expected = Double.MAX_VALUE;
+        for (MaxPlusStateSpace copy : copies) {
+            expected = Math.min(expected, Howard.runHoward(copy).getLeft());
+        }
+
+        List<FrozenStateSpace> components = new ArrayList<>();
+        int stateCount = OnTheFlyExploration.explore(createFsm(), 3, createMatrices(), components::add);
+        assertEquals(space.getVertices().size(), stateCount);
+        assertEquals(copies.size(), components.size());
+
+        double actual = Double.MAX_VALUE;
+        for (FrozenStateSpace component : components) {
+            for (int e = 0; e < component.getEdgeCount(); e++) {
+                Transition t = new Transition(component.getConfiguration(component.getSource(e)),
+                        component.getEvent(e), new Value(component.getReward(e)), new Value(component.getDuration(e)),
+                        component.getConfiguration(component.getTarget(e)));
+                assertTrue(space.getEdges().contains(t));
+            }
+            actual = Math.min(actual, Howard.runHoward(component).getLeft());
+        }
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * A state space with several strongly connected components, each of which is reported once it is closed.
+     */
+    @Test
+    public void testOnTheFlyComponents() {
+        FrozenStateSpace frozen = ComputeStateSpace.computeFrozenStateSpace(createRingsFsm(10, 100), 3,
+                createMatrices());
+        SCCDecomposition sccs = SCCDecomposition.of(frozen);
+        int cyclicCount = 0;
+        int cyclicStates = 0;
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                cyclicCount++;
+                cyclicStates += sccs.getComponentEnd(c) - sccs.getComponentStart(c);
+            }
+        }
+        assertTrue(cyclicCount >= 10);
+
+        List<FrozenStateSpace> components = new ArrayList<>();
+        int stateCount = OnTheFlyExploration.explore(createRingsFsm(10, 100), 3, createMatrices(), components::add);
+        assertEquals(frozen.getVertexCount(), stateCount);
+        assertEquals(cyclicCount, components.size());
+
+        int componentStates = 0;
+        double actual = Double.POSITIVE_INFINITY;
+        for (FrozenStateSpace component : components) {
+            componentStates += component.getVertexCount();
+            actual = Math.min(actual, Howard.runHoward(component).getLeft());
+        }
+        assertEquals(cyclicStates, componentStates);
+        assertEquals(Howard.runHoward(frozen).getLeft(), Double.valueOf(actual));
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class ParallelExplorationTest {
+
+    /**
+     * Parallel exploration must yield the same state space as the default exploration.
+     */
+    @Test
+    public void testParallelExploration() {
+        MaxPlusStateSpace expected = computeStateSpace();
+        for (int parallelism : new int[]{1, 4}) {
+            MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpaceParallel(
+                    createFsm(), 3, createMatrices(), new HashMap<>(), parallelism);
+            assertEquals(expected.getConfigurations(), space.getConfigurations());
+            assertEquals(expected.getEdges(), space.getEdges());
+            assertEquals(expected.getInitialConfiguration(), space.getInitialConfiguration());
+        }
+    }
+
+    /**
+     * On a state space with thousands of configurations, the workers steal work from each other and intern
+     * the same configurations concurrently. The result must not depend on the interleaving.
+     */
+    @Test
+    public void testParallelExplorationContention() {
+        MaxPlusStateSpace expected = ComputeStateSpace.computeMaxPlusStateSpace(createRingsFsm(4, 500), 3,
+                createMatrices());
+        assertEquals(12000, expected.getVertices().size());
+        for (int parallelism : new int[]{2, 4, 8}) {
+            for (int run = 0; run < 3; run++) {
+                MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpaceParallel(
+                        createRingsFsm(4, 500), 3, createMatrices(), new HashMap<>(), parallelism);
+                assertEquals(expected.getConfigurations(), space.getConfigurations());
+                assertEquals(expected.getEdges(), space.getEdges());
+                assertEquals(expected.getInitialConfiguration(), space.getInitialConfiguration());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algorithms.Howard;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class SCCDecompositionTest {
+
+    @Test
+    public void testSCCDecomposition() {
+        MaxPlusStateSpace space = computeStateSpace();
+        FrozenStateSpace frozen = space.freeze();
+        SCCDecomposition sccs = SCCDecomposition.of(frozen);
+
+        // Vertex ranges partition the vertices.
+        assertEquals(frozen.getVertexCount(), sccs.getComponentEnd(sccs.getComponentCount() - 1));
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            for (int position = sccs.getComponentStart(c); position < sccs.getComponentEnd(c); position++) {
+                assertEquals(c, sccs.getComponentOf(sccs.getVertex(position)));
+            }
+        }
+
+        // Components with edges correspond to the copies made by getSCCs.
+        List<MaxPlusStateSpace> copies = ComputeStateSpace.getSCCs(space);
+        double expected = Double.MAX_VALUE;
+        for (MaxPlusStateSpace copy : copies) {
+            expected = Math.min(expected, Howard.runHoward(copy).getLeft());
+        }
+
+        int componentsWithEdges = 0;
+        double actual = Double.MAX_VALUE;
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                componentsWithEdges++;
+                SCCDecomposition.Component component = sccs.getComponent(c);
+                assertEquals(sccs.getEdgeCount(c), component.getEdges().size());
+                int iterated = 0;
+                for (Integer e : component.getEdges()) {
+                    assertTrue(component.getVertices().contains(component.getEdgeSource(e)));
+                    assertTrue(component.getVertices().contains(component.getEdgeTarget(e)));
+                    iterated++;
+                }
+                assertEquals(sccs.getEdgeCount(c), iterated);
+                actual = Math.min(actual, Howard.runHoward(component).getLeft());
+            }
+        }
+        assertEquals(copies.size(), componentsWithEdges);
+        assertEquals(expected, actual);
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algorithms.Howard;
+import org.ludus.backend.algorithms.IndexedHoward;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.ludus.backend.statespace.StateSpaceFixtures.computeStateSpace;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createFsm;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createMatrices;
+import static org.ludus.backend.statespace.StateSpaceFixtures.createRingsFsm;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class SearchOrderTest {
+
+    // Threshold of Howard's algorithm for the cycles of thousands of configurations of the large state space.
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testSearchOrder() {
+        FrozenStateSpace expected = computeStateSpace().freeze();
+        double exact = Howard.runHoward(expected).getLeft();
+
+        // Each complete search order finds the same state space.
+        for (SearchOrder order : new SearchOrder[]{SearchOrder.BREADTH_FIRST, SearchOrder.DEPTH_FIRST, SearchOrder.BEST_FIRST}) {
+            BoundedExploration exploration = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3,
+                    createMatrices(), new HashMap<>(), ExplorationBudget.unlimited(), order);
+            assertTrue(exploration.isComplete());
+            FrozenStateSpace space = exploration.getStateSpace();
+            assertEquals(expected.getVertexCount(), space.getVertexCount());
+            assertEquals(expected.getEdgeCount(), space.getEdgeCount());
+            for (int v = 0; v < space.getVertexCount(); v++) {
+                assertTrue(exploration.isExpanded(v));
+                for (int e = space.getOutStart(v); e < space.getOutEnd(v); e++) {
+                    assertEquals(v, space.getSource(e));
+                }
+            }
+            assertEquals(exact, (double) Howard.runHoward(space).getLeft());
+        }
+
+        // A beam of width one drops configurations, but the partial state space still gives a bound.
+        BoundedExploration beam = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3,
+                createMatrices(), new HashMap<>(), ExplorationBudget.unlimited(), SearchOrder.beam(1));
+        assertEquals(ExplorationBudget.StopReason.PRUNED, beam.getStopReason());
+        SCCDecomposition sccs = SCCDecomposition.of(beam.getStateSpace());
+        for (int c = 0; c < sccs.getComponentCount(); c++) {
+            if (sccs.getEdgeCount(c) > 0) {
+                assertTrue(Howard.runHoward(sccs.getComponent(c)).getLeft() >= exact);
+            }
+        }
+    }
+
+    /**
+     * Each search order explores the same state space of a generated specification with thousands of
+     * configurations, and narrow beams give bounds on its minimum cycle ratio.
+     */
+    @Test
+    public void testSearchOrderLargeStateSpace() {
+        FrozenStateSpace expected = ComputeStateSpace.computeFrozenStateSpace(createRingsFsm(4, 500), 3,
+                createMatrices());
+        assertEquals(12000, expected.getVertexCount());
+        double exact = IndexedHoward.runIndexedHoward(expected, EPS).getLeft();
+
+        for (SearchOrder order : new SearchOrder[]{SearchOrder.BREADTH_FIRST, SearchOrder.DEPTH_FIRST,
+                SearchOrder.BEST_FIRST, SearchOrder.beam(expected.getVertexCount())}) {
+            BoundedExploration exploration = ComputeStateSpace.computeBoundedStateSpace(createRingsFsm(4, 500), 3,
+                    createMatrices(), new HashMap<>(), ExplorationBudget.unlimited(), order);
+            assertTrue(exploration.isComplete());
+            FrozenStateSpace space = exploration.getStateSpace();
+            assertEquals(expected.getVertexCount(), space.getVertexCount());
+            assertEquals(expected.getEdgeCount(), space.getEdgeCount());
+            assertEquals(exact, IndexedHoward.runIndexedHoward(space, EPS).getLeft(), EPS);
+        }
+
+        for (int width : new int[]{1, 10, 100}) {
+            BoundedExploration beam = ComputeStateSpace.computeBoundedStateSpace(createRingsFsm(4, 500), 3,
+                    createMatrices(), new HashMap<>(), ExplorationBudget.unlimited(), SearchOrder.beam(width));
+            assertEquals(ExplorationBudget.StopReason.PRUNED, beam.getStopReason());
+            assertTrue(beam.getStateSpace().getVertexCount() < expected.getVertexCount());
+            SCCDecomposition sccs = SCCDecomposition.of(beam.getStateSpace());
+            for (int c = 0; c < sccs.getComponentCount(); c++) {
+                if (sccs.getEdgeCount(c) > 0) {
+                    assertTrue(IndexedHoward.runHoward(sccs.getComponent(c), EPS).getLeft() >= exact - EPS);
+                }
+            }
+        }
+    }
+
+    /**
+     * A beam that is at least as wide as the state space drops no configurations.
+     */
+    @Test
+    public void testWideBeam() {
+        FrozenStateSpace expected = computeStateSpace().freeze();
+        double exact = Howard.runHoward(expected).getLeft();
+
+        for (int width : new int[]{expected.getVertexCount(), expected.getVertexCount() + 1}) {
+            BoundedExploration beam = ComputeStateSpace.computeBoundedStateSpace(createFsm(), 3,
+                    createMatrices(), new HashMap<>(), ExplorationBudget.unlimited(), SearchOrder.beam(width));
+            assertTrue(beam.isComplete());
+            assertEquals(ExplorationBudget.StopReason.COMPLETE, beam.getStopReason());
+            assertEquals(expected.getVertexCount(), beam.getStateSpace().getVertexCount());
+            assertEquals(expected.getEdgeCount(), beam.getStateSpace().getEdgeCount());
+            assertEquals(exact, (double) Howard.runHoward(beam.getStateSpace()).getLeft());
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.ludus.backend.statespace;
+
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Specifications shared by the state-space tests.
+ *
+ * @author Bram van der Sanden
+ */
+final class StateSpaceFixtures {
+
+    private static final Double negativeInfinity = Double.NEGATIVE_INFINITY;
+
+    private StateSpaceFixtures() {
+        // Empty for utility classes
+    }
+
+    /**
+     * Return the FSM of the example in "Worst-case Performance Analysis of Synchronous Dataflow Scenarios
+     * (Geilen and Stuijk, 2010)".
+     */
+    static FSMImpl createFsm() {
+        // FSMImpl.
+        FSMImpl fsm = new FSMImpl();
+        Location l0 = new Location("l0");
+        Location l1 = new Location("l1");
+        fsm.addLocation(l0);
+        fsm.addLocation(l1);
+        fsm.setInitial(l0);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        fsm.addEdge(new Edge(l0, "A", l0));
+        fsm.addEdge(new Edge(l0, "B", l1));
+        fsm.addEdge(new Edge(l1, "B", l0));
+        fsm.addEdge(new Edge(l1, "B", l1));
+        return fsm;
+    }
+
+    /**
+     * Return the 3x3 matrices of the events of {@link #createFsm()}.
+     */
+    static Map<String, Matrix> createMatrices() {
+
+        // Matrix A.
+        Matrix MA = new DenseMatrix(3, 3,
+                1.0, negativeInfinity, 3.0,
+                1.0, negativeInfinity, 3.0,
+                negativeInfinity, 2.0, negativeInfinity);
+
+        // Matrix B.
+        Matrix MB = new DenseMatrix(3, 3,
+                1.0, negativeInfinity, 2.0,
+                1.0, negativeInfinity, 2.0,
+                negativeInfinity, 3.0, negativeInfinity);
+
+        Map<String, Matrix> matrixMap = new HashMap<>();
+        matrixMap.put("A", MA);
+        matrixMap.put("B", MB);
+        return matrixMap;
+    }
+
+    /**
+     * Return another matrix for event A of {@link #createFsm()}, for which other configurations are reachable.
+     */
+    static Matrix createChangedMatrixA() {
+        return new DenseMatrix(3, 3,
+                2.0, negativeInfinity, 3.0,
+                1.0, negativeInfinity, 1.0,
+                negativeInfinity, 2.0, negativeInfinity);
+    }
+
+    /**
+     * Return the state space of {@link #createFsm()} and {@link #createMatrices()}.
+     */
+    static MaxPlusStateSpace computeStateSpace() {
+        return ComputeStateSpace.computeMaxPlusStateSpace(createFsm(), 3, createMatrices());
+    }
+
+    /**
+     * Return an FSM with the given number of rings of locations. Within a ring, event A leads to the next
+     * location and event B skips a location. Event A also leads from the first location of each ring to the
+     * first location of the next ring, so the rings are strongly connected components of the FSM. With the
+     * matrices of {@link #createMatrices()}, the state space has a few configurations per location, so it
+     * can be made as large as needed.
+     */
+    static FSMImpl createRingsFsm(int ringCount, int ringSize) {
+        FSMImpl fsm = new FSMImpl();
+        Location[][] locations = new Location[ringCount][ringSize];
+        for (int r = 0; r < ringCount; r++) {
+            for (int i = 0; i < ringSize; i++) {
+                locations[r][i] = new Location("r" + r + "l" + i);
+                fsm.addLocation(locations[r][i]);
+            }
+        }
+        fsm.setInitial(locations[0][0]);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        for (int r = 0; r < ringCount; r++) {
+            for (int i = 0; i < ringSize; i++) {
+                fsm.addEdge(new Edge(locations[r][i], "A", locations[r][(i + 1) % ringSize]));
+                fsm.addEdge(new Edge(locations[r][i], "B", locations[r][(i + 2) % ringSize]));
+            }
+            if (r + 1 < ringCount) {
+                fsm.addEdge(new Edge(locations[r][0], "A", locations[r + 1][0]));
+            }
+        }
+        return fsm;
+    }
+
+    /**
+     * Return an FSM in which events A and B alternate.
+     */
+    static FSMImpl createAlternatingFsm() {
+        // FSMImpl.
+        FSMImpl fsm = new FSMImpl();
+        Location l0 = new Location("l0");
+        Location l1 = new Location("l1");
+        fsm.addLocation(l0);
+        fsm.addLocation(l1);
+        fsm.setInitial(l0);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        fsm.addEdge(new Edge(l0, "A", l1));
+        fsm.addEdge(new Edge(l1, "B", l0));
+        return fsm;
+    }
+
+    /**
+     * Return the 2x2 matrices of the events of {@link #createAlternatingFsm()}.
+     */
+    static Map<String, Matrix> createAlternatingMatrices() {
+
+        // Matrix A.
+        Matrix MA = new DenseMatrix(2, 2,
+                5.0, 2.0,
+                negativeInfinity, 2.0);
+
+        // Matrix B.
+        Matrix MB = new DenseMatrix(2, 2,
+                0.0, negativeInfinity,
+                negativeInfinity, 5.0);
+
+        Map<String, Matrix> matrixMap = new HashMap<>();
+        matrixMap.put("A", MA);
+        matrixMap.put("B", MB);
+        return matrixMap;
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.ludus.backend.statespace;
+
+import org.junit.jupiter.api.Test;
+import org.ludus.backend.algebra.DenseMatrix;
+import org.ludus.backend.algebra.Matrix;
+import org.ludus.backend.algebra.Vector;
+import org.ludus.backend.fsm.impl.Edge;
+import org.ludus.backend.fsm.impl.FSMImpl;
+import org.ludus.backend.fsm.impl.Location;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Bram van der Sanden
+ */
+public class VectorCanonicalizerTest {
+
+    private final Double negativeInfinity = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Canonicalization merges configurations whose vectors only differ by rounding errors.
+     */
+    @Test
+    public void testCanonicalization() {
+        // FSMImpl.
+        FSMImpl fsm = new FSMImpl();
+        Location l0 = new Location("l0");
+        fsm.addLocation(l0);
+        fsm.setInitial(l0);
+        fsm.addControllable("A");
+        fsm.addControllable("B");
+        fsm.addEdge(new Edge(l0, "A", l0));
+        fsm.addEdge(new Edge(l0, "B", l0));
+
+        // Matrix A.
+        Matrix MA = new DenseMatrix(2, 2,
+                0.1, 0.3,
+                0.2, negativeInfinity);
+
+        // Matrix B.
+        Matrix MB = new DenseMatrix(2, 2,
+                0.7, 0.1,
+                0.3, 0.6);
+
+        Map<String, Matrix> matrixMap = new HashMap<>();
+        matrixMap.put("A", MA);
+        matrixMap.put("B", MB);
+
+        MaxPlusStateSpace exact = ComputeStateSpace.computeMaxPlusStateSpace(fsm, 2, matrixMap);
+        VectorCanonicalizer canonicalizer = new VectorCanonicalizer(1e-9);
+        MaxPlusStateSpace space = ComputeStateSpace.computeMaxPlusStateSpace(fsm, 2, matrixMap, canonicalizer);
+
+        assertTrue(space.getConfigurations().size() < exact.getConfigurations().size());
+        assertTrue(canonicalizer.getMergedCount() > 0);
+        assertTrue(space.getConfigurations().contains(new Configuration<>(l0, new Vector(0.0, 0.0))));
+        assertTrue(space.getConfigurations().contains(new Configuration<>(l0, new Vector(-0.1, 0.0))));
+
+        // Negative zero is replaced by zero.
+        double[] vector = {-0.0, negativeInfinity, -1e-12};
+        canonicalizer.canonicalize(vector);
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(vector[0]));
+        assertEquals(Double.NEGATIVE_INFINITY, vector[1]);
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(vector[2]));
+    }
+
+}